@@ -0,0 +1,95 @@
+/**
+ * Copyright (C) 2009 - 2012 SC 4ViewSoft SRL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.achartengine.benchmark;
+
+import java.util.Random;
+
+import org.achartengine.model.XYSeries;
+
+/**
+ * Builds the synthetic data the benchmarks run on. The values are generated
+ * from a fixed seed, such as the runs are reproducible.
+ */
+final class BenchmarkData {
+  /** The random generator seed. */
+  static final long SEED = 42;
+
+  private BenchmarkData() {
+    // empty constructor
+  }
+
+  /**
+   * Returns Y values following a random walk.
+   *
+   * @param size the number of values
+   * @return the Y values
+   */
+  static double[] createYs(int size) {
+    Random random = new Random(SEED);
+    double[] ys = new double[size];
+    double y = 0;
+    for (int i = 0; i < size; i++) {
+      y += random.nextGaussian();
+      ys[i] = y;
+    }
+    return ys;
+  }
+
+  /**
+   * Returns evenly spaced X values, from 0 to size - 1.
+   *
+   * @param size the number of values
+   * @return the X values
+   */
+  static double[] createXs(int size) {
+    double[] xs = new double[size];
+    for (int i = 0; i < size; i++) {
+      xs[i] = i;
+    }
+    return xs;
+  }
+
+  /**
+   * Builds a series with evenly spaced X values, from 0 to size - 1, and
+   * random walk Y values.
+   *
+   * @param size the number of values
+   * @return the series
+   */
+  static XYSeries createSeries(int size) {
+    XYSeries series = new XYSeries("benchmark");
+    series.addAll(createXs(size), createYs(size), 0, size);
+    return series;
+  }
+
+  /**
+   * Returns keys spread over the X values of a series built by createSeries(),
+   * in random order.
+   *
+   * @param size the series size
+   * @param count the number of keys
+   * @return the keys
+   */
+  static double[] createKeys(int size, int count) {
+    Random random = new Random(SEED);
+    double[] keys = new double[count];
+    for (int i = 0; i < count; i++) {
+      keys[i] = random.nextInt(size);
+    }
+    return keys;
+  }
+
+}
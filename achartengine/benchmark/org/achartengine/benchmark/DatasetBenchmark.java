@@ -0,0 +1,93 @@
+/**
+ * Copyright (C) 2009 - 2012 SC 4ViewSoft SRL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.achartengine.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.achartengine.model.XYMultipleSeriesDataset;
+import org.achartengine.model.XYSeries;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the dataset access made by the charts on every frame: reading
+ * each series and its range.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = { "-Xms3g", "-Xmx3g" })
+@State(Scope.Thread)
+public class DatasetBenchmark {
+  /** The number of series. */
+  @Param({ "1", "10", "100" })
+  public int seriesCount;
+  /** The size of each series. */
+  @Param({ "1000", "100000" })
+  public int size;
+  /** The dataset. */
+  private XYMultipleSeriesDataset mDataset;
+
+  @Setup
+  public void setUp() {
+    mDataset = new XYMultipleSeriesDataset();
+    for (int i = 0; i < seriesCount; i++) {
+      mDataset.addSeries(BenchmarkData.createSeries(size));
+    }
+  }
+
+  /**
+   * Reads the range of each series by index, as the charts do.
+   */
+  @Benchmark
+  public double getSeriesAt() {
+    double sum = 0;
+    int count = mDataset.getSeriesCount();
+    for (int i = 0; i < count; i++) {
+      XYSeries series = mDataset.getSeriesAt(i);
+      sum += series.getMaxX() - series.getMinX() + series.getMaxY() - series.getMinY();
+    }
+    return sum;
+  }
+
+  /**
+   * Reads the range of each series from the series array copy.
+   */
+  @Benchmark
+  public double getSeries() {
+    double sum = 0;
+    for (XYSeries series : mDataset.getSeries()) {
+      sum += series.getMaxX() - series.getMinX() + series.getMaxY() - series.getMinY();
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public Object getSnapshot() {
+    return mDataset.getSeriesAt(mDataset.getSeriesCount() - 1).getSnapshot();
+  }
+
+}
@@ -0,0 +1,104 @@
+/**
+ * Copyright (C) 2009 - 2012 SC 4ViewSoft SRL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.achartengine.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.achartengine.util.IndexXYMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the index XY map operations. The map boxes its keys and values,
+ * so the largest sizes need a large heap.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = { "-Xms3g", "-Xmx3g" })
+@State(Scope.Thread)
+public class IndexXYMapBenchmark {
+  /** The number of keys the lookups cycle through. */
+  private static final int KEY_COUNT = 1024;
+  /** The map size. */
+  @Param({ "1000", "100000", "1000000", "10000000" })
+  public int size;
+  /** The map. */
+  private IndexXYMap<Double, Double> mMap;
+  /** The keys the lookups cycle through. */
+  private Double[] mKeys;
+  /** The index of the next key. */
+  private int mKeyIndex;
+
+  @Setup
+  public void setUp() {
+    double[] ys = BenchmarkData.createYs(size);
+    mMap = new IndexXYMap<Double, Double>();
+    for (int i = 0; i < size; i++) {
+      mMap.put((double) i, ys[i]);
+    }
+    double[] keys = BenchmarkData.createKeys(size, KEY_COUNT);
+    mKeys = new Double[KEY_COUNT];
+    for (int i = 0; i < KEY_COUNT; i++) {
+      mKeys[i] = keys[i];
+    }
+  }
+
+  private Double nextKey() {
+    mKeyIndex = (mKeyIndex + 1) & (KEY_COUNT - 1);
+    return mKeys[mKeyIndex];
+  }
+
+  /**
+   * Appends an entry after the last one, then removes it.
+   */
+  @Benchmark
+  public Object putLast() {
+    mMap.put((double) size, 0.0);
+    return mMap.removeByIndex(size);
+  }
+
+  @Benchmark
+  public Object getXByIndex() {
+    return mMap.getXByIndex(nextKey().intValue());
+  }
+
+  @Benchmark
+  public Object getYByIndex() {
+    return mMap.getYByIndex(nextKey().intValue());
+  }
+
+  @Benchmark
+  public Object getByIndex() {
+    return mMap.getByIndex(nextKey().intValue());
+  }
+
+  @Benchmark
+  public int getIndexForKey() {
+    return mMap.getIndexForKey(nextKey());
+  }
+
+}
@@ -0,0 +1,91 @@
+/**
+ * Copyright (C) 2009 - 2012 SC 4ViewSoft SRL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.achartengine.benchmark;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.achartengine.util.AxisTicks;
+import org.achartengine.util.MathHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the axis labels computation, on ranges of random span and
+ * position, and on a range panned by small steps as during a drag.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class MathHelperBenchmark {
+  /** The number of ranges the benchmarks cycle through. */
+  private static final int RANGE_COUNT = 1024;
+  /** The approximate number of labels. */
+  @Param({ "5", "10", "25" })
+  public int labels;
+  /** The range starts. */
+  private final double[] mStarts = new double[RANGE_COUNT];
+  /** The range ends. */
+  private final double[] mEnds = new double[RANGE_COUNT];
+  /** The index of the next range. */
+  private int mRangeIndex;
+  /** The ticks updated by the pan benchmark. */
+  private final AxisTicks mTicks = new AxisTicks();
+  /** The start of the panned range. */
+  private double mPanStart;
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(BenchmarkData.SEED);
+    for (int i = 0; i < RANGE_COUNT; i++) {
+      double span = Math.pow(10, random.nextInt(12) - 4) * (1 + random.nextDouble());
+      mStarts[i] = (random.nextDouble() - 0.5) * span * 100;
+      mEnds[i] = mStarts[i] + span;
+    }
+  }
+
+  @Benchmark
+  public List<Double> getLabels() {
+    mRangeIndex = (mRangeIndex + 1) & (RANGE_COUNT - 1);
+    return MathHelper.getLabels(mStarts[mRangeIndex], mEnds[mRangeIndex], labels);
+  }
+
+  /**
+   * Updates the ticks of a range translated by a fraction of its span.
+   */
+  @Benchmark
+  public boolean updatePanned() {
+    mPanStart += 0.37;
+    if (mPanStart > 1e6) {
+      mPanStart = 0;
+    }
+    return mTicks.update(mPanStart, mPanStart + 100, labels);
+  }
+
+}
@@ -0,0 +1,85 @@
+/**
+ * Copyright (C) 2009 - 2012 SC 4ViewSoft SRL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.achartengine.benchmark;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.achartengine.model.TimeSeries;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the ingestion of a whole time series, one value at a time and in
+ * a batch. Each invocation builds a new series of the given size.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = { "-Xms3g", "-Xmx3g" })
+@State(Scope.Thread)
+public class TimeSeriesBenchmark {
+  /** The time between two values, in milliseconds. */
+  private static final long PERIOD = 1000;
+  /** The series size. */
+  @Param({ "1000", "100000", "1000000", "10000000" })
+  public int size;
+  /** The dates, for the values added one at a time. */
+  private Date[] mDates;
+  /** The dates in milliseconds since the epoch, for the batch. */
+  private long[] mEpochMillis;
+  /** The Y values. */
+  private double[] mYs;
+
+  @Setup
+  public void setUp() {
+    mYs = BenchmarkData.createYs(size);
+    mDates = new Date[size];
+    mEpochMillis = new long[size];
+    long start = 1325376000000L;
+    for (int i = 0; i < size; i++) {
+      mEpochMillis[i] = start + i * PERIOD;
+      mDates[i] = new Date(mEpochMillis[i]);
+    }
+  }
+
+  @Benchmark
+  public TimeSeries add() {
+    TimeSeries series = new TimeSeries("benchmark");
+    for (int i = 0; i < size; i++) {
+      series.add(mDates[i], mYs[i]);
+    }
+    return series;
+  }
+
+  @Benchmark
+  public TimeSeries addAll() {
+    TimeSeries series = new TimeSeries("benchmark");
+    series.addAll(mEpochMillis, mYs, 0, size);
+    return series;
+  }
+
+}
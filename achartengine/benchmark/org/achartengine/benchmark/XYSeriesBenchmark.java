@@ -0,0 +1,110 @@
+/**
+ * Copyright (C) 2009 - 2012 SC 4ViewSoft SRL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.achartengine.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.achartengine.model.XYSeries;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks the XY series updates and queries. The updates add a value and
+ * remove it, such as the series size doesn't change across the iterations.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = { "-Xms3g", "-Xmx3g" })
+@State(Scope.Thread)
+public class XYSeriesBenchmark {
+  /** The number of keys the lookups cycle through. */
+  private static final int KEY_COUNT = 1024;
+  /** The number of values read by the range queries. */
+  private static final int WINDOW = 1000;
+  /** The series size. */
+  @Param({ "1000", "100000", "1000000", "10000000" })
+  public int size;
+  /** The series. */
+  private XYSeries mSeries;
+  /** The keys the lookups cycle through. */
+  private double[] mKeys;
+  /** The index of the next key. */
+  private int mKeyIndex;
+  /** The index range reused by the range queries. */
+  private final int[] mIndexRange = new int[2];
+
+  @Setup
+  public void setUp() {
+    mSeries = BenchmarkData.createSeries(size);
+    mKeys = BenchmarkData.createKeys(size, KEY_COUNT);
+  }
+
+  private double nextKey() {
+    mKeyIndex = (mKeyIndex + 1) & (KEY_COUNT - 1);
+    return mKeys[mKeyIndex];
+  }
+
+  /**
+   * Appends a value after the last one, then removes it.
+   */
+  @Benchmark
+  public void addLast() {
+    mSeries.add(size, 0);
+    mSeries.remove(size);
+  }
+
+  /**
+   * Inserts a value between two existing ones, then removes it.
+   */
+  @Benchmark
+  public void addInside() {
+    double key = nextKey();
+    mSeries.add(key + 0.5, 0);
+    mSeries.remove((int) key + 1);
+  }
+
+  @Benchmark
+  public Object getRange() {
+    double start = nextKey();
+    return mSeries.getRange(start, start + WINDOW, 1);
+  }
+
+  @Benchmark
+  public void getIndexRange(Blackhole blackhole) {
+    double start = nextKey();
+    mSeries.getIndexRange(start, start + WINDOW, 1, mIndexRange);
+    blackhole.consume(mIndexRange[0]);
+    blackhole.consume(mIndexRange[1]);
+  }
+
+  @Benchmark
+  public int getIndexForKey() {
+    return mSeries.getIndexForKey(nextKey());
+  }
+
+}
@@ -0,0 +1,234 @@
+/**
+ * Copyright (C) 2009 - 2012 SC 4ViewSoft SRL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.achartengine.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.achartengine.chart.AbstractChart;
+import org.achartengine.chart.BarChart;
+import org.achartengine.chart.BubbleChart;
+import org.achartengine.chart.CubicLineChart;
+import org.achartengine.chart.DialChart;
+import org.achartengine.chart.LineChart;
+import org.achartengine.chart.PieChart;
+import org.achartengine.chart.PointStyle;
+import org.achartengine.chart.ScatterChart;
+import org.achartengine.chart.TimeChart;
+import org.achartengine.model.CategorySeries;
+import org.achartengine.model.TimeSeries;
+import org.achartengine.model.XYMultipleSeriesDataset;
+import org.achartengine.model.XYSeries;
+import org.achartengine.model.XYValueSeries;
+import org.achartengine.renderer.DefaultRenderer;
+import org.achartengine.renderer.DialRenderer;
+import org.achartengine.renderer.SimpleSeriesRenderer;
+import org.achartengine.renderer.XYMultipleSeriesRenderer;
+import org.achartengine.renderer.XYSeriesRenderer;
+
+import android.graphics.Color;
+
+/**
+ * A chart drawn by the frame benchmark, with a synthetic dataset and the
+ * changes applied before each frame. The XY charts are panned, by a fraction
+ * of the visible range per frame, and zoomed in and out periodically. The
+ * round charts are drawn unchanged.
+ */
+public abstract class ChartScenario {
+  /** The series colors. */
+  private static final int[] COLORS = { Color.BLUE, Color.GREEN, Color.RED, Color.YELLOW,
+      Color.CYAN, Color.MAGENTA };
+  /** The scenario name. */
+  private final String mName;
+  /** The chart. */
+  private final AbstractChart mChart;
+
+  /**
+   * Builds a new chart scenario.
+   *
+   * @param name the scenario name
+   * @param chart the chart
+   */
+  protected ChartScenario(String name, AbstractChart chart) {
+    mName = name;
+    mChart = chart;
+  }
+
+  /**
+   * Returns the scenario name.
+   *
+   * @return the name
+   */
+  public String getName() {
+    return mName;
+  }
+
+  /**
+   * Returns the chart.
+   *
+   * @return the chart
+   */
+  public AbstractChart getChart() {
+    return mChart;
+  }
+
+  /**
+   * Applies the changes of a frame, before it is drawn.
+   *
+   * @param frame the frame index
+   */
+  public abstract void setFrame(int frame);
+
+  /**
+   * Builds the scenarios of all the benchmarked chart types.
+   *
+   * @param points the number of points of each XY series
+   * @return the scenarios
+   */
+  public static List<ChartScenario> createAll(int points) {
+    List<ChartScenario> scenarios = new ArrayList<ChartScenario>();
+    XYMultipleSeriesRenderer renderer = buildRenderer(3, null);
+    scenarios.add(new XYScenario("line", new LineChart(buildDataset(3, points, false),
+        renderer), renderer, points));
+    renderer = buildRenderer(3, null);
+    scenarios.add(new XYScenario("time", new TimeChart(buildDataset(3, points, true), renderer),
+        renderer, points));
+    // the bars are drawn one by one, so their number is kept realistic
+    int bars = Math.min(points, 500);
+    renderer = buildRenderer(2, null);
+    scenarios.add(new XYScenario("bar", new BarChart(buildDataset(2, bars, false), renderer,
+        BarChart.Type.DEFAULT), renderer, bars));
+    renderer = buildRenderer(2, PointStyle.CIRCLE);
+    scenarios.add(new XYScenario("scatter", new ScatterChart(buildDataset(2, points, false),
+        renderer), renderer, points));
+    int bubbles = Math.min(points, 5000);
+    renderer = buildRenderer(1, null);
+    scenarios.add(new XYScenario("bubble", new BubbleChart(buildBubbleDataset(bubbles),
+        renderer), renderer, bubbles));
+    renderer = buildRenderer(2, null);
+    scenarios.add(new XYScenario("cubic", new CubicLineChart(buildDataset(2, points, false),
+        renderer, 0.33f), renderer, points));
+    scenarios.add(new RoundScenario("pie", new PieChart(buildCategories(12),
+        addCategoryRenderers(new DefaultRenderer(), 12))));
+    DialRenderer dialRenderer = new DialRenderer();
+    dialRenderer.setMinValue(0);
+    dialRenderer.setMaxValue(100);
+    scenarios.add(new RoundScenario("dial", new DialChart(buildCategories(2),
+        addCategoryRenderers(dialRenderer, 2))));
+    return scenarios;
+  }
+
+  private static XYMultipleSeriesRenderer buildRenderer(int seriesCount, PointStyle style) {
+    XYMultipleSeriesRenderer renderer = new XYMultipleSeriesRenderer();
+    for (int i = 0; i < seriesCount; i++) {
+      XYSeriesRenderer seriesRenderer = new XYSeriesRenderer();
+      seriesRenderer.setColor(COLORS[i % COLORS.length]);
+      if (style != null) {
+        seriesRenderer.setPointStyle(style);
+        seriesRenderer.setFillPoints(true);
+      }
+      renderer.addSeriesRenderer(seriesRenderer);
+    }
+    return renderer;
+  }
+
+  private static XYMultipleSeriesDataset buildDataset(int seriesCount, int points, boolean time) {
+    XYMultipleSeriesDataset dataset = new XYMultipleSeriesDataset();
+    double[] xs = BenchmarkData.createXs(points);
+    double[] ys = BenchmarkData.createYs(points);
+    for (int i = 0; i < seriesCount; i++) {
+      XYSeries series = time ? new TimeSeries("Series " + i) : new XYSeries("Series " + i);
+      for (int j = 0; j < points; j++) {
+        ys[j] += i * 10;
+      }
+      series.addAll(xs, ys, 0, points);
+      dataset.addSeries(series);
+    }
+    return dataset;
+  }
+
+  private static XYMultipleSeriesDataset buildBubbleDataset(int points) {
+    XYValueSeries series = new XYValueSeries("Bubbles");
+    double[] ys = BenchmarkData.createYs(points);
+    for (int i = 0; i < points; i++) {
+      series.add(i, ys[i], 1 + i % 10);
+    }
+    XYMultipleSeriesDataset dataset = new XYMultipleSeriesDataset();
+    dataset.addSeries(series);
+    return dataset;
+  }
+
+  private static CategorySeries buildCategories(int count) {
+    CategorySeries series = new CategorySeries("Categories");
+    for (int i = 0; i < count; i++) {
+      series.add("Category " + i, 10 + i * 5);
+    }
+    return series;
+  }
+
+  private static <T extends DefaultRenderer> T addCategoryRenderers(T renderer, int count) {
+    for (int i = 0; i < count; i++) {
+      SimpleSeriesRenderer seriesRenderer = new SimpleSeriesRenderer();
+      seriesRenderer.setColor(COLORS[i % COLORS.length]);
+      renderer.addSeriesRenderer(seriesRenderer);
+    }
+    return renderer;
+  }
+
+  /**
+   * An XY chart panned and zoomed over its X values, going from 0 to the
+   * number of points.
+   */
+  private static class XYScenario extends ChartScenario {
+    /** The number of frames of a zoom in and out cycle. */
+    private static final int ZOOM_PERIOD = 120;
+    /** The renderer. */
+    private final XYMultipleSeriesRenderer mRenderer;
+    /** The number of points. */
+    private final int mPoints;
+
+    XYScenario(String name, AbstractChart chart, XYMultipleSeriesRenderer renderer, int points) {
+      super(name, chart);
+      mRenderer = renderer;
+      mPoints = points;
+    }
+
+    @Override
+    public void setFrame(int frame) {
+      // the visible range goes from an eighth to half of the values
+      double span = mPoints * (0.3125 + 0.1875 * Math.sin(2 * Math.PI * frame / ZOOM_PERIOD));
+      double start = (frame * span / 100) % (mPoints - span);
+      mRenderer.setXAxisMin(start);
+      mRenderer.setXAxisMax(start + span);
+    }
+  }
+
+  /**
+   * A round chart, drawn unchanged.
+   */
+  private static class RoundScenario extends ChartScenario {
+
+    RoundScenario(String name, AbstractChart chart) {
+      super(name, chart);
+    }
+
+    @Override
+    public void setFrame(int frame) {
+      // nothing changes
+    }
+  }
+
+}
@@ -0,0 +1,192 @@
+/**
+ * Copyright (C) 2009 - 2012 SC 4ViewSoft SRL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.achartengine.benchmark;
+
+import org.achartengine.chart.DrawingSurface;
+
+import android.graphics.Paint;
+
+/**
+ * A drawing surface that only counts the drawing calls, such as a benchmark
+ * measures the cost of the charts alone. The counting doesn't allocate.
+ */
+public class CountingSurface implements DrawingSurface {
+  /** The surface width. */
+  private final int mWidth;
+  /** The surface height. */
+  private final int mHeight;
+  /** The number of drawing calls. */
+  private long mDrawCalls;
+  /** The number of drawn text runs. */
+  private long mTexts;
+  /** The number of drawn paths. */
+  private long mPaths;
+  /** The number of path and point vertices. */
+  private long mVertices;
+  /** The save() nesting depth. */
+  private int mSaveDepth;
+
+  /**
+   * Builds a new counting surface.
+   *
+   * @param width the surface width
+   * @param height the surface height
+   */
+  public CountingSurface(int width, int height) {
+    mWidth = width;
+    mHeight = height;
+  }
+
+  /**
+   * Resets the counters.
+   */
+  public void reset() {
+    mDrawCalls = 0;
+    mTexts = 0;
+    mPaths = 0;
+    mVertices = 0;
+    mSaveDepth = 0;
+  }
+
+  /**
+   * Returns the number of drawing calls since the last reset.
+   *
+   * @return the number of drawing calls
+   */
+  public long getDrawCalls() {
+    return mDrawCalls;
+  }
+
+  /**
+   * Returns the number of drawn text runs since the last reset.
+   *
+   * @return the number of text runs
+   */
+  public long getTexts() {
+    return mTexts;
+  }
+
+  /**
+   * Returns the number of drawn paths since the last reset.
+   *
+   * @return the number of paths
+   */
+  public long getPaths() {
+    return mPaths;
+  }
+
+  /**
+   * Returns the number of vertices, of the drawn paths and points, since the
+   * last reset.
+   *
+   * @return the number of vertices
+   */
+  public long getVertices() {
+    return mVertices;
+  }
+
+  public int getWidth() {
+    return mWidth;
+  }
+
+  public int getHeight() {
+    return mHeight;
+  }
+
+  public void drawLine(float startX, float startY, float stopX, float stopY, Paint paint) {
+    mDrawCalls++;
+  }
+
+  public void drawRect(float left, float top, float right, float bottom, Paint paint) {
+    mDrawCalls++;
+  }
+
+  public void drawGradientRect(int left, int top, int right, int bottom, int topColor,
+      int bottomColor) {
+    mDrawCalls++;
+  }
+
+  public void drawCircle(float cx, float cy, float radius, Paint paint) {
+    mDrawCalls++;
+  }
+
+  public void drawArc(float left, float top, float right, float bottom, float startAngle,
+      float sweepAngle, boolean useCenter, Paint paint) {
+    mDrawCalls++;
+  }
+
+  public void drawPoint(float x, float y, Paint paint) {
+    mDrawCalls++;
+    mVertices++;
+  }
+
+  public void drawPoints(float[] points, int offset, int count, Paint paint) {
+    mDrawCalls++;
+    mVertices += count / 2;
+  }
+
+  public void drawText(String text, float x, float y, Paint paint) {
+    mDrawCalls++;
+    mTexts++;
+  }
+
+  public void beginPath() {
+  }
+
+  public void moveTo(float x, float y) {
+    mVertices++;
+  }
+
+  public void lineTo(float x, float y) {
+    mVertices++;
+  }
+
+  public void cubicTo(float x1, float y1, float x2, float y2, float x3, float y3) {
+    mVertices++;
+  }
+
+  public void closePath() {
+  }
+
+  public void drawPath(Paint paint) {
+    mDrawCalls++;
+    mPaths++;
+  }
+
+  public void save() {
+    mSaveDepth++;
+  }
+
+  public void restore() {
+    if (mSaveDepth == 0) {
+      throw new IllegalStateException("Unbalanced restore() call");
+    }
+    mSaveDepth--;
+  }
+
+  public void clipRect(float left, float top, float right, float bottom) {
+  }
+
+  public void rotate(float degrees, float px, float py) {
+  }
+
+  public void translate(float dx, float dy) {
+  }
+
+  public void scale(float sx, float sy) {
+  }
+
+}
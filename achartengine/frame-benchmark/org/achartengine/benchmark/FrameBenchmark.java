@@ -0,0 +1,211 @@
+/**
+ * Copyright (C) 2009 - 2012 SC 4ViewSoft SRL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.achartengine.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+import java.util.List;
+
+import org.achartengine.chart.AbstractChart;
+
+import android.graphics.Paint;
+
+/**
+ * Measures the frame rendering cost of each chart type, drawing to a counting
+ * surface such as only the chart code is measured. It reports the frames per
+ * second, the frame time percentiles, the draw calls and the bytes allocated
+ * per frame.
+ * <p>
+ * It runs from the command line, with an android.graphics implementation on
+ * the class path, and accepts the following options:
+ * <ul>
+ * <li>-points n: the number of points of each XY series, 100000 by default</li>
+ * <li>-frames n: the number of measured frames, 300 by default</li>
+ * <li>-warmup n: the number of warm up frames, 200 by default</li>
+ * <li>-size widthxheight: the surface size, 800x480 by default</li>
+ * <li>-charts name,...: the charts to run, among line, time, bar, scatter,
+ * bubble, cubic, pie and dial, all by default</li>
+ * <li>-maxBytesPerFrame n: the allocation gate, failing the run with exit code
+ * 1 when a chart allocates more bytes per frame</li>
+ * </ul>
+ * The allocated bytes are read from the HotSpot thread management bean; they
+ * are reported as -1 on the virtual machines not providing them.
+ */
+public class FrameBenchmark {
+  /** The number of points of each XY series. */
+  private int mPoints = 100000;
+  /** The number of measured frames. */
+  private int mFrames = 300;
+  /** The number of warm up frames. */
+  private int mWarmup = 200;
+  /** The surface width. */
+  private int mWidth = 800;
+  /** The surface height. */
+  private int mHeight = 480;
+  /** The names of the charts to run, null for all. */
+  private List<String> mCharts;
+  /** The maximum number of bytes allocated per frame, negative for no gate. */
+  private long mMaxBytesPerFrame = -1;
+
+  /**
+   * Runs the benchmark.
+   *
+   * @param args the command line options
+   */
+  public static void main(String[] args) {
+    FrameBenchmark benchmark = new FrameBenchmark();
+    benchmark.parse(args);
+    System.exit(benchmark.run() ? 0 : 1);
+  }
+
+  private void parse(String[] args) {
+    for (int i = 0; i + 1 < args.length; i += 2) {
+      String name = args[i];
+      String value = args[i + 1];
+      if ("-points".equals(name)) {
+        mPoints = Integer.parseInt(value);
+      } else if ("-frames".equals(name)) {
+        mFrames = Integer.parseInt(value);
+      } else if ("-warmup".equals(name)) {
+        mWarmup = Integer.parseInt(value);
+      } else if ("-size".equals(name)) {
+        int separator = value.indexOf('x');
+        mWidth = Integer.parseInt(value.substring(0, separator));
+        mHeight = Integer.parseInt(value.substring(separator + 1));
+      } else if ("-charts".equals(name)) {
+        mCharts = Arrays.asList(value.split(","));
+      } else if ("-maxBytesPerFrame".equals(name)) {
+        mMaxBytesPerFrame = Long.parseLong(value);
+      } else {
+        throw new IllegalArgumentException("Unknown option " + name);
+      }
+    }
+    if (args.length % 2 != 0) {
+      throw new IllegalArgumentException("Missing value for option " + args[args.length - 1]);
+    }
+  }
+
+  /**
+   * Runs the selected chart scenarios and prints their results.
+   *
+   * @return false if a chart didn't pass the allocation gate
+   */
+  public boolean run() {
+    boolean passed = true;
+    System.out.println("chart      fps   mean ms    p50 ms    p99 ms  calls/frame  vertices/frame"
+        + "  bytes/frame");
+    for (ChartScenario scenario : ChartScenario.createAll(mPoints)) {
+      if (mCharts != null && !mCharts.contains(scenario.getName())) {
+        continue;
+      }
+      FrameStats stats = measure(scenario);
+      boolean failed = mMaxBytesPerFrame >= 0 && stats.mBytesPerFrame > mMaxBytesPerFrame;
+      System.out.println(stats + (failed ? "  FAILED" : ""));
+      passed &= !failed;
+    }
+    if (mMaxBytesPerFrame >= 0 && allocatedBytes() < 0) {
+      System.out.println("The allocated bytes are not available, the allocation gate is ignored");
+    }
+    return passed;
+  }
+
+  /**
+   * Draws the warm up and measured frames of a scenario.
+   *
+   * @param scenario the scenario
+   * @return the frame statistics
+   */
+  private FrameStats measure(ChartScenario scenario) {
+    AbstractChart chart = scenario.getChart();
+    CountingSurface surface = new CountingSurface(mWidth, mHeight);
+    Paint paint = new Paint();
+    for (int i = 0; i < mWarmup; i++) {
+      scenario.setFrame(i);
+      chart.draw(surface, 0, 0, mWidth, mHeight, paint);
+    }
+    surface.reset();
+    long[] times = new long[mFrames];
+    long allocated = allocatedBytes();
+    long start = System.nanoTime();
+    for (int i = 0; i < mFrames; i++) {
+      long frameStart = System.nanoTime();
+      scenario.setFrame(mWarmup + i);
+      chart.draw(surface, 0, 0, mWidth, mHeight, paint);
+      times[i] = System.nanoTime() - frameStart;
+    }
+    long elapsed = System.nanoTime() - start;
+    long bytes = allocated < 0 ? -1 : (allocatedBytes() - allocated) / mFrames;
+    Arrays.sort(times);
+    FrameStats stats = new FrameStats();
+    stats.mName = scenario.getName();
+    stats.mFramesPerSecond = mFrames * 1e9 / elapsed;
+    stats.mMeanMillis = elapsed / 1e6 / mFrames;
+    stats.mP50Millis = times[mFrames / 2] / 1e6;
+    stats.mP99Millis = times[Math.min(mFrames - 1, mFrames * 99 / 100)] / 1e6;
+    stats.mDrawCallsPerFrame = surface.getDrawCalls() / mFrames;
+    stats.mVerticesPerFrame = surface.getVertices() / mFrames;
+    stats.mBytesPerFrame = bytes;
+    return stats;
+  }
+
+  /**
+   * Returns the number of bytes allocated by the current thread since it
+   * started.
+   *
+   * @return the number of bytes, -1 if not available
+   */
+  private static long allocatedBytes() {
+    ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    if (threads instanceof com.sun.management.ThreadMXBean) {
+      com.sun.management.ThreadMXBean hotspot = (com.sun.management.ThreadMXBean) threads;
+      if (hotspot.isThreadAllocatedMemorySupported() && hotspot.isThreadAllocatedMemoryEnabled()) {
+        return hotspot.getThreadAllocatedBytes(Thread.currentThread().getId());
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * The statistics of the measured frames of a chart.
+   */
+  private static class FrameStats {
+    /** The chart name. */
+    private String mName;
+    /** The frames per second. */
+    private double mFramesPerSecond;
+    /** The mean frame time. */
+    private double mMeanMillis;
+    /** The median frame time. */
+    private double mP50Millis;
+    /** The 99th percentile frame time. */
+    private double mP99Millis;
+    /** The drawing calls per frame. */
+    private long mDrawCallsPerFrame;
+    /** The path and point vertices per frame. */
+    private long mVerticesPerFrame;
+    /** The bytes allocated per frame, -1 if not available. */
+    private long mBytesPerFrame;
+
+    @Override
+    public String toString() {
+      return String.format("%-8s %6.1f %9.3f %9.3f %9.3f %12d %15d %12d", mName, mFramesPerSecond,
+          mMeanMillis, mP50Millis, mP99Millis, mDrawCallsPerFrame, mVerticesPerFrame,
+          mBytesPerFrame);
+    }
+  }
+
+}
@@ -0,0 +1,326 @@
+/**
+ * Copyright (C) 2009 - 2012 SC 4ViewSoft SRL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.achartengine.chart;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.Shape;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Arc2D;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.GeneralPath;
+import java.awt.geom.Line2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+
+import android.graphics.Paint;
+import android.graphics.Paint.Align;
+import android.graphics.Paint.Cap;
+import android.graphics.Paint.Join;
+import android.graphics.Paint.Style;
+import android.graphics.Typeface;
+
+/**
+ * A drawing surface backed by a Java2D graphics context, such as the charts
+ * can be rendered to a buffered image on a plain JVM. The paint attributes are
+ * mapped to their Java2D equivalent: the color, style, stroke width, cap and
+ * join, anti aliasing, text size, text alignment and typeface style. The path
+ * effects are not supported, the dashed lines being drawn solid, and the text
+ * is drawn with the logical sans serif font.
+ */
+public class Java2DSurface implements DrawingSurface {
+  /** The graphics context. */
+  private final Graphics2D mGraphics;
+  /** The surface width. */
+  private final int mWidth;
+  /** The surface height. */
+  private final int mHeight;
+  /** The path being built. */
+  private final GeneralPath mPath = new GeneralPath();
+  /** The line reused by the line drawing. */
+  private final Line2D.Float mLine = new Line2D.Float();
+  /** The rectangle reused by the rectangle and point drawing. */
+  private final Rectangle2D.Float mRect = new Rectangle2D.Float();
+  /** The ellipse reused by the circle drawing. */
+  private final Ellipse2D.Float mEllipse = new Ellipse2D.Float();
+  /** The arc reused by the arc drawing. */
+  private final Arc2D.Float mArc = new Arc2D.Float();
+  /** The transformations saved by save(). */
+  private final List<AffineTransform> mSavedTransforms = new ArrayList<AffineTransform>();
+  /** The clips saved by save(). */
+  private final List<Shape> mSavedClips = new ArrayList<Shape>();
+  /** The current color. */
+  private Color mColor;
+  /** The current stroke. */
+  private BasicStroke mStroke;
+  /** The current font. */
+  private Font mFont;
+  /** The current anti aliasing. */
+  private Boolean mAntiAlias;
+
+  /**
+   * Builds a new surface drawing to a buffered image.
+   *
+   * @param image the image
+   */
+  public Java2DSurface(BufferedImage image) {
+    this(image.createGraphics(), image.getWidth(), image.getHeight());
+  }
+
+  /**
+   * Builds a new surface drawing to a graphics context.
+   *
+   * @param graphics the graphics context
+   * @param width the surface width
+   * @param height the surface height
+   */
+  public Java2DSurface(Graphics2D graphics, int width, int height) {
+    mGraphics = graphics;
+    mWidth = width;
+    mHeight = height;
+    mGraphics.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL,
+        RenderingHints.VALUE_STROKE_PURE);
+    mGraphics.setRenderingHint(RenderingHints.KEY_FRACTIONALMETRICS,
+        RenderingHints.VALUE_FRACTIONALMETRICS_ON);
+  }
+
+  /**
+   * Returns the graphics context.
+   *
+   * @return the graphics context
+   */
+  public Graphics2D getGraphics() {
+    return mGraphics;
+  }
+
+  /**
+   * Releases the graphics context.
+   */
+  public void dispose() {
+    mGraphics.dispose();
+  }
+
+  public int getWidth() {
+    return mWidth;
+  }
+
+  public int getHeight() {
+    return mHeight;
+  }
+
+  public void drawLine(float startX, float startY, float stopX, float stopY, Paint paint) {
+    mLine.setLine(startX, startY, stopX, stopY);
+    applyStroke(paint);
+    mGraphics.draw(mLine);
+  }
+
+  public void drawRect(float left, float top, float right, float bottom, Paint paint) {
+    mRect.setRect(Math.min(left, right), Math.min(top, bottom), Math.abs(right - left),
+        Math.abs(bottom - top));
+    drawShape(mRect, paint);
+  }
+
+  public void drawGradientRect(int left, int top, int right, int bottom, int topColor,
+      int bottomColor) {
+    java.awt.Paint previous = mGraphics.getPaint();
+    mGraphics.setPaint(new GradientPaint(0, top, new Color(topColor, true), 0, bottom, new Color(
+        bottomColor, true)));
+    mGraphics.fillRect(left, top, right - left, bottom - top);
+    mGraphics.setPaint(previous);
+    mColor = null;
+  }
+
+  public void drawCircle(float cx, float cy, float radius, Paint paint) {
+    mEllipse.setFrame(cx - radius, cy - radius, 2 * radius, 2 * radius);
+    drawShape(mEllipse, paint);
+  }
+
+  public void drawArc(float left, float top, float right, float bottom, float startAngle,
+      float sweepAngle, boolean useCenter, Paint paint) {
+    // the Java2D angles are counterclockwise
+    mArc.setArc(left, top, right - left, bottom - top, -startAngle, -sweepAngle,
+        useCenter ? Arc2D.PIE : Arc2D.OPEN);
+    drawShape(mArc, paint);
+  }
+
+  public void drawPoint(float x, float y, Paint paint) {
+    applyColor(paint);
+    float size = Math.max(1, paint.getStrokeWidth());
+    mRect.setRect(x - size / 2, y - size / 2, size, size);
+    mGraphics.fill(mRect);
+  }
+
+  public void drawPoints(float[] points, int offset, int count, Paint paint) {
+    applyColor(paint);
+    float size = Math.max(1, paint.getStrokeWidth());
+    int end = offset + count - 1;
+    for (int i = offset; i < end; i += 2) {
+      mRect.setRect(points[i] - size / 2, points[i + 1] - size / 2, size, size);
+      mGraphics.fill(mRect);
+    }
+  }
+
+  public void drawText(String text, float x, float y, Paint paint) {
+    applyColor(paint);
+    applyFont(paint);
+    Align align = paint.getTextAlign();
+    if (align == Align.CENTER) {
+      x -= mGraphics.getFontMetrics().stringWidth(text) / 2f;
+    } else if (align == Align.RIGHT) {
+      x -= mGraphics.getFontMetrics().stringWidth(text);
+    }
+    mGraphics.drawString(text, x, y);
+  }
+
+  public void beginPath() {
+    mPath.reset();
+  }
+
+  public void moveTo(float x, float y) {
+    mPath.moveTo(x, y);
+  }
+
+  public void lineTo(float x, float y) {
+    mPath.lineTo(x, y);
+  }
+
+  public void cubicTo(float x1, float y1, float x2, float y2, float x3, float y3) {
+    mPath.curveTo(x1, y1, x2, y2, x3, y3);
+  }
+
+  public void closePath() {
+    mPath.closePath();
+  }
+
+  public void drawPath(Paint paint) {
+    drawShape(mPath, paint);
+  }
+
+  public void save() {
+    mSavedTransforms.add(mGraphics.getTransform());
+    mSavedClips.add(mGraphics.getClip());
+  }
+
+  public void restore() {
+    int last = mSavedTransforms.size() - 1;
+    if (last < 0) {
+      throw new IllegalStateException("Unbalanced restore() call");
+    }
+    mGraphics.setTransform(mSavedTransforms.remove(last));
+    mGraphics.setClip(mSavedClips.remove(last));
+  }
+
+  public void clipRect(float left, float top, float right, float bottom) {
+    mGraphics.clip(new Rectangle2D.Float(left, top, right - left, bottom - top));
+  }
+
+  public void rotate(float degrees, float px, float py) {
+    mGraphics.rotate(Math.toRadians(degrees), px, py);
+  }
+
+  public void translate(float dx, float dy) {
+    mGraphics.translate((double) dx, (double) dy);
+  }
+
+  public void scale(float sx, float sy) {
+    mGraphics.scale(sx, sy);
+  }
+
+  /**
+   * Fills and / or strokes a shape, according to the paint style.
+   *
+   * @param shape the shape
+   * @param paint the paint
+   */
+  private void drawShape(Shape shape, Paint paint) {
+    Style style = paint.getStyle();
+    if (style != Style.STROKE) {
+      applyColor(paint);
+      mGraphics.fill(shape);
+    }
+    if (style == Style.STROKE || style == Style.FILL_AND_STROKE) {
+      applyStroke(paint);
+      mGraphics.draw(shape);
+    }
+  }
+
+  private void applyColor(Paint paint) {
+    int argb = paint.getColor();
+    if (mColor == null || mColor.getRGB() != argb) {
+      mColor = new Color(argb, true);
+      mGraphics.setColor(mColor);
+    }
+    boolean antiAlias = paint.isAntiAlias();
+    if (mAntiAlias == null || mAntiAlias.booleanValue() != antiAlias) {
+      mAntiAlias = Boolean.valueOf(antiAlias);
+      mGraphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
+          antiAlias ? RenderingHints.VALUE_ANTIALIAS_ON : RenderingHints.VALUE_ANTIALIAS_OFF);
+      mGraphics.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING,
+          antiAlias ? RenderingHints.VALUE_TEXT_ANTIALIAS_ON
+              : RenderingHints.VALUE_TEXT_ANTIALIAS_OFF);
+    }
+  }
+
+  private void applyStroke(Paint paint) {
+    applyColor(paint);
+    // a zero width is a hairline, one pixel wide
+    float width = Math.max(1, paint.getStrokeWidth());
+    int cap = getCap(paint.getStrokeCap());
+    int join = getJoin(paint.getStrokeJoin());
+    float miter = Math.max(1, paint.getStrokeMiter());
+    if (mStroke == null || mStroke.getLineWidth() != width || mStroke.getEndCap() != cap
+        || mStroke.getLineJoin() != join || mStroke.getMiterLimit() != miter) {
+      mStroke = new BasicStroke(width, cap, join, miter);
+      mGraphics.setStroke(mStroke);
+    }
+  }
+
+  private void applyFont(Paint paint) {
+    float size = paint.getTextSize();
+    Typeface typeface = paint.getTypeface();
+    // the Android and AWT bold and italic style bits match
+    int style = typeface == null ? Font.PLAIN : typeface.getStyle() & (Font.BOLD | Font.ITALIC);
+    if (mFont == null || mFont.getSize2D() != size || mFont.getStyle() != style) {
+      mFont = new Font(Font.SANS_SERIF, style, 1).deriveFont(size);
+      mGraphics.setFont(mFont);
+    }
+  }
+
+  private static int getCap(Cap cap) {
+    if (cap == Cap.ROUND) {
+      return BasicStroke.CAP_ROUND;
+    } else if (cap == Cap.SQUARE) {
+      return BasicStroke.CAP_SQUARE;
+    }
+    return BasicStroke.CAP_BUTT;
+  }
+
+  private static int getJoin(Join join) {
+    if (join == Join.ROUND) {
+      return BasicStroke.JOIN_ROUND;
+    } else if (join == Join.BEVEL) {
+      return BasicStroke.JOIN_BEVEL;
+    }
+    return BasicStroke.JOIN_MITER;
+  }
+
+}
@@ -0,0 +1,84 @@
+/**
+ * Copyright (C) 2009 - 2012 SC 4ViewSoft SRL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.achartengine.export;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import javax.imageio.ImageIO;
+
+import org.achartengine.chart.DrawingSurface;
+import org.achartengine.chart.Java2DSurface;
+
+/**
+ * A render context drawing to a Java2D buffered image, for the batch exports
+ * running on a plain JVM.
+ */
+public class ImageRenderContext extends RenderContext {
+  /** The factory of image render contexts. */
+  public static final Factory FACTORY = new Factory() {
+    public RenderContext create() {
+      return new ImageRenderContext();
+    }
+  };
+  /** The image. */
+  private BufferedImage mImage;
+  /** The surface drawing to the image. */
+  private Java2DSurface mSurface;
+
+  @Override
+  protected DrawingSurface prepare(int width, int height) {
+    if (mImage == null || mImage.getWidth() != width || mImage.getHeight() != height) {
+      release();
+      mImage = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+    } else {
+      Graphics2D graphics = mImage.createGraphics();
+      graphics.setComposite(AlphaComposite.Clear);
+      graphics.fillRect(0, 0, width, height);
+      graphics.dispose();
+      mSurface.dispose();
+    }
+    // a new graphics context resets the transformation and clip left by the
+    // previous job
+    mSurface = new Java2DSurface(mImage);
+    return mSurface;
+  }
+
+  @Override
+  protected void writePng(OutputStream out) throws IOException {
+    if (!ImageIO.write(mImage, "png", out)) {
+      throw new IOException("No PNG writer is available");
+    }
+  }
+
+  @Override
+  protected void getRow(int y, int[] row) {
+    mImage.getRGB(0, y, mImage.getWidth(), 1, row, 0, mImage.getWidth());
+  }
+
+  @Override
+  public void release() {
+    if (mSurface != null) {
+      mSurface.dispose();
+      mSurface = null;
+    }
+    mImage = null;
+  }
+
+}
@@ -0,0 +1,182 @@
+/**
+ * Copyright (C) 2009 - 2012 SC 4ViewSoft SRL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.achartengine;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+
+/**
+ * A tick source pacing the repaints of the chart views to the display frame
+ * rate. The frame callbacks posted between two frames are run once, on the
+ * next frame, such as a view asking several times for a repaint, from touch
+ * events, data updates and animations, is invalidated only once per frame.
+ * Views sharing a scheduler are repainted on the same ticks.
+ * <p>
+ * Callbacks can be posted from any thread, they are run on the scheduler
+ * looper thread.
+ */
+public class FrameScheduler {
+  /** The default frame interval in milliseconds, for a 60 Hz display. */
+  public static final long DEFAULT_FRAME_INTERVAL = 16;
+  /** The scheduler shared by the views, on the main thread. */
+  private static FrameScheduler sDefault;
+  /** The handler the ticks are posted to. */
+  private final Handler mHandler;
+  /** The tick runnable, posted once per frame. */
+  private final Runnable mTick = new Runnable() {
+    public void run() {
+      doFrame();
+    }
+  };
+  /** The frame interval in milliseconds. */
+  private long mFrameInterval = DEFAULT_FRAME_INTERVAL;
+  /** The callbacks to run on the next frame. */
+  private FrameCallback[] mPending = new FrameCallback[4];
+  /** The number of callbacks to run on the next frame. */
+  private int mPendingCount;
+  /** The callbacks of the running frame, swapped with the pending ones. */
+  private FrameCallback[] mRunning = new FrameCallback[4];
+  /** If a tick is posted. */
+  private boolean mScheduled;
+  /** The time of the last frame, in uptime milliseconds. */
+  private long mLastFrameTime = Long.MIN_VALUE / 2;
+
+  /**
+   * A callback run on the next frame.
+   */
+  public interface FrameCallback {
+    /**
+     * Called on a frame.
+     * 
+     * @param frameTime the frame time, in uptime milliseconds, the same for
+     *          all the callbacks of the frame
+     */
+    void doFrame(long frameTime);
+  }
+
+  /**
+   * Creates a new frame scheduler.
+   * 
+   * @param looper the looper of the thread to run the callbacks on
+   */
+  public FrameScheduler(Looper looper) {
+    mHandler = new Handler(looper);
+  }
+
+  /**
+   * Returns the scheduler running on the main thread, shared by the views not
+   * given one.
+   * 
+   * @return the default scheduler
+   */
+  public static synchronized FrameScheduler getDefault() {
+    if (sDefault == null) {
+      sDefault = new FrameScheduler(Looper.getMainLooper());
+    }
+    return sDefault;
+  }
+
+  /**
+   * Returns the frame interval.
+   * 
+   * @return the frame interval in milliseconds
+   */
+  public synchronized long getFrameInterval() {
+    return mFrameInterval;
+  }
+
+  /**
+   * Sets the frame interval, the minimum time between two ticks.
+   * 
+   * @param interval the frame interval in milliseconds
+   */
+  public synchronized void setFrameInterval(long interval) {
+    if (interval < 1) {
+      throw new IllegalArgumentException("The frame interval must be positive");
+    }
+    mFrameInterval = interval;
+  }
+
+  /**
+   * Posts a callback to run on the next frame. A callback already waiting for
+   * the next frame is not added again.
+   * 
+   * @param callback the callback
+   */
+  public synchronized void postFrameCallback(FrameCallback callback) {
+    for (int i = 0; i < mPendingCount; i++) {
+      if (mPending[i] == callback) {
+        return;
+      }
+    }
+    if (mPendingCount == mPending.length) {
+      FrameCallback[] pending = new FrameCallback[mPendingCount * 2];
+      System.arraycopy(mPending, 0, pending, 0, mPendingCount);
+      mPending = pending;
+    }
+    mPending[mPendingCount++] = callback;
+    if (!mScheduled) {
+      mScheduled = true;
+      // the first frame after an idle period runs right away, the next ones
+      // are paced to the frame interval
+      long now = SystemClock.uptimeMillis();
+      mHandler.postAtTime(mTick, Math.max(now, mLastFrameTime + mFrameInterval));
+    }
+  }
+
+  /**
+   * Removes a callback waiting for the next frame.
+   * 
+   * @param callback the callback
+   */
+  public synchronized void removeFrameCallback(FrameCallback callback) {
+    for (int i = 0; i < mPendingCount; i++) {
+      if (mPending[i] == callback) {
+        mPendingCount--;
+        System.arraycopy(mPending, i + 1, mPending, i, mPendingCount - i);
+        mPending[mPendingCount] = null;
+        return;
+      }
+    }
+  }
+
+  /**
+   * Runs the callbacks posted since the previous frame. The callbacks posted
+   * while running are run on the next frame.
+   */
+  private void doFrame() {
+    FrameCallback[] running;
+    int count;
+    long frameTime;
+    synchronized (this) {
+      mScheduled = false;
+      frameTime = SystemClock.uptimeMillis();
+      mLastFrameTime = frameTime;
+      running = mPending;
+      count = mPendingCount;
+      mPending = mRunning;
+      mPendingCount = 0;
+      mRunning = running;
+    }
+    for (int i = 0; i < count; i++) {
+      FrameCallback callback = running[i];
+      running[i] = null;
+      callback.doFrame(frameTime);
+    }
+  }
+
+}
@@ -15,12 +15,19 @@
  */
 package org.achartengine;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Collections;
 import java.util.List;
 
 import org.achartengine.chart.AbstractChart;
+import org.achartengine.chart.CanvasSurface;
 import org.achartengine.chart.RoundChart;
 import org.achartengine.chart.XYChart;
+import org.achartengine.export.SvgExporter;
+import org.achartengine.metrics.FrameHud;
+import org.achartengine.metrics.FrameRecorder;
+import org.achartengine.metrics.FrameStatistics;
 import org.achartengine.model.Point;
 import org.achartengine.model.SeriesSelection;
 import org.achartengine.renderer.DefaultRenderer;
@@ -40,7 +47,7 @@ import android.graphics.Rect;
 import android.graphics.RectF;
 import android.os.Build;
 import android.os.Handler;
-import android.os.Message;
+import android.os.SystemClock;
 import android.view.MotionEvent;
 import android.view.View;
 
@@ -68,6 +75,8 @@ public class GraphicalView extends View {
   private int zoomSize = 50;
   /** The zoom buttons background color. */
   private static final int ZOOM_BUTTONS_COLOR = Color.argb(175, 150, 150, 150);
+  /** The time without pan move after which a pan gesture is ended, in milliseconds. */
+  private static final long PAN_SETTLE_DELAY = 150;
   /** The zoom in tool. */
   private Zoom mZoomIn;
   /** The zoom out tool. */
@@ -82,6 +91,51 @@ public class GraphicalView extends View {
   private float oldX;
   /** The old y coordinate. */
   private float oldY;
+  /** The offscreen bitmap of the static chart layers, in layered rendering. */
+  private Bitmap mStaticLayer;
+  /**
+   * The offscreen bitmap of the series, in incremental animation, when
+   * following the latest values or while panning by translation.
+   */
+  private Bitmap mSeriesLayer;
+  /** The recorder of the frame stages, null if not recording. */
+  private FrameRecorder mFrameRecorder;
+  /** The statistics shown by the debug display, null if hidden. */
+  private FrameStatistics mHudStatistics;
+  /** The debug display of the frame statistics. */
+  private FrameHud mHud;
+  /** The surface the debug display is drawn to. */
+  private CanvasSurface mHudSurface;
+  /** The scheduler pacing the repaints to the frame rate. */
+  private FrameScheduler mScheduler = FrameScheduler.getDefault();
+  /** The callback invalidating the view on the next frame. */
+  private final FrameScheduler.FrameCallback mFrameCallback = new FrameScheduler.FrameCallback() {
+    public void doFrame(long frameTime) {
+      onFrame(frameTime);
+    }
+  };
+  /** The runnable asking for a repaint, posted by the delayed repaints. */
+  private final Runnable mRepaintRunnable = new Runnable() {
+    public void run() {
+      repaint();
+    }
+  };
+  /** If the whole view is to be invalidated on the next frame. */
+  private boolean mFullRepaint;
+  /** The area to be invalidated on the next frame. */
+  private final Rect mDirtyRect = new Rect();
+  /** The animation start time in uptime milliseconds, -1 if not started. */
+  private long mAnimationStart = -1;
+  /** The runnable ending the pan gesture, posted after each pan move. */
+  private final Runnable mPanSettleRunnable = new Runnable() {
+    public void run() {
+      ((XYChart) mChart).setPanning(false);
+      if (!isSeriesLayerNeeded(isAnimating())) {
+        releaseSeriesLayer();
+      }
+      repaint();
+    }
+  };
 
   /**
    * Creates a new graphical view.
@@ -128,6 +182,27 @@ public class GraphicalView extends View {
     } else {
       mTouchHandler = new TouchHandler(this, mChart);
     }
+    if (mChart instanceof XYChart) {
+      mTouchHandler.addPanListener(new PanListener() {
+        public void panApplied() {
+          onPanApplied();
+        }
+      });
+    }
+  }
+
+  /**
+   * Marks the chart as being panned until no pan move happens for a while,
+   * the pan gesture being then ended by a full drawing of the series. The
+   * series layer bitmap is allocated by the first drawing of the gesture and
+   * released when it ends.
+   */
+  private void onPanApplied() {
+    if (((XYMultipleSeriesRenderer) mRenderer).isPanByTranslation()) {
+      ((XYChart) mChart).setPanning(true);
+      mHandler.removeCallbacks(mPanSettleRunnable);
+      mHandler.postDelayed(mPanSettleRunnable, PAN_SETTLE_DELAY);
+    }
   }
   
   public void overrideXYMarginsColor(int color) {
@@ -156,6 +231,36 @@ public class GraphicalView extends View {
     return Collections.emptyList();
   }
   
+  /**
+   * Returns the point nearest to the given X value in each series of a scale.
+   * 
+   * @param x the X value
+   * @param scale the scale
+   * @return the selections, empty if the chart is not an XY chart
+   */
+  public List<SeriesSelection> nearestPoints(double x, int scale) {
+    if (mChart instanceof XYChart) {
+      return ((XYChart) mChart).nearestPoints(x, scale);
+    }
+    return Collections.emptyList();
+  }
+
+  /**
+   * Finds the point nearest to the given X value in each series of a scale,
+   * updating the selections already in the array.
+   * 
+   * @param x the X value
+   * @param scale the scale
+   * @param selections the array to fill
+   * @return the number of selections
+   */
+  public int nearestPoints(double x, int scale, SeriesSelection[] selections) {
+    if (mChart instanceof XYChart) {
+      return ((XYChart) mChart).nearestPoints(x, scale, selections);
+    }
+    return 0;
+  }
+
   /**
    * Transforms the currently selected screen point to a real point.
    * 
@@ -170,17 +275,6 @@ public class GraphicalView extends View {
     return null;
   }
 
-  Handler myHandler = new AnimationHandler();
-  
-  class AnimationHandler extends Handler {
-	  @Override
-	public void handleMessage(Message msg) {
-		// TODO Auto-generated method stub
-		super.handleMessage(msg);
-		invalidate();
-	}
-  }
-  
   @Override
   protected void onDraw(Canvas canvas) {
     super.onDraw(canvas);
@@ -195,7 +289,30 @@ public class GraphicalView extends View {
       width = getMeasuredWidth();
       height = getMeasuredHeight();
     }
-    mChart.draw(canvas, left, top, width, height, mPaint);
+    boolean animating = isAnimating();
+    if (animating && mAnimationStart < 0) {
+      mAnimationStart = SystemClock.uptimeMillis();
+      mChart.setAnimationProgress(0);
+    }
+    if (mFrameRecorder != null) {
+      mFrameRecorder.beginFrame();
+    }
+    if (isLayeredRendering()) {
+      Bitmap seriesLayer = null;
+      if (isSeriesLayerNeeded(animating)) {
+        mSeriesLayer = getLayer(mSeriesLayer, width, height);
+        seriesLayer = mSeriesLayer;
+      } else {
+        releaseSeriesLayer();
+      }
+      ((XYChart) mChart).draw(canvas, left, top, width, height, mPaint,
+          getStaticLayer(width, height), seriesLayer);
+    } else {
+      mChart.draw(canvas, left, top, width, height, mPaint);
+    }
+    if (mFrameRecorder != null) {
+      mFrameRecorder.endFrame();
+    }
     if (mRenderer != null && mRenderer.isZoomEnabled() && mRenderer.isZoomButtonsVisible()) {
       mPaint.setColor(ZOOM_BUTTONS_COLOR);
       zoomSize = Math.max(zoomSize, Math.min(width, height) / 7);
@@ -207,12 +324,244 @@ public class GraphicalView extends View {
       canvas.drawBitmap(zoomOutImage, left + width - zoomSize * 1.75f, buttonY, null);
       canvas.drawBitmap(fitZoomImage, left + width - zoomSize * 0.75f, buttonY, null);
     }
-    long delay = mRenderer.getDelayAnimation() / (mChart.getNumberOfAnimatedSteps() * 1L);
-    if (mRenderer.isAnimated() && mChart.isAnimatable() && !mChart.isAnimationFinished()) {
-    	repaintDelayed(delay);
+    if (mHudStatistics != null) {
+      if (mHudSurface == null) {
+        mHudSurface = new CanvasSurface(canvas);
+      } else {
+        mHudSurface.setCanvas(canvas);
+      }
+      mHud.draw(mHudSurface, mHudStatistics, left, top, mPaint);
+    }
+    if (animating) {
+      repaint();
     }
   }
 
+  /**
+   * Returns if the chart animation is running or about to start.
+   * 
+   * @return if the chart is animating
+   */
+  private boolean isAnimating() {
+    return mRenderer.isAnimated() && mChart.isAnimatable()
+        && (mAnimationStart < 0 || !mChart.isAnimationFinished());
+  }
+
+  /**
+   * Updates the animation progress and invalidates the areas asked for a
+   * repaint since the previous frame.
+   * 
+   * @param frameTime the frame time, in uptime milliseconds
+   */
+  private void onFrame(long frameTime) {
+    if (mAnimationStart >= 0 && !mChart.isAnimationFinished()) {
+      long duration = mRenderer.getDelayAnimation();
+      mChart.setAnimationProgress(duration <= 0 ? 1 : (frameTime - mAnimationStart)
+          / (float) duration);
+    }
+    boolean full;
+    synchronized (mDirtyRect) {
+      full = mFullRepaint || mDirtyRect.isEmpty();
+      mFullRepaint = false;
+      if (!full) {
+        invalidate(mDirtyRect);
+      }
+      mDirtyRect.setEmpty();
+    }
+    if (full) {
+      invalidate();
+    }
+  }
+
+  /**
+   * Returns the scheduler pacing the repaints of the view.
+   * 
+   * @return the frame scheduler
+   */
+  public FrameScheduler getFrameScheduler() {
+    return mScheduler;
+  }
+
+  /**
+   * Sets the scheduler pacing the repaints of the view. The views of a
+   * dashboard share the default scheduler, running on the main thread.
+   * 
+   * @param scheduler the frame scheduler
+   */
+  public void setFrameScheduler(FrameScheduler scheduler) {
+    if (scheduler == null) {
+      throw new IllegalArgumentException("The frame scheduler must not be null");
+    }
+    mScheduler.removeFrameCallback(mFrameCallback);
+    mScheduler = scheduler;
+    repaint();
+  }
+
+  /**
+   * Restarts the chart animation, for instance after the data changed.
+   */
+  public void restartAnimation() {
+    mAnimationStart = -1;
+    repaint();
+  }
+
+  /**
+   * Returns the recorder of the frame stages.
+   * 
+   * @return the frame recorder, null if not recording
+   */
+  public FrameRecorder getFrameRecorder() {
+    return mFrameRecorder;
+  }
+
+  /**
+   * Sets the recorder of the frame stages, which then records each frame
+   * drawn by the view. The recording has a small cost, so it can be enabled
+   * on a sample of the devices only.
+   * 
+   * @param recorder the frame recorder, null to stop recording
+   */
+  public void setFrameRecorder(FrameRecorder recorder) {
+    if (mFrameRecorder != null && mHudStatistics != null) {
+      mFrameRecorder.removeListener(mHudStatistics);
+    }
+    mFrameRecorder = recorder;
+    mChart.setFrameRecorder(recorder);
+    if (mFrameRecorder != null && mHudStatistics != null) {
+      mFrameRecorder.addListener(mHudStatistics);
+    }
+  }
+
+  /**
+   * Returns if the debug display of the frame statistics is visible.
+   * 
+   * @return if the debug display is visible
+   */
+  public boolean isDebugHudVisible() {
+    return mHudStatistics != null;
+  }
+
+  /**
+   * Sets the visibility of the debug display of the frame statistics, drawn
+   * over the top left corner of the chart. A frame recorder is set if none
+   * was.
+   * 
+   * @param visible if the debug display is visible
+   */
+  public void setDebugHudVisible(boolean visible) {
+    if (visible == isDebugHudVisible()) {
+      return;
+    }
+    if (visible) {
+      mHudStatistics = new FrameStatistics();
+      if (mHud == null) {
+        mHud = new FrameHud();
+      }
+      if (mFrameRecorder == null) {
+        setFrameRecorder(new FrameRecorder());
+      } else {
+        mFrameRecorder.addListener(mHudStatistics);
+      }
+    } else {
+      if (mFrameRecorder != null) {
+        mFrameRecorder.removeListener(mHudStatistics);
+      }
+      mHudStatistics = null;
+    }
+    invalidate();
+  }
+
+  private boolean isLayeredRendering() {
+    return mChart instanceof XYChart
+        && ((XYMultipleSeriesRenderer) mRenderer).isLayeredRendering();
+  }
+
+  /**
+   * Returns the bitmap the static layers are rendered to, built again when
+   * the view size changes.
+   * 
+   * @param width the bitmap width
+   * @param height the bitmap height
+   * @return the bitmap or null if the size is empty
+   */
+  private Bitmap getStaticLayer(int width, int height) {
+    mStaticLayer = getLayer(mStaticLayer, width, height);
+    return mStaticLayer;
+  }
+
+  /**
+   * Returns a layer bitmap of the given size, recycling the current one if
+   * its size differs.
+   * 
+   * @param layer the current layer bitmap, or null
+   * @param width the bitmap width
+   * @param height the bitmap height
+   * @return the bitmap or null if the size is empty
+   */
+  private static Bitmap getLayer(Bitmap layer, int width, int height) {
+    if (layer != null && (layer.getWidth() != width || layer.getHeight() != height)) {
+      layer.recycle();
+      layer = null;
+    }
+    if (layer == null && width > 0 && height > 0) {
+      layer = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+    }
+    return layer;
+  }
+
+  /**
+   * Checks if the series are to be drawn to the series layer bitmap, which is
+   * only allocated while animating incrementally, following the latest values
+   * or panning by translation.
+   * 
+   * @param animating if an animation is running
+   * @return if the series layer is needed
+   */
+  private boolean isSeriesLayerNeeded(boolean animating) {
+    XYMultipleSeriesRenderer renderer = (XYMultipleSeriesRenderer) mRenderer;
+    return animating && renderer.isIncrementalAnimation() || renderer.isFollowLatest()
+        || renderer.isPanByTranslation() && ((XYChart) mChart).isPanning();
+  }
+
+  private void releaseSeriesLayer() {
+    if (mSeriesLayer != null) {
+      mSeriesLayer.recycle();
+      mSeriesLayer = null;
+    }
+  }
+
+  private void releaseStaticLayer() {
+    if (mStaticLayer != null) {
+      mStaticLayer.recycle();
+      mStaticLayer = null;
+    }
+  }
+
+  /**
+   * Forces the static chart layers to be rendered again on the next repaint,
+   * in layered rendering. The renderer setters already do it, so this is only
+   * needed after changes they don't see, such as editing the margins array in
+   * place.
+   */
+  public void invalidateStaticLayers() {
+    if (mChart instanceof XYChart) {
+      ((XYChart) mChart).invalidateStaticLayers();
+    }
+  }
+
+  @Override
+  protected void onDetachedFromWindow() {
+    super.onDetachedFromWindow();
+    mScheduler.removeFrameCallback(mFrameCallback);
+    mHandler.removeCallbacks(mRepaintRunnable);
+    mHandler.removeCallbacks(mPanSettleRunnable);
+    if (mChart instanceof XYChart) {
+      ((XYChart) mChart).setPanning(false);
+    }
+    releaseStaticLayer();
+    releaseSeriesLayer();
+  }
+
   /**
    * Sets the zoom rate.
    * 
@@ -329,23 +678,18 @@ public class GraphicalView extends View {
    * @param delayMillis delay in milliseconds
    */
   public void repaintDelayed(final long delayMillis) {
-	  
-    mHandler.postDelayed(new Runnable() {
-      public void run() {
-        invalidate();
-      }
-    }, delayMillis);
+    mHandler.postDelayed(mRepaintRunnable, delayMillis);
   }
 
   /**
-   * Schedule a view content repaint.
+   * Schedule a view content repaint, on the next frame. The repaints asked
+   * before the next frame are coalesced into a single one.
    */
   public void repaint() {
-    mHandler.post(new Runnable() {
-      public void run() {
-        invalidate();
-      }
-    });
+    synchronized (mDirtyRect) {
+      mFullRepaint = true;
+    }
+    mScheduler.postFrameCallback(mFrameCallback);
   }
 
   /**
@@ -357,11 +701,10 @@ public class GraphicalView extends View {
    * @param bottom the bottom position of the area to be repainted
    */
   public void repaint(final int left, final int top, final int right, final int bottom) {
-    mHandler.post(new Runnable() {
-      public void run() {
-        invalidate(left, top, right, bottom);
-      }
-    });
+    synchronized (mDirtyRect) {
+      mDirtyRect.union(left, top, right, bottom);
+    }
+    mScheduler.postFrameCallback(mFrameCallback);
   }
 
   /**
@@ -381,10 +724,21 @@ public class GraphicalView extends View {
     return getDrawingCache(true);
   }
 
+  /**
+   * Saves the content of the graphical view to a stream, as an SVG vector
+   * image.
+   * 
+   * @param out the stream to write to, left open
+   * @throws IOException if the image couldn't be written
+   */
+  public void toSvg(OutputStream out) throws IOException {
+    SvgExporter.export(mChart, getWidth(), getHeight(), out);
+  }
+
   public DefaultRenderer getRenderer() {
     return mRenderer;
   }
 
   
   
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -18,6 +18,8 @@ package org.achartengine.chart;
 import java.io.Serializable;
 import java.util.List;
 
+import org.achartengine.metrics.FrameRecorder;
+import org.achartengine.metrics.FrameStage;
 import org.achartengine.model.Point;
 import org.achartengine.model.SeriesSelection;
 import org.achartengine.renderer.DefaultRenderer;
@@ -31,13 +33,31 @@ import android.graphics.Color;
 import android.graphics.Paint;
 import android.graphics.Paint.Align;
 import android.graphics.Paint.Style;
-import android.graphics.Path;
 import android.graphics.RectF;
 
 /**
  * An abstract class to be implemented by the chart rendering classes.
+ * <p>
+ * The charts draw to a DrawingSurface. The former Canvas versions of the
+ * drawing methods are kept, deprecated, and draw to a CanvasSurface wrapping
+ * the canvas. The DrawingSurface versions of draw, drawLegendShape and
+ * XYChart.drawSeries call the Canvas ones by default, so the charts still
+ * implementing the Canvas versions compile and draw to the Android canvases,
+ * a chart having to implement one of the two versions. The other protected
+ * hooks, such as the XYChart label drawing, only have a DrawingSurface
+ * version, so the charts overriding their Canvas version must be updated.
  */
 public abstract class AbstractChart implements Serializable {
+  /** The surface reused by the drawing to a canvas. */
+  private transient CanvasSurface mCanvasSurface;
+  /** The measured text layouts, shared by the legend and the labels. */
+  private transient TextLayoutCache mTextLayouts;
+  /** The clipped segment coordinates reused by the path drawing. */
+  private final float[] mDrawPoints = new float[4];
+  /** The recorder of the frame stages, null if not recording. */
+  private transient FrameRecorder mFrameRecorder;
+  /** The animation progress, from 0 to 1. */
+  private float mAnimationProgress = 1;
 
   /**
    * Indicates if the chart is animatable
@@ -48,7 +68,28 @@ public abstract class AbstractChart implements Serializable {
   }
   
   public boolean isAnimationFinished() {
-	  return true;
+	  return mAnimationProgress >= 1;
+  }
+
+  /**
+   * Returns the animation progress.
+   * 
+   * @return the animation progress, from 0 at the start to 1 when finished
+   */
+  public float getAnimationProgress() {
+    return mAnimationProgress;
+  }
+
+  /**
+   * Sets the animation progress, computed from the time elapsed since the
+   * animation start, such as the animation speed doesn't depend on the frame
+   * rate or on the number of points.
+   * 
+   * @param progress the animation progress, from 0 at the start to 1 when
+   *          finished
+   */
+  public void setAnimationProgress(float progress) {
+    mAnimationProgress = Math.max(0, Math.min(1, progress));
   }
   
   public int getNumberOfAnimatedSteps() {
@@ -65,7 +106,153 @@ public abstract class AbstractChart implements Serializable {
    * @param height the height of the view to draw to
    * @param paint the paint
    */
-  public abstract void draw(Canvas canvas, int x, int y, int width, int height, Paint paint);
+  public void draw(Canvas canvas, int x, int y, int width, int height, Paint paint) {
+    draw(getCanvasSurface(canvas), x, y, width, height, paint);
+  }
+
+  /**
+   * The graphical representation of the chart, on any drawing surface. The
+   * charts override it, the default implementation calling draw(Canvas, ...)
+   * for the charts still implementing that one instead, which only supports
+   * the canvas surfaces.
+   * 
+   * @param canvas the surface to paint to
+   * @param x the top left x value of the view to draw to
+   * @param y the top left y value of the view to draw to
+   * @param width the width of the view to draw to
+   * @param height the height of the view to draw to
+   * @param paint the paint
+   */
+  public void draw(DrawingSurface canvas, int x, int y, int width, int height, Paint paint) {
+    draw(toCanvas(canvas), x, y, width, height, paint);
+  }
+
+  /**
+   * Returns the recorder of the frame stages.
+   * 
+   * @return the frame recorder, null if not recording
+   */
+  public FrameRecorder getFrameRecorder() {
+    return mFrameRecorder;
+  }
+
+  /**
+   * Sets the recorder of the frame stages. The frames are delimited by the
+   * recorder owner, usually the view drawing the chart.
+   * 
+   * @param recorder the frame recorder, null to stop recording
+   */
+  public void setFrameRecorder(FrameRecorder recorder) {
+    mFrameRecorder = recorder;
+  }
+
+  /**
+   * Switches the frame recording to another stage, if recording.
+   * 
+   * @param stage the stage to switch to
+   * @return the stage left, to switch back to, or null if not recording
+   */
+  protected FrameStage enterStage(FrameStage stage) {
+    FrameRecorder recorder = mFrameRecorder;
+    return recorder == null ? null : recorder.enter(stage);
+  }
+
+  /**
+   * Returns the surface drawing to the given canvas, reused between the
+   * frames.
+   * 
+   * @param canvas the canvas
+   * @return the canvas surface
+   */
+  protected CanvasSurface getCanvasSurface(Canvas canvas) {
+    if (mCanvasSurface == null) {
+      mCanvasSurface = new CanvasSurface(canvas);
+    } else {
+      mCanvasSurface.setCanvas(canvas);
+    }
+    return mCanvasSurface;
+  }
+
+  /**
+   * Returns the canvas a surface draws to, for the Canvas versions of the
+   * drawing methods.
+   * 
+   * @param surface the surface
+   * @return the canvas
+   * @throws UnsupportedOperationException if the surface doesn't draw to a
+   *           canvas
+   */
+  protected static Canvas toCanvas(DrawingSurface surface) {
+    if (surface instanceof CanvasSurface) {
+      return ((CanvasSurface) surface).getCanvas();
+    }
+    throw new UnsupportedOperationException("Only drawing to a canvas is supported");
+  }
+
+  /**
+   * Draws the chart background.
+   * 
+   * @deprecated use drawBackground(DefaultRenderer, DrawingSurface, ...)
+   *             instead
+   */
+  protected void drawBackground(DefaultRenderer renderer, Canvas canvas, int x, int y,
+      int width, int height, Paint paint, boolean newColor, int color) {
+    drawBackground(renderer, new CanvasSurface(canvas), x, y, width, height, paint, newColor,
+        color);
+  }
+
+  /**
+   * Draws the chart legend.
+   * 
+   * @deprecated use drawLegend(DrawingSurface, ...) instead
+   */
+  protected int drawLegend(Canvas canvas, DefaultRenderer renderer, String[] titles, int left,
+      int right, int y, int width, int height, int legendSize, Paint paint, boolean calculate) {
+    return drawLegend(new CanvasSurface(canvas), renderer, titles, left, right, y, width, height,
+        legendSize, paint, calculate);
+  }
+
+  /**
+   * The graphical representation of a path.
+   * 
+   * @deprecated use drawPath(DrawingSurface, ...) instead
+   */
+  protected void drawPath(Canvas canvas, float[] points, Paint paint, boolean circular) {
+    drawPath(new CanvasSurface(canvas), points, 0, points.length, paint, circular);
+  }
+
+  /**
+   * The graphical representation of a path, reading the points from a slice of
+   * the given array.
+   * 
+   * @deprecated use drawPath(DrawingSurface, ...) instead
+   */
+  protected void drawPath(Canvas canvas, float[] points, int offset, int length, Paint paint,
+      boolean circular) {
+    drawPath(new CanvasSurface(canvas), points, offset, length, paint, circular);
+  }
+
+  /**
+   * Draws a text label.
+   * 
+   * @deprecated use drawLabel(DrawingSurface, ...) instead
+   */
+  protected void drawLabel(Canvas canvas, String labelText, DefaultRenderer renderer,
+      List<RectF> prevLabelsBounds, int centerX, int centerY, float shortRadius, float longRadius,
+      float currentAngle, float angle, int left, int right, int color, Paint paint) {
+    drawLabel(new CanvasSurface(canvas), labelText, renderer, prevLabelsBounds, centerX,
+        centerY, shortRadius, longRadius, currentAngle, angle, left, right, color, paint);
+  }
+
+  /**
+   * The graphical representation of the legend shape.
+   * 
+   * @deprecated implement drawLegendShape(DrawingSurface, ...) instead
+   */
+  public void drawLegendShape(Canvas canvas, SimpleSeriesRenderer renderer, float x, float y,
+      int seriesIndex, Paint paint) {
+    drawLegendShape(new CanvasSurface(canvas), renderer, x, y, seriesIndex, paint);
+  }
 
   /**
    * Draws the chart background.
@@ -80,8 +267,8 @@ public abstract class AbstractChart implements Serializable {
    * @param newColor if a new color is to be used
    * @param color the color to be used
    */
-  protected void drawBackground(DefaultRenderer renderer, Canvas canvas, int x, int y, int width,
-      int height, Paint paint, boolean newColor, int color) {
+  protected void drawBackground(DefaultRenderer renderer, DrawingSurface canvas, int x, int y,
+      int width, int height, Paint paint, boolean newColor, int color) {
     if (renderer.isApplyBackgroundColor() || newColor) {
       if (newColor) {
         paint.setColor(color);
@@ -110,8 +297,9 @@ public abstract class AbstractChart implements Serializable {
    * 
    * @return the legend height
    */
-  protected int drawLegend(Canvas canvas, DefaultRenderer renderer, String[] titles, int left,
-      int right, int y, int width, int height, int legendSize, Paint paint, boolean calculate) {
+  protected int drawLegend(DrawingSurface canvas, DefaultRenderer renderer, String[] titles,
+      int left, int right, int y, int width, int height, int legendSize, Paint paint,
+      boolean calculate) {
     float size = 32;
     if (renderer.isShowLegend()) {
       float currentX = left;
@@ -127,13 +315,8 @@ public abstract class AbstractChart implements Serializable {
         } else {
           paint.setColor(Color.LTGRAY);
         }
-        float[] widths = new float[text.length()];
-        paint.getTextWidths(text, widths);
-        float sum = 0;
-        for (float value : widths) {
-          sum += value;
-        }
-        float extraSize = lineSize + 10 + sum;
+        TextLayoutCache.Layout layout = getTextLayout(text, paint);
+        float extraSize = lineSize + 10 + layout.getWidth();
         float currentWidth = currentX + extraSize;
 
         if (i > 0 && getExceed(currentWidth, renderer, right, width)) {
@@ -147,8 +330,7 @@ public abstract class AbstractChart implements Serializable {
           if (isVertical(renderer)) {
             maxWidth = width - currentX - lineSize - 10;
           }
-          int nr = paint.breakText(text, true, maxWidth, widths);
-          text = text.substring(0, nr) + "...";
+          text = layout.getTruncatedText(layout.breakText(maxWidth));
         }
         if (!calculate) {
           drawLegendShape(canvas, renderer.getSeriesRendererAt(i), currentX, currentY, i, paint);
@@ -188,8 +370,8 @@ public abstract class AbstractChart implements Serializable {
         && ((XYMultipleSeriesRenderer) renderer).getOrientation() == Orientation.VERTICAL;
   }
 
-  private static float[] calculateDrawPoints(float p1x, float p1y, float p2x, float p2y,
-      int screenHeight, int screenWidth) {
+  private static void calculateDrawPoints(float p1x, float p1y, float p2x, float p2y,
+      int screenHeight, int screenWidth, float[] drawPoints) {
     float drawP1x;
     float drawP1y;
     float drawP2x;
@@ -257,7 +439,10 @@ public abstract class AbstractChart implements Serializable {
       drawP2y = p2y;
     }
 
-    return new float[] { drawP1x, drawP1y, drawP2x, drawP2y };
+    drawPoints[0] = drawP1x;
+    drawPoints[1] = drawP1y;
+    drawPoints[2] = drawP2x;
+    drawPoints[3] = drawP2y;
   }
 
   /**
@@ -268,35 +453,53 @@ public abstract class AbstractChart implements Serializable {
    * @param paint the paint to be used for painting
    * @param circular if the path ends with the start point
    */
-  protected void drawPath(Canvas canvas, float[] points, Paint paint, boolean circular) {
-    Path path = new Path();
-    int height = canvas.getHeight();
-    int width = canvas.getWidth();
+  protected void drawPath(DrawingSurface canvas, float[] points, Paint paint, boolean circular) {
+    drawPath(canvas, points, 0, points.length, paint, circular);
+  }
 
-    float[] tempDrawPoints;
-    if (points.length < 4) {
+  /**
+   * The graphical representation of a path, reading the points from a slice of
+   * the given array.
+   * 
+   * @param canvas the canvas to paint to
+   * @param points the points buffer
+   * @param offset the index of the first point coordinate in the buffer
+   * @param length the number of point coordinates in the path
+   * @param paint the paint to be used for painting
+   * @param circular if the path ends with the start point
+   */
+  protected void drawPath(DrawingSurface canvas, float[] points, int offset, int length,
+      Paint paint, boolean circular) {
+    if (length < 4) {
       return;
     }
-    tempDrawPoints = calculateDrawPoints(points[0], points[1], points[2], points[3], height, width);
-    path.moveTo(tempDrawPoints[0], tempDrawPoints[1]);
-    path.lineTo(tempDrawPoints[2], tempDrawPoints[3]);
+    canvas.beginPath();
+    int height = canvas.getHeight();
+    int width = canvas.getWidth();
 
-    for (int i = 4; i < points.length; i += 2) {
+    float[] tempDrawPoints = mDrawPoints;
+    calculateDrawPoints(points[offset], points[offset + 1], points[offset + 2],
+        points[offset + 3], height, width, tempDrawPoints);
+    canvas.moveTo(tempDrawPoints[0], tempDrawPoints[1]);
+    canvas.lineTo(tempDrawPoints[2], tempDrawPoints[3]);
+
+    int end = offset + length;
+    for (int i = offset + 4; i < end; i += 2) {
       if ((points[i - 1] < 0 && points[i + 1] < 0)
           || (points[i - 1] > height && points[i + 1] > height)) {
         continue;
       }
-      tempDrawPoints = calculateDrawPoints(points[i - 2], points[i - 1], points[i], points[i + 1],
-          height, width);
+      calculateDrawPoints(points[i - 2], points[i - 1], points[i], points[i + 1], height, width,
+          tempDrawPoints);
       if (!circular) {
-        path.moveTo(tempDrawPoints[0], tempDrawPoints[1]);
+        canvas.moveTo(tempDrawPoints[0], tempDrawPoints[1]);
       }
-      path.lineTo(tempDrawPoints[2], tempDrawPoints[3]);
+      canvas.lineTo(tempDrawPoints[2], tempDrawPoints[3]);
     }
     if (circular) {
-      path.lineTo(points[0], points[1]);
+      canvas.lineTo(points[offset], points[offset + 1]);
     }
-    canvas.drawPath(path, paint);
+    canvas.drawPath(paint);
   }
 
   /**
@@ -308,7 +511,9 @@ public abstract class AbstractChart implements Serializable {
   public abstract int getLegendShapeWidth(int seriesIndex);
 
   /**
-   * The graphical representation of the legend shape.
+   * The graphical representation of the legend shape. The charts override it,
+   * the default implementation calling drawLegendShape(Canvas, ...) for the
+   * charts still implementing that one instead.
    * 
    * @param canvas the canvas to paint to
    * @param renderer the series renderer
@@ -317,29 +522,33 @@ public abstract class AbstractChart implements Serializable {
    * @param seriesIndex the series index
    * @param paint the paint to be used for drawing
    */
-  public abstract void drawLegendShape(Canvas canvas, SimpleSeriesRenderer renderer, float x,
-      float y, int seriesIndex, Paint paint);
+  public void drawLegendShape(DrawingSurface canvas, SimpleSeriesRenderer renderer, float x,
+      float y, int seriesIndex, Paint paint) {
+    drawLegendShape(toCanvas(canvas), renderer, x, y, seriesIndex, paint);
+  }
 
   /**
-   * Calculates the best text to fit into the available space.
+   * Returns the text layouts cache, shared by the legend and the labels.
    * 
-   * @param text the entire text
-   * @param width the width to fit the text into
-   * @param paint the paint
-   * @return the text to fit into the space
+   * @return the text layouts cache
    */
-  private String getFitText(String text, float width, Paint paint) {
-    String newText = text;
-    int length = text.length();
-    int diff = 0;
-    while (paint.measureText(newText) > width && diff < length) {
-      diff++;
-      newText = text.substring(0, length - diff) + "...";
-    }
-    if (diff == length) {
-      newText = "...";
+  protected TextLayoutCache getTextLayouts() {
+    if (mTextLayouts == null) {
+      mTextLayouts = new TextLayoutCache();
     }
-    return newText;
+    return mTextLayouts;
+  }
+
+  /**
+   * Returns the layout of a text, as measured with the current text size and
+   * typeface of the paint.
+   * 
+   * @param text the text
+   * @param paint the paint
+   * @return the text layout
+   */
+  protected TextLayoutCache.Layout getTextLayout(String text, Paint paint) {
+    return getTextLayouts().getLayout(text, paint);
   }
 
   /**
@@ -379,7 +588,7 @@ public abstract class AbstractChart implements Serializable {
    * @param color the label color
    * @param paint the paint
    */
-  protected void drawLabel(Canvas canvas, String labelText, DefaultRenderer renderer,
+  protected void drawLabel(DrawingSurface canvas, String labelText, DefaultRenderer renderer,
       List<RectF> prevLabelsBounds, int centerX, int centerY, float shortRadius, float longRadius,
       float currentAngle, float angle, int left, int right, int color, Paint paint) {
     if (renderer.isShowLabels()) {
@@ -405,8 +614,9 @@ public abstract class AbstractChart implements Serializable {
       if (x1 > x2) {
         width = xLabel - left;
       }
-      labelText = getFitText(labelText, width, paint);
-      float widthLabel = paint.measureText(labelText);
+      TextLayoutCache.Layout layout = getTextLayout(labelText, paint);
+      labelText = layout.getFitText(width);
+      float widthLabel = layout.getFitWidth(width);
       boolean okBounds = false;
       while (!okBounds) {
         boolean intersects = false;
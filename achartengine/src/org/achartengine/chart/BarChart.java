@@ -19,14 +19,12 @@ import org.achartengine.model.XYMultipleSeriesDataset;
 import org.achartengine.model.XYSeries;
 import org.achartengine.renderer.SimpleSeriesRenderer;
 import org.achartengine.renderer.XYMultipleSeriesRenderer;
+import org.achartengine.util.XYSnapshot;
 
-import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.Paint;
 import android.graphics.Paint.Style;
 import android.graphics.RectF;
-import android.graphics.drawable.GradientDrawable;
-import android.graphics.drawable.GradientDrawable.Orientation;
 
 /**
  * The bar chart rendering class.
@@ -64,20 +62,28 @@ public class BarChart extends XYChart {
   @Override
   protected ClickableArea[] clickableAreasForPoints(float[] points, double[] values,
       float yAxisValue, int seriesIndex, int startIndex) {
+    return clickableAreasForPoints(points, values, 0, points.length, yAxisValue, seriesIndex,
+        startIndex);
+  }
+
+  @Override
+  protected ClickableArea[] clickableAreasForPoints(float[] points, double[] values, int offset,
+      int length, float yAxisValue, int seriesIndex, int startIndex) {
     int seriesNr = mDataset.getSeriesCount();
-    int length = points.length;
     ClickableArea[] ret = new ClickableArea[length / 2];
-    float halfDiffX = getHalfDiffX(points, length, seriesNr);
+    float halfDiffX = getHalfDiffX(points, offset, length, seriesNr);
     for (int i = 0; i < length; i += 2) {
-      float x = points[i];
-      float y = points[i + 1];
+      float x = points[offset + i];
+      float y = points[offset + i + 1];
+      double xValue = values[offset + i];
+      double yValue = values[offset + i + 1];
       if (mType == Type.STACKED) {
         ret[i / 2] = new ClickableArea(new RectF(x - halfDiffX, y, x + halfDiffX, yAxisValue),
-            values[i], values[i + 1]);
+            xValue, yValue);
       } else {
         float startX = x - seriesNr * halfDiffX + seriesIndex * 2 * halfDiffX;
         ret[i / 2] = new ClickableArea(new RectF(startX, y, startX + 2 * halfDiffX, yAxisValue),
-            values[i], values[i + 1]);
+            xValue, yValue);
       }
     }
     return ret;
@@ -94,14 +100,21 @@ public class BarChart extends XYChart {
    * @param seriesIndex the index of the series currently being drawn
    * @param startIndex the start index of the rendering points
    */
-  public void drawSeries(Canvas canvas, Paint paint, float[] points,
+  public void drawSeries(DrawingSurface canvas, Paint paint, float[] points,
+      SimpleSeriesRenderer seriesRenderer, float yAxisValue, int seriesIndex, int startIndex) {
+    drawSeries(canvas, paint, points, 0, points.length, seriesRenderer, yAxisValue, seriesIndex,
+        startIndex);
+  }
+
+  @Override
+  public void drawSeries(DrawingSurface canvas, Paint paint, float[] points, int offset, int length,
       SimpleSeriesRenderer seriesRenderer, float yAxisValue, int seriesIndex, int startIndex) {
     int seriesNr = mDataset.getSeriesCount();
-    int length = points.length;
     paint.setColor(seriesRenderer.getColor());
     paint.setStyle(Style.FILL);
-    float halfDiffX = getHalfDiffX(points, length, seriesNr);
-    for (int i = 0; i < length; i += 2) {
+    float halfDiffX = getHalfDiffX(points, offset, length, seriesNr);
+    int end = offset + length;
+    for (int i = offset; i < end; i += 2) {
       float x = points[i];
       float y = points[i + 1];
       drawBar(canvas, x, yAxisValue, x, y, halfDiffX, seriesNr, seriesIndex, paint);
@@ -122,7 +135,7 @@ public class BarChart extends XYChart {
    * @param seriesIndex the current series index
    * @param paint the paint
    */
-  protected void drawBar(Canvas canvas, float xMin, float yMin, float xMax, float yMax,
+  protected void drawBar(DrawingSurface canvas, float xMin, float yMin, float xMax, float yMax,
       float halfDiffX, int seriesNr, int seriesIndex, Paint paint) {
     int scale = mDataset.getSeriesAt(seriesIndex).getScaleNumber();
     if (mType == Type.STACKED) {
@@ -145,8 +158,8 @@ public class BarChart extends XYChart {
    * @param seriesIndex the current series index
    * @param paint the paint
    */
-  private void drawBar(Canvas canvas, float xMin, float yMin, float xMax, float yMax, int scale,
-      int seriesIndex, Paint paint) {
+  private void drawBar(DrawingSurface canvas, float xMin, float yMin, float xMax, float yMax,
+      int scale, int seriesIndex, Paint paint) {
     SimpleSeriesRenderer renderer = mRenderer.getSeriesRendererAt(seriesIndex);
     if (renderer.isGradientEnabled()) {
       float minY = (float) toScreenPoint(new double[] { 0, renderer.getGradientStopValue() }, scale)[1];
@@ -175,11 +188,8 @@ public class BarChart extends XYChart {
         gradientStartColor = getGradientPartialColor(gradientMaxColor, gradientMinColor,
             (gradientMaxY - minY) / (maxY - minY));
       }
-      GradientDrawable gradient = new GradientDrawable(Orientation.BOTTOM_TOP, new int[] {
-          gradientStartColor, gradientStopColor });
-      gradient.setBounds(Math.round(xMin), Math.round(gradientMinY), Math.round(xMax),
-          Math.round(gradientMaxY));
-      gradient.draw(canvas);
+      canvas.drawGradientRect(Math.round(xMin), Math.round(gradientMinY), Math.round(xMax),
+          Math.round(gradientMaxY), gradientStopColor, gradientStartColor);
     } else {
       if (Math.abs(yMin - yMax) < 1) {
         if (yMin < yMax) {
@@ -209,23 +219,27 @@ public class BarChart extends XYChart {
    * @param series the series to be painted
    * @param renderer the series renderer
    * @param paint the paint to be used for drawing
-   * @param points the array of points to be used for drawing the series
+   * @param points the points buffer
+   * @param offset the index of the first point coordinate in the buffer
+   * @param length the number of point coordinates to be rendered
    * @param seriesIndex the index of the series currently being drawn
    * @param startIndex the start index of the rendering points
    */
-  protected void drawChartValuesText(Canvas canvas, XYSeries series, SimpleSeriesRenderer renderer,
-      Paint paint, float[] points, int seriesIndex, int startIndex) {
+  protected void drawChartValuesText(DrawingSurface canvas, XYSeries series,
+      SimpleSeriesRenderer renderer, Paint paint, float[] points, int offset, int length,
+      int seriesIndex, int startIndex) {
     int seriesNr = mDataset.getSeriesCount();
-    float halfDiffX = getHalfDiffX(points, points.length, seriesNr);
-    for (int i = 0; i < points.length; i += 2) {
+    float halfDiffX = getHalfDiffX(points, offset, length, seriesNr);
+    XYSnapshot data = getSeriesSnapshot(seriesIndex);
+    for (int i = 0; i < length; i += 2) {
       int index = startIndex + i / 2;
-      if (!isNullValue(series.getY(index))) {
-        float x = points[i];
+      if (!isNullValue(data.getY(index))) {
+        float x = points[offset + i];
         if (mType == Type.DEFAULT) {
           x += seriesIndex * 2 * halfDiffX - (seriesNr - 1.5f) * halfDiffX;
         }
-        drawText(canvas, getLabel(series.getY(index)), x,
-            points[i + 1] - renderer.getChartValuesSpacing(), paint, 0);
+        drawText(canvas, getLabel(data.getY(index)), x, points[offset + i + 1]
+            - renderer.getChartValuesSpacing(), paint, 0);
       }
     }
   }
@@ -250,8 +264,8 @@ public class BarChart extends XYChart {
    * @param seriesIndex the series index
    * @param paint the paint to be used for drawing
    */
-  public void drawLegendShape(Canvas canvas, SimpleSeriesRenderer renderer, float x, float y,
-      int seriesIndex, Paint paint) {
+  public void drawLegendShape(DrawingSurface canvas, SimpleSeriesRenderer renderer, float x,
+      float y, int seriesIndex, Paint paint) {
     float halfShapeWidth = SHAPE_WIDTH / 2;
     canvas.drawRect(x, y - halfShapeWidth, x + SHAPE_WIDTH, y + halfShapeWidth, paint);
   }
@@ -266,11 +280,25 @@ public class BarChart extends XYChart {
    * @return the calculated half-distance value
    */
   protected float getHalfDiffX(float[] points, int length, int seriesNr) {
+    return getHalfDiffX(points, 0, length, seriesNr);
+  }
+
+  /**
+   * Calculates and returns the half-distance in the graphical representation of
+   * 2 consecutive points, reading the points from a slice of the given array.
+   * 
+   * @param points the points buffer
+   * @param offset the index of the first point coordinate in the buffer
+   * @param length the points length
+   * @param seriesNr the series number
+   * @return the calculated half-distance value
+   */
+  protected float getHalfDiffX(float[] points, int offset, int length, int seriesNr) {
     int div = length;
     if (length > 2) {
       div = length - 2;
     }
-    float halfDiffX = (points[length - 2] - points[0]) / div;
+    float halfDiffX = (points[offset + length - 2] - points[offset]) / div;
     if (halfDiffX == 0) {
       halfDiffX = 10;
     }
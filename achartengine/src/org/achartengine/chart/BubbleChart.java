@@ -16,12 +16,11 @@
 package org.achartengine.chart;
 
 import org.achartengine.model.XYMultipleSeriesDataset;
-import org.achartengine.model.XYValueSeries;
 import org.achartengine.renderer.SimpleSeriesRenderer;
 import org.achartengine.renderer.XYMultipleSeriesRenderer;
 import org.achartengine.renderer.XYSeriesRenderer;
+import org.achartengine.util.XYValueSnapshot;
 
-import android.graphics.Canvas;
 import android.graphics.Paint;
 import android.graphics.Paint.Style;
 import android.graphics.RectF;
@@ -63,34 +62,47 @@ public class BubbleChart extends XYChart {
    * @param seriesIndex the index of the series currently being drawn
    * @param startIndex the start index of the rendering points
    */
-  public void drawSeries(Canvas canvas, Paint paint, float[] points,
+  public void drawSeries(DrawingSurface canvas, Paint paint, float[] points,
+      SimpleSeriesRenderer seriesRenderer, float yAxisValue, int seriesIndex, int startIndex) {
+    drawSeries(canvas, paint, points, 0, points.length, seriesRenderer, yAxisValue, seriesIndex,
+        startIndex);
+  }
+
+  @Override
+  public void drawSeries(DrawingSurface canvas, Paint paint, float[] points, int offset, int length,
       SimpleSeriesRenderer seriesRenderer, float yAxisValue, int seriesIndex, int startIndex) {
     XYSeriesRenderer renderer = (XYSeriesRenderer) seriesRenderer;
     paint.setColor(renderer.getColor());
     paint.setStyle(Style.FILL);
-    int length = points.length;
-    XYValueSeries series = (XYValueSeries) mDataset.getSeriesAt(seriesIndex);
-    double max = series.getMaxValue();
+    XYValueSnapshot data = (XYValueSnapshot) getSeriesSnapshot(seriesIndex);
+    double max = data.getMaxValue();
     double coef = MAX_BUBBLE_SIZE / max;
     for (int i = 0; i < length; i += 2) {
-      double size = series.getValue(startIndex + i / 2) * coef + MIN_BUBBLE_SIZE;
-      drawCircle(canvas, paint, points[i], points[i + 1], (float) size);
+      double size = data.getValue(startIndex + i / 2) * coef + MIN_BUBBLE_SIZE;
+      drawCircle(canvas, paint, points[offset + i], points[offset + i + 1], (float) size);
     }
   }
 
   @Override
   protected ClickableArea[] clickableAreasForPoints(float[] points, double[] values,
       float yAxisValue, int seriesIndex, int startIndex) {
-    int length = points.length;
-    XYValueSeries series = (XYValueSeries) mDataset.getSeriesAt(seriesIndex);
-    double max = series.getMaxValue();
+    return clickableAreasForPoints(points, values, 0, points.length, yAxisValue, seriesIndex,
+        startIndex);
+  }
+
+  @Override
+  protected ClickableArea[] clickableAreasForPoints(float[] points, double[] values, int offset,
+      int length, float yAxisValue, int seriesIndex, int startIndex) {
+    XYValueSnapshot data = (XYValueSnapshot) getSeriesSnapshot(seriesIndex);
+    double max = data.getMaxValue();
     double coef = MAX_BUBBLE_SIZE / max;
     ClickableArea[] ret = new ClickableArea[length / 2];
     for (int i = 0; i < length; i += 2) {
-      double size = series.getValue(startIndex + i / 2) * coef + MIN_BUBBLE_SIZE;
-      ret[i / 2] = new ClickableArea(new RectF(points[i] - (float) size, points[i + 1]
-          - (float) size, points[i] + (float) size, points[i + 1] + (float) size), values[i],
-          values[i + 1]);
+      float size = (float) (data.getValue(startIndex + i / 2) * coef + MIN_BUBBLE_SIZE);
+      float x = points[offset + i];
+      float y = points[offset + i + 1];
+      ret[i / 2] = new ClickableArea(new RectF(x - size, y - size, x + size, y + size),
+          values[offset + i], values[offset + i + 1]);
     }
     return ret;
   }
@@ -115,8 +127,8 @@ public class BubbleChart extends XYChart {
    * @param seriesIndex the series index
    * @param paint the paint to be used for drawing
    */
-  public void drawLegendShape(Canvas canvas, SimpleSeriesRenderer renderer, float x, float y,
-      int seriesIndex, Paint paint) {
+  public void drawLegendShape(DrawingSurface canvas, SimpleSeriesRenderer renderer, float x,
+      float y, int seriesIndex, Paint paint) {
     paint.setStyle(Style.FILL);
     drawCircle(canvas, paint, x + SHAPE_WIDTH, y, 3);
   }
@@ -130,7 +142,7 @@ public class BubbleChart extends XYChart {
    * @param y the y value of the point the shape should be drawn at
    * @param radius the bubble radius
    */
-  private void drawCircle(Canvas canvas, Paint paint, float x, float y, float radius) {
+  private void drawCircle(DrawingSurface canvas, Paint paint, float x, float y, float radius) {
     canvas.drawCircle(x, y, radius, paint);
   }
 
@@ -143,4 +155,4 @@ public class BubbleChart extends XYChart {
     return TYPE;
   }
 
-}
\ No newline at end of file
+}
\ No newline at end of file
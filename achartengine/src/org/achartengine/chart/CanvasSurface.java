@@ -0,0 +1,157 @@
+/**
+ * Copyright (C) 2009 - 2012 SC 4ViewSoft SRL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.achartengine.chart;
+
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Path;
+import android.graphics.RectF;
+import android.graphics.drawable.GradientDrawable;
+import android.graphics.drawable.GradientDrawable.Orientation;
+
+/**
+ * A drawing surface backed by an Android canvas.
+ */
+public class CanvasSurface implements DrawingSurface {
+  /** The canvas. */
+  private Canvas mCanvas;
+  /** The path being built. */
+  private final Path mPath = new Path();
+  /** The oval reused by the arc drawing. */
+  private final RectF mOval = new RectF();
+
+  /**
+   * Builds a new canvas surface.
+   *
+   * @param canvas the canvas to draw to
+   */
+  public CanvasSurface(Canvas canvas) {
+    mCanvas = canvas;
+  }
+
+  /**
+   * Returns the canvas.
+   *
+   * @return the canvas
+   */
+  public Canvas getCanvas() {
+    return mCanvas;
+  }
+
+  /**
+   * Sets the canvas, such as the surface can be reused.
+   *
+   * @param canvas the canvas to draw to
+   */
+  public void setCanvas(Canvas canvas) {
+    mCanvas = canvas;
+  }
+
+  public int getWidth() {
+    return mCanvas.getWidth();
+  }
+
+  public int getHeight() {
+    return mCanvas.getHeight();
+  }
+
+  public void drawLine(float startX, float startY, float stopX, float stopY, Paint paint) {
+    mCanvas.drawLine(startX, startY, stopX, stopY, paint);
+  }
+
+  public void drawRect(float left, float top, float right, float bottom, Paint paint) {
+    mCanvas.drawRect(left, top, right, bottom, paint);
+  }
+
+  public void drawGradientRect(int left, int top, int right, int bottom, int topColor,
+      int bottomColor) {
+    GradientDrawable gradient = new GradientDrawable(Orientation.BOTTOM_TOP, new int[] {
+        bottomColor, topColor });
+    gradient.setBounds(left, top, right, bottom);
+    gradient.draw(mCanvas);
+  }
+
+  public void drawCircle(float cx, float cy, float radius, Paint paint) {
+    mCanvas.drawCircle(cx, cy, radius, paint);
+  }
+
+  public void drawArc(float left, float top, float right, float bottom, float startAngle,
+      float sweepAngle, boolean useCenter, Paint paint) {
+    mOval.set(left, top, right, bottom);
+    mCanvas.drawArc(mOval, startAngle, sweepAngle, useCenter, paint);
+  }
+
+  public void drawPoint(float x, float y, Paint paint) {
+    mCanvas.drawPoint(x, y, paint);
+  }
+
+  public void drawPoints(float[] points, int offset, int count, Paint paint) {
+    mCanvas.drawPoints(points, offset, count, paint);
+  }
+
+  public void drawText(String text, float x, float y, Paint paint) {
+    mCanvas.drawText(text, x, y, paint);
+  }
+
+  public void beginPath() {
+    mPath.reset();
+  }
+
+  public void moveTo(float x, float y) {
+    mPath.moveTo(x, y);
+  }
+
+  public void lineTo(float x, float y) {
+    mPath.lineTo(x, y);
+  }
+
+  public void cubicTo(float x1, float y1, float x2, float y2, float x3, float y3) {
+    mPath.cubicTo(x1, y1, x2, y2, x3, y3);
+  }
+
+  public void closePath() {
+    mPath.close();
+  }
+
+  public void drawPath(Paint paint) {
+    mCanvas.drawPath(mPath, paint);
+  }
+
+  public void save() {
+    mCanvas.save();
+  }
+
+  public void restore() {
+    mCanvas.restore();
+  }
+
+  public void clipRect(float left, float top, float right, float bottom) {
+    mCanvas.clipRect(left, top, right, bottom);
+  }
+
+  public void rotate(float degrees, float px, float py) {
+    mCanvas.rotate(degrees, px, py);
+  }
+
+  public void translate(float dx, float dy) {
+    mCanvas.translate(dx, dy);
+  }
+
+  public void scale(float sx, float sy) {
+    mCanvas.scale(sx, sy);
+  }
+
+}
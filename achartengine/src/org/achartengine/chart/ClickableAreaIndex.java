@@ -0,0 +1,380 @@
+/**
+ * Copyright (C) 2009 - 2012 SC 4ViewSoft SRL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.achartengine.chart;
+
+import java.util.List;
+
+import org.achartengine.model.SeriesSelection;
+import org.achartengine.util.XYSnapshot;
+
+import android.graphics.RectF;
+
+/**
+ * The clickable areas of the points drawn in the last frame of an XY chart.
+ * While drawing, the chart only records the projected points in packed
+ * buffers. The clickable areas are computed by the chart on the first hit
+ * test following the frame and indexed in a packed uniform grid, such as a hit
+ * test only checks the areas of one grid cell.
+ */
+class ClickableAreaIndex {
+  /** The number of ints describing a recorded slice. */
+  private static final int SLICE_SIZE = 4;
+  /** The maximum number of grid columns or rows. */
+  private static final int MAX_CELLS = 1024;
+  /** The recorded point coordinates. */
+  private float[] mPoints = new float[0];
+  /** The recorded point values. */
+  private double[] mValues = new double[0];
+  /** The series index of each recorded point. */
+  private int[] mIndexes = new int[0];
+  /** The number of recorded coordinates. */
+  private int mPointCount;
+  /**
+   * The recorded slices, as series index, offset, length and series start
+   * index.
+   */
+  private int[] mSlices = new int[0];
+  /** The Y axis position of each recorded slice. */
+  private float[] mSliceAxis = new float[0];
+  /** The series snapshot the points of each recorded slice were read from. */
+  private XYSnapshot[] mSliceSnapshots = new XYSnapshot[0];
+  /** The number of recorded slices. */
+  private int mSliceCount;
+  /** If the areas are built from the recorded points. */
+  private boolean mBuilt;
+  /** The area rectangles, as left, top, right and bottom. */
+  private float[] mRects = new float[0];
+  /** The area values, as X and Y. */
+  private double[] mAreaValues = new double[0];
+  /** The series index of each area. */
+  private int[] mAreaSeries = new int[0];
+  /** The index in its series of the point of each area. */
+  private int[] mAreaIndexes = new int[0];
+  /** The number of areas. */
+  private int mAreaCount;
+  /** The grid bounds. */
+  private float mLeft, mTop, mRight, mBottom;
+  /** The grid cell size. */
+  private float mCellWidth, mCellHeight;
+  /** The number of grid columns. */
+  private int mColumns;
+  /** The number of grid rows. */
+  private int mRows;
+  /** The position of the first area of each cell in the cell items. */
+  private int[] mCellStart = new int[0];
+  /** The areas of all the cells, cell after cell. */
+  private int[] mCellItems = new int[0];
+
+  /**
+   * Forgets the recorded points, before drawing a new frame.
+   */
+  public void reset() {
+    for (int s = 0; s < mSliceCount; s++) {
+      mSliceSnapshots[s] = null;
+    }
+    mPointCount = 0;
+    mSliceCount = 0;
+    mBuilt = false;
+    mAreaCount = 0;
+  }
+
+  /**
+   * Records a slice of projected points, without null values.
+   *
+   * @param points the points buffer
+   * @param values the values buffer
+   * @param indexes the series indexes buffer, one per point
+   * @param offset the index of the first point coordinate in the buffers
+   * @param length the number of point coordinates
+   * @param yAxisValue the y axis value in pixels
+   * @param seriesIndex the series index
+   * @param startIndex the series index of the first point
+   * @param snapshot the series snapshot the points were read from
+   */
+  public void addPoints(float[] points, double[] values, int[] indexes, int offset, int length,
+      float yAxisValue, int seriesIndex, int startIndex, XYSnapshot snapshot) {
+    if (mPointCount + length > mPoints.length) {
+      int capacity = Math.max(mPointCount + length, 2 * mPoints.length);
+      mPoints = grow(mPoints, capacity, mPointCount);
+      mValues = grow(mValues, capacity, mPointCount);
+      mIndexes = grow(mIndexes, capacity / 2, mPointCount / 2);
+    }
+    System.arraycopy(points, offset, mPoints, mPointCount, length);
+    System.arraycopy(values, offset, mValues, mPointCount, length);
+    System.arraycopy(indexes, offset / 2, mIndexes, mPointCount / 2, length / 2);
+    if ((mSliceCount + 1) * SLICE_SIZE > mSlices.length) {
+      int capacity = Math.max(8, 2 * mSliceCount + 1);
+      mSlices = grow(mSlices, capacity * SLICE_SIZE, mSliceCount * SLICE_SIZE);
+      mSliceAxis = grow(mSliceAxis, capacity, mSliceCount);
+      XYSnapshot[] snapshots = new XYSnapshot[capacity];
+      System.arraycopy(mSliceSnapshots, 0, snapshots, 0, mSliceCount);
+      mSliceSnapshots = snapshots;
+    }
+    int slice = mSliceCount * SLICE_SIZE;
+    mSlices[slice] = seriesIndex;
+    mSlices[slice + 1] = mPointCount;
+    mSlices[slice + 2] = length;
+    mSlices[slice + 3] = startIndex;
+    mSliceAxis[mSliceCount] = yAxisValue;
+    mSliceSnapshots[mSliceCount] = snapshot;
+    mSliceCount++;
+    mPointCount += length;
+  }
+
+  /**
+   * Returns the topmost area containing the given screen point. The series
+   * drawn last is on top and, within a series, the first area is preferred.
+   *
+   * @param chart the chart computing the areas of the recorded points
+   * @param x the X screen coordinate
+   * @param y the Y screen coordinate
+   * @return the selection or null if no area contains the point
+   */
+  public SeriesSelection getSelection(XYChart chart, float x, float y) {
+    build(chart);
+    if (mAreaCount == 0 || x < mLeft || x >= mRight || y < mTop || y >= mBottom) {
+      return null;
+    }
+    int column = Math.min(mColumns - 1, (int) ((x - mLeft) / mCellWidth));
+    int row = Math.min(mRows - 1, (int) ((y - mTop) / mCellHeight));
+    int cell = row * mColumns + column;
+    int best = -1;
+    for (int i = mCellStart[cell]; i < mCellStart[cell + 1]; i++) {
+      int area = mCellItems[i];
+      if (contains(area, x, y) && (best < 0 || isAbove(area, best))) {
+        best = area;
+      }
+    }
+    return best < 0 ? null : getSelection(best);
+  }
+
+  /**
+   * Adds the selections of all the areas having the given X value, the series
+   * drawn last first.
+   *
+   * @param chart the chart computing the areas of the recorded points
+   * @param xValue the X value
+   * @param list the list to add the selections to
+   */
+  public void getSelections(XYChart chart, double xValue, List<SeriesSelection> list) {
+    build(chart);
+    int end = mAreaCount;
+    while (end > 0) {
+      int start = end - 1;
+      while (start > 0 && mAreaSeries[start - 1] == mAreaSeries[end - 1]) {
+        start--;
+      }
+      for (int area = start; area < end; area++) {
+        if (mAreaValues[2 * area] == xValue) {
+          list.add(getSelection(area));
+        }
+      }
+      end = start;
+    }
+  }
+
+  /**
+   * Returns if an area is hit before another one: it belongs to a series
+   * drawn later or comes first in the same series.
+   */
+  private boolean isAbove(int area, int other) {
+    if (mAreaSeries[area] != mAreaSeries[other]) {
+      return mAreaSeries[area] > mAreaSeries[other];
+    }
+    return mAreaIndexes[area] < mAreaIndexes[other];
+  }
+
+  private SeriesSelection getSelection(int area) {
+    int rect = 4 * area;
+    return new SeriesSelection(mAreaSeries[area], mAreaIndexes[area], mAreaValues[2 * area],
+        mAreaValues[2 * area + 1], (mRects[rect] + mRects[rect + 2]) / 2,
+        (mRects[rect + 1] + mRects[rect + 3]) / 2);
+  }
+
+  private boolean contains(int area, float x, float y) {
+    int rect = 4 * area;
+    float left = mRects[rect];
+    float top = mRects[rect + 1];
+    float right = mRects[rect + 2];
+    float bottom = mRects[rect + 3];
+    return left < right && top < bottom && x >= left && x < right && y >= top && y < bottom;
+  }
+
+  /**
+   * Computes the areas of the recorded points and indexes them, if not done
+   * since the last frame. The chart reads the series values of the points from
+   * the snapshots they were drawn from.
+   *
+   * @param chart the chart computing the areas
+   */
+  private void build(XYChart chart) {
+    if (mBuilt) {
+      return;
+    }
+    mBuilt = true;
+    mAreaCount = 0;
+    for (int s = 0; s < mSliceCount; s++) {
+      int slice = s * SLICE_SIZE;
+      int seriesIndex = mSlices[slice];
+      int offset = mSlices[slice + 1];
+      int count = mSlices[slice + 2] / 2;
+      chart.setSeriesSnapshot(mSliceSnapshots[s]);
+      ClickableArea[] areas = chart.clickableAreasForPoints(mPoints, mValues, offset,
+          mSlices[slice + 2], mSliceAxis[s], seriesIndex, mSlices[slice + 3]);
+      for (int k = 0; k < areas.length && k < count; k++) {
+        if (areas[k] != null && areas[k].getRect() != null) {
+          addArea(areas[k], seriesIndex, mIndexes[offset / 2 + k]);
+        }
+      }
+    }
+    chart.setSeriesSnapshot(null);
+    buildGrid();
+  }
+
+  private void addArea(ClickableArea area, int seriesIndex, int index) {
+    if (mAreaCount == mAreaSeries.length) {
+      int capacity = Math.max(16, 2 * mAreaCount);
+      mRects = grow(mRects, 4 * capacity, 4 * mAreaCount);
+      mAreaValues = grow(mAreaValues, 2 * capacity, 2 * mAreaCount);
+      mAreaSeries = grow(mAreaSeries, capacity, mAreaCount);
+      mAreaIndexes = grow(mAreaIndexes, capacity, mAreaCount);
+    }
+    RectF rect = area.getRect();
+    int i = mAreaCount;
+    mRects[4 * i] = rect.left;
+    mRects[4 * i + 1] = rect.top;
+    mRects[4 * i + 2] = rect.right;
+    mRects[4 * i + 3] = rect.bottom;
+    mAreaValues[2 * i] = area.getX();
+    mAreaValues[2 * i + 1] = area.getY();
+    mAreaSeries[i] = seriesIndex;
+    mAreaIndexes[i] = index;
+    mAreaCount++;
+  }
+
+  /**
+   * Builds the grid over the areas bounds. The cells are sized such as there
+   * is about one cell per area, but not smaller than the average area, so
+   * that each area only spans a few cells.
+   */
+  private void buildGrid() {
+    int count = mAreaCount;
+    if (count == 0) {
+      return;
+    }
+    float left = Float.MAX_VALUE;
+    float top = Float.MAX_VALUE;
+    float right = -Float.MAX_VALUE;
+    float bottom = -Float.MAX_VALUE;
+    double widths = 0;
+    double heights = 0;
+    for (int i = 0; i < 4 * count; i += 4) {
+      left = Math.min(left, mRects[i]);
+      top = Math.min(top, mRects[i + 1]);
+      right = Math.max(right, mRects[i + 2]);
+      bottom = Math.max(bottom, mRects[i + 3]);
+      widths += Math.max(0, mRects[i + 2] - mRects[i]);
+      heights += Math.max(0, mRects[i + 3] - mRects[i + 1]);
+    }
+    float width = Math.max(1, right - left);
+    float height = Math.max(1, bottom - top);
+    double side = Math.sqrt(count);
+    mColumns = cells(width, Math.max(width / side, widths / count));
+    mRows = cells(height, Math.max(height / side, heights / count));
+    mLeft = left;
+    mTop = top;
+    mRight = left + width;
+    mBottom = top + height;
+    mCellWidth = width / mColumns;
+    mCellHeight = height / mRows;
+
+    int cells = mColumns * mRows;
+    if (mCellStart.length < cells + 1) {
+      mCellStart = new int[cells + 1];
+    } else {
+      for (int cell = 0; cell <= cells; cell++) {
+        mCellStart[cell] = 0;
+      }
+    }
+    // count the areas of each cell, then turn the counts into end positions
+    // and fill the cells backwards, keeping the areas in order within a cell
+    for (int i = 0; i < count; i++) {
+      int c0 = column(mRects[4 * i]);
+      int c1 = column(mRects[4 * i + 2]);
+      int r0 = row(mRects[4 * i + 1]);
+      int r1 = row(mRects[4 * i + 3]);
+      for (int r = r0; r <= r1; r++) {
+        for (int c = c0; c <= c1; c++) {
+          mCellStart[r * mColumns + c + 1]++;
+        }
+      }
+    }
+    for (int cell = 0; cell < cells; cell++) {
+      mCellStart[cell + 1] += mCellStart[cell];
+    }
+    int total = mCellStart[cells];
+    if (mCellItems.length < total) {
+      mCellItems = new int[total];
+    }
+    for (int i = count - 1; i >= 0; i--) {
+      int c0 = column(mRects[4 * i]);
+      int c1 = column(mRects[4 * i + 2]);
+      int r0 = row(mRects[4 * i + 1]);
+      int r1 = row(mRects[4 * i + 3]);
+      for (int r = r0; r <= r1; r++) {
+        for (int c = c0; c <= c1; c++) {
+          mCellItems[--mCellStart[r * mColumns + c + 1]] = i;
+        }
+      }
+    }
+    // the decrements moved the end of each cell to its start, one slot later
+    for (int cell = 0; cell < cells; cell++) {
+      mCellStart[cell] = mCellStart[cell + 1];
+    }
+    mCellStart[cells] = total;
+  }
+
+  private static int cells(float size, double cellSize) {
+    return (int) Math.max(1, Math.min(MAX_CELLS, Math.floor(size / cellSize)));
+  }
+
+  private int column(float x) {
+    return Math.max(0, Math.min(mColumns - 1, (int) ((x - mLeft) / mCellWidth)));
+  }
+
+  private int row(float y) {
+    return Math.max(0, Math.min(mRows - 1, (int) ((y - mTop) / mCellHeight)));
+  }
+
+  private static float[] grow(float[] array, int capacity, int length) {
+    float[] result = new float[capacity];
+    System.arraycopy(array, 0, result, 0, length);
+    return result;
+  }
+
+  private static double[] grow(double[] array, int capacity, int length) {
+    double[] result = new double[capacity];
+    System.arraycopy(array, 0, result, 0, length);
+    return result;
+  }
+
+  private static int[] grow(int[] array, int capacity, int length) {
+    int[] result = new int[capacity];
+    System.arraycopy(array, 0, result, 0, length);
+    return result;
+  }
+
+}
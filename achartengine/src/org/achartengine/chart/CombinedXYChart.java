@@ -15,15 +15,12 @@
  */
 package org.achartengine.chart;
 
-import java.util.List;
-
 import org.achartengine.model.XYMultipleSeriesDataset;
 import org.achartengine.model.XYSeries;
 import org.achartengine.renderer.SimpleSeriesRenderer;
 import org.achartengine.renderer.XYMultipleSeriesRenderer;
 import org.achartengine.renderer.XYMultipleSeriesRenderer.Orientation;
 
-import android.graphics.Canvas;
 import android.graphics.Paint;
 
 /**
@@ -114,30 +111,52 @@ public class CombinedXYChart extends XYChart {
    * @param seriesIndex the index of the series currently being drawn
    * @param startIndex the start index of the rendering points
    */
-  public void drawSeries(Canvas canvas, Paint paint, float[] points,
+  public void drawSeries(DrawingSurface canvas, Paint paint, float[] points,
       SimpleSeriesRenderer seriesRenderer, float yAxisValue, int seriesIndex, int startIndex) {
     mCharts[seriesIndex].setScreenR(getScreenR());
     mCharts[seriesIndex].setCalcRange(getCalcRange(mDataset.getSeriesAt(seriesIndex)
         .getScaleNumber()), 0);
+    mCharts[seriesIndex].setSeriesSnapshot(getSeriesSnapshot(seriesIndex));
     mCharts[seriesIndex].drawSeries(canvas, paint, points, seriesRenderer, yAxisValue, 0,
         startIndex);
   }
 
+  @Override
+  public void drawSeries(DrawingSurface canvas, Paint paint, float[] points, int offset, int length,
+      SimpleSeriesRenderer seriesRenderer, float yAxisValue, int seriesIndex, int startIndex) {
+    mCharts[seriesIndex].setScreenR(getScreenR());
+    mCharts[seriesIndex].setCalcRange(getCalcRange(mDataset.getSeriesAt(seriesIndex)
+        .getScaleNumber()), 0);
+    mCharts[seriesIndex].setSeriesSnapshot(getSeriesSnapshot(seriesIndex));
+    mCharts[seriesIndex].drawSeries(canvas, paint, points, offset, length, seriesRenderer,
+        yAxisValue, 0, startIndex);
+  }
+
   @Override
   protected ClickableArea[] clickableAreasForPoints(float[] points, double[] values,
       float yAxisValue, int seriesIndex, int startIndex) {
+    mCharts[seriesIndex].setSeriesSnapshot(getSeriesSnapshot(seriesIndex));
     return mCharts[seriesIndex].clickableAreasForPoints(points, values, yAxisValue, 0, startIndex);
   }
 
   @Override
-  protected void drawSeries(XYSeries series, Canvas canvas, Paint paint, List<Float> pointsList,
-      SimpleSeriesRenderer seriesRenderer, float yAxisValue, int seriesIndex, Orientation or,
-      int startIndex) {
+  protected ClickableArea[] clickableAreasForPoints(float[] points, double[] values, int offset,
+      int length, float yAxisValue, int seriesIndex, int startIndex) {
+    mCharts[seriesIndex].setSeriesSnapshot(getSeriesSnapshot(seriesIndex));
+    return mCharts[seriesIndex].clickableAreasForPoints(points, values, offset, length,
+        yAxisValue, 0, startIndex);
+  }
+
+  @Override
+  protected void drawSeries(XYSeries series, DrawingSurface canvas, Paint paint, float[] points,
+      int offset, int length, SimpleSeriesRenderer seriesRenderer, float yAxisValue,
+      int seriesIndex, Orientation or, int startIndex) {
     mCharts[seriesIndex].setScreenR(getScreenR());
     mCharts[seriesIndex].setCalcRange(getCalcRange(mDataset.getSeriesAt(seriesIndex)
         .getScaleNumber()), 0);
-    mCharts[seriesIndex].drawSeries(series, canvas, paint, pointsList, seriesRenderer, yAxisValue,
-        0, or, startIndex);
+    mCharts[seriesIndex].setSeriesSnapshot(getSeriesSnapshot(seriesIndex));
+    mCharts[seriesIndex].drawSeries(series, canvas, paint, points, offset, length,
+        seriesRenderer, yAxisValue, 0, or, startIndex);
   }
 
   /**
@@ -160,8 +179,8 @@ public class CombinedXYChart extends XYChart {
    * @param seriesIndex the series index
    * @param paint the paint to be used for drawing
    */
-  public void drawLegendShape(Canvas canvas, SimpleSeriesRenderer renderer, float x, float y,
-      int seriesIndex, Paint paint) {
+  public void drawLegendShape(DrawingSurface canvas, SimpleSeriesRenderer renderer, float x,
+      float y, int seriesIndex, Paint paint) {
     mCharts[seriesIndex].drawLegendShape(canvas, renderer, x, y, 0, paint);
   }
 
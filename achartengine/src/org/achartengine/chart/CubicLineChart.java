@@ -19,9 +19,7 @@ import org.achartengine.model.Point;
 import org.achartengine.model.XYMultipleSeriesDataset;
 import org.achartengine.renderer.XYMultipleSeriesRenderer;
 
-import android.graphics.Canvas;
 import android.graphics.Paint;
-import android.graphics.Path;
 
 /**
  * The interpolated (cubic) line chart rendering class.
@@ -66,34 +64,46 @@ public class CubicLineChart extends LineChart {
   }
 
   @Override
-  protected void drawPath(Canvas canvas, float[] points, Paint paint, boolean circular) {
-    Path p = new Path();
-    float x = points[0];
-    float y = points[1];
-    p.moveTo(x, y);
-
-    int length = points.length;
+  protected void drawPath(DrawingSurface canvas, float[] points, int offset, int length,
+      Paint paint, boolean circular) {
+    canvas.beginPath();
+    float x = points[offset];
+    float y = points[offset + 1];
+    canvas.moveTo(x, y);
+
+    int end = offset + length;
     if (circular) {
-      length -= 4;
+      end -= 4;
     }
 
-    for (int i = 0; i < length; i += 2) {
-      int nextIndex = i + 2 < length ? i + 2 : i;
-      int nextNextIndex = i + 4 < length ? i + 4 : nextIndex;
+    for (int i = offset; i < end; i += 2) {
+      int nextIndex = i + 2 < end ? i + 2 : i;
+      int nextNextIndex = i + 4 < end ? i + 4 : nextIndex;
       calc(points, p1, i, nextIndex, secondMultiplier);
       p2.setX(points[nextIndex]);
       p2.setY(points[nextIndex + 1]);
       calc(points, p3, nextIndex, nextNextIndex, firstMultiplier);
       // From last point, approaching x1/y1 and x2/y2 and ends up at x3/y3
-      p.cubicTo(p1.getX(), p1.getY(), p2.getX(), p2.getY(), p3.getX(), p3.getY());
+      canvas.cubicTo(p1.getX(), p1.getY(), p2.getX(), p2.getY(), p3.getX(), p3.getY());
     }
     if (circular) {
-      for (int i = length; i < length + 4; i += 2) {
-        p.lineTo(points[i], points[i + 1]);
+      for (int i = end; i < end + 4; i += 2) {
+        canvas.lineTo(points[i], points[i + 1]);
       }
-      p.lineTo(points[0], points[1]);
+      canvas.lineTo(points[offset], points[offset + 1]);
     }
-    canvas.drawPath(p, paint);
+    canvas.drawPath(paint);
+  }
+
+  @Override
+  protected boolean isDecimationSupported() {
+    // the curve control points depend on the neighbour points
+    return false;
+  }
+
+  @Override
+  protected boolean isIncrementalAnimationSupported() {
+    return false;
   }
 
   private void calc(float[] points, Point result, int index1, int index2, final float multiplier) {
@@ -21,7 +21,6 @@ import org.achartengine.renderer.DialRenderer;
 import org.achartengine.renderer.DialRenderer.Type;
 import org.achartengine.util.MathHelper;
 
-import android.graphics.Canvas;
 import android.graphics.Paint;
 import android.graphics.Paint.Align;
 import android.graphics.Paint.Style;
@@ -57,7 +56,7 @@ public class DialChart extends RoundChart {
    * @param paint the paint
    */
   @Override
-  public void draw(Canvas canvas, int x, int y, int width, int height, Paint paint) {
+  public void draw(DrawingSurface canvas, int x, int y, int width, int height, Paint paint) {
     paint.setAntiAlias(mRenderer.isAntialiasing());
     paint.setStyle(Style.FILL);
     paint.setTextSize(mRenderer.getLabelsTextSize());
@@ -169,9 +168,9 @@ public class DialChart extends RoundChart {
    * @param labels paint the labels
    * @return the angle
    */
-  private void drawTicks(Canvas canvas, double min, double max, double minAngle, double maxAngle,
-      int centerX, int centerY, double longRadius, double shortRadius, double ticks, Paint paint,
-      boolean labels) {
+  private void drawTicks(DrawingSurface canvas, double min, double max, double minAngle,
+      double maxAngle, int centerX, int centerY, double longRadius, double shortRadius,
+      double ticks, Paint paint, boolean labels) {
     for (double i = min; i <= max; i += ticks) {
       double angle = getAngleForValue(i, minAngle, maxAngle, min, max);
       double sinValue = Math.sin(angle);
@@ -207,8 +206,8 @@ public class DialChart extends RoundChart {
    * @param paint the paint settings
    * @return the angle
    */
-  private void drawNeedle(Canvas canvas, double angle, int centerX, int centerY, double radius,
-      boolean arrow, Paint paint) {
+  private void drawNeedle(DrawingSurface canvas, double angle, int centerX, int centerY,
+      double radius, boolean arrow, Paint paint) {
     double diff = Math.toRadians(90);
     int needleSinValue = (int) (NEEDLE_RADIUS * Math.sin(angle - diff));
     int needleCosValue = (int) (NEEDLE_RADIUS * Math.cos(angle - diff));
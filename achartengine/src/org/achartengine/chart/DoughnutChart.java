@@ -22,7 +22,6 @@ import org.achartengine.model.MultipleCategorySeries;
 import org.achartengine.renderer.DefaultRenderer;
 import org.achartengine.renderer.SimpleSeriesRenderer;
 
-import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.Paint;
 import android.graphics.Paint.Style;
@@ -59,7 +58,7 @@ public class DoughnutChart extends RoundChart {
    * @param paint the paint
    */
   @Override
-  public void draw(Canvas canvas, int x, int y, int width, int height, Paint paint) {
+  public void draw(DrawingSurface canvas, int x, int y, int width, int height, Paint paint) {
     paint.setAntiAlias(mRenderer.isAntialiasing());
     paint.setStyle(Style.FILL);
     paint.setTextSize(mRenderer.getLabelsTextSize());
@@ -103,13 +102,12 @@ public class DoughnutChart extends RoundChart {
         titles[i] = mDataset.getTitles(category)[i];
       }
       float currentAngle = mRenderer.getStartAngle();
-      RectF oval = new RectF(mCenterX - radius, mCenterY - radius, mCenterX + radius, mCenterY
-          + radius);
       for (int i = 0; i < sLength; i++) {
         paint.setColor(mRenderer.getSeriesRendererAt(i).getColor());
         float value = (float) mDataset.getValues(category)[i];
         float angle = (float) (value / total * 360);
-        canvas.drawArc(oval, currentAngle, angle, true, paint);
+        canvas.drawArc(mCenterX - radius, mCenterY - radius, mCenterX + radius,
+            mCenterY + radius, currentAngle, angle, true, paint);
         drawLabel(canvas, mDataset.getTitles(category)[i], mRenderer, prevLabelsBounds, mCenterX,
             mCenterY, shortRadius, longRadius, currentAngle, angle, left, right,
             mRenderer.getLabelsColor(), paint);
@@ -123,8 +121,8 @@ public class DoughnutChart extends RoundChart {
         paint.setColor(Color.WHITE);
       }
       paint.setStyle(Style.FILL);
-      oval = new RectF(mCenterX - radius, mCenterY - radius, mCenterX + radius, mCenterY + radius);
-      canvas.drawArc(oval, 0, 360, true, paint);
+      canvas.drawArc(mCenterX - radius, mCenterY - radius, mCenterX + radius, mCenterY + radius,
+          0, 360, true, paint);
       radius -= 1;
     }
     prevLabelsBounds.clear();
@@ -153,8 +151,8 @@ public class DoughnutChart extends RoundChart {
    * @param seriesIndex the series index
    * @param paint the paint to be used for drawing
    */
-  public void drawLegendShape(Canvas canvas, SimpleSeriesRenderer renderer, float x, float y,
-      int seriesIndex, Paint paint) {
+  public void drawLegendShape(DrawingSurface canvas, SimpleSeriesRenderer renderer, float x,
+      float y, int seriesIndex, Paint paint) {
     mStep--;
     canvas.drawCircle(x + SHAPE_WIDTH - mStep, y, mStep, paint);
   }
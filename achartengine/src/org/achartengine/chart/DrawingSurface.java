@@ -0,0 +1,223 @@
+/**
+ * Copyright (C) 2009 - 2012 SC 4ViewSoft SRL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.achartengine.chart;
+
+import android.graphics.Paint;
+
+/**
+ * A surface the charts are drawn to. The drawing primitives follow the
+ * semantics of the Android canvas ones, the color, style, stroke and text
+ * attributes being read from the given paint.
+ * <p>
+ * A path is built with the beginPath(), moveTo(), lineTo(), cubicTo() and
+ * closePath() calls, then drawn with drawPath(). A surface has only one path
+ * being built at a time.
+ */
+public interface DrawingSurface {
+  /**
+   * Returns the surface width.
+   *
+   * @return the width in pixels
+   */
+  int getWidth();
+
+  /**
+   * Returns the surface height.
+   *
+   * @return the height in pixels
+   */
+  int getHeight();
+
+  /**
+   * Draws a line segment.
+   *
+   * @param startX the start X coordinate
+   * @param startY the start Y coordinate
+   * @param stopX the stop X coordinate
+   * @param stopY the stop Y coordinate
+   * @param paint the paint
+   */
+  void drawLine(float startX, float startY, float stopX, float stopY, Paint paint);
+
+  /**
+   * Draws a rectangle, filled or stroked according to the paint style.
+   *
+   * @param left the left side
+   * @param top the top side
+   * @param right the right side
+   * @param bottom the bottom side
+   * @param paint the paint
+   */
+  void drawRect(float left, float top, float right, float bottom, Paint paint);
+
+  /**
+   * Fills a rectangle with a vertical linear gradient.
+   *
+   * @param left the left side
+   * @param top the top side
+   * @param right the right side
+   * @param bottom the bottom side
+   * @param topColor the color at the top side
+   * @param bottomColor the color at the bottom side
+   */
+  void drawGradientRect(int left, int top, int right, int bottom, int topColor, int bottomColor);
+
+  /**
+   * Draws a circle.
+   *
+   * @param cx the center X coordinate
+   * @param cy the center Y coordinate
+   * @param radius the radius
+   * @param paint the paint
+   */
+  void drawCircle(float cx, float cy, float radius, Paint paint);
+
+  /**
+   * Draws an arc of the oval inscribed in a rectangle.
+   *
+   * @param left the oval left side
+   * @param top the oval top side
+   * @param right the oval right side
+   * @param bottom the oval bottom side
+   * @param startAngle the start angle in degrees, clockwise from 3 o'clock
+   * @param sweepAngle the sweep angle in degrees, clockwise
+   * @param useCenter if the arc is closed through the oval center, as a
+   *          wedge
+   * @param paint the paint
+   */
+  void drawArc(float left, float top, float right, float bottom, float startAngle,
+      float sweepAngle, boolean useCenter, Paint paint);
+
+  /**
+   * Draws a point.
+   *
+   * @param x the X coordinate
+   * @param y the Y coordinate
+   * @param paint the paint
+   */
+  void drawPoint(float x, float y, Paint paint);
+
+  /**
+   * Draws points.
+   *
+   * @param points the point coordinates, as x, y pairs
+   * @param offset the index of the first coordinate
+   * @param count the number of coordinates, twice the number of points
+   * @param paint the paint
+   */
+  void drawPoints(float[] points, int offset, int count, Paint paint);
+
+  /**
+   * Draws a text, aligned on the given location according to the paint text
+   * alignment.
+   *
+   * @param text the text
+   * @param x the X coordinate
+   * @param y the Y coordinate of the text baseline
+   * @param paint the paint
+   */
+  void drawText(String text, float x, float y, Paint paint);
+
+  /**
+   * Starts a new path, discarding the previous one.
+   */
+  void beginPath();
+
+  /**
+   * Starts a new contour of the path.
+   *
+   * @param x the X coordinate
+   * @param y the Y coordinate
+   */
+  void moveTo(float x, float y);
+
+  /**
+   * Adds a line to the path.
+   *
+   * @param x the X coordinate of the end point
+   * @param y the Y coordinate of the end point
+   */
+  void lineTo(float x, float y);
+
+  /**
+   * Adds a cubic bezier curve to the path.
+   *
+   * @param x1 the X coordinate of the first control point
+   * @param y1 the Y coordinate of the first control point
+   * @param x2 the X coordinate of the second control point
+   * @param y2 the Y coordinate of the second control point
+   * @param x3 the X coordinate of the end point
+   * @param y3 the Y coordinate of the end point
+   */
+  void cubicTo(float x1, float y1, float x2, float y2, float x3, float y3);
+
+  /**
+   * Closes the current contour of the path.
+   */
+  void closePath();
+
+  /**
+   * Draws the path.
+   *
+   * @param paint the paint
+   */
+  void drawPath(Paint paint);
+
+  /**
+   * Saves the current transformation and clip.
+   */
+  void save();
+
+  /**
+   * Restores the transformation and clip of the matching save() call.
+   */
+  void restore();
+
+  /**
+   * Intersects the clip with a rectangle.
+   *
+   * @param left the left side
+   * @param top the top side
+   * @param right the right side
+   * @param bottom the bottom side
+   */
+  void clipRect(float left, float top, float right, float bottom);
+
+  /**
+   * Rotates the following drawing around a point.
+   *
+   * @param degrees the angle in degrees, clockwise
+   * @param px the X coordinate of the rotation center
+   * @param py the Y coordinate of the rotation center
+   */
+  void rotate(float degrees, float px, float py);
+
+  /**
+   * Translates the following drawing.
+   *
+   * @param dx the X translation
+   * @param dy the Y translation
+   */
+  void translate(float dx, float dy);
+
+  /**
+   * Scales the following drawing.
+   *
+   * @param sx the X scale
+   * @param sy the Y scale
+   */
+  void scale(float sx, float sy);
+}
@@ -20,7 +20,6 @@ import org.achartengine.renderer.SimpleSeriesRenderer;
 import org.achartengine.renderer.XYMultipleSeriesRenderer;
 import org.achartengine.renderer.XYSeriesRenderer;
 
-import android.graphics.Canvas;
 import android.graphics.Paint;
 import android.graphics.Paint.Style;
 import android.graphics.RectF;
@@ -35,6 +34,8 @@ public class LineChart extends XYChart {
   private static final int SHAPE_WIDTH = 30;
   /** The scatter chart to be used to draw the data points. */
   private ScatterChart pointsChart;
+  /** The fill below line points buffer, reused between frames. */
+  private float[] mFillPoints;
 
   LineChart() {
   }
@@ -73,45 +74,70 @@ public class LineChart extends XYChart {
    * @param seriesIndex the index of the series currently being drawn
    * @param startIndex the start index of the rendering points
    */
-  public void drawSeries(Canvas canvas, Paint paint, float[] points,
+  public void drawSeries(DrawingSurface canvas, Paint paint, float[] points,
+      SimpleSeriesRenderer seriesRenderer, float yAxisValue, int seriesIndex, int startIndex) {
+    drawSeries(canvas, paint, points, 0, points.length, seriesRenderer, yAxisValue, seriesIndex,
+        startIndex);
+  }
+
+  @Override
+  public void drawSeries(DrawingSurface canvas, Paint paint, float[] points, int offset, int length,
       SimpleSeriesRenderer seriesRenderer, float yAxisValue, int seriesIndex, int startIndex) {
-    int length = points.length;
     XYSeriesRenderer renderer = (XYSeriesRenderer) seriesRenderer;
     float lineWidth = paint.getStrokeWidth();
     paint.setStrokeWidth(renderer.getLineWidth());
     if (renderer.isFillBelowLine()) {
       paint.setColor(renderer.getFillBelowLineColor());
-      int pLength = points.length;
-      float[] fillPoints = new float[pLength + 4];
-      System.arraycopy(points, 0, fillPoints, 0, length);
-      fillPoints[0] = points[0] + 1;
+      if (mFillPoints == null || mFillPoints.length < length + 4) {
+        mFillPoints = new float[length + 4];
+      }
+      float[] fillPoints = mFillPoints;
+      System.arraycopy(points, offset, fillPoints, 0, length);
+      fillPoints[0] = points[offset] + 1;
       fillPoints[length] = fillPoints[length - 2];
       fillPoints[length + 1] = yAxisValue;
       fillPoints[length + 2] = fillPoints[0];
       fillPoints[length + 3] = fillPoints[length + 1];
       paint.setStyle(Style.FILL);
-      drawPath(canvas, fillPoints, paint, true);
+      drawPath(canvas, fillPoints, 0, length + 4, paint, true);
     }
     paint.setColor(seriesRenderer.getColor());
     paint.setStyle(Style.STROKE);
-    drawPath(canvas, points, paint, false);
+    drawPath(canvas, points, offset, length, paint, false);
     paint.setStrokeWidth(lineWidth);
   }
 
   @Override
   protected ClickableArea[] clickableAreasForPoints(float[] points, double[] values,
       float yAxisValue, int seriesIndex, int startIndex) {
-    int length = points.length;
+    return clickableAreasForPoints(points, values, 0, points.length, yAxisValue, seriesIndex,
+        startIndex);
+  }
+
+  @Override
+  protected ClickableArea[] clickableAreasForPoints(float[] points, double[] values, int offset,
+      int length, float yAxisValue, int seriesIndex, int startIndex) {
     ClickableArea[] ret = new ClickableArea[length / 2];
+    int selectableBuffer = mRenderer.getSelectableBuffer();
     for (int i = 0; i < length; i += 2) {
-      int selectableBuffer = mRenderer.getSelectableBuffer();
-      ret[i / 2] = new ClickableArea(new RectF(points[i] - selectableBuffer, points[i + 1]
-          - selectableBuffer, points[i] + selectableBuffer, points[i + 1] + selectableBuffer),
-          values[i], values[i + 1]);
+      float x = points[offset + i];
+      float y = points[offset + i + 1];
+      ret[i / 2] = new ClickableArea(new RectF(x - selectableBuffer, y - selectableBuffer, x
+          + selectableBuffer, y + selectableBuffer), values[offset + i], values[offset + i + 1]);
     }
     return ret;
   }
 
+  @Override
+  protected boolean isDecimationSupported() {
+    return true;
+  }
+
+  @Override
+  protected boolean isIncrementalAnimationSupported() {
+    return true;
+  }
+
   /**
    * Returns the legend shape width.
    * 
@@ -132,8 +158,8 @@ public class LineChart extends XYChart {
    * @param seriesIndex the series index
    * @param paint the paint to be used for drawing
    */
-  public void drawLegendShape(Canvas canvas, SimpleSeriesRenderer renderer, float x, float y,
-      int seriesIndex, Paint paint) {
+  public void drawLegendShape(DrawingSurface canvas, SimpleSeriesRenderer renderer, float x,
+      float y, int seriesIndex, Paint paint) {
     canvas.drawLine(x, y, x + SHAPE_WIDTH, y, paint);
     if (isRenderPoints(renderer)) {
       pointsChart.drawLegendShape(canvas, renderer, x + 5, y, seriesIndex, paint);
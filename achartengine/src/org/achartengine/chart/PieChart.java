@@ -23,7 +23,6 @@ import org.achartengine.model.Point;
 import org.achartengine.model.SeriesSelection;
 import org.achartengine.renderer.DefaultRenderer;
 
-import android.graphics.Canvas;
 import android.graphics.Paint;
 import android.graphics.Paint.Style;
 import android.graphics.RectF;
@@ -58,7 +57,7 @@ public class PieChart extends RoundChart {
    * @param paint the paint
    */
   @Override
-  public void draw(Canvas canvas, int x, int y, int width, int height, Paint paint) {
+  public void draw(DrawingSurface canvas, int x, int y, int width, int height, Paint paint) {
     paint.setAntiAlias(mRenderer.isAntialiasing());
     paint.setStyle(Style.FILL);
     paint.setTextSize(mRenderer.getLabelsTextSize());
@@ -101,15 +100,14 @@ public class PieChart extends RoundChart {
     float shortRadius = radius * 0.9f;
     float longRadius = radius * 1.1f;
 
-    RectF oval = new RectF(mCenterX - radius, mCenterY - radius, mCenterX + radius, mCenterY
-        + radius);
     List<RectF> prevLabelsBounds = new ArrayList<RectF>();
 
     for (int i = 0; i < sLength; i++) {
       paint.setColor(mRenderer.getSeriesRendererAt(i).getColor());
       float value = (float) mDataset.getValue(i);
       float angle = (float) (value / total * 360);
-      canvas.drawArc(oval, currentAngle, angle, true, paint);
+      canvas.drawArc(mCenterX - radius, mCenterY - radius, mCenterX + radius, mCenterY + radius,
+          currentAngle, angle, true, paint);
       drawLabel(canvas, mDataset.getCategory(i), mRenderer, prevLabelsBounds, mCenterX, mCenterY,
           shortRadius, longRadius, currentAngle, angle, left, right, mRenderer.getLabelsColor(), paint);
 
@@ -19,8 +19,8 @@ import org.achartengine.model.XYMultipleSeriesDataset;
 import org.achartengine.model.XYSeries;
 import org.achartengine.renderer.SimpleSeriesRenderer;
 import org.achartengine.renderer.XYMultipleSeriesRenderer;
+import org.achartengine.util.XYSnapshot;
 
-import android.graphics.Canvas;
 import android.graphics.Paint;
 import android.graphics.Paint.Style;
 
@@ -56,24 +56,30 @@ public class RangeBarChart extends BarChart {
    * @param seriesIndex the index of the series currently being drawn
    * @param startIndex the start index of the rendering points
    */
-  public void drawSeries(Canvas canvas, Paint paint, float[] points,
+  public void drawSeries(DrawingSurface canvas, Paint paint, float[] points,
+      SimpleSeriesRenderer seriesRenderer, float yAxisValue, int seriesIndex, int startIndex) {
+    drawSeries(canvas, paint, points, 0, points.length, seriesRenderer, yAxisValue, seriesIndex,
+        startIndex);
+  }
+
+  @Override
+  public void drawSeries(DrawingSurface canvas, Paint paint, float[] points, int offset, int length,
       SimpleSeriesRenderer seriesRenderer, float yAxisValue, int seriesIndex, int startIndex) {
     int seriesNr = mDataset.getSeriesCount();
-    int length = points.length;
     paint.setColor(seriesRenderer.getColor());
     paint.setStyle(Style.FILL);
-    float halfDiffX = getHalfDiffX(points, length, seriesNr);
+    float halfDiffX = getHalfDiffX(points, offset, length, seriesNr);
     int start = 0;
     if (startIndex > 0) {
       start = 2;
     }
     for (int i = start; i < length; i += 4) {
-      if (points.length > i + 3) {
-        float xMin = points[i];
-        float yMin = points[i + 1];
+      if (length > i + 3) {
+        float xMin = points[offset + i];
+        float yMin = points[offset + i + 1];
         // xMin = xMax
-        float xMax = points[i + 2];
-        float yMax = points[i + 3];
+        float xMax = points[offset + i + 2];
+        float yMax = points[offset + i + 3];
         drawBar(canvas, xMin, yMin, xMax, yMax, halfDiffX, seriesNr, seriesIndex, paint);
       }
     }
@@ -87,34 +93,38 @@ public class RangeBarChart extends BarChart {
    * @param series the series to be painted
    * @param renderer the series renderer
    * @param paint the paint to be used for drawing
-   * @param points the array of points to be used for drawing the series
+   * @param points the points buffer
+   * @param offset the index of the first point coordinate in the buffer
+   * @param length the number of point coordinates to be rendered
    * @param seriesIndex the index of the series currently being drawn
    * @param startIndex the start index of the rendering points
    */
-  protected void drawChartValuesText(Canvas canvas, XYSeries series, SimpleSeriesRenderer renderer,
-      Paint paint, float[] points, int seriesIndex, int startIndex) {
+  protected void drawChartValuesText(DrawingSurface canvas, XYSeries series,
+      SimpleSeriesRenderer renderer, Paint paint, float[] points, int offset, int length,
+      int seriesIndex, int startIndex) {
     int seriesNr = mDataset.getSeriesCount();
-    float halfDiffX = getHalfDiffX(points, points.length, seriesNr);
+    float halfDiffX = getHalfDiffX(points, offset, length, seriesNr);
     int start = 0;
     if (startIndex > 0) {
       start = 2;
     }
-    for (int i = start; i < points.length; i += 4) {
+    XYSnapshot data = getSeriesSnapshot(seriesIndex);
+    for (int i = start; i < length; i += 4) {
       int index = startIndex + i / 2;
-      float x = points[i];
+      float x = points[offset + i];
       if (mType == Type.DEFAULT) {
         x += seriesIndex * 2 * halfDiffX - (seriesNr - 1.5f) * halfDiffX;
       }
 
-      if (!isNullValue(series.getY(index + 1)) && points.length > i + 3) {
+      if (!isNullValue(data.getY(index + 1)) && length > i + 3) {
         // draw the maximum value
-        drawText(canvas, getLabel(series.getY(index + 1)), x,
-            points[i + 3] - renderer.getChartValuesSpacing(), paint, 0);
+        drawText(canvas, getLabel(data.getY(index + 1)), x,
+            points[offset + i + 3] - renderer.getChartValuesSpacing(), paint, 0);
       }
-      if (!isNullValue(series.getY(index)) && points.length > i + 1) {
+      if (!isNullValue(data.getY(index)) && length > i + 1) {
         // draw the minimum value
-        drawText(canvas, getLabel(series.getY(index)), x,
-            points[i + 1] + renderer.getChartValuesTextSize() + renderer.getChartValuesSpacing()
+        drawText(canvas, getLabel(data.getY(index)), x,
+            points[offset + i + 1] + renderer.getChartValuesTextSize() + renderer.getChartValuesSpacing()
                 - 3, paint, 0);
       }
     }
@@ -51,6 +51,15 @@ public abstract class RoundChart extends AbstractChart {
     mRenderer = renderer;
   }
 
+  /**
+   * The graphical representation of the round chart title.
+   * 
+   * @deprecated use drawTitle(DrawingSurface, ...) instead
+   */
+  public void drawTitle(Canvas canvas, int x, int y, int width, Paint paint) {
+    drawTitle(new CanvasSurface(canvas), x, y, width, paint);
+  }
+
   /**
    * The graphical representation of the round chart title.
    * 
@@ -60,7 +69,7 @@ public abstract class RoundChart extends AbstractChart {
    * @param width the width of the view to draw to
    * @param paint the paint
    */
-  public void drawTitle(Canvas canvas, int x, int y, int width, Paint paint) {
+  public void drawTitle(DrawingSurface canvas, int x, int y, int width, Paint paint) {
     if (mRenderer.isShowLabels()) {
       paint.setColor(mRenderer.getLabelsColor());
       paint.setTextAlign(Align.CENTER);
@@ -90,8 +99,8 @@ public abstract class RoundChart extends AbstractChart {
    * @param seriesIndex the series index
    * @param paint the paint to be used for drawing
    */
-  public void drawLegendShape(Canvas canvas, SimpleSeriesRenderer renderer, float x, float y,
-      int seriesIndex, Paint paint) {
+  public void drawLegendShape(DrawingSurface canvas, SimpleSeriesRenderer renderer, float x,
+      float y, int seriesIndex, Paint paint) {
     canvas.drawRect(x, y - SHAPE_WIDTH / 2, x + SHAPE_WIDTH, y + SHAPE_WIDTH / 2, paint);
   }
 
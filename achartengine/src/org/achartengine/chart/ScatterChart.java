@@ -20,7 +20,6 @@ import org.achartengine.renderer.SimpleSeriesRenderer;
 import org.achartengine.renderer.XYMultipleSeriesRenderer;
 import org.achartengine.renderer.XYSeriesRenderer;
 
-import android.graphics.Canvas;
 import android.graphics.Paint;
 import android.graphics.Paint.Style;
 import android.graphics.RectF;
@@ -37,6 +36,8 @@ public class ScatterChart extends XYChart {
   private static final int SHAPE_WIDTH = 10;
   /** The point shape size. */
   private float size = SIZE;
+  /** The triangle and diamond shape points buffer, reused between points. */
+  private final float[] mShapePoints = new float[8];
 
   ScatterChart() {
   }
@@ -70,7 +71,14 @@ public class ScatterChart extends XYChart {
    * @param seriesIndex the index of the series currently being drawn
    * @param startIndex the start index of the rendering points
    */
-  public void drawSeries(Canvas canvas, Paint paint, float[] points,
+  public void drawSeries(DrawingSurface canvas, Paint paint, float[] points,
+      SimpleSeriesRenderer seriesRenderer, float yAxisValue, int seriesIndex, int startIndex) {
+    drawSeries(canvas, paint, points, 0, points.length, seriesRenderer, yAxisValue, seriesIndex,
+        startIndex);
+  }
+
+  @Override
+  public void drawSeries(DrawingSurface canvas, Paint paint, float[] points, int offset, int length,
       SimpleSeriesRenderer seriesRenderer, float yAxisValue, int seriesIndex, int startIndex) {
     XYSeriesRenderer renderer = (XYSeriesRenderer) seriesRenderer;
     paint.setColor(renderer.getColor());
@@ -79,37 +87,35 @@ public class ScatterChart extends XYChart {
     } else {
       paint.setStyle(Style.STROKE);
     }
-    int length = points.length;
+    int end = offset + length;
     switch (renderer.getPointStyle()) {
     case X:
-      for (int i = 0; i < length; i += 2) {
+      for (int i = offset; i < end; i += 2) {
         drawX(canvas, paint, points[i], points[i + 1]);
       }
       break;
     case CIRCLE:
-      for (int i = 0; i < length; i += 2) {
+      for (int i = offset; i < end; i += 2) {
         drawCircle(canvas, paint, points[i], points[i + 1]);
       }
       break;
     case TRIANGLE:
-      float[] path = new float[6];
-      for (int i = 0; i < length; i += 2) {
-        drawTriangle(canvas, paint, path, points[i], points[i + 1]);
+      for (int i = offset; i < end; i += 2) {
+        drawTriangle(canvas, paint, mShapePoints, points[i], points[i + 1]);
       }
       break;
     case SQUARE:
-      for (int i = 0; i < length; i += 2) {
+      for (int i = offset; i < end; i += 2) {
         drawSquare(canvas, paint, points[i], points[i + 1]);
       }
       break;
     case DIAMOND:
-      path = new float[8];
-      for (int i = 0; i < length; i += 2) {
-        drawDiamond(canvas, paint, path, points[i], points[i + 1]);
+      for (int i = offset; i < end; i += 2) {
+        drawDiamond(canvas, paint, mShapePoints, points[i], points[i + 1]);
       }
       break;
     case POINT:
-      canvas.drawPoints(points, paint);
+      canvas.drawPoints(points, offset, length, paint);
       break;
     }
   }
@@ -117,17 +123,29 @@ public class ScatterChart extends XYChart {
   @Override
   protected ClickableArea[] clickableAreasForPoints(float[] points, double[] values,
       float yAxisValue, int seriesIndex, int startIndex) {
-    int length = points.length;
+    return clickableAreasForPoints(points, values, 0, points.length, yAxisValue, seriesIndex,
+        startIndex);
+  }
+
+  @Override
+  protected ClickableArea[] clickableAreasForPoints(float[] points, double[] values, int offset,
+      int length, float yAxisValue, int seriesIndex, int startIndex) {
     ClickableArea[] ret = new ClickableArea[length / 2];
+    int selectableBuffer = mRenderer.getSelectableBuffer();
     for (int i = 0; i < length; i += 2) {
-      int selectableBuffer = mRenderer.getSelectableBuffer();
-      ret[i / 2] = new ClickableArea(new RectF(points[i] - selectableBuffer, points[i + 1]
-          - selectableBuffer, points[i] + selectableBuffer, points[i + 1] + selectableBuffer),
-          values[i], values[i + 1]);
+      float x = points[offset + i];
+      float y = points[offset + i + 1];
+      ret[i / 2] = new ClickableArea(new RectF(x - selectableBuffer, y - selectableBuffer, x
+          + selectableBuffer, y + selectableBuffer), values[offset + i], values[offset + i + 1]);
     }
     return ret;
   }
 
+  @Override
+  protected boolean isIncrementalAnimationSupported() {
+    return true;
+  }
+
   /**
    * Returns the legend shape width.
    * 
@@ -148,8 +166,8 @@ public class ScatterChart extends XYChart {
    * @param seriesIndex the series index
    * @param paint the paint to be used for drawing
    */
-  public void drawLegendShape(Canvas canvas, SimpleSeriesRenderer renderer, float x, float y,
-      int seriesIndex, Paint paint) {
+  public void drawLegendShape(DrawingSurface canvas, SimpleSeriesRenderer renderer, float x,
+      float y, int seriesIndex, Paint paint) {
     if (((XYSeriesRenderer) renderer).isFillPoints()) {
       paint.setStyle(Style.FILL);
     } else {
@@ -185,7 +203,7 @@ public class ScatterChart extends XYChart {
    * @param x the x value of the point the shape should be drawn at
    * @param y the y value of the point the shape should be drawn at
    */
-  private void drawX(Canvas canvas, Paint paint, float x, float y) {
+  private void drawX(DrawingSurface canvas, Paint paint, float x, float y) {
     canvas.drawLine(x - size, y - size, x + size, y + size, paint);
     canvas.drawLine(x + size, y - size, x - size, y + size, paint);
   }
@@ -198,7 +216,7 @@ public class ScatterChart extends XYChart {
    * @param x the x value of the point the shape should be drawn at
    * @param y the y value of the point the shape should be drawn at
    */
-  private void drawCircle(Canvas canvas, Paint paint, float x, float y) {
+  private void drawCircle(DrawingSurface canvas, Paint paint, float x, float y) {
     canvas.drawCircle(x, y, size, paint);
   }
 
@@ -211,14 +229,14 @@ public class ScatterChart extends XYChart {
    * @param x the x value of the point the shape should be drawn at
    * @param y the y value of the point the shape should be drawn at
    */
-  private void drawTriangle(Canvas canvas, Paint paint, float[] path, float x, float y) {
+  private void drawTriangle(DrawingSurface canvas, Paint paint, float[] path, float x, float y) {
     path[0] = x;
     path[1] = y - size - size / 2;
     path[2] = x - size;
     path[3] = y + size;
     path[4] = x + size;
     path[5] = path[3];
-    drawPath(canvas, path, paint, true);
+    drawPath(canvas, path, 0, 6, paint, true);
   }
 
   /**
@@ -229,7 +247,7 @@ public class ScatterChart extends XYChart {
    * @param x the x value of the point the shape should be drawn at
    * @param y the y value of the point the shape should be drawn at
    */
-  private void drawSquare(Canvas canvas, Paint paint, float x, float y) {
+  private void drawSquare(DrawingSurface canvas, Paint paint, float x, float y) {
     canvas.drawRect(x - size, y - size, x + size, y + size, paint);
   }
 
@@ -242,7 +260,7 @@ public class ScatterChart extends XYChart {
    * @param x the x value of the point the shape should be drawn at
    * @param y the y value of the point the shape should be drawn at
    */
-  private void drawDiamond(Canvas canvas, Paint paint, float[] path, float x, float y) {
+  private void drawDiamond(DrawingSurface canvas, Paint paint, float[] path, float x, float y) {
     path[0] = x;
     path[1] = y - size;
     path[2] = x - size;
@@ -251,7 +269,7 @@ public class ScatterChart extends XYChart {
     path[5] = y + size;
     path[6] = x + size;
     path[7] = y;
-    drawPath(canvas, path, paint, true);
+    drawPath(canvas, path, 0, 8, paint, true);
   }
 
   /**
@@ -263,4 +281,4 @@ public class ScatterChart extends XYChart {
     return TYPE;
   }
 
-}
\ No newline at end of file
+}
\ No newline at end of file
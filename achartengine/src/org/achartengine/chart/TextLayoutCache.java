@@ -0,0 +1,340 @@
+/**
+ * Copyright (C) 2009 - 2012 SC 4ViewSoft SRL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.achartengine.chart;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.graphics.Typeface;
+
+/**
+ * A cache of the measured text layouts, keyed by the text, the text size and
+ * the typeface of the paint. The least recently used layouts are evicted once
+ * the number of entries exceeds the budget. The cache also keeps the text of
+ * the recently formatted numeric labels.
+ * <p>
+ * The measurements don't depend on the text angle, the text being measured
+ * unrotated and the canvas being rotated to draw it, so the angle is not part
+ * of the key. A cache is not thread safe, each chart owning its own.
+ */
+public class TextLayoutCache {
+  /** The default maximum number of cached layouts. */
+  public static final int DEFAULT_BUDGET = 512;
+  /** The number of numeric label slots, a power of two. */
+  private static final int LABEL_SLOTS = 256;
+  /** The text appended to the truncated texts. */
+  private static final String ELLIPSIS = "...";
+  /** The cached layouts, in access order. */
+  private final Map<Key, Layout> mLayouts;
+  /** The key reused by the lookups. */
+  private final Key mLookup = new Key();
+  /** The bounds reused by the measurements. */
+  private final Rect mBounds = new Rect();
+  /** The numeric label values, as bits. */
+  private final long[] mLabelValues = new long[LABEL_SLOTS];
+  /** The numeric label texts, null for an empty slot. */
+  private final String[] mLabelTexts = new String[LABEL_SLOTS];
+
+  /**
+   * Builds a new text layout cache with the default budget.
+   */
+  public TextLayoutCache() {
+    this(DEFAULT_BUDGET);
+  }
+
+  /**
+   * Builds a new text layout cache.
+   *
+   * @param budget the maximum number of cached layouts
+   */
+  public TextLayoutCache(final int budget) {
+    if (budget <= 0) {
+      throw new IllegalArgumentException("The budget must be positive");
+    }
+    mLayouts = new LinkedHashMap<Key, Layout>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Key, Layout> eldest) {
+        return size() > budget;
+      }
+    };
+  }
+
+  /**
+   * Returns the layout of a text, as measured by the given paint, measuring
+   * it only if it is not already cached.
+   *
+   * @param text the text
+   * @param paint the paint, with the text size and typeface to measure with
+   * @return the text layout
+   */
+  public Layout getLayout(String text, Paint paint) {
+    mLookup.set(text, paint.getTextSize(), paint.getTypeface());
+    Layout layout = mLayouts.get(mLookup);
+    if (layout == null) {
+      layout = new Layout(text, paint, mBounds);
+      mLayouts.put(new Key().set(text, mLookup.mTextSize, mLookup.mTypeface), layout);
+    }
+    return layout;
+  }
+
+  /**
+   * Returns the text of a numeric label, an integer value being displayed
+   * without decimals.
+   *
+   * @param value the value
+   * @return the label text
+   */
+  public String getLabel(double value) {
+    long bits = Double.doubleToLongBits(value);
+    int slot = (int) (bits ^ (bits >>> 29) ^ (bits >>> 47)) & (LABEL_SLOTS - 1);
+    String text = mLabelTexts[slot];
+    if (text == null || mLabelValues[slot] != bits) {
+      if (value == Math.round(value)) {
+        text = Math.round(value) + "";
+      } else {
+        text = value + "";
+      }
+      mLabelValues[slot] = bits;
+      mLabelTexts[slot] = text;
+    }
+    return text;
+  }
+
+  /**
+   * Returns the number of cached layouts.
+   *
+   * @return the number of cached layouts
+   */
+  public int size() {
+    return mLayouts.size();
+  }
+
+  /**
+   * Clears the cache.
+   */
+  public void clear() {
+    mLayouts.clear();
+    for (int i = 0; i < LABEL_SLOTS; i++) {
+      mLabelTexts[i] = null;
+    }
+  }
+
+  /**
+   * The cache key.
+   */
+  private static class Key {
+    /** The text. */
+    private String mText;
+    /** The text size. */
+    private float mTextSize;
+    /** The typeface, null for the default one. */
+    private Typeface mTypeface;
+
+    private Key set(String text, float textSize, Typeface typeface) {
+      mText = text;
+      mTextSize = textSize;
+      mTypeface = typeface;
+      return this;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key key = (Key) o;
+      return mTextSize == key.mTextSize && mText.equals(key.mText)
+          && (mTypeface == null ? key.mTypeface == null : mTypeface.equals(key.mTypeface));
+    }
+
+    @Override
+    public int hashCode() {
+      int hash = mText.hashCode() * 31 + Float.floatToIntBits(mTextSize);
+      return mTypeface == null ? hash : hash * 31 + mTypeface.hashCode();
+    }
+  }
+
+  /**
+   * The measured layout of a text.
+   */
+  public static class Layout {
+    /** The text. */
+    private final String mText;
+    /** The character advance widths. */
+    private final float[] mWidths;
+    /** The text width, as the sum of the advance widths. */
+    private final float mWidth;
+    /** The width of the ellipsis. */
+    private final float mEllipsisWidth;
+    /** The text lines. */
+    private final String[] mLines;
+    /** The line having the most characters. */
+    private final String mLongestLine;
+    /** The width of the longest line. */
+    private final float mLongestLineWidth;
+    /** The bounds height of the longest line. */
+    private final float mLongestLineHeight;
+    /** The number of characters of the last truncated text. */
+    private int mTruncatedCount = -1;
+    /** The last truncated text. */
+    private String mTruncatedText;
+
+    private Layout(String text, Paint paint, Rect bounds) {
+      mText = text;
+      mWidths = new float[text.length()];
+      paint.getTextWidths(text, mWidths);
+      float width = 0;
+      for (float value : mWidths) {
+        width += value;
+      }
+      mWidth = width;
+      mEllipsisWidth = paint.measureText(ELLIPSIS);
+      mLines = text.indexOf('\n') < 0 ? new String[] { text } : text.split("\n");
+      String line = "";
+      for (String value : mLines) {
+        if (value.length() > line.length()) {
+          line = value;
+        }
+      }
+      mLongestLine = line;
+      // the bounds are only used for the height, their width being wrong for
+      // the texts containing spaces
+      paint.getTextBounds(line, 0, line.length(), bounds);
+      mLongestLineHeight = bounds.height();
+      mLongestLineWidth = paint.measureText(line);
+    }
+
+    /**
+     * Returns the text.
+     *
+     * @return the text
+     */
+    public String getText() {
+      return mText;
+    }
+
+    /**
+     * Returns the text width, as the sum of the character advance widths.
+     *
+     * @return the text width
+     */
+    public float getWidth() {
+      return mWidth;
+    }
+
+    /**
+     * Returns the text lines, split on the line feeds. The returned array must
+     * not be modified.
+     *
+     * @return the text lines
+     */
+    public String[] getLines() {
+      return mLines;
+    }
+
+    /**
+     * Returns the line having the most characters.
+     *
+     * @return the longest line
+     */
+    public String getLongestLine() {
+      return mLongestLine;
+    }
+
+    /**
+     * Returns the width of the line having the most characters.
+     *
+     * @return the longest line width
+     */
+    public float getLongestLineWidth() {
+      return mLongestLineWidth;
+    }
+
+    /**
+     * Returns the bounds height of the line having the most characters.
+     *
+     * @return the longest line height
+     */
+    public float getLongestLineHeight() {
+      return mLongestLineHeight;
+    }
+
+    /**
+     * Returns the number of leading characters fitting into a width.
+     *
+     * @param maxWidth the maximum width
+     * @return the number of characters
+     */
+    public int breakText(float maxWidth) {
+      int count = 0;
+      float width = 0;
+      while (count < mWidths.length && width + mWidths[count] <= maxWidth) {
+        width += mWidths[count];
+        count++;
+      }
+      return count;
+    }
+
+    /**
+     * Returns the leading characters of the text followed by an ellipsis.
+     *
+     * @param count the number of leading characters
+     * @return the truncated text
+     */
+    public String getTruncatedText(int count) {
+      if (count != mTruncatedCount) {
+        mTruncatedText = mText.substring(0, count) + ELLIPSIS;
+        mTruncatedCount = count;
+      }
+      return mTruncatedText;
+    }
+
+    /**
+     * Returns the text if it fits into a width or else the most leading
+     * characters that fit along with an ellipsis, or only the ellipsis.
+     *
+     * @param maxWidth the maximum width
+     * @return the text to fit into the width
+     */
+    public String getFitText(float maxWidth) {
+      if (mWidth <= maxWidth) {
+        return mText;
+      }
+      return getTruncatedText(breakText(maxWidth - mEllipsisWidth));
+    }
+
+    /**
+     * Returns the width of the text returned by getFitText().
+     *
+     * @param maxWidth the maximum width
+     * @return the width of the fit text
+     */
+    public float getFitWidth(float maxWidth) {
+      if (mWidth <= maxWidth) {
+        return mWidth;
+      }
+      int count = breakText(maxWidth - mEllipsisWidth);
+      float width = mEllipsisWidth;
+      for (int i = 0; i < count; i++) {
+        width += mWidths[i];
+      }
+      return width;
+    }
+  }
+
+}
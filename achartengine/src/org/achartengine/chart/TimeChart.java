@@ -17,16 +17,14 @@ package org.achartengine.chart;
 
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
-import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
-import java.util.GregorianCalendar;
 import java.util.List;
 
 import org.achartengine.model.XYMultipleSeriesDataset;
 import org.achartengine.renderer.XYMultipleSeriesRenderer;
+import org.achartengine.util.TimeTicks;
 
-import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.Paint;
 
@@ -42,8 +40,20 @@ public class TimeChart extends LineChart {
   private String mDateFormat;
   /** If X axis value selection algorithm to be used. */
   private boolean mXAxisSmart = true;
-  /** The starting point for labels. */
-  private Double mStartPoint;
+  /** The calendar aligned X axis ticks, with their cached labels. */
+  private transient TimeTicks mTimeTicks;
+  /** The format built from the date format pattern. */
+  private transient DateFormat mPatternFormat;
+  /** The pattern the pattern format was built from. */
+  private transient String mPatternFormatPattern;
+  /** The medium date format. */
+  private transient DateFormat mDateInstance;
+  /** The short date and time format. */
+  private transient DateFormat mDateTimeInstance;
+  /** The medium time format. */
+  private transient DateFormat mTimeInstance;
+  /** The date used for formatting the labels not cached by the ticks. */
+  private transient Date mDate;
 
   TimeChart() {
   }
@@ -111,25 +121,44 @@ public class TimeChart extends LineChart {
    * @param maxX the maximum value on the X axis in the chart
    */
   @Override
-  protected void drawXLabels(List<Double> xLabels, Double[] xTextLabelLocations, Canvas canvas,
-      Paint paint, int left, int top, int bottom, double xPixelsPerUnit, double minX, double maxX) {
+  protected void drawXLabels(List<Double> xLabels, Double[] xTextLabelLocations,
+      DrawingSurface canvas, Paint paint, int left, int top, int bottom, double xPixelsPerUnit,
+      double minX, double maxX) {
     int length = xLabels.size();
     if (length > 0) {
       boolean showLabels = mRenderer.isShowLabels();
       boolean showGridY = mRenderer.isShowGridY();
+      boolean showWeekSeparator = mRenderer.isShowWeekSeparator();
+      // the labels and week starts of the calendar ticks are computed once per
+      // tick, the other labels are formatted on every frame
+      boolean ticks = mTimeTicks != null && xLabels == mTimeTicks.asList();
       DateFormat format = getDateFormat(xLabels.get(0), xLabels.get(length - 1));
       for (int i = 0; i < length; i++) {
         long label = Math.round(xLabels.get(i));
         float xLabel = (float) (left + xPixelsPerUnit * (label - minX));
         if (showLabels) {
+          String text;
+          if (ticks) {
+            text = mTimeTicks.getLabel(i, format);
+          } else {
+            if (mDate == null) {
+              mDate = new Date();
+            }
+            mDate.setTime(label);
+            text = format.format(mDate);
+          }
           paint.setColor(mRenderer.getXLabelsColor());
           canvas
               .drawLine(xLabel, bottom, xLabel, bottom + mRenderer.getLabelsTextSize() / 3, paint);
-          drawText(canvas, format.format(new Date(label)), xLabel,
-              bottom + mRenderer.getLabelsTextSize() * 4 / 3, paint, mRenderer.getXLabelsAngle());
+          drawText(canvas, text, xLabel, bottom + mRenderer.getLabelsTextSize() * 4 / 3, paint,
+              mRenderer.getXLabelsAngle());
         }
         if (showGridY) {
-          paint.setColor(mRenderer.getGridColor());
+          if (showWeekSeparator && ticks && mTimeTicks.isWeekStart(i)) {
+            paint.setColor(mRenderer.getWeekColor());
+          } else {
+            paint.setColor(mRenderer.getGridColor());
+          }
           canvas.drawLine(xLabel, bottom, xLabel, top, paint);
         }
       }
@@ -140,12 +169,9 @@ public class TimeChart extends LineChart {
 
   @Override
   protected int getColorXLine(Double location) {
-	if (mRenderer.isShowWeekSeparator()) {
-	  GregorianCalendar cal = new GregorianCalendar();
-  	  cal.setTimeInMillis(location.longValue());
-  	  if (cal.get(Calendar.DAY_OF_WEEK) == Calendar.MONDAY) {
-  	  	return mRenderer.getWeekColor();
-  	  }
+	if (mRenderer.isShowWeekSeparator()
+	    && getTimeTicks().getDayOfWeek(location.longValue()) == Calendar.MONDAY) {
+	  return mRenderer.getWeekColor();
 	}
   	return super.getColorXLine(location);   
   }
@@ -159,22 +185,42 @@ public class TimeChart extends LineChart {
    */
   private DateFormat getDateFormat(double start, double end) {
     if (mDateFormat != null) {
-      SimpleDateFormat format = null;
-      try {
-        format = new SimpleDateFormat(mDateFormat);
-        return format;
-      } catch (Exception e) {
-        // do nothing here
+      if (!mDateFormat.equals(mPatternFormatPattern)) {
+        mPatternFormatPattern = mDateFormat;
+        try {
+          mPatternFormat = new SimpleDateFormat(mDateFormat);
+        } catch (Exception e) {
+          mPatternFormat = null;
+        }
+      }
+      if (mPatternFormat != null) {
+        return mPatternFormat;
       }
     }
-    DateFormat format = SimpleDateFormat.getDateInstance(SimpleDateFormat.MEDIUM);
     double diff = end - start;
     if (diff > DAY && diff < 5 * DAY) {
-      format = SimpleDateFormat.getDateTimeInstance(SimpleDateFormat.SHORT, SimpleDateFormat.SHORT);
+      if (mDateTimeInstance == null) {
+        mDateTimeInstance = SimpleDateFormat.getDateTimeInstance(SimpleDateFormat.SHORT,
+            SimpleDateFormat.SHORT);
+      }
+      return mDateTimeInstance;
     } else if (diff < DAY) {
-      format = SimpleDateFormat.getTimeInstance(SimpleDateFormat.MEDIUM);
+      if (mTimeInstance == null) {
+        mTimeInstance = SimpleDateFormat.getTimeInstance(SimpleDateFormat.MEDIUM);
+      }
+      return mTimeInstance;
+    }
+    if (mDateInstance == null) {
+      mDateInstance = SimpleDateFormat.getDateInstance(SimpleDateFormat.MEDIUM);
     }
-    return format;
+    return mDateInstance;
+  }
+
+  private TimeTicks getTimeTicks() {
+    if (mTimeTicks == null) {
+      mTimeTicks = new TimeTicks();
+    }
+    return mTimeTicks;
   }
 
   /**
@@ -186,38 +232,30 @@ public class TimeChart extends LineChart {
     return TYPE;
   }
 
+  /**
+   * Returns the X axis labels. In smart mode, the labels are placed on
+   * calendar boundaries: round seconds, minutes or hours, midnights, Mondays
+   * or first days of the months, or decimal steps below a second. The ticks are kept between frames, so the
+   * returned list is only valid until the next call.
+   * 
+   * @param min the minimum X value
+   * @param max the maximum X value
+   * @param count the approximate number of labels
+   * @return the X axis labels
+   */
   protected List<Double> getXLabels(double min, double max, int count) {
     if (!mXAxisSmart) {
       return super.getXLabels(min, max, count);
     }
-    if (mStartPoint == null) {
-      mStartPoint = min - (min % DAY) + DAY + new Date(Math.round(min)).getTimezoneOffset() * 60
-          * 1000;
-    }
     if (count > 25) {
       count = 25;
     }
-    final double cycleMath = (max - min) / count;
-    double cycle = DAY;
-
-    if (cycleMath <= DAY) {
-      while (cycleMath < cycle / 2) {
-        cycle = cycle / 2;
-      }
-    } else {
-      while (cycleMath > cycle) {
-        cycle = cycle * 2;
-      }
-    }
-
-    final List<Double> result = new ArrayList<Double>();
-    double val = mStartPoint - Math.floor((mStartPoint - min) / cycle) * cycle;
-    int i = 0;
-    while (val < max && i++ <= count) {
-      result.add(val);
-      val += cycle;
+    if (Math.abs(max - min) < count * 1000.0) {
+      // sub second steps are decimal multiples of a millisecond
+      return super.getXLabels(min, max, count);
     }
-
-    return result;
+    TimeTicks ticks = getTimeTicks();
+    ticks.update(min, max, count);
+    return ticks.asList();
   }
 }
@@ -17,15 +17,13 @@ package org.achartengine.chart;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
-import java.util.SortedMap;
 
+import org.achartengine.metrics.FrameRecorder;
+import org.achartengine.metrics.FrameStage;
 import org.achartengine.model.Point;
 import org.achartengine.model.SeriesSelection;
 import org.achartengine.model.XYMultipleSeriesDataset;
@@ -35,9 +33,16 @@ import org.achartengine.renderer.DefaultRenderer;
 import org.achartengine.renderer.SimpleSeriesRenderer;
 import org.achartengine.renderer.XYMultipleSeriesRenderer;
 import org.achartengine.renderer.XYMultipleSeriesRenderer.Orientation;
+import org.achartengine.renderer.XYSeriesRenderer;
+import org.achartengine.util.AxisTicks;
 import org.achartengine.util.MathHelper;
+import org.achartengine.util.MinMaxPyramid;
+import org.achartengine.util.PixelDecimator;
+import org.achartengine.util.XYSnapshot;
 
+import android.graphics.Bitmap;
 import android.graphics.Canvas;
+import android.graphics.Color;
 import android.graphics.DashPathEffect;
 import android.graphics.Paint;
 import android.graphics.Paint.Align;
@@ -45,6 +50,7 @@ import android.graphics.Paint.Cap;
 import android.graphics.Paint.Join;
 import android.graphics.Paint.Style;
 import android.graphics.PathEffect;
+import android.graphics.PorterDuff;
 import android.graphics.Rect;
 import android.graphics.RectF;
 import android.graphics.Typeface;
@@ -69,16 +75,84 @@ public abstract class XYChart extends AbstractChart {
   private final Map<Integer, double[]> mCalcRange = new HashMap<Integer, double[]>();
 
   /**
-   * The clickable areas for all points. The array index is the series index,
-   * and the RectF list index is the point index in that series.
+   * The clickable areas of the points drawn in the last frame, computed on the
+   * first hit test.
    */
-  private Map<Integer, List<ClickableArea>> clickableAreas = new HashMap<Integer, List<ClickableArea>>();
+  private final ClickableAreaIndex clickableAreas = new ClickableAreaIndex();
   
   private List<ClickableArea> xTextClickableAreas = new LinkedList<ClickableArea>();
   
-  private int step = 0;
   private int maxCount = -1;
   private int maxRangeItemSize = -1;
+  /** The first and last index of the series values in the visible range. */
+  private final int[] mIndexRange = new int[2];
+  /** The projected screen coordinates buffer, reused between frames. */
+  private float[] mPoints;
+  /** The data values buffer matching the projected points. */
+  private double[] mValues;
+  /** The series indexes of the projected points, one per point. */
+  private int[] mPointIndexes;
+  /** The level of detail indexes buffer, reused between frames. */
+  private int[] mIndexes;
+  /** The series snapshots of the frame being drawn. */
+  private transient XYSnapshot[] mSnapshots;
+  /** The snapshot of the series being drawn or having its areas computed. */
+  private transient XYSnapshot mSeriesSnapshot;
+  /** The bitmap the static layers were last rendered to. */
+  private transient Bitmap mStaticLayer;
+  /** The drawing state the static layers were last rendered for. */
+  private double[] mStaticLayerState = new double[0];
+  /** The series titles the static layers were last rendered for. */
+  private String[] mStaticLayerTitles;
+  /** The bitmap the animated series are drawn to, piece by piece. */
+  private transient Bitmap mSeriesLayer;
+  /** The surface drawing to the animated series bitmap. */
+  private transient DrawingSurface mSeriesLayerSurface;
+  /** The series index up to which each series was drawn to the bitmap. */
+  private int[] mSeriesLayerEnds = new int[0];
+  /** The animation progress the series bitmap was drawn for. */
+  private float mSeriesLayerProgress;
+  /** If the frame only draws the points revealed since the previous one. */
+  private boolean mIncrementalFrame;
+  /** The bitmap the series are scrolled in, following the values or panned. */
+  private transient Bitmap mScrollLayer;
+  /** The canvas drawing to the scrolled series bitmap. */
+  private transient Canvas mScrollCanvas;
+  /** The surface drawing to the scrolled series bitmap. */
+  private transient DrawingSurface mScrollSurface;
+  /** The drawing state the scrolled series bitmap was drawn for. */
+  private double[] mScrollState = new double[0];
+  /** The minimum X value of each scale the scrolled bitmap was drawn for. */
+  private double[] mScrollMinX = new double[0];
+  /** The X value of the last visible point drawn of each series. */
+  private double[] mFollowLastX = new double[0];
+  /** The X value of the last point drawn of each series, visible or not. */
+  private double[] mFollowDrawnX = new double[0];
+  /** The left edge of the part of the plot area the frame draws in. */
+  private float mScrollClipLeft;
+  /** The right edge of the part of the plot area the frame draws in. */
+  private float mScrollClipRight;
+  /** The bitmap column of the plot area left edge, the bitmap wrapping. */
+  private double mScrollShift;
+  /** If the frame only draws the values added or scrolled in. */
+  private boolean mScrollFrame;
+  /** If a pan gesture is in progress. */
+  private boolean mPanning;
+  /**
+   * The series snapshots of the last frame, when drawn to a series bitmap
+   * only getting the new points drawn, until its clickable areas are recorded.
+   */
+  private transient XYSnapshot[] mHitSnapshots;
+  /** The minimum X, maximum X, minimum Y and pixels per unit of that frame. */
+  private double[][] mHitRanges = new double[5][];
+  /** The X axis ticks, kept between frames. */
+  private transient AxisTicks mXTicks;
+  /** The Y axis ticks of each scale, kept between frames. */
+  private transient AxisTicks[] mYTicks;
+  /** The Y axis labels of each scale, reused between frames. */
+  private transient Map<Integer, List<Double>> mYLabels;
+  /** The screen point buffer of the nearest points queries. */
+  private final double[] mScreenPoint = new double[2];
 
   protected XYChart() {
   }
@@ -106,11 +180,6 @@ public abstract class XYChart extends AbstractChart {
 	return true; // true because this chart can handle mRenderer.isAnimated()
   }
   
-  @Override
-  public boolean isAnimationFinished() {
-	  return step >= getMaxCount();
-  }
-  
   @Override
   public int getNumberOfAnimatedSteps() {
 	  return Math.max(1, getMaxCount());
@@ -119,7 +188,9 @@ public abstract class XYChart extends AbstractChart {
   private int calculateEffectiveLength(int originalValuesLength) {
 	  int valuesLength = originalValuesLength;
 	  if (mRenderer.isAnimated() && !isAnimationFinished()) {
-    	  valuesLength = Math.min(step, originalValuesLength);
+    	  // the points are revealed at the same pace for all the series
+    	  valuesLength = Math.min((int) (getAnimationProgress() * Math.max(0, getMaxCount())),
+    	      originalValuesLength);
       }
 	  return valuesLength;
   }
@@ -138,8 +209,82 @@ public abstract class XYChart extends AbstractChart {
    * @param height the height of the view to draw to
    * @param paint the paint
    */
-  public void draw(Canvas canvas, int x, int y, int width, int height, Paint paint) {
-	step++;
+  public void draw(DrawingSurface canvas, int x, int y, int width, int height, Paint paint) {
+    draw(canvas, null, x, y, width, height, paint, null, null);
+  }
+
+  /**
+   * The graphical representation of the XY chart, reusing a rendering of the
+   * static layers. The background, margins, grid, labels, titles, legend and
+   * axes are rendered to the given bitmap only when the view size, the axis
+   * ranges, the series titles, the text labels or the renderer styling
+   * change, or after invalidateStaticLayers() is called. The bitmap is then drawn and only the series are rendered over
+   * it, clipped to the plot area, such as the grid is painted under the
+   * series. Charts with a vertical orientation are drawn without the bitmap.
+   * 
+   * @param canvas the canvas to paint to
+   * @param x the top left x value of the view to draw to
+   * @param y the top left y value of the view to draw to
+   * @param width the width of the view to draw to
+   * @param height the height of the view to draw to
+   * @param paint the paint
+   * @param staticLayer a mutable bitmap of at least width x height pixels, or
+   *          null to draw all the layers directly to the canvas
+   */
+  public void draw(Canvas canvas, int x, int y, int width, int height, Paint paint,
+      Bitmap staticLayer) {
+    draw(getCanvasSurface(canvas), canvas, x, y, width, height, paint, staticLayer, null);
+  }
+
+  /**
+   * The graphical representation of the XY chart, reusing a rendering of the
+   * static layers and, while the series are animated, of the points already
+   * revealed. Each animation frame then only draws the points revealed since
+   * the previous frame to the series bitmap, such as the whole animation
+   * costs about as much as drawing the series once. The series bitmap is
+   * cleared when the static layers change or the animation restarts, and the
+   * series are drawn directly again when the animation is finished. In the
+   * follow latest mode, or while panning with the pan by translation, the
+   * series bitmap is rather scrolled by the X axis range shift and only the
+   * values added or scrolled in since the previous frame are drawn to it.
+   * The hit areas are only recorded by the frames drawing the series
+   * directly.
+   * 
+   * @param canvas the canvas to paint to
+   * @param x the top left x value of the view to draw to
+   * @param y the top left y value of the view to draw to
+   * @param width the width of the view to draw to
+   * @param height the height of the view to draw to
+   * @param paint the paint
+   * @param staticLayer a mutable bitmap of at least width x height pixels, or
+   *          null to draw all the layers directly to the canvas
+   * @param seriesLayer a mutable bitmap of at least width x height pixels, or
+   *          null to draw the animated series directly to the canvas
+   * @see #isIncrementalAnimationSupported()
+   */
+  public void draw(Canvas canvas, int x, int y, int width, int height, Paint paint,
+      Bitmap staticLayer, Bitmap seriesLayer) {
+    draw(getCanvasSurface(canvas), canvas, x, y, width, height, paint, staticLayer,
+        seriesLayer);
+  }
+
+  /**
+   * The graphical representation of the XY chart, the static layers bitmap
+   * being drawn to the underlying canvas of the surface.
+   * 
+   * @param canvas the surface to paint to
+   * @param bitmapCanvas the canvas to draw the static layers bitmap to, null
+   *          if there is no bitmap
+   * @param x the top left x value of the view to draw to
+   * @param y the top left y value of the view to draw to
+   * @param width the width of the view to draw to
+   * @param height the height of the view to draw to
+   * @param paint the paint
+   * @param staticLayer the static layers bitmap, or null
+   * @param seriesLayer the animated series bitmap, or null
+   */
+  private void draw(DrawingSurface canvas, Canvas bitmapCanvas, int x, int y, int width,
+      int height, Paint paint, Bitmap staticLayer, Bitmap seriesLayer) {
     paint.setAntiAlias(mRenderer.isAntialiasing());
     int legendSize = getLegendSize(mRenderer, height / 5, mRenderer.getAxisTitleTextSize());
     int[] margins = mRenderer.getMargins();
@@ -152,15 +297,22 @@ public abstract class XYChart extends AbstractChart {
       titles[i] = mDataset.getSeriesAt(i).getTitle();
     }
     if (mRenderer.isFitLegend() && mRenderer.isShowLegend()) {
+      FrameStage previous = enterStage(FrameStage.LEGEND);
       legendSize = drawLegend(canvas, mRenderer, titles, left, right, y, width, height, legendSize,
           paint, true);
+      enterStage(previous);
     }
     int bottom = y + height - margins[2] - legendSize;
     if (mScreenR == null) {
       mScreenR = new Rect();
     }
     mScreenR.set(left, top, right, bottom);
-    drawBackground(mRenderer, canvas, x, y, width, height, paint, false, DefaultRenderer.NO_COLOR);
+    Orientation or = mRenderer.getOrientation();
+    boolean layered = staticLayer != null && or == Orientation.HORIZONTAL;
+    if (!layered) {
+      drawBackground(mRenderer, canvas, x, y, width, height, paint, false,
+          DefaultRenderer.NO_COLOR);
+    }
 
     if (paint.getTypeface() == null
         || !paint.getTypeface().toString().equals(mRenderer.getTextTypefaceName())
@@ -168,7 +320,6 @@ public abstract class XYChart extends AbstractChart {
       paint.setTypeface(Typeface.create(mRenderer.getTextTypefaceName(),
           mRenderer.getTextTypefaceStyle()));
     }
-    Orientation or = mRenderer.getOrientation();
     if (or == Orientation.VERTICAL) {
       right -= legendSize;
       bottom += legendSize - 20;
@@ -217,29 +368,41 @@ public abstract class XYChart extends AbstractChart {
     }
     double[] xPixelsPerUnit = new double[maxScaleNumber];
     double[] yPixelsPerUnit = new double[maxScaleNumber];
+    boolean hasValues = false;
+    FrameRecorder recorder = getFrameRecorder();
+    enterStage(FrameStage.RANGE);
+    // take one snapshot of each series for the whole frame, such as the
+    // ranges and the rendered values match while the series keep changing
+    if (mSnapshots == null || mSnapshots.length < sLength) {
+      mSnapshots = new XYSnapshot[sLength];
+    }
+    XYSnapshot[] snapshots = mSnapshots;
     for (int i = 0; i < sLength; i++) {
       XYSeries series = mDataset.getSeriesAt(i);
       int scale = series.getScaleNumber();
-      if (series.getItemCount() == 0) {
+      XYSnapshot data = series.getSnapshot();
+      snapshots[i] = data;
+      if (data.size() == 0) {
         continue;
       }
+      hasValues |= mRenderer.getSeriesRendererAt(i).isDisplayChart();
       if (!isMinXSet[scale]) {
-        double minimumX = series.getMinX();
+        double minimumX = data.getMinX();
         minX[scale] = Math.min(minX[scale], minimumX);
         mCalcRange.get(scale)[0] = minX[scale];
       }
       if (!isMaxXSet[scale]) {
-        double maximumX = series.getMaxX();
+        double maximumX = data.getMaxX();
         maxX[scale] = Math.max(maxX[scale], maximumX);
         mCalcRange.get(scale)[1] = maxX[scale];
       }
       if (!isMinYSet[scale]) {
-        double minimumY = series.getMinY();
+        double minimumY = data.getMinY();
         minY[scale] = Math.min(minY[scale], (float) minimumY);
         mCalcRange.get(scale)[2] = minY[scale];
       }
       if (!isMaxYSet[scale]) {
-        double maximumY = series.getMaxY();
+        double maximumY = data.getMaxY();
         maxY[scale] = Math.max(maxY[scale], (float) maximumY);
         mCalcRange.get(scale)[3] = maxY[scale];
       }
@@ -253,95 +416,395 @@ public abstract class XYChart extends AbstractChart {
       }
     }
 
-    boolean hasValues = false;
-    // use a linked list for these reasons:
-    // 1) Avoid a large contiguous memory allocation
-    // 2) We don't need random seeking, only sequential reading/writing, so
-    // linked list makes sense
-    clickableAreas = new HashMap<Integer, List<ClickableArea>>();
-    xTextClickableAreas.clear();
-    
-    SortedMap<Double,Double>[] ranges = new SortedMap[sLength];
-    for (int i = 0; i < sLength; i++) {
-    	XYSeries series = mDataset.getSeriesAt(i);
-    	int scale = series.getScaleNumber();
-    	ranges[i] = series.getRange(minX[scale], maxX[scale], 1);;
+    boolean staticLayerChanged = false;
+    if (layered) {
+      enterStage(FrameStage.LABELS);
+      staticLayerChanged = isStaticLayerChanged(staticLayer, x, y, width, height, legendSize,
+          titles, maxScaleNumber, minX, maxX, minY, maxY, hasValues);
+      if (staticLayerChanged) {
+        // the scrolled series bitmap is drawn again too, with the new style
+        mScrollLayer = null;
+        DrawingSurface layerCanvas = new CanvasSurface(new Canvas(staticLayer));
+        staticLayer.eraseColor(Color.TRANSPARENT);
+        layerCanvas.translate(-x, -y);
+        drawBackground(mRenderer, layerCanvas, x, y, width, height, paint, false,
+            DefaultRenderer.NO_COLOR);
+        drawStaticLayers(layerCanvas, x, y, width, height, paint, left, top, right, bottom,
+            legendSize, titles, maxScaleNumber, minX, maxX, minY, maxY, xPixelsPerUnit,
+            yPixelsPerUnit, hasValues);
+      }
+      bitmapCanvas.drawBitmap(staticLayer, x, y, null);
+      canvas.save();
+      canvas.clipRect(left, top, right, bottom);
+    }
+
+    clickableAreas.reset();
+    mIncrementalFrame = layered && seriesLayer != null && isIncrementalAnimationSupported()
+        && mRenderer.isAnimated() && !isAnimationFinished();
+    DrawingSurface seriesCanvas = canvas;
+    if (mIncrementalFrame) {
+      if (staticLayerChanged || seriesLayer != mSeriesLayer
+          || mSeriesLayerEnds.length != sLength || getAnimationProgress() < mSeriesLayerProgress) {
+        seriesLayer.eraseColor(Color.TRANSPARENT);
+        mSeriesLayer = seriesLayer;
+        mSeriesLayerSurface = new CanvasSurface(new Canvas(seriesLayer));
+        mSeriesLayerSurface.translate(-x, -y);
+        mSeriesLayerSurface.clipRect(left, top, right, bottom);
+        mSeriesLayerEnds = new int[sLength];
+        Arrays.fill(mSeriesLayerEnds, -1);
+      }
+      mSeriesLayerProgress = getAnimationProgress();
+      seriesCanvas = mSeriesLayerSurface;
+    } else {
+      mSeriesLayer = null;
+      mSeriesLayerSurface = null;
+    }
+    boolean follow = mRenderer.isFollowLatest();
+    mScrollFrame = !mIncrementalFrame && layered && seriesLayer != null
+        && (follow || mPanning && mRenderer.isPanByTranslation())
+        && isIncrementalAnimationSupported();
+    float scrolled = 0;
+    if (mScrollFrame) {
+      scrolled = updateScrollState(seriesLayer, x, y, width, height, sLength, maxScaleNumber,
+          minX, minY, maxY, xPixelsPerUnit);
+      if (Float.isNaN(scrolled)) {
+        seriesLayer.eraseColor(Color.TRANSPARENT);
+        mScrollLayer = seriesLayer;
+        mScrollCanvas = new Canvas(seriesLayer);
+        mScrollSurface = new CanvasSurface(mScrollCanvas);
+        mScrollShift = 0;
+        Arrays.fill(mFollowLastX, Double.NaN);
+        Arrays.fill(mFollowDrawnX, Double.NaN);
+      } else if (scrolled != 0) {
+        int plotWidth = right - left;
+        mScrollShift = ((mScrollShift + scrolled) % plotWidth + plotWidth) % plotWidth;
+        // the strip scrolled in still holds the values scrolled out
+        for (int window = 0; window < 2; window++) {
+          mScrollCanvas.save();
+          setScrollWindow(mScrollSurface, window);
+          if (scrolled > 0) {
+            mScrollCanvas.clipRect(right - scrolled, top, right, bottom);
+          } else {
+            mScrollCanvas.clipRect(left, top, left - scrolled, bottom);
+          }
+          mScrollCanvas.drawColor(Color.TRANSPARENT, PorterDuff.Mode.CLEAR);
+          mScrollCanvas.restore();
+        }
+      }
+      seriesCanvas = mScrollSurface;
+    } else {
+      mScrollLayer = null;
+      mScrollCanvas = null;
+      mScrollSurface = null;
+    }
+    // the frames drawn to a series bitmap only draw the new points, the
+    // clickable areas of all the visible ones are recorded on the first hit
+    // test from the frame snapshots
+    if (mIncrementalFrame || mScrollFrame) {
+      mHitSnapshots = new XYSnapshot[sLength];
+      System.arraycopy(snapshots, 0, mHitSnapshots, 0, sLength);
+      mHitRanges[0] = minX;
+      mHitRanges[1] = maxX;
+      mHitRanges[2] = minY;
+      mHitRanges[3] = xPixelsPerUnit;
+      mHitRanges[4] = yPixelsPerUnit;
+    } else {
+      mHitSnapshots = null;
+      Arrays.fill(mHitRanges, null);
     }
-    
+
     for (int i = 0; i < sLength; i++) {
       XYSeries series = mDataset.getSeriesAt(i);
+      XYSnapshot data = snapshots[i];
+      mSeriesSnapshot = data;
       SimpleSeriesRenderer seriesRenderer = mRenderer.getSeriesRendererAt(i);
       int scale = series.getScaleNumber();
-      if (series.getItemCount() == 0 || !seriesRenderer.isDisplayChart()) {
+      if (data.size() == 0 || !seriesRenderer.isDisplayChart()) {
+        if (mScrollFrame) {
+          mFollowLastX[i] = Double.NaN;
+          mFollowDrawnX[i] = Double.NaN;
+        }
         continue;
       }
 
-      hasValues = true;
       // int originalValuesLength = series.getItemCount();
       // int valuesLength = originalValuesLength;
       // int length = valuesLength * 2;
 
-      List<Float> points = new ArrayList<Float>();
-      List<Double> values = new ArrayList<Double>();
       float yAxisValue = Math.min(bottom, (float) (bottom + yPixelsPerUnit[scale] * minY[scale]));
-      LinkedList<ClickableArea> clickableArea = new LinkedList<ClickableArea>();
 
-      clickableAreas.put(i, clickableArea);
-
-      SortedMap<Double, Double> range = ranges[i];
-	  int startIndex = -1;
-      int rangeItemSize = range.entrySet().size();
+      enterStage(FrameStage.RANGE);
+      data.getIndexRange(minX[scale], maxX[scale], 1, mIndexRange);
+      int startIndex = mIndexRange[0];
+      int rangeItemSize = Math.max(0, mIndexRange[1] - startIndex + 1);
+      if (recorder != null) {
+        recorder.addPoints(rangeItemSize, 0);
+      }
       maxRangeItemSize = Math.max(maxRangeItemSize, rangeItemSize);
-      int rangeItemEffectiveSize = calculateEffectiveLength(rangeItemSize);
-      Entry<Double, Double> value;
-      Iterator<Entry<Double, Double>> iter = range.entrySet().iterator();
-      int rangeItemPosition = 1;
-      while (iter.hasNext() && rangeItemPosition <= rangeItemEffectiveSize) {
-      //for (Entry<Double, Double> value : range.entrySet()) {
-    	value = iter.next();
-    	rangeItemPosition++;
-
-        double xValue = value.getKey();
-        double yValue = value.getValue();
-        if (startIndex < 0) {
-          startIndex = series.getIndexForKey(xValue);
+      int endIndex = startIndex + calculateEffectiveLength(rangeItemSize);
+      if (mIncrementalFrame) {
+        int drawnEnd = mSeriesLayerEnds[i];
+        if (endIndex <= drawnEnd) {
+          continue;
         }
-
-        // points.add((float) (left + xPixelsPerUnit[scale]
-        // * (value.getKey().floatValue() - minX[scale])));
-        // points.add((float) (bottom - yPixelsPerUnit[scale]
-        // * (value.getValue().floatValue() - minY[scale])));
-        values.add(value.getKey());
-        values.add(value.getValue());
-
-        if (!isNullValue(yValue)) {
-          points.add((float) (left + xPixelsPerUnit[scale] * (xValue - minX[scale])));
-          points.add((float) (bottom - yPixelsPerUnit[scale] * (yValue - minY[scale])));
-        } else if (isRenderNullValues()) {
-          points.add((float) (left + xPixelsPerUnit[scale] * (xValue - minX[scale])));
-          points.add((float) (bottom - yPixelsPerUnit[scale] * (-minY[scale])));
-        } else {
-          if (points.size() > 0) {
-            drawSeries(series, canvas, paint, points, seriesRenderer, yAxisValue, i, or, startIndex);
-            ClickableArea[] clickableAreasForSubSeries = clickableAreasForPoints(
-                MathHelper.getFloats(points), MathHelper.getDoubles(values), yAxisValue, i,
-                startIndex);
-            clickableArea.addAll(Arrays.asList(clickableAreasForSubSeries));
-            points.clear();
-            values.clear();
+        mSeriesLayerEnds[i] = endIndex;
+        if (drawnEnd > startIndex) {
+          // the last point drawn is drawn again to join the new segments
+          startIndex = drawnEnd - 1;
+        }
+      }
+      if (mScrollFrame) {
+        double lastX = mFollowLastX[i];
+        // after a full clear, or for a series not drawn yet, the whole range
+        // is drawn
+        mScrollClipLeft = left;
+        mScrollClipRight = right;
+        if (!Float.isNaN(scrolled) && !Double.isNaN(lastX)) {
+          if (follow && scrolled >= 0) {
+            // the points from the last visible one drawn are drawn, clipped
+            // to the part not drawn yet: the strip scrolled in if the segment
+            // to the next point was drawn up to the former plot area edge,
+            // else the part right of the last visible point
+            startIndex = Math.max(startIndex, data.ceilingIndex(lastX));
+            if (startIndex + 1 >= endIndex) {
+              startIndex = endIndex;
+            } else if (mFollowDrawnX[i] > lastX) {
+              mScrollClipLeft = right - scrolled;
+            } else {
+              mScrollClipLeft = (float) (left + xPixelsPerUnit[scale] * (lastX - minX[scale]));
+            }
+          } else if (scrolled != 0) {
+            // only the values of the strip scrolled in, and their neighbours
+            double stripWidth = Math.abs(scrolled) / xPixelsPerUnit[scale];
+            if (scrolled > 0) {
+              data.getIndexRange(maxX[scale] - stripWidth, maxX[scale], 1, mIndexRange);
+              mScrollClipLeft = right - scrolled;
+            } else {
+              data.getIndexRange(minX[scale], minX[scale] + stripWidth, 1, mIndexRange);
+              mScrollClipRight = left - scrolled;
+            }
+            startIndex = Math.max(startIndex, mIndexRange[0]);
+            endIndex = Math.min(endIndex, mIndexRange[1] + 1);
+          } else {
+            startIndex = endIndex;
           }
-          clickableArea.add(null);
         }
+        int last = data.ceilingIndex(maxX[scale]);
+        if (last >= data.size() || data.getX(last) > maxX[scale]) {
+          last--;
+        }
+        mFollowLastX[i] = last >= 0 ? data.getX(last) : Double.NaN;
+        if (startIndex >= endIndex) {
+          continue;
+        }
+        mFollowDrawnX[i] = data.getX(endIndex - 1);
       }
+      drawSeriesRange(series, data, seriesCanvas, paint, seriesRenderer, i, or, startIndex,
+          endIndex, left, right, bottom, minX[scale], minY[scale], xPixelsPerUnit[scale],
+          yPixelsPerUnit[scale], yAxisValue);
+    }
+    // the snapshots are not kept after the frame
+    Arrays.fill(snapshots, null);
+    mSeriesSnapshot = null;
+    if (mIncrementalFrame) {
+      bitmapCanvas.drawBitmap(seriesLayer, x, y, null);
+    } else if (mScrollFrame) {
+      float layerLeft = (float) (left - mScrollShift);
+      bitmapCanvas.drawBitmap(seriesLayer, layerLeft, top, null);
+      bitmapCanvas.drawBitmap(seriesLayer, layerLeft + right - left, top, null);
+    }
+
+    enterStage(FrameStage.LABELS);
+    if (layered) {
+      canvas.restore();
+    } else {
+      drawStaticLayers(canvas, x, y, width, height, paint, left, top, right, bottom, legendSize,
+          titles, maxScaleNumber, minX, maxX, minY, maxY, xPixelsPerUnit, yPixelsPerUnit,
+          hasValues);
+    }
+    if (rotate) {
+      transform(canvas, angle, true);
+    }
+    enterStage(FrameStage.OTHER);
+  }
 
-      if (points.size() > 0) {
-        drawSeries(series, canvas, paint, points, seriesRenderer, yAxisValue, i, or, startIndex);
-        ClickableArea[] clickableAreasForSubSeries = clickableAreasForPoints(
-            MathHelper.getFloats(points), MathHelper.getDoubles(values), yAxisValue, i, startIndex);
-        clickableArea.addAll(Arrays.asList(clickableAreasForSubSeries));
+  /**
+   * Records the clickable areas of the points visible in the last frame, if it
+   * was drawn to a series bitmap and they were not recorded yet.
+   */
+  private void recordPendingHitAreas() {
+    XYSnapshot[] snapshots = mHitSnapshots;
+    if (snapshots == null) {
+      return;
+    }
+    mHitSnapshots = null;
+    Rect r = mScreenR;
+    double[] minX = mHitRanges[0];
+    double[] maxX = mHitRanges[1];
+    double[] minY = mHitRanges[2];
+    double[] xPixelsPerUnit = mHitRanges[3];
+    double[] yPixelsPerUnit = mHitRanges[4];
+    Orientation or = mRenderer.getOrientation();
+    clickableAreas.reset();
+    int sLength = Math.min(snapshots.length, mDataset.getSeriesCount());
+    for (int i = 0; i < sLength; i++) {
+      XYSeries series = mDataset.getSeriesAt(i);
+      XYSnapshot data = snapshots[i];
+      SimpleSeriesRenderer seriesRenderer = mRenderer.getSeriesRendererAt(i);
+      int scale = series.getScaleNumber();
+      if (data.size() == 0 || !seriesRenderer.isDisplayChart() || scale >= minX.length) {
+        continue;
       }
+      float yAxisValue = Math.min(r.bottom,
+          (float) (r.bottom + yPixelsPerUnit[scale] * minY[scale]));
+      data.getIndexRange(minX[scale], maxX[scale], 1, mIndexRange);
+      int startIndex = mIndexRange[0];
+      int endIndex = startIndex
+          + calculateEffectiveLength(Math.max(0, mIndexRange[1] - startIndex + 1));
+      mSeriesSnapshot = data;
+      drawSeriesRange(series, data, null, null, seriesRenderer, i, or, startIndex, endIndex,
+          r.left, r.right, r.bottom, minX[scale], minY[scale], xPixelsPerUnit[scale],
+          yPixelsPerUnit[scale], yAxisValue);
+    }
+    mSeriesSnapshot = null;
+    Arrays.fill(mHitRanges, null);
+  }
+
+  /**
+   * Projects the points of a series index range and draws them, a dense range
+   * being first reduced to a level of detail when decimating. Without a
+   * surface, the points are only recorded for the hit tests.
+   * 
+   * @param series the series
+   * @param data the series snapshot
+   * @param canvas the surface to draw to, or null to only record the points
+   * @param paint the paint object
+   * @param seriesRenderer the series renderer
+   * @param seriesIndex the series index
+   * @param or the orientation
+   * @param startIndex the index of the first point
+   * @param endIndex the index after the last point
+   * @param left the left edge of the plot area
+   * @param right the right edge of the plot area
+   * @param bottom the bottom edge of the plot area
+   * @param minX the minimum X value of the series scale
+   * @param minY the minimum Y value of the series scale
+   * @param xPixelsPerUnit the X pixels per unit of the series scale
+   * @param yPixelsPerUnit the Y pixels per unit of the series scale
+   * @param yAxisValue the y axis value in pixels
+   */
+  private void drawSeriesRange(XYSeries series, XYSnapshot data, DrawingSurface canvas,
+      Paint paint, SimpleSeriesRenderer seriesRenderer, int seriesIndex, Orientation or,
+      int startIndex, int endIndex, int left, int right, int bottom, double minX, double minY,
+      double xPixelsPerUnit, double yPixelsPerUnit, float yAxisValue) {
+    boolean decimate = isDecimated(seriesRenderer);
+    // when decimating, a dense range is first reduced using the coarsest
+    // level of detail still having at least one bucket per pixel
+    int[] indexes = null;
+    int count = endIndex - startIndex;
+    int level = decimate ? Math.min(getLodLevel(count, right - left),
+        series.getLodLevelCount()) : 0;
+    if (level > 0) {
+      int lodCount = MinMaxPyramid.getMaxIndexCount(count, level);
+      if (mIndexes == null || mIndexes.length < lodCount) {
+        mIndexes = new int[lodCount];
+      }
+      // the series may no longer serve the level, the whole range of the
+      // snapshot is then projected
+      int filled = series.getLodIndexes(data, startIndex, endIndex, level, mIndexes);
+      if (filled >= 0) {
+        indexes = mIndexes;
+        count = filled;
+      }
+    }
+    ensureProjectionCapacity(count);
+    enterStage(FrameStage.PROJECTION);
+    float[] points = mPoints;
+    double[] values = mValues;
+    int[] pointIndexes = mPointIndexes;
+    // the points are projected in the same buffer for the whole range, the
+    // sub series separated by null values being slices of it
+    int length = 0;
+    int offset = 0;
+    int offsetIndex = startIndex;
+    for (int k = 0; k < count; k++) {
+      int index = indexes == null ? startIndex + k : indexes[k];
+      if (index < 0) {
+        // a null gap within or over level of detail buckets
+        if (length > offset) {
+          drawSubSeries(series, canvas, paint, points, values, pointIndexes, offset,
+              length - offset, seriesRenderer, yAxisValue, seriesIndex, or, offsetIndex,
+              decimate);
+        }
+        offset = length;
+        continue;
+      }
+      double xValue = data.getX(index);
+      double yValue = data.getY(index);
+      if (length == offset) {
+        offsetIndex = index;
+      }
+      if (!isNullValue(yValue)) {
+        points[length] = (float) (left + xPixelsPerUnit * (xValue - minX));
+        points[length + 1] = (float) (bottom - yPixelsPerUnit * (yValue - minY));
+      } else if (isRenderNullValues()) {
+        points[length] = (float) (left + xPixelsPerUnit * (xValue - minX));
+        points[length + 1] = (float) (bottom - yPixelsPerUnit * (-minY));
+      } else {
+        if (length > offset) {
+          drawSubSeries(series, canvas, paint, points, values, pointIndexes, offset,
+              length - offset, seriesRenderer, yAxisValue, seriesIndex, or, offsetIndex,
+              decimate);
+        }
+        offset = length;
+        continue;
+      }
+      values[length] = xValue;
+      values[length + 1] = yValue;
+      pointIndexes[length / 2] = index;
+      length += 2;
     }
 
+    if (length > offset) {
+      drawSubSeries(series, canvas, paint, points, values, pointIndexes, offset,
+          length - offset, seriesRenderer, yAxisValue, seriesIndex, or, offsetIndex, decimate);
+    }
+  }
+
+  /**
+   * Draws the layers not depending on the series values, over the background
+   * and the series: the margins, the grid, the labels, the titles, the legend
+   * and the axes.
+   * 
+   * @param canvas the canvas to paint to
+   * @param x the top left x value of the view to draw to
+   * @param y the top left y value of the view to draw to
+   * @param width the width of the view to draw to
+   * @param height the height of the view to draw to
+   * @param paint the paint
+   * @param left the left edge of the plot area
+   * @param top the top edge of the plot area
+   * @param right the right edge of the plot area
+   * @param bottom the bottom edge of the plot area
+   * @param legendSize the legend size
+   * @param titles the series titles
+   * @param maxScaleNumber the number of scales
+   * @param minX the minimum X value of each scale
+   * @param maxX the maximum X value of each scale
+   * @param minY the minimum Y value of each scale
+   * @param maxY the maximum Y value of each scale
+   * @param xPixelsPerUnit the X pixels per unit of each scale
+   * @param yPixelsPerUnit the Y pixels per unit of each scale
+   * @param hasValues if any series has values to display
+   */
+  private void drawStaticLayers(DrawingSurface canvas, int x, int y, int width, int height,
+      Paint paint, int left, int top, int right, int bottom, int legendSize, String[] titles,
+      int maxScaleNumber, double[] minX, double[] maxX, double[] minY, double[] maxY,
+      double[] xPixelsPerUnit, double[] yPixelsPerUnit, boolean hasValues) {
+    int[] margins = mRenderer.getMargins();
+    Orientation or = mRenderer.getOrientation();
+    int angle = or.getAngle();
+    xTextClickableAreas.clear();
     // draw stuff over the margins such as data doesn't render on these areas
     drawBackground(mRenderer, canvas, x, bottom, width, height - bottom, paint, true,
         mRenderer.getMarginsColor());
@@ -445,6 +908,7 @@ public abstract class XYChart extends AbstractChart {
         }
       }
     }
+    FrameStage previous = enterStage(FrameStage.LEGEND);
     if (or == Orientation.HORIZONTAL) {
       drawLegend(canvas, mRenderer, titles, left, right, y, width, height, legendSize, paint, false);
     } else if (or == Orientation.VERTICAL) {
@@ -452,6 +916,7 @@ public abstract class XYChart extends AbstractChart {
       drawLegend(canvas, mRenderer, titles, left, right, y, width, height, legendSize, paint, false);
       transform(canvas, angle, false);
     }
+    enterStage(previous);
     if (mRenderer.isShowAxes()) {
       paint.setColor(mRenderer.getAxesColor());
       canvas.drawLine(left, bottom, right, bottom, paint);
@@ -468,22 +933,190 @@ public abstract class XYChart extends AbstractChart {
         canvas.drawLine(right, top, right, bottom, paint);
       }
     }
-    if (rotate) {
-      transform(canvas, angle, true);
+  }
+
+  /**
+   * Forces the static layers to be rendered again on the next layered draw.
+   * The renderer setters already do it, so this is only needed after changes
+   * they don't see, such as editing the margins array in place.
+   */
+  public void invalidateStaticLayers() {
+    mStaticLayer = null;
+    mSeriesLayer = null;
+    mScrollLayer = null;
+  }
+
+  /**
+   * Returns if a pan gesture is in progress.
+   * 
+   * @return if the chart is being panned
+   */
+  public boolean isPanning() {
+    return mPanning;
+  }
+
+  /**
+   * Sets if a pan gesture is in progress. While panning with the pan by
+   * translation enabled, the layered drawing scrolls the series bitmap by
+   * the X axis range shift and only draws the strip scrolled in. The series
+   * are drawn in full again on the first draw after the gesture ends.
+   * 
+   * @param panning if the chart is being panned
+   */
+  public void setPanning(boolean panning) {
+    mPanning = panning;
+  }
+
+  /**
+   * Checks if the scrolled series bitmap can be kept, the plot area being
+   * only translated along the X axis since the previous frame, and if so
+   * records the new drawing state.
+   * 
+   * @return the number of pixels the plot area scrolled by, negative when
+   *         scrolled to the right, or NaN if the bitmap must be drawn again
+   */
+  private float updateScrollState(Bitmap seriesLayer, int x, int y, int width, int height,
+      int sLength, int maxScaleNumber, double[] minX, double[] minY, double[] maxY,
+      double[] xPixelsPerUnit) {
+    int length = 8 + 3 * maxScaleNumber;
+    double[] state = mScrollState;
+    boolean changed = seriesLayer != mScrollLayer || state.length != length
+        || mFollowLastX.length != sLength;
+    if (state.length != length) {
+      state = new double[length];
+      mScrollState = state;
+      mScrollMinX = new double[maxScaleNumber];
+    }
+    if (mFollowLastX.length != sLength) {
+      mFollowLastX = new double[sLength];
+      mFollowDrawnX = new double[sLength];
+    }
+    Rect r = mScreenR;
+    changed |= update(state, 0, x) | update(state, 1, y) | update(state, 2, width)
+        | update(state, 3, height) | update(state, 4, r.left) | update(state, 5, r.top)
+        | update(state, 6, r.right) | update(state, 7, r.bottom);
+    double scrolled = xPixelsPerUnit[0] * (minX[0] - mScrollMinX[0]);
+    for (int i = 0; i < maxScaleNumber; i++) {
+      int k = 8 + 3 * i;
+      changed |= update(state, k, minY[i]) | update(state, k + 1, maxY[i]);
+      // the X scale is compared with a tolerance, the range being shifted by
+      // adding the same value to the minimum and to the maximum
+      changed |= Math.abs(xPixelsPerUnit[i] - state[k + 2]) > 1e-9 * Math.abs(state[k + 2]);
+      state[k + 2] = xPixelsPerUnit[i];
+      changed |= Math.abs(xPixelsPerUnit[i] * (minX[i] - mScrollMinX[i]) - scrolled) > 0.5;
+      mScrollMinX[i] = minX[i];
+    }
+    if (changed || Math.abs(scrolled) >= r.width()) {
+      return Float.NaN;
+    }
+    return (float) scrolled;
+  }
+
+  /**
+   * Maps a part of the plot area to the scrolled series bitmap, which wraps
+   * around: the plot area left of the bitmap wrapping column is drawn from
+   * the bitmap shift column, and the part right of it from the bitmap left
+   * edge.
+   * 
+   * @param canvas the surface drawing to the scrolled series bitmap
+   * @param window 0 for the left part of the plot area, 1 for the right one
+   */
+  private void setScrollWindow(DrawingSurface canvas, int window) {
+    Rect r = mScreenR;
+    float split = (float) (r.right - mScrollShift);
+    if (window == 0) {
+      canvas.translate((float) (mScrollShift - r.left), -r.top);
+      canvas.clipRect(r.left, r.top, split, r.bottom);
+    } else {
+      canvas.translate((float) (mScrollShift - r.left - r.width()), -r.top);
+      canvas.clipRect(split, r.top, r.right, r.bottom);
+    }
+  }
+
+  /**
+   * Checks if the static layers must be rendered again and, if so, records
+   * the new drawing state.
+   * 
+   * @return true if the static layers must be rendered again
+   */
+  private boolean isStaticLayerChanged(Bitmap staticLayer, int x, int y, int width, int height,
+      int legendSize, String[] titles, int maxScaleNumber, double[] minX, double[] maxX,
+      double[] minY, double[] maxY, boolean hasValues) {
+    int length = 8 + 4 * maxScaleNumber;
+    double[] state = mStaticLayerState;
+    boolean changed = staticLayer != mStaticLayer || state.length != length
+        || !Arrays.equals(titles, mStaticLayerTitles);
+    if (state.length != length) {
+      state = new double[length];
+      mStaticLayerState = state;
+    }
+    changed |= update(state, 0, x) | update(state, 1, y) | update(state, 2, width)
+        | update(state, 3, height) | update(state, 4, legendSize)
+        | update(state, 5, hasValues ? 1 : 0)
+        | update(state, 6, mRenderer.getTextLabelsVersion())
+        | update(state, 7, mRenderer.getStyleVersion());
+    for (int i = 0; i < maxScaleNumber; i++) {
+      int k = 8 + 4 * i;
+      changed |= update(state, k, minX[i]) | update(state, k + 1, maxX[i])
+          | update(state, k + 2, minY[i]) | update(state, k + 3, maxY[i]);
+    }
+    mStaticLayer = staticLayer;
+    mStaticLayerTitles = titles;
+    return changed;
+  }
+
+  private static boolean update(double[] state, int index, double value) {
+    if (Double.compare(state[index], value) == 0) {
+      return false;
     }
+    state[index] = value;
+    return true;
   }
 
+  /**
+   * Returns the X axis labels. The ticks are kept between frames, so the
+   * returned list is only valid until the next call.
+   * 
+   * @param min the minimum X value
+   * @param max the maximum X value
+   * @param count the approximate number of labels
+   * @return the X axis labels
+   */
   protected List<Double> getXLabels(double min, double max, int count) {
-    return MathHelper.getLabels(min, max, count);
+    if (mXTicks == null) {
+      mXTicks = new AxisTicks();
+    }
+    mXTicks.update(min, max, count);
+    return mXTicks.asList();
   }
 
+  /**
+   * Returns the Y axis labels of each scale. The ticks are kept between
+   * frames, so the returned map is only valid until the next call.
+   * 
+   * @param minY the minimum Y value of each scale
+   * @param maxY the maximum Y value of each scale
+   * @param maxScaleNumber the number of scales
+   * @return the Y axis labels of each scale
+   */
   protected Map<Integer, List<Double>> getYLabels(double[] minY, double[] maxY, int maxScaleNumber) {
-    Map<Integer, List<Double>> allYLabels = new HashMap<Integer, List<Double>>();
+    if (mYTicks == null || mYTicks.length < maxScaleNumber) {
+      AxisTicks[] ticks = new AxisTicks[maxScaleNumber];
+      int kept = mYTicks == null ? 0 : mYTicks.length;
+      if (kept > 0) {
+        System.arraycopy(mYTicks, 0, ticks, 0, kept);
+      }
+      for (int i = kept; i < maxScaleNumber; i++) {
+        ticks[i] = new AxisTicks();
+      }
+      mYTicks = ticks;
+      mYLabels = new HashMap<Integer, List<Double>>();
+    }
     for (int i = 0; i < maxScaleNumber; i++) {
-      allYLabels.put(i,
-          getValidLabels(MathHelper.getLabels(minY[i], maxY[i], mRenderer.getYLabels())));
+      mYTicks[i].update(minY[i], maxY[i], mRenderer.getYLabels());
+      mYLabels.put(i, mYTicks[i].asList());
     }
-    return allYLabels;
+    return mYLabels;
   }
 
   protected Rect getScreenR() {
@@ -495,6 +1128,14 @@ public abstract class XYChart extends AbstractChart {
   }
 
   private List<Double> getValidLabels(List<Double> labels) {
+    int length = labels.size();
+    boolean valid = true;
+    for (int i = 0; i < length && valid; i++) {
+      valid = !labels.get(i).isNaN();
+    }
+    if (valid) {
+      return labels;
+    }
     List<Double> result = new ArrayList<Double>(labels);
     for (Double label : labels) {
       if (label.isNaN()) {
@@ -517,9 +1158,32 @@ public abstract class XYChart extends AbstractChart {
    * @param or the orientation
    * @param startIndex the start index of the rendering points
    */
-  protected void drawSeries(XYSeries series, Canvas canvas, Paint paint, List<Float> pointsList,
-      SimpleSeriesRenderer seriesRenderer, float yAxisValue, int seriesIndex, Orientation or,
-      int startIndex) {
+  protected void drawSeries(XYSeries series, DrawingSurface canvas, Paint paint,
+      List<Float> pointsList, SimpleSeriesRenderer seriesRenderer, float yAxisValue,
+      int seriesIndex, Orientation or, int startIndex) {
+    float[] points = MathHelper.getFloats(pointsList);
+    drawSeries(series, canvas, paint, points, 0, points.length, seriesRenderer, yAxisValue,
+        seriesIndex, or, startIndex);
+  }
+
+  /**
+   * Draws the series, reading the points from a slice of the given array.
+   * 
+   * @param series the series
+   * @param canvas the canvas
+   * @param paint the paint object
+   * @param points the points buffer
+   * @param offset the index of the first point coordinate in the buffer
+   * @param length the number of point coordinates to be rendered
+   * @param seriesRenderer the series renderer
+   * @param yAxisValue the y axis value in pixels
+   * @param seriesIndex the series index
+   * @param or the orientation
+   * @param startIndex the start index of the rendering points
+   */
+  protected void drawSeries(XYSeries series, DrawingSurface canvas, Paint paint, float[] points,
+      int offset, int length, SimpleSeriesRenderer seriesRenderer, float yAxisValue,
+      int seriesIndex, Orientation or, int startIndex) {
 if (seriesRenderer.isDisplayChart()) {
     BasicStroke stroke = seriesRenderer.getStroke();
     Cap cap = paint.getStrokeCap();
@@ -535,13 +1199,13 @@ if (seriesRenderer.isDisplayChart()) {
       setStroke(stroke.getCap(), stroke.getJoin(), stroke.getMiter(), Style.FILL_AND_STROKE,
           effect, paint);
     }
-    float[] points = MathHelper.getFloats(pointsList);
-    drawSeries(canvas, paint, points, seriesRenderer, yAxisValue, seriesIndex, startIndex);
+    drawSeries(canvas, paint, points, offset, length, seriesRenderer, yAxisValue, seriesIndex,
+        startIndex);
     if (isRenderPoints(seriesRenderer)) {
       ScatterChart pointsChart = getPointsChart();
       if (pointsChart != null) {
-        pointsChart.drawSeries(canvas, paint, points, seriesRenderer, yAxisValue, seriesIndex,
-            startIndex);
+        pointsChart.drawSeries(canvas, paint, points, offset, length, seriesRenderer, yAxisValue,
+            seriesIndex, startIndex);
       }
     }
     paint.setTextSize(seriesRenderer.getChartValuesTextSize());
@@ -552,7 +1216,8 @@ if (seriesRenderer.isDisplayChart()) {
     }
     if (seriesRenderer.isDisplayChartValues()) {
       paint.setTextAlign(seriesRenderer.getChartValuesTextAlign());
-      drawChartValuesText(canvas, series, seriesRenderer, paint, points, seriesIndex, startIndex);
+      drawChartValuesText(canvas, series, seriesRenderer, paint, points, offset, length,
+          seriesIndex, startIndex);
     }
     if (stroke != null) {
       setStroke(cap, join, miter, style, pathEffect, paint);
@@ -580,14 +1245,47 @@ if (seriesRenderer.isDisplayChart()) {
    * @param seriesIndex the index of the series currently being drawn
    * @param startIndex the start index of the rendering points
    */
-  protected void drawChartValuesText(Canvas canvas, XYSeries series, SimpleSeriesRenderer renderer,
-      Paint paint, float[] points, int seriesIndex, int startIndex) {
-    for (int k = 0; k < points.length; k += 2) {
-      drawText(canvas, getLabel(series.getY(startIndex + k / 2)), points[k], points[k + 1]
-          - renderer.getChartValuesSpacing(), paint, 0);
+  protected void drawChartValuesText(DrawingSurface canvas, XYSeries series,
+      SimpleSeriesRenderer renderer, Paint paint, float[] points, int seriesIndex, int startIndex) {
+    drawChartValuesText(canvas, series, renderer, paint, points, 0, points.length, seriesIndex,
+        startIndex);
+  }
+
+  /**
+   * The graphical representation of the series values as text, reading the
+   * points from a slice of the given array.
+   * 
+   * @param canvas the canvas to paint to
+   * @param series the series to be painted
+   * @param renderer the series renderer
+   * @param paint the paint to be used for drawing
+   * @param points the points buffer
+   * @param offset the index of the first point coordinate in the buffer
+   * @param length the number of point coordinates to be rendered
+   * @param seriesIndex the index of the series currently being drawn
+   * @param startIndex the start index of the rendering points
+   */
+  protected void drawChartValuesText(DrawingSurface canvas, XYSeries series,
+      SimpleSeriesRenderer renderer, Paint paint, float[] points, int offset, int length,
+      int seriesIndex, int startIndex) {
+    XYSnapshot data = getSeriesSnapshot(seriesIndex);
+    for (int k = 0; k < length; k += 2) {
+      drawText(canvas, getLabel(data.getY(startIndex + k / 2)), points[offset + k],
+          points[offset + k + 1] - renderer.getChartValuesSpacing(), paint, 0);
     }
   }
 
+  /**
+   * The graphical representation of a text, to handle both HORIZONTAL and
+   * VERTICAL orientations and extra rotation angles.
+   * 
+   * @deprecated use drawText(DrawingSurface, ...) instead
+   */
+  protected void drawText(Canvas canvas, String text, float x, float y, Paint paint,
+      float extraAngle) {
+    drawText(new CanvasSurface(canvas), text, x, y, paint, extraAngle);
+  }
+
   /**
    * The graphical representation of a text, to handle both HORIZONTAL and
    * VERTICAL orientations and extra rotation angles.
@@ -599,7 +1297,7 @@ if (seriesRenderer.isDisplayChart()) {
    * @param paint the paint to be used for drawing
    * @param extraAngle the text angle
    */
-  protected void drawText(Canvas canvas, String text, float x, float y, Paint paint,
+  protected void drawText(DrawingSurface canvas, String text, float x, float y, Paint paint,
       float extraAngle) {
     float angle = -mRenderer.getOrientation().getAngle() + extraAngle;
     if (angle != 0) {
@@ -621,7 +1319,7 @@ if (seriesRenderer.isDisplayChart()) {
    * @param angle the angle of rotation
    * @param inverse if the inverse transform needs to be applied
    */
-  private void transform(Canvas canvas, float angle, boolean inverse) {
+  private void transform(DrawingSurface canvas, float angle, boolean inverse) {
     if (inverse) {
       canvas.scale(1 / mScale, mScale);
       canvas.translate(mTranslate, -mTranslate);
@@ -634,19 +1332,14 @@ if (seriesRenderer.isDisplayChart()) {
   }
 
   /**
-   * Makes sure the fraction digit is not displayed, if not needed.
+   * Makes sure the fraction digit is not displayed, if not needed. The texts
+   * of the recently displayed values are cached.
    * 
    * @param label the input label value
    * @return the label without the useless fraction digit
    */
   protected String getLabel(double label) {
-    String text = "";
-    if (label == Math.round(label)) {
-      text = Math.round(label) + "";
-    } else {
-      text = label + "";
-    }
-    return text;
+    return getTextLayouts().getLabel(label);
   }
 
   /**
@@ -663,8 +1356,9 @@ if (seriesRenderer.isDisplayChart()) {
    * @param minX the minimum value on the X axis in the chart
    * @param maxX the maximum value on the X axis in the chart
    */
-  protected void drawXLabels(List<Double> xLabels, Double[] xTextLabelLocations, Canvas canvas,
-      Paint paint, int left, int top, int bottom, double xPixelsPerUnit, double minX, double maxX) {
+  protected void drawXLabels(List<Double> xLabels, Double[] xTextLabelLocations,
+      DrawingSurface canvas, Paint paint, int left, int top, int bottom, double xPixelsPerUnit,
+      double minX, double maxX) {
     int length = xLabels.size();
     boolean showLabels = mRenderer.isShowLabels();
     boolean showGridY = mRenderer.isShowGridY();
@@ -700,8 +1394,9 @@ if (seriesRenderer.isDisplayChart()) {
    * @param minX the minimum value on the X axis in the chart
    * @param maxX the maximum value on the X axis in the chart
    */
-  protected void drawYLabels(Map<Integer, List<Double>> allYLabels, Canvas canvas, Paint paint,
-      int maxScaleNumber, int left, int right, int bottom, double[] yPixelsPerUnit, double[] minY) {
+  protected void drawYLabels(Map<Integer, List<Double>> allYLabels, DrawingSurface canvas,
+      Paint paint, int maxScaleNumber, int left, int right, int bottom, double[] yPixelsPerUnit,
+      double[] minY) {
     Orientation or = mRenderer.getOrientation();
     boolean showGridX = mRenderer.isShowGridX();
     boolean showLabels = mRenderer.isShowLabels();
@@ -760,7 +1455,7 @@ if (seriesRenderer.isDisplayChart()) {
    * @param minX the minimum value on the X axis in the chart
    * @param maxX the maximum value on the X axis in the chart
    */
-  protected void drawXTextLabels(Double[] xTextLabelLocations, Canvas canvas, Paint paint,
+  protected void drawXTextLabels(Double[] xTextLabelLocations, DrawingSurface canvas, Paint paint,
       boolean showLabels, int left, int top, int bottom, double xPixelsPerUnit, double minX,
       double maxX) {
     boolean showCustomTextGrid = mRenderer.isShowCustomTextGrid();
@@ -774,24 +1469,19 @@ if (seriesRenderer.isDisplayChart()) {
           float xLabel = (float) (left + xPixelsPerUnit * (location.doubleValue() - minX));
           paint.setColor(mRenderer.getXLabelsColor());
           canvas.drawLine(xLabel, bottom, xLabel, bottom + mRenderer.getLabelsTextSize() / 3, paint);
-          String[] labelLines = mRenderer.getXTextLabel(location).split("\n");
-          String maxLabelLine = "";
+          TextLayoutCache.Layout layout = getTextLayout(mRenderer.getXTextLabel(location), paint);
+          String[] labelLines = layout.getLines();
           float yLabelOffset = mRenderer.getLabelsTextSize() * 4 / 3;
           for (int i=0; i < labelLines.length; i++) {
         	  drawText(canvas, labelLines[i], xLabel, bottom
                       + yLabelOffset * (i+1), paint, mRenderer.getXLabelsAngle());
-        	  if (labelLines[i].length() > maxLabelLine.length()) {
-        		  maxLabelLine = labelLines[i];
-        	  }
           }
           
           /** clickable labels **/
           //getTextBounds buggué sur la taille de chaine comportant des espaces (cf http://code.google.com/p/android/issues/detail?id=7527)
           // => n'est utilisé que pour récupérer la hauteur du text. Pour la largeur, utilisation de measureText
-          Rect maxLabelLineRect = new Rect();
-          paint.getTextBounds(maxLabelLine, 0, maxLabelLine.length(), maxLabelLineRect);
-          float maxLabelHeight = maxLabelLineRect.height();
-          float maxLabelWidth = paint.measureText(maxLabelLine);
+          float maxLabelHeight = layout.getLongestLineHeight();
+          float maxLabelWidth = layout.getLongestLineWidth();
           /**
            * ----location-----------> X axis
            *         |
@@ -880,6 +1570,19 @@ if (seriesRenderer.isDisplayChart()) {
   }
 
   public double[] toScreenPoint(double[] realPoint, int scale) {
+    return toScreenPoint(realPoint[0], realPoint[1], scale, new double[2]);
+  }
+
+  /**
+   * Transforms a real point to screen coordinates, in the given array.
+   * 
+   * @param realX the real x axis value
+   * @param realY the real y axis value
+   * @param scale the scale
+   * @param screenPoint the array to be filled with the screen point
+   * @return the screen point
+   */
+  private double[] toScreenPoint(double realX, double realY, int scale, double[] screenPoint) {
     double realMinX = mRenderer.getXAxisMin(scale);
     double realMaxX = mRenderer.getXAxisMax(scale);
     double realMinY = mRenderer.getYAxisMin(scale);
@@ -892,32 +1595,82 @@ if (seriesRenderer.isDisplayChart()) {
       realMinY = calcRange[2];
       realMaxY = calcRange[3];
     }
-    return new double[] {
-        (realPoint[0] - realMinX) * mScreenR.width() / (realMaxX - realMinX) + mScreenR.left,
-        (realMaxY - realPoint[1]) * mScreenR.height() / (realMaxY - realMinY) + mScreenR.top };
+    screenPoint[0] = (realX - realMinX) * mScreenR.width() / (realMaxX - realMinX) + mScreenR.left;
+    screenPoint[1] = (realMaxY - realY) * mScreenR.height() / (realMaxY - realMinY) + mScreenR.top;
+    return screenPoint;
   }
 
-  public SeriesSelection getSeriesAndPointForScreenCoordinate(final Point screenPoint) {
-    if (clickableAreas != null) {
-      List<Integer> seriesIndexes = new ArrayList<Integer>(clickableAreas.keySet());
-      Collections.sort(seriesIndexes, Collections.reverseOrder());
-      for (Integer seriesIndex : seriesIndexes) {
-        // series 0 is drawn first. Then series 1 is drawn on top, and series 2
-        // on top of that.
-        // we want to know what the user clicked on, so traverse them in the
-        // order they appear on the screen.
-        int pointIndex = 0;
-        if (clickableAreas.get(seriesIndex) != null) {
-          RectF rect;
-          for (ClickableArea area : clickableAreas.get(seriesIndex)) {
-        	rect = area.getRect();
-            if (rect != null && rect.contains(screenPoint.getX(), screenPoint.getY())) {
-              return new SeriesSelection(seriesIndex, pointIndex, area.getX(), area.getY(), rect.centerX(), rect.centerY());
-            }
-            pointIndex++;
-          }
-        }
+  /**
+   * Returns the point nearest to the given X value in each series of a scale.
+   * Each series is searched by X, in O(log n), null values being skipped.
+   * 
+   * @param x the X value
+   * @param scale the scale
+   * @return the selections, one for each series having non null values
+   */
+  public List<SeriesSelection> nearestPoints(double x, int scale) {
+    SeriesSelection[] selections = new SeriesSelection[mDataset.getSeriesCount()];
+    int count = nearestPoints(x, scale, selections);
+    List<SeriesSelection> list = new ArrayList<SeriesSelection>(count);
+    for (int i = 0; i < count; i++) {
+      list.add(selections[i]);
+    }
+    return list;
+  }
+
+  /**
+   * Finds the point nearest to the given X value in each series of a scale.
+   * The selections already in the array are updated rather than replaced, so
+   * a crosshair calling this on every touch event doesn't allocate once the
+   * array is filled.
+   * 
+   * @param x the X value
+   * @param scale the scale
+   * @param selections the array to fill, as long as the number of series
+   * @return the number of selections, one for each series having non null
+   *         values
+   */
+  public int nearestPoints(double x, int scale, SeriesSelection[] selections) {
+    int count = 0;
+    int length = Math.min(mDataset.getSeriesCount(), selections.length);
+    for (int i = 0; i < length; i++) {
+      XYSeries series = mDataset.getSeriesAt(i);
+      if (series.getScaleNumber() != scale) {
+        continue;
+      }
+      XYSnapshot data = series.getSnapshot();
+      int index = data.nearestIndex(x);
+      if (index < 0) {
+        continue;
+      }
+      double xValue = data.getX(index);
+      double yValue = data.getY(index);
+      float screenX = 0;
+      float screenY = 0;
+      if (mScreenR != null && getCalcRange(scale) != null) {
+        toScreenPoint(xValue, yValue, scale, mScreenPoint);
+        screenX = (float) mScreenPoint[0];
+        screenY = (float) mScreenPoint[1];
+      }
+      if (selections[count] == null) {
+        selections[count] = new SeriesSelection(i, index, xValue, yValue, screenX, screenY);
+      } else {
+        selections[count].set(i, index, xValue, yValue, screenX, screenY);
       }
+      count++;
+    }
+    return count;
+  }
+
+  public SeriesSelection getSeriesAndPointForScreenCoordinate(final Point screenPoint) {
+    // series 0 is drawn first. Then series 1 is drawn on top, and series 2
+    // on top of that. The index returns what the user clicked on, in the
+    // order they appear on the screen.
+    recordPendingHitAreas();
+    SeriesSelection selection = clickableAreas.getSelection(this, screenPoint.getX(),
+        screenPoint.getY());
+    if (selection != null) {
+      return selection;
     }
     return super.getSeriesAndPointForScreenCoordinate(screenPoint);
   }
@@ -945,32 +1698,16 @@ if (seriesRenderer.isDisplayChart()) {
   
   public List<SeriesSelection> getSeriesAndPointMatchingXValue(final double xValue) {
 	  List<SeriesSelection> list = new ArrayList<SeriesSelection>();
-	  if (clickableAreas != null) {
-		  List<Integer> seriesIndexes = new ArrayList<Integer>(clickableAreas.keySet());
-	      Collections.sort(seriesIndexes, Collections.reverseOrder());
-	      for (Integer seriesIndex : seriesIndexes) {
-	        // series 0 is drawn first. Then series 1 is drawn on top, and series 2
-	        // on top of that.
-	        // we want to know what the user clicked on, so traverse them in the
-	        // order they appear on the screen.
-	        int pointIndex = 0;
-	        if (clickableAreas.get(seriesIndex) != null) {
-	          RectF rect;
-	          for (ClickableArea area : clickableAreas.get(seriesIndex)) {
-	        	rect = area.getRect();
-	            if (area.getX() == xValue) {
-	            	list.add(new SeriesSelection(seriesIndex, pointIndex, area.getX(), area.getY(), rect.centerX(), rect.centerY()));
-	            }
-	            pointIndex++;
-	          }
-	        }
-	      }
-	  }
+	  recordPendingHitAreas();
+	  // traverse the series in the order they appear on the screen
+	  clickableAreas.getSelections(this, xValue, list);
 	  return list;
   }
 
   /**
-   * The graphical representation of a series.
+   * The graphical representation of a series. The charts override it, the
+   * default implementation calling drawSeries(Canvas, ...) for the charts
+   * still implementing that one instead.
    * 
    * @param canvas the canvas to paint to
    * @param paint the paint to be used for drawing
@@ -980,8 +1717,82 @@ if (seriesRenderer.isDisplayChart()) {
    * @param seriesIndex the index of the series currently being drawn
    * @param startIndex the start index of the rendering points
    */
-  public abstract void drawSeries(Canvas canvas, Paint paint, float[] points,
-      SimpleSeriesRenderer seriesRenderer, float yAxisValue, int seriesIndex, int startIndex);
+  public void drawSeries(DrawingSurface canvas, Paint paint, float[] points,
+      SimpleSeriesRenderer seriesRenderer, float yAxisValue, int seriesIndex, int startIndex) {
+    drawSeries(toCanvas(canvas), paint, points, seriesRenderer, yAxisValue, seriesIndex,
+        startIndex);
+  }
+
+  /**
+   * The graphical representation of a series.
+   * 
+   * @deprecated implement drawSeries(DrawingSurface, ...) instead
+   */
+  public void drawSeries(Canvas canvas, Paint paint, float[] points,
+      SimpleSeriesRenderer seriesRenderer, float yAxisValue, int seriesIndex, int startIndex) {
+    drawSeries(new CanvasSurface(canvas), paint, points, seriesRenderer, yAxisValue,
+        seriesIndex, startIndex);
+  }
+
+  /**
+   * The graphical representation of a series, reading the points from a slice
+   * of the given array.
+   * 
+   * @deprecated use drawSeries(DrawingSurface, ...) instead
+   */
+  public void drawSeries(Canvas canvas, Paint paint, float[] points, int offset, int length,
+      SimpleSeriesRenderer seriesRenderer, float yAxisValue, int seriesIndex, int startIndex) {
+    drawSeries(new CanvasSurface(canvas), paint, points, offset, length, seriesRenderer,
+        yAxisValue, seriesIndex, startIndex);
+  }
+
+  /**
+   * The graphical representation of a series, reading the points from a slice
+   * of the given array. The default implementation copies the slice, the
+   * charts override it in order to draw the points in place.
+   * 
+   * @param canvas the canvas to paint to
+   * @param paint the paint to be used for drawing
+   * @param points the points buffer
+   * @param offset the index of the first point coordinate in the buffer
+   * @param length the number of point coordinates to be rendered
+   * @param seriesRenderer the series renderer
+   * @param yAxisValue the minimum value of the y axis
+   * @param seriesIndex the index of the series currently being drawn
+   * @param startIndex the start index of the rendering points
+   */
+  public void drawSeries(DrawingSurface canvas, Paint paint, float[] points, int offset, int length,
+      SimpleSeriesRenderer seriesRenderer, float yAxisValue, int seriesIndex, int startIndex) {
+    drawSeries(canvas, paint, slice(points, offset, length), seriesRenderer, yAxisValue,
+        seriesIndex, startIndex);
+  }
+
+  /**
+   * Returns the snapshot of a series the points being drawn, or having their
+   * clickable areas computed, were read from, the start index of the points
+   * being an index in it. Outside of these, the last published snapshot of the
+   * series is returned.
+   * 
+   * @param seriesIndex the series index
+   * @return the series snapshot
+   */
+  protected XYSnapshot getSeriesSnapshot(int seriesIndex) {
+    XYSnapshot snapshot = mSeriesSnapshot;
+    if (snapshot == null) {
+      snapshot = mDataset.getSeriesAt(seriesIndex).getSnapshot();
+    }
+    return snapshot;
+  }
+
+  /**
+   * Sets the snapshot of the series the points being drawn, or having their
+   * clickable areas computed, were read from.
+   * 
+   * @param snapshot the series snapshot, null once done
+   */
+  void setSeriesSnapshot(XYSnapshot snapshot) {
+    mSeriesSnapshot = snapshot;
+  }
 
   /**
    * Returns the clickable areas for all passed points
@@ -996,6 +1807,177 @@ if (seriesRenderer.isDisplayChart()) {
   protected abstract ClickableArea[] clickableAreasForPoints(float[] points, double[] values,
       float yAxisValue, int seriesIndex, int startIndex);
 
+  /**
+   * Returns the clickable areas for the points in a slice of the given arrays.
+   * The default implementation copies the slices, the charts override it in
+   * order to read the points in place.
+   * 
+   * @param points the points buffer
+   * @param values the buffer of values of each point
+   * @param offset the index of the first point coordinate in the buffers
+   * @param length the number of point coordinates
+   * @param yAxisValue the minimum value of the y axis
+   * @param seriesIndex the index of the series to which the points belong
+   * @param startIndex the start index of the rendering points
+   * @return an array of rectangles with the clickable area
+   */
+  protected ClickableArea[] clickableAreasForPoints(float[] points, double[] values, int offset,
+      int length, float yAxisValue, int seriesIndex, int startIndex) {
+    double[] valuesSlice = values;
+    if (offset != 0 || length != values.length) {
+      valuesSlice = new double[length];
+      System.arraycopy(values, offset, valuesSlice, 0, length);
+    }
+    return clickableAreasForPoints(slice(points, offset, length), valuesSlice, yAxisValue,
+        seriesIndex, startIndex);
+  }
+
+  /**
+   * Returns the given slice of a points array, copying it only if needed.
+   * 
+   * @param points the points array
+   * @param offset the slice offset
+   * @param length the slice length
+   * @return the points slice
+   */
+  private static float[] slice(float[] points, int offset, int length) {
+    if (offset == 0 && length == points.length) {
+      return points;
+    }
+    float[] result = new float[length];
+    System.arraycopy(points, offset, result, 0, length);
+    return result;
+  }
+
+  /**
+   * Draws a sub series, a slice of the projection buffers not containing null
+   * values, and records its points for the hit tests.
+   * 
+   * @param series the series
+   * @param canvas the canvas, or null to only record the points
+   * @param paint the paint object
+   * @param points the points buffer
+   * @param values the values buffer
+   * @param indexes the series indexes buffer, one per point
+   * @param offset the index of the first point coordinate in the buffers
+   * @param length the number of point coordinates in the sub series
+   * @param seriesRenderer the series renderer
+   * @param yAxisValue the y axis value in pixels
+   * @param seriesIndex the series index
+   * @param or the orientation
+   * @param startIndex the series index of the first point
+   * @param decimate if the points are to be decimated to the pixel columns
+   */
+  private void drawSubSeries(XYSeries series, DrawingSurface canvas, Paint paint, float[] points,
+      double[] values, int[] indexes, int offset, int length,
+      SimpleSeriesRenderer seriesRenderer, float yAxisValue, int seriesIndex, Orientation or,
+      int startIndex, boolean decimate) {
+    FrameStage previous = enterStage(FrameStage.SERIES);
+    if (decimate) {
+      length = PixelDecimator.decimate(points, values, indexes, offset, length);
+    }
+    if (canvas != null) {
+      if (mScrollFrame) {
+        for (int window = 0; window < 2; window++) {
+          canvas.save();
+          setScrollWindow(canvas, window);
+          // the parts drawn by the previous frames are kept as they are
+          canvas.clipRect(mScrollClipLeft, mScreenR.top, mScrollClipRight, mScreenR.bottom);
+          drawSeries(series, canvas, paint, points, offset, length, seriesRenderer, yAxisValue,
+              seriesIndex, or, startIndex);
+          canvas.restore();
+        }
+      } else {
+        drawSeries(series, canvas, paint, points, offset, length, seriesRenderer, yAxisValue,
+            seriesIndex, or, startIndex);
+      }
+      FrameRecorder recorder = getFrameRecorder();
+      if (recorder != null) {
+        recorder.addPoints(0, length / 2);
+      }
+    }
+    enterStage(FrameStage.HIT_AREAS);
+    if (canvas == null || !mIncrementalFrame && !mScrollFrame) {
+      clickableAreas.addPoints(points, values, indexes, offset, length, yAxisValue, seriesIndex,
+          startIndex, mSeriesSnapshot);
+    }
+    enterStage(previous);
+  }
+
+  /**
+   * Returns if the points of a series should be reduced to the first, minimum,
+   * maximum and last point of each pixel column before being drawn. The
+   * decimation is only applied when enabled on both the renderer and the
+   * series renderer, for charts supporting it and when neither the series
+   * values, looked up by index, nor the point shapes, one per point, are
+   * displayed.
+   * 
+   * @param seriesRenderer the series renderer
+   * @return if the series points should be decimated
+   */
+  protected boolean isDecimated(SimpleSeriesRenderer seriesRenderer) {
+    return isDecimationSupported() && mRenderer.isDecimationEnabled()
+        && seriesRenderer instanceof XYSeriesRenderer
+        && ((XYSeriesRenderer) seriesRenderer).isDecimationEnabled()
+        && !seriesRenderer.isDisplayChartValues() && !isRenderPoints(seriesRenderer);
+  }
+
+  /**
+   * Returns if the chart draws the series in a way that doesn't change when
+   * the points sharing a pixel column are reduced to their first, minimum,
+   * maximum and last ones.
+   * 
+   * @return if the chart supports the pixel decimation
+   */
+  protected boolean isDecimationSupported() {
+    return false;
+  }
+
+  /**
+   * Returns if the chart draws the series in a way that doesn't change when
+   * the points are drawn in consecutive slices, sharing their end points,
+   * such as an animation can draw only the points revealed since the
+   * previous frame.
+   * 
+   * @return if the chart supports the incremental animation
+   */
+  protected boolean isIncrementalAnimationSupported() {
+    return false;
+  }
+
+  /**
+   * Returns the coarsest level of detail still giving at least one bucket per
+   * pixel column, the level k grouping 2^k values per bucket.
+   * 
+   * @param count the number of values in the visible range
+   * @param columns the number of pixel columns
+   * @return the level of detail, 0 meaning all the values are needed
+   */
+  private static int getLodLevel(int count, int columns) {
+    int level = 0;
+    if (columns > 0) {
+      while ((count >> (level + 1)) >= columns) {
+        level++;
+      }
+    }
+    return level;
+  }
+
+  /**
+   * Makes sure the projection buffers, reused from one frame to another, can
+   * hold the requested number of points.
+   * 
+   * @param count the number of points
+   */
+  private void ensureProjectionCapacity(int count) {
+    int length = 2 * count;
+    if (mPoints == null || mPoints.length < length) {
+      mPoints = new float[length];
+      mValues = new double[length];
+      mPointIndexes = new int[count];
+    }
+  }
+
   /**
    * Returns if the chart should display the null values.
    * 
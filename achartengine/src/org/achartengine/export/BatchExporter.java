@@ -0,0 +1,210 @@
+/**
+ * Copyright (C) 2009 - 2012 SC 4ViewSoft SRL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.achartengine.export;
+
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.achartengine.chart.AbstractChart;
+import org.achartengine.chart.DrawingSurface;
+
+import android.graphics.Paint;
+
+/**
+ * Renders charts off screen and exports them as images, on a pool of worker
+ * threads. Each worker owns a render context, with its image, surface and
+ * paint, reused from one job to the next. The workers take the jobs from a
+ * shared counter, such as a slow job doesn't hold back the others.
+ * <p>
+ * The jobs rendering the same chart instance are serialized, the charts
+ * caching their layout state. Different chart instances are rendered in
+ * parallel, so the charts of a batch should not share their dataset or
+ * renderer with a chart being modified meanwhile.
+ */
+public class BatchExporter {
+  /** The number of workers. */
+  private final int mWorkers;
+  /** The worker threads. */
+  private final ExecutorService mExecutor;
+  /** The render context factory. */
+  private final RenderContext.Factory mFactory;
+  /** The render context of each worker, created on first use. */
+  private final RenderContext[] mContexts;
+
+  /**
+   * Builds a new batch exporter rendering to Android bitmaps, with one
+   * worker per available processor.
+   */
+  public BatchExporter() {
+    this(Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Builds a new batch exporter rendering to Android bitmaps.
+   *
+   * @param workers the number of worker threads
+   */
+  public BatchExporter(int workers) {
+    this(workers, BitmapRenderContext.FACTORY);
+  }
+
+  /**
+   * Builds a new batch exporter.
+   *
+   * @param workers the number of worker threads
+   * @param factory the factory of the worker render contexts
+   */
+  public BatchExporter(int workers, RenderContext.Factory factory) {
+    if (workers <= 0) {
+      throw new IllegalArgumentException("The number of workers must be positive");
+    }
+    mWorkers = workers;
+    mFactory = factory;
+    mContexts = new RenderContext[workers];
+    mExecutor = Executors.newFixedThreadPool(workers, new ThreadFactory() {
+      private final AtomicInteger mCount = new AtomicInteger();
+
+      public Thread newThread(Runnable runnable) {
+        Thread thread = new Thread(runnable, "ChartExport-" + mCount.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+      }
+    });
+  }
+
+  /**
+   * Returns the number of workers.
+   *
+   * @return the number of workers
+   */
+  public int getWorkers() {
+    return mWorkers;
+  }
+
+  /**
+   * Runs the export jobs and waits for their completion. A failed job doesn't
+   * stop the others, its error being reported in its result.
+   *
+   * @param jobs the export jobs
+   * @return the export report, with the results in the jobs order
+   * @throws InterruptedException if the calling thread is interrupted while
+   *           waiting
+   */
+  public synchronized ExportReport export(List<ExportJob> jobs) throws InterruptedException {
+    final ExportJob[] queue = jobs.toArray(new ExportJob[jobs.size()]);
+    final ExportResult[] results = new ExportResult[queue.length];
+    final AtomicInteger next = new AtomicInteger();
+    final long start = System.nanoTime();
+    int workers = Math.min(mWorkers, queue.length);
+    List<Future<?>> futures = new ArrayList<Future<?>>(workers);
+    for (int i = 0; i < workers; i++) {
+      final int worker = i;
+      futures.add(mExecutor.submit(new Runnable() {
+        public void run() {
+          RenderContext context = getContext(worker);
+          int index;
+          while ((index = next.getAndIncrement()) < queue.length) {
+            results[index] = runJob(queue[index], context, start);
+          }
+        }
+      }));
+    }
+    try {
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } catch (ExecutionException e) {
+      // the jobs catch their own errors, so only an internal error gets here
+      throw new IllegalStateException(e.getCause());
+    } catch (InterruptedException e) {
+      for (Future<?> future : futures) {
+        future.cancel(true);
+      }
+      throw e;
+    }
+    return new ExportReport(Arrays.asList(results), System.nanoTime() - start, workers);
+  }
+
+  /**
+   * Stops the worker threads and releases the render contexts, once the
+   * running batch, if any, is completed.
+   */
+  public synchronized void shutdown() {
+    mExecutor.shutdown();
+    for (int i = 0; i < mContexts.length; i++) {
+      if (mContexts[i] != null) {
+        mContexts[i].release();
+        mContexts[i] = null;
+      }
+    }
+  }
+
+  private RenderContext getContext(int worker) {
+    // the pool threads running a worker index may change between batches
+    synchronized (mContexts) {
+      if (mContexts[worker] == null) {
+        mContexts[worker] = mFactory.create();
+      }
+      return mContexts[worker];
+    }
+  }
+
+  /**
+   * Runs an export job.
+   *
+   * @param job the job
+   * @param context the worker render context
+   * @param batchStart the batch start time
+   * @return the job result
+   */
+  private static ExportResult runJob(ExportJob job, RenderContext context, long batchStart) {
+    long start = System.nanoTime();
+    long rendered = 0;
+    try {
+      DrawingSurface surface = context.begin(job.getWidth(), job.getHeight());
+      Paint paint = context.getPaint();
+      AbstractChart chart = job.getChart();
+      synchronized (chart) {
+        chart.draw(surface, 0, 0, job.getWidth(), job.getHeight(), paint);
+      }
+      rendered = System.nanoTime();
+      OutputStream out = job.openStream();
+      try {
+        context.write(job.getFormat(), out);
+      } finally {
+        job.closeStream(out);
+      }
+      return new ExportResult(job, start - batchStart, rendered - start, System.nanoTime()
+          - rendered, null);
+    } catch (Exception e) {
+      long end = System.nanoTime();
+      if (rendered == 0) {
+        // failed while rendering
+        return new ExportResult(job, start - batchStart, end - start, 0, e);
+      }
+      return new ExportResult(job, start - batchStart, rendered - start, end - rendered, e);
+    }
+  }
+
+}
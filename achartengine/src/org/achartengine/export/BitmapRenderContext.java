@@ -0,0 +1,79 @@
+/**
+ * Copyright (C) 2009 - 2012 SC 4ViewSoft SRL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.achartengine.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.achartengine.chart.CanvasSurface;
+import org.achartengine.chart.DrawingSurface;
+
+import android.graphics.Bitmap;
+import android.graphics.Bitmap.CompressFormat;
+import android.graphics.Canvas;
+import android.graphics.Color;
+
+/**
+ * A render context drawing to an Android bitmap, which doesn't need a view
+ * nor the UI thread.
+ */
+public class BitmapRenderContext extends RenderContext {
+  /** The factory of bitmap render contexts. */
+  public static final Factory FACTORY = new Factory() {
+    public RenderContext create() {
+      return new BitmapRenderContext();
+    }
+  };
+  /** The bitmap. */
+  private Bitmap mBitmap;
+  /** The canvas drawing to the bitmap. */
+  private final Canvas mCanvas = new Canvas();
+  /** The surface drawing to the canvas. */
+  private final CanvasSurface mSurface = new CanvasSurface(mCanvas);
+
+  @Override
+  protected DrawingSurface prepare(int width, int height) {
+    if (mBitmap == null || mBitmap.getWidth() != width || mBitmap.getHeight() != height) {
+      release();
+      mBitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+      mCanvas.setBitmap(mBitmap);
+    } else {
+      mBitmap.eraseColor(Color.TRANSPARENT);
+    }
+    return mSurface;
+  }
+
+  @Override
+  protected void writePng(OutputStream out) throws IOException {
+    if (!mBitmap.compress(CompressFormat.PNG, 100, out)) {
+      throw new IOException("The bitmap could not be compressed");
+    }
+  }
+
+  @Override
+  protected void getRow(int y, int[] row) {
+    mBitmap.getPixels(row, 0, mBitmap.getWidth(), 0, y, mBitmap.getWidth(), 1);
+  }
+
+  @Override
+  public void release() {
+    if (mBitmap != null) {
+      mBitmap.recycle();
+      mBitmap = null;
+    }
+  }
+
+}
@@ -0,0 +1,161 @@
+/**
+ * Copyright (C) 2009 - 2012 SC 4ViewSoft SRL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.achartengine.export;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.achartengine.chart.AbstractChart;
+
+/**
+ * A chart export job: the chart to render, the image size and format, and
+ * where to write the image.
+ */
+public class ExportJob {
+  /** The chart. */
+  private final AbstractChart mChart;
+  /** The image width. */
+  private final int mWidth;
+  /** The image height. */
+  private final int mHeight;
+  /** The image format. */
+  private final ExportFormat mFormat;
+  /** The file to write to, or null. */
+  private final File mFile;
+  /** The stream to write to, or null. */
+  private final OutputStream mStream;
+
+  /**
+   * Builds a new export job writing to a file. The file is created when the
+   * job runs and closed once the image is written.
+   *
+   * @param chart the chart
+   * @param width the image width
+   * @param height the image height
+   * @param format the image format
+   * @param file the file to write to
+   */
+  public ExportJob(AbstractChart chart, int width, int height, ExportFormat format, File file) {
+    this(chart, width, height, format, file, null);
+  }
+
+  /**
+   * Builds a new export job writing to a stream. The stream is flushed but
+   * not closed once the image is written.
+   *
+   * @param chart the chart
+   * @param width the image width
+   * @param height the image height
+   * @param format the image format
+   * @param stream the stream to write to
+   */
+  public ExportJob(AbstractChart chart, int width, int height, ExportFormat format,
+      OutputStream stream) {
+    this(chart, width, height, format, null, stream);
+  }
+
+  private ExportJob(AbstractChart chart, int width, int height, ExportFormat format, File file,
+      OutputStream stream) {
+    if (chart == null || format == null || (file == null && stream == null)) {
+      throw new IllegalArgumentException("The chart, format and destination must be set");
+    }
+    if (width <= 0 || height <= 0) {
+      throw new IllegalArgumentException("The image size must be positive");
+    }
+    mChart = chart;
+    mWidth = width;
+    mHeight = height;
+    mFormat = format;
+    mFile = file;
+    mStream = stream;
+  }
+
+  /**
+   * Returns the chart.
+   *
+   * @return the chart
+   */
+  public AbstractChart getChart() {
+    return mChart;
+  }
+
+  /**
+   * Returns the image width.
+   *
+   * @return the image width
+   */
+  public int getWidth() {
+    return mWidth;
+  }
+
+  /**
+   * Returns the image height.
+   *
+   * @return the image height
+   */
+  public int getHeight() {
+    return mHeight;
+  }
+
+  /**
+   * Returns the image format.
+   *
+   * @return the image format
+   */
+  public ExportFormat getFormat() {
+    return mFormat;
+  }
+
+  /**
+   * Returns the file the image is written to.
+   *
+   * @return the file, or null if the job writes to a stream
+   */
+  public File getFile() {
+    return mFile;
+  }
+
+  /**
+   * Opens the stream to write the image to.
+   *
+   * @return the stream
+   * @throws IOException if the file can't be created
+   */
+  OutputStream openStream() throws IOException {
+    if (mStream != null) {
+      return mStream;
+    }
+    return new BufferedOutputStream(new FileOutputStream(mFile), 64 * 1024);
+  }
+
+  /**
+   * Releases the stream the image was written to.
+   *
+   * @param stream the stream returned by openStream()
+   * @throws IOException if the stream can't be flushed or closed
+   */
+  void closeStream(OutputStream stream) throws IOException {
+    if (stream == mStream) {
+      stream.flush();
+    } else {
+      stream.close();
+    }
+  }
+
+}
@@ -0,0 +1,148 @@
+/**
+ * Copyright (C) 2009 - 2012 SC 4ViewSoft SRL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.achartengine.export;
+
+import java.util.List;
+
+/**
+ * The outcome of a batch export: the result of each job, in the jobs order,
+ * and the batch throughput.
+ */
+public class ExportReport {
+  /** The job results. */
+  private final List<ExportResult> mResults;
+  /** The batch wall clock time, in nanoseconds. */
+  private final long mWallNanos;
+  /** The number of workers. */
+  private final int mWorkers;
+
+  /**
+   * Builds a new export report.
+   *
+   * @param results the job results, in the jobs order
+   * @param wallNanos the batch wall clock time
+   * @param workers the number of workers
+   */
+  public ExportReport(List<ExportResult> results, long wallNanos, int workers) {
+    mResults = results;
+    mWallNanos = wallNanos;
+    mWorkers = workers;
+  }
+
+  /**
+   * Returns the job results, in the jobs order.
+   *
+   * @return the job results
+   */
+  public List<ExportResult> getResults() {
+    return mResults;
+  }
+
+  /**
+   * Returns the batch wall clock time.
+   *
+   * @return the time in nanoseconds
+   */
+  public long getWallNanos() {
+    return mWallNanos;
+  }
+
+  /**
+   * Returns the number of workers the batch ran on.
+   *
+   * @return the number of workers
+   */
+  public int getWorkers() {
+    return mWorkers;
+  }
+
+  /**
+   * Returns the number of failed jobs.
+   *
+   * @return the number of failed jobs
+   */
+  public int getFailureCount() {
+    int count = 0;
+    for (ExportResult result : mResults) {
+      if (!result.isSuccessful()) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Returns the total time spent rendering, summed over the workers.
+   *
+   * @return the time in nanoseconds
+   */
+  public long getTotalRenderNanos() {
+    long total = 0;
+    for (ExportResult result : mResults) {
+      total += result.getRenderNanos();
+    }
+    return total;
+  }
+
+  /**
+   * Returns the total time spent encoding and writing, summed over the
+   * workers.
+   *
+   * @return the time in nanoseconds
+   */
+  public long getTotalEncodeNanos() {
+    long total = 0;
+    for (ExportResult result : mResults) {
+      total += result.getEncodeNanos();
+    }
+    return total;
+  }
+
+  /**
+   * Returns the number of jobs completed per second of wall clock time.
+   *
+   * @return the throughput
+   */
+  public double getJobsPerSecond() {
+    if (mWallNanos <= 0) {
+      return 0;
+    }
+    return mResults.size() * 1e9 / mWallNanos;
+  }
+
+  /**
+   * Returns the share of the worker time spent rendering or encoding, 1 when
+   * the workers were never idle nor blocked.
+   *
+   * @return the worker utilization
+   */
+  public double getUtilization() {
+    if (mWallNanos <= 0 || mWorkers == 0) {
+      return 0;
+    }
+    return (getTotalRenderNanos() + getTotalEncodeNanos()) / ((double) mWallNanos * mWorkers);
+  }
+
+  @Override
+  public String toString() {
+    return mResults.size() + " jobs, " + getFailureCount() + " failed, "
+        + Math.round(mWallNanos / 1e6) + " ms on " + mWorkers + " workers, "
+        + Math.round(getJobsPerSecond()) + " jobs/s, render "
+        + Math.round(getTotalRenderNanos() / 1e6) + " ms, encode "
+        + Math.round(getTotalEncodeNanos() / 1e6) + " ms";
+  }
+
+}
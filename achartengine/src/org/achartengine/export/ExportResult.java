@@ -0,0 +1,105 @@
+/**
+ * Copyright (C) 2009 - 2012 SC 4ViewSoft SRL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.achartengine.export;
+
+/**
+ * The outcome of an export job, with its timings.
+ */
+public class ExportResult {
+  /** The job. */
+  private final ExportJob mJob;
+  /** The time spent waiting for a worker, in nanoseconds. */
+  private final long mQueueNanos;
+  /** The time spent rendering the chart, in nanoseconds. */
+  private final long mRenderNanos;
+  /** The time spent encoding and writing the image, in nanoseconds. */
+  private final long mEncodeNanos;
+  /** The error the job failed with, or null. */
+  private final Throwable mError;
+
+  /**
+   * Builds a new export result.
+   *
+   * @param job the job
+   * @param queueNanos the time spent waiting for a worker
+   * @param renderNanos the time spent rendering the chart
+   * @param encodeNanos the time spent encoding and writing the image
+   * @param error the error the job failed with, or null
+   */
+  public ExportResult(ExportJob job, long queueNanos, long renderNanos, long encodeNanos,
+      Throwable error) {
+    mJob = job;
+    mQueueNanos = queueNanos;
+    mRenderNanos = renderNanos;
+    mEncodeNanos = encodeNanos;
+    mError = error;
+  }
+
+  /**
+   * Returns the job.
+   *
+   * @return the job
+   */
+  public ExportJob getJob() {
+    return mJob;
+  }
+
+  /**
+   * Returns the time the job waited for a worker.
+   *
+   * @return the time in nanoseconds
+   */
+  public long getQueueNanos() {
+    return mQueueNanos;
+  }
+
+  /**
+   * Returns the time spent rendering the chart.
+   *
+   * @return the time in nanoseconds
+   */
+  public long getRenderNanos() {
+    return mRenderNanos;
+  }
+
+  /**
+   * Returns the time spent encoding and writing the image.
+   *
+   * @return the time in nanoseconds
+   */
+  public long getEncodeNanos() {
+    return mEncodeNanos;
+  }
+
+  /**
+   * Returns the error the job failed with.
+   *
+   * @return the error, or null if the job succeeded
+   */
+  public Throwable getError() {
+    return mError;
+  }
+
+  /**
+   * Returns if the job succeeded.
+   *
+   * @return if the job succeeded
+   */
+  public boolean isSuccessful() {
+    return mError == null;
+  }
+
+}
@@ -0,0 +1,145 @@
+/**
+ * Copyright (C) 2009 - 2012 SC 4ViewSoft SRL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.achartengine.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.achartengine.chart.DrawingSurface;
+
+import android.graphics.Paint;
+
+/**
+ * The off screen rendering state of an export worker: an image, the surface
+ * drawing to it and the paint, all reused from one job to the next. A context
+ * is only used by one thread at a time.
+ */
+public abstract class RenderContext {
+  /** The paint. */
+  private final Paint mPaint = new Paint();
+  /** The image width. */
+  private int mWidth;
+  /** The image height. */
+  private int mHeight;
+  /** The row of pixels reused by the raw export. */
+  private int[] mRow = new int[0];
+  /** The row of bytes reused by the raw export. */
+  private byte[] mRowBytes = new byte[0];
+
+  /**
+   * Prepares a transparent image of the given size and returns the surface
+   * drawing to it.
+   *
+   * @param width the image width
+   * @param height the image height
+   * @return the drawing surface
+   */
+  public DrawingSurface begin(int width, int height) {
+    mWidth = width;
+    mHeight = height;
+    return prepare(width, height);
+  }
+
+  /**
+   * Returns the paint, reset to its default attributes.
+   *
+   * @return the paint
+   */
+  public Paint getPaint() {
+    mPaint.reset();
+    return mPaint;
+  }
+
+  /**
+   * Writes the image rendered since the last begin() call.
+   *
+   * @param format the image format
+   * @param out the stream to write to
+   * @throws IOException if the image can't be written
+   */
+  public void write(ExportFormat format, OutputStream out) throws IOException {
+    if (format == ExportFormat.PNG) {
+      writePng(out);
+    } else {
+      writeArgb(out);
+    }
+  }
+
+  /**
+   * Releases the image. The context can still be used afterwards.
+   */
+  public void release() {
+  }
+
+  /**
+   * Prepares a transparent image of the given size, reusing the current one
+   * when possible, and returns the surface drawing to it.
+   *
+   * @param width the image width
+   * @param height the image height
+   * @return the drawing surface
+   */
+  protected abstract DrawingSurface prepare(int width, int height);
+
+  /**
+   * Writes the image as a PNG.
+   *
+   * @param out the stream to write to
+   * @throws IOException if the image can't be written
+   */
+  protected abstract void writePng(OutputStream out) throws IOException;
+
+  /**
+   * Reads a row of pixels of the image, as ARGB values.
+   *
+   * @param y the row index
+   * @param row the row to fill, as long as the image width
+   */
+  protected abstract void getRow(int y, int[] row);
+
+  private void writeArgb(OutputStream out) throws IOException {
+    if (mRow.length < mWidth) {
+      mRow = new int[mWidth];
+      mRowBytes = new byte[mWidth * 4];
+    }
+    int[] row = mRow;
+    byte[] bytes = mRowBytes;
+    for (int y = 0; y < mHeight; y++) {
+      getRow(y, row);
+      for (int x = 0, i = 0; x < mWidth; x++, i += 4) {
+        int pixel = row[x];
+        bytes[i] = (byte) (pixel >>> 24);
+        bytes[i + 1] = (byte) (pixel >>> 16);
+        bytes[i + 2] = (byte) (pixel >>> 8);
+        bytes[i + 3] = (byte) pixel;
+      }
+      out.write(bytes, 0, mWidth * 4);
+    }
+  }
+
+  /**
+   * Creates the render contexts of the export workers.
+   */
+  public interface Factory {
+    /**
+     * Creates a new render context.
+     *
+     * @return the render context
+     */
+    RenderContext create();
+  }
+
+}
@@ -0,0 +1,67 @@
+/**
+ * Copyright (C) 2009 - 2012 SC 4ViewSoft SRL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.achartengine.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.achartengine.chart.AbstractChart;
+
+import android.graphics.Paint;
+
+/**
+ * Exports charts as SVG vector images, streamed to an output stream.
+ */
+public class SvgExporter {
+
+  private SvgExporter() {
+    // empty constructor
+  }
+
+  /**
+   * Exports a chart as an SVG image, with the default vertex budget.
+   *
+   * @param chart the chart
+   * @param width the image width
+   * @param height the image height
+   * @param out the stream to write to, left open
+   * @throws IOException if the image couldn't be written
+   */
+  public static void export(AbstractChart chart, int width, int height, OutputStream out)
+      throws IOException {
+    export(chart, width, height, out, SvgSurface.DEFAULT_VERTEX_BUDGET);
+  }
+
+  /**
+   * Exports a chart as an SVG image.
+   *
+   * @param chart the chart
+   * @param width the image width
+   * @param height the image height
+   * @param out the stream to write to, left open
+   * @param vertexBudget the maximum number of vertices of a line path
+   *          contour, 0 for no limit
+   * @throws IOException if the image couldn't be written
+   */
+  public static void export(AbstractChart chart, int width, int height, OutputStream out,
+      int vertexBudget) throws IOException {
+    SvgSurface surface = new SvgSurface(out, width, height);
+    surface.setVertexBudget(vertexBudget);
+    chart.draw(surface, 0, 0, width, height, new Paint());
+    surface.finish();
+  }
+
+}
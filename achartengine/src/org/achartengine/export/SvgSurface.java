@@ -0,0 +1,763 @@
+/**
+ * Copyright (C) 2009 - 2012 SC 4ViewSoft SRL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.achartengine.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UnsupportedEncodingException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.achartengine.chart.DrawingSurface;
+import org.achartengine.util.VisvalingamSimplifier;
+
+import android.graphics.Paint;
+import android.graphics.Paint.Align;
+import android.graphics.Paint.Cap;
+import android.graphics.Paint.Join;
+import android.graphics.Paint.Style;
+import android.graphics.Typeface;
+
+/**
+ * A drawing surface writing an SVG document to a stream, as the chart is
+ * drawn. No document tree is built: each drawing call writes its element
+ * right away, so the memory used doesn't depend on the chart size.
+ * <p>
+ * The paths made of straight lines and having more vertices than the vertex
+ * budget are simplified with the Visvalingam-Whyatt algorithm, which keeps the
+ * shape of dense series while bounding the document size. As for the other
+ * off screen surfaces, the path effects are not supported and the dashed lines
+ * are drawn solid.
+ * <p>
+ * The write errors don't interrupt the drawing: the first one is kept and
+ * thrown by finish(), which must be called once the chart is drawn.
+ */
+public class SvgSurface implements DrawingSurface {
+  /** The default maximum number of vertices of a path contour. */
+  public static final int DEFAULT_VERTEX_BUDGET = 10000;
+  /** The move path command. */
+  private static final byte MOVE = 0;
+  /** The line path command. */
+  private static final byte LINE = 1;
+  /** The cubic curve path command, taking three points. */
+  private static final byte CUBIC = 2;
+  /** The close path command. */
+  private static final byte CLOSE = 3;
+  /** The document writer. */
+  private final Writer mOut;
+  /** The surface width. */
+  private final int mWidth;
+  /** The surface height. */
+  private final int mHeight;
+  /** The simplifier of the dense paths. */
+  private final VisvalingamSimplifier mSimplifier = new VisvalingamSimplifier();
+  /** The maximum number of vertices of a path contour, 0 for no limit. */
+  private int mVertexBudget = DEFAULT_VERTEX_BUDGET;
+  /** The commands of the path being built. */
+  private byte[] mCommands = new byte[64];
+  /** The number of path commands. */
+  private int mCommandCount;
+  /** The coordinates of the path being built. */
+  private float[] mCoords = new float[128];
+  /** The number of path coordinates. */
+  private int mCoordCount;
+  /** The coordinates of the contour being simplified. */
+  private float[] mSimplified = new float[0];
+  /** The current transformation, as the a, b, c, d, e, f SVG matrix values. */
+  private float[] mMatrix = { 1, 0, 0, 1, 0, 0 };
+  /** The current clip identifier, 0 for none. */
+  private int mClip;
+  /** The clip of the group being written, 0 for none. */
+  private int mOpenClip;
+  /** The transformations saved by save(). */
+  private final List<float[]> mSavedMatrices = new ArrayList<float[]>();
+  /** The clips saved by save(). */
+  private final List<Integer> mSavedClips = new ArrayList<Integer>();
+  /** The last identifier given to a clip or gradient definition. */
+  private int mLastId;
+  /** The buffer the numbers are formatted in. */
+  private final char[] mDigits = new char[24];
+  /** The first write error. */
+  private IOException mError;
+  /** If the document is finished. */
+  private boolean mFinished;
+
+  /**
+   * Builds a new SVG surface and writes the document header.
+   *
+   * @param out the stream to write the UTF-8 encoded document to
+   * @param width the surface width
+   * @param height the surface height
+   */
+  public SvgSurface(OutputStream out, int width, int height) {
+    try {
+      mOut = new BufferedWriter(new OutputStreamWriter(out, "UTF-8"));
+    } catch (UnsupportedEncodingException e) {
+      // UTF-8 is always supported
+      throw new IllegalStateException(e);
+    }
+    mWidth = width;
+    mHeight = height;
+    write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+    write("<svg xmlns=\"http://www.w3.org/2000/svg\" version=\"1.1\" width=\"");
+    write(width);
+    write("\" height=\"");
+    write(height);
+    write("\" viewBox=\"0 0 ");
+    write(width);
+    write(' ');
+    write(height);
+    write("\" font-family=\"sans-serif\">\n");
+  }
+
+  /**
+   * Returns the maximum number of vertices of a path contour.
+   *
+   * @return the vertex budget, 0 for no limit
+   */
+  public int getVertexBudget() {
+    return mVertexBudget;
+  }
+
+  /**
+   * Sets the maximum number of vertices of a path contour. The contours made of
+   * straight lines and having more vertices are simplified.
+   *
+   * @param budget the vertex budget, at least 2, or 0 for no limit
+   */
+  public void setVertexBudget(int budget) {
+    if (budget < 0 || budget == 1) {
+      throw new IllegalArgumentException("The vertex budget must be 0 or at least 2");
+    }
+    mVertexBudget = budget;
+  }
+
+  /**
+   * Ends the document and flushes it to the stream, which is left open.
+   *
+   * @throws IOException if the document couldn't be written
+   */
+  public void finish() throws IOException {
+    if (!mFinished) {
+      mFinished = true;
+      if (mOpenClip != 0) {
+        write("</g>\n");
+      }
+      write("</svg>\n");
+      try {
+        mOut.flush();
+      } catch (IOException e) {
+        fail(e);
+      }
+    }
+    if (mError != null) {
+      throw mError;
+    }
+  }
+
+  public int getWidth() {
+    return mWidth;
+  }
+
+  public int getHeight() {
+    return mHeight;
+  }
+
+  public void drawLine(float startX, float startY, float stopX, float stopY, Paint paint) {
+    startElement("line");
+    writeAttribute("x1", startX);
+    writeAttribute("y1", startY);
+    writeAttribute("x2", stopX);
+    writeAttribute("y2", stopY);
+    writeStroke(paint);
+    endElement();
+  }
+
+  public void drawRect(float left, float top, float right, float bottom, Paint paint) {
+    startElement("rect");
+    writeAttribute("x", Math.min(left, right));
+    writeAttribute("y", Math.min(top, bottom));
+    writeAttribute("width", Math.abs(right - left));
+    writeAttribute("height", Math.abs(bottom - top));
+    writeStyle(paint);
+    endElement();
+  }
+
+  public void drawGradientRect(int left, int top, int right, int bottom, int topColor,
+      int bottomColor) {
+    int id = ++mLastId;
+    openGroup();
+    write("<linearGradient id=\"g");
+    write(id);
+    write("\" x1=\"0\" y1=\"0\" x2=\"0\" y2=\"1\"><stop offset=\"0\"");
+    writeColor("stop-color", "stop-opacity", topColor);
+    write("/><stop offset=\"1\"");
+    writeColor("stop-color", "stop-opacity", bottomColor);
+    write("/></linearGradient>\n");
+    startElement("rect");
+    writeAttribute("x", left);
+    writeAttribute("y", top);
+    writeAttribute("width", right - left);
+    writeAttribute("height", bottom - top);
+    write(" fill=\"url(#g");
+    write(id);
+    write(")\"");
+    endElement();
+  }
+
+  public void drawCircle(float cx, float cy, float radius, Paint paint) {
+    startElement("circle");
+    writeAttribute("cx", cx);
+    writeAttribute("cy", cy);
+    writeAttribute("r", radius);
+    writeStyle(paint);
+    endElement();
+  }
+
+  public void drawArc(float left, float top, float right, float bottom, float startAngle,
+      float sweepAngle, boolean useCenter, Paint paint) {
+    float cx = (left + right) / 2;
+    float cy = (top + bottom) / 2;
+    float rx = Math.abs(right - left) / 2;
+    float ry = Math.abs(bottom - top) / 2;
+    if (Math.abs(sweepAngle) >= 360) {
+      startElement("ellipse");
+      writeAttribute("cx", cx);
+      writeAttribute("cy", cy);
+      writeAttribute("rx", rx);
+      writeAttribute("ry", ry);
+      writeStyle(paint);
+      endElement();
+      return;
+    }
+    double start = Math.toRadians(startAngle);
+    double end = Math.toRadians(startAngle + sweepAngle);
+    startElement("path");
+    write(" d=\"");
+    if (useCenter) {
+      write('M');
+      writePoint(cx, cy);
+      write('L');
+    } else {
+      write('M');
+    }
+    writePoint((float) (cx + rx * Math.cos(start)), (float) (cy + ry * Math.sin(start)));
+    write('A');
+    writePoint(rx, ry);
+    // the SVG positive angle direction is also clockwise on screen
+    write(Math.abs(sweepAngle) > 180 ? " 0 1 " : " 0 0 ");
+    write(sweepAngle > 0 ? '1' : '0');
+    write(' ');
+    writePoint((float) (cx + rx * Math.cos(end)), (float) (cy + ry * Math.sin(end)));
+    if (useCenter) {
+      write('Z');
+    }
+    write('"');
+    writeStyle(paint);
+    endElement();
+  }
+
+  public void drawPoint(float x, float y, Paint paint) {
+    drawPoints(new float[] { x, y }, 0, 2, paint);
+  }
+
+  public void drawPoints(float[] points, int offset, int count, Paint paint) {
+    if (count < 2) {
+      return;
+    }
+    float size = Math.max(1, paint.getStrokeWidth());
+    startElement("path");
+    write(" d=\"");
+    int end = offset + count - 1;
+    for (int i = offset; i < end; i += 2) {
+      write('M');
+      writePoint(points[i] - size / 2, points[i + 1] - size / 2);
+      write('h');
+      writeNumber(size);
+      write('v');
+      writeNumber(size);
+      write('h');
+      writeNumber(-size);
+      write('Z');
+    }
+    write('"');
+    writeColor("fill", "fill-opacity", paint.getColor());
+    endElement();
+  }
+
+  public void drawText(String text, float x, float y, Paint paint) {
+    startElement("text");
+    writeAttribute("x", x);
+    writeAttribute("y", y);
+    writeAttribute("font-size", paint.getTextSize());
+    Align align = paint.getTextAlign();
+    if (align == Align.CENTER) {
+      write(" text-anchor=\"middle\"");
+    } else if (align == Align.RIGHT) {
+      write(" text-anchor=\"end\"");
+    }
+    Typeface typeface = paint.getTypeface();
+    if (typeface != null && typeface.isBold()) {
+      write(" font-weight=\"bold\"");
+    }
+    if (typeface != null && typeface.isItalic()) {
+      write(" font-style=\"italic\"");
+    }
+    writeColor("fill", "fill-opacity", paint.getColor());
+    writeTransform();
+    write('>');
+    writeEscaped(text);
+    write("</text>\n");
+  }
+
+  public void beginPath() {
+    mCommandCount = 0;
+    mCoordCount = 0;
+  }
+
+  public void moveTo(float x, float y) {
+    // the line charts start a new contour at the end of the previous segment,
+    // which is merged in the current contour so it can be simplified
+    if (mCommandCount > 0 && mCommands[mCommandCount - 1] != CLOSE
+        && mCoords[mCoordCount - 2] == x && mCoords[mCoordCount - 1] == y) {
+      return;
+    }
+    addCommand(MOVE, x, y);
+  }
+
+  public void lineTo(float x, float y) {
+    if (mCommandCount == 0) {
+      addCommand(MOVE, x, y);
+    }
+    addCommand(LINE, x, y);
+  }
+
+  public void cubicTo(float x1, float y1, float x2, float y2, float x3, float y3) {
+    if (mCommandCount == 0) {
+      addCommand(MOVE, x1, y1);
+    }
+    addCommand(CUBIC, x1, y1);
+    ensureCoords(4);
+    mCoords[mCoordCount++] = x2;
+    mCoords[mCoordCount++] = y2;
+    mCoords[mCoordCount++] = x3;
+    mCoords[mCoordCount++] = y3;
+  }
+
+  public void closePath() {
+    if (mCommandCount > 0) {
+      ensureCommands();
+      mCommands[mCommandCount++] = CLOSE;
+    }
+  }
+
+  public void drawPath(Paint paint) {
+    if (mCommandCount == 0) {
+      return;
+    }
+    startElement("path");
+    write(" d=\"");
+    int command = 0;
+    int coord = 0;
+    while (command < mCommandCount) {
+      // a contour is a move followed by lines, curves and an optional close
+      int end = command + 1;
+      boolean lines = true;
+      while (end < mCommandCount && mCommands[end] != MOVE && mCommands[end] != CLOSE) {
+        lines &= mCommands[end] == LINE;
+        end++;
+      }
+      if (lines) {
+        int length = 2 * (end - command);
+        float[] points = mCoords;
+        int offset = coord;
+        if (mVertexBudget > 0 && length > 2 * mVertexBudget) {
+          // the path is left untouched, such as it can be drawn again
+          if (mSimplified.length < length) {
+            mSimplified = new float[length];
+          }
+          System.arraycopy(mCoords, coord, mSimplified, 0, length);
+          points = mSimplified;
+          offset = 0;
+          length = mSimplifier.simplify(points, 0, length, mVertexBudget);
+        }
+        write('M');
+        writePoint(points[offset], points[offset + 1]);
+        for (int i = 2; i < length; i += 2) {
+          write('L');
+          writePoint(points[offset + i], points[offset + i + 1]);
+        }
+        coord += 2 * (end - command);
+      } else {
+        for (int i = command; i < end; i++) {
+          byte type = mCommands[i];
+          write(type == MOVE ? 'M' : type == LINE ? 'L' : 'C');
+          int points = type == CUBIC ? 3 : 1;
+          for (int j = 0; j < points; j++) {
+            if (j > 0) {
+              write(' ');
+            }
+            writePoint(mCoords[coord], mCoords[coord + 1]);
+            coord += 2;
+          }
+        }
+      }
+      if (end < mCommandCount && mCommands[end] == CLOSE) {
+        write('Z');
+        end++;
+      }
+      command = end;
+    }
+    write('"');
+    writeStyle(paint);
+    endElement();
+  }
+
+  public void save() {
+    mSavedMatrices.add(mMatrix.clone());
+    mSavedClips.add(mClip);
+  }
+
+  public void restore() {
+    int last = mSavedMatrices.size() - 1;
+    if (last < 0) {
+      throw new IllegalStateException("Unbalanced restore() call");
+    }
+    mMatrix = mSavedMatrices.remove(last);
+    mClip = mSavedClips.remove(last);
+  }
+
+  public void clipRect(float left, float top, float right, float bottom) {
+    int id = ++mLastId;
+    openGroup();
+    write("<clipPath id=\"c");
+    write(id);
+    write('"');
+    if (mClip != 0) {
+      // a clip path clipped by the current one is their intersection
+      write(" clip-path=\"url(#c");
+      write(mClip);
+      write(")\"");
+    }
+    // the clip paths are written in document coordinates, as the groups
+    // referencing them are not transformed
+    write("><path d=\"M");
+    writeTransformedPoint(left, top);
+    write('L');
+    writeTransformedPoint(right, top);
+    write('L');
+    writeTransformedPoint(right, bottom);
+    write('L');
+    writeTransformedPoint(left, bottom);
+    write("Z\"/></clipPath>\n");
+    mClip = id;
+  }
+
+  public void rotate(float degrees, float px, float py) {
+    translate(px, py);
+    double radians = Math.toRadians(degrees);
+    float cos = (float) Math.cos(radians);
+    float sin = (float) Math.sin(radians);
+    float[] m = mMatrix;
+    float a = m[0];
+    float b = m[1];
+    m[0] = a * cos + m[2] * sin;
+    m[1] = b * cos + m[3] * sin;
+    m[2] = m[2] * cos - a * sin;
+    m[3] = m[3] * cos - b * sin;
+    translate(-px, -py);
+  }
+
+  public void translate(float dx, float dy) {
+    float[] m = mMatrix;
+    m[4] += m[0] * dx + m[2] * dy;
+    m[5] += m[1] * dx + m[3] * dy;
+  }
+
+  public void scale(float sx, float sy) {
+    float[] m = mMatrix;
+    m[0] *= sx;
+    m[1] *= sx;
+    m[2] *= sy;
+    m[3] *= sy;
+  }
+
+  private void addCommand(byte command, float x, float y) {
+    ensureCommands();
+    ensureCoords(2);
+    mCommands[mCommandCount++] = command;
+    mCoords[mCoordCount++] = x;
+    mCoords[mCoordCount++] = y;
+  }
+
+  private void ensureCommands() {
+    if (mCommandCount == mCommands.length) {
+      byte[] commands = new byte[mCommands.length * 2];
+      System.arraycopy(mCommands, 0, commands, 0, mCommandCount);
+      mCommands = commands;
+    }
+  }
+
+  private void ensureCoords(int count) {
+    if (mCoordCount + count > mCoords.length) {
+      float[] coords = new float[Math.max(mCoords.length * 2, mCoordCount + count)];
+      System.arraycopy(mCoords, 0, coords, 0, mCoordCount);
+      mCoords = coords;
+    }
+  }
+
+  /**
+   * Closes the group of the previous elements if it doesn't have the current
+   * clip, and opens a new group with the current clip if needed.
+   */
+  private void openGroup() {
+    if (mOpenClip != mClip) {
+      if (mOpenClip != 0) {
+        write("</g>\n");
+      }
+      if (mClip != 0) {
+        write("<g clip-path=\"url(#c");
+        write(mClip);
+        write(")\">\n");
+      }
+      mOpenClip = mClip;
+    }
+  }
+
+  private void startElement(String name) {
+    openGroup();
+    write('<');
+    write(name);
+  }
+
+  private void endElement() {
+    writeTransform();
+    write("/>\n");
+  }
+
+  private void writeTransform() {
+    float[] m = mMatrix;
+    if (m[0] != 1 || m[1] != 0 || m[2] != 0 || m[3] != 1 || m[4] != 0 || m[5] != 0) {
+      write(" transform=\"matrix(");
+      for (int i = 0; i < 6; i++) {
+        if (i > 0) {
+          write(' ');
+        }
+        // the rotation and scale factors need more than two decimals
+        writeNumber(i < 4 ? m[i] * 10000 : m[i] * 100, i < 4 ? 4 : 2);
+      }
+      write(")\"");
+    }
+  }
+
+  /**
+   * Writes the fill and stroke attributes matching the paint style.
+   *
+   * @param paint the paint
+   */
+  private void writeStyle(Paint paint) {
+    Style style = paint.getStyle();
+    if (style == Style.STROKE) {
+      write(" fill=\"none\"");
+      writeStroke(paint);
+    } else {
+      writeColor("fill", "fill-opacity", paint.getColor());
+      if (style == Style.FILL_AND_STROKE) {
+        writeStroke(paint);
+      }
+    }
+  }
+
+  private void writeStroke(Paint paint) {
+    writeColor("stroke", "stroke-opacity", paint.getColor());
+    // a zero width is a hairline, one pixel wide
+    writeAttribute("stroke-width", Math.max(1, paint.getStrokeWidth()));
+    Cap cap = paint.getStrokeCap();
+    if (cap == Cap.ROUND) {
+      write(" stroke-linecap=\"round\"");
+    } else if (cap == Cap.SQUARE) {
+      write(" stroke-linecap=\"square\"");
+    }
+    Join join = paint.getStrokeJoin();
+    if (join == Join.ROUND) {
+      write(" stroke-linejoin=\"round\"");
+    } else if (join == Join.BEVEL) {
+      write(" stroke-linejoin=\"bevel\"");
+    } else if (paint.getStrokeMiter() != 4) {
+      writeAttribute("stroke-miterlimit", Math.max(1, paint.getStrokeMiter()));
+    }
+  }
+
+  /**
+   * Writes a color attribute and, if the color is translucent, the matching
+   * opacity attribute.
+   *
+   * @param name the color attribute name
+   * @param opacityName the opacity attribute name
+   * @param argb the color
+   */
+  private void writeColor(String name, String opacityName, int argb) {
+    write(' ');
+    write(name);
+    write("=\"#");
+    for (int shift = 20; shift >= 0; shift -= 4) {
+      write(Character.forDigit((argb >> shift) & 0xf, 16));
+    }
+    write('"');
+    int alpha = argb >>> 24;
+    if (alpha != 255) {
+      write(' ');
+      write(opacityName);
+      write("=\"");
+      writeNumber(alpha * 1000f / 255, 3);
+      write('"');
+    }
+  }
+
+  private void writeAttribute(String name, float value) {
+    write(' ');
+    write(name);
+    write("=\"");
+    writeNumber(value);
+    write('"');
+  }
+
+  private void writePoint(float x, float y) {
+    writeNumber(x);
+    write(' ');
+    writeNumber(y);
+  }
+
+  private void writeTransformedPoint(float x, float y) {
+    float[] m = mMatrix;
+    writePoint(m[0] * x + m[2] * y + m[4], m[1] * x + m[3] * y + m[5]);
+  }
+
+  /**
+   * Writes a number rounded to two decimals, without the trailing zeros.
+   *
+   * @param value the number
+   */
+  private void writeNumber(float value) {
+    writeNumber(value * 100, 2);
+  }
+
+  /**
+   * Writes a number, without the trailing zeros of its decimals.
+   *
+   * @param scaled the number multiplied by 10 to the power of decimals
+   * @param decimals the number of decimals
+   */
+  private void writeNumber(float scaled, int decimals) {
+    if (Float.isNaN(scaled) || Float.isInfinite(scaled)) {
+      scaled = 0;
+    }
+    long digits = Math.round((double) scaled);
+    boolean negative = digits < 0;
+    if (negative) {
+      digits = -digits;
+    }
+    char[] buffer = mDigits;
+    int start = buffer.length;
+    boolean significant = false;
+    for (int i = 0; i < decimals; i++) {
+      int digit = (int) (digits % 10);
+      digits /= 10;
+      if (digit != 0 || significant) {
+        buffer[--start] = (char) ('0' + digit);
+        significant = true;
+      }
+    }
+    if (significant) {
+      buffer[--start] = '.';
+    }
+    do {
+      buffer[--start] = (char) ('0' + digits % 10);
+      digits /= 10;
+    } while (digits > 0);
+    if (negative && (significant || buffer[start] != '0')) {
+      buffer[--start] = '-';
+    }
+    write(buffer, start, buffer.length - start);
+  }
+
+  private void writeEscaped(String text) {
+    int length = text.length();
+    for (int i = 0; i < length; i++) {
+      char c = text.charAt(i);
+      switch (c) {
+      case '&':
+        write("&amp;");
+        break;
+      case '<':
+        write("&lt;");
+        break;
+      case '>':
+        write("&gt;");
+        break;
+      case '"':
+        write("&quot;");
+        break;
+      default:
+        write(c);
+      }
+    }
+  }
+
+  private void write(int value) {
+    write(Integer.toString(value));
+  }
+
+  private void write(String text) {
+    if (mError == null) {
+      try {
+        mOut.write(text);
+      } catch (IOException e) {
+        fail(e);
+      }
+    }
+  }
+
+  private void write(char c) {
+    if (mError == null) {
+      try {
+        mOut.write(c);
+      } catch (IOException e) {
+        fail(e);
+      }
+    }
+  }
+
+  private void write(char[] buffer, int offset, int length) {
+    if (mError == null) {
+      try {
+        mOut.write(buffer, offset, length);
+      } catch (IOException e) {
+        fail(e);
+      }
+    }
+  }
+
+  private void fail(IOException e) {
+    if (mError == null) {
+      mError = e;
+    }
+  }
+
+}
@@ -0,0 +1,133 @@
+/**
+ * Copyright (C) 2009 - 2012 SC 4ViewSoft SRL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.achartengine.metrics;
+
+import org.achartengine.chart.DrawingSurface;
+
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.Paint.Align;
+import android.graphics.Paint.Style;
+
+/**
+ * A debug display of the frame statistics, drawn over the chart: the median
+ * and 95th percentile of the frame and stage times, and the average number of
+ * points considered and drawn.
+ */
+public class FrameHud {
+  /** The stages. */
+  private static final FrameStage[] STAGES = FrameStage.values();
+  /** The background color. */
+  private static final int BACKGROUND_COLOR = Color.argb(180, 0, 0, 0);
+  /** The text size. */
+  private float mTextSize = 12;
+  /** The text builder, reused between frames. */
+  private final StringBuilder mText = new StringBuilder();
+
+  /**
+   * Returns the text size.
+   *
+   * @return the text size
+   */
+  public float getTextSize() {
+    return mTextSize;
+  }
+
+  /**
+   * Sets the text size.
+   *
+   * @param textSize the text size
+   */
+  public void setTextSize(float textSize) {
+    mTextSize = textSize;
+  }
+
+  /**
+   * Draws the statistics.
+   *
+   * @param canvas the surface to draw to
+   * @param statistics the frame statistics
+   * @param x the left edge of the display
+   * @param y the top edge of the display
+   * @param paint the paint, its attributes being restored after drawing
+   */
+  public void draw(DrawingSurface canvas, FrameStatistics statistics, float x, float y,
+      Paint paint) {
+    int color = paint.getColor();
+    float textSize = paint.getTextSize();
+    Align align = paint.getTextAlign();
+    Style style = paint.getStyle();
+    float lineHeight = mTextSize * 1.25f;
+    paint.setStyle(Style.FILL);
+    paint.setColor(BACKGROUND_COLOR);
+    canvas.drawRect(x, y, x + mTextSize * 17, y + lineHeight * (STAGES.length + 2.5f), paint);
+    paint.setColor(Color.WHITE);
+    paint.setTextSize(mTextSize);
+    paint.setTextAlign(Align.LEFT);
+    float textX = x + mTextSize / 2;
+    float textY = y + lineHeight;
+    drawLine(canvas, "frame", statistics.getTotalPercentile(50),
+        statistics.getTotalPercentile(95), textX, textY, paint);
+    for (FrameStage stage : STAGES) {
+      textY += lineHeight;
+      drawLine(canvas, stage.name().toLowerCase(), statistics.getStagePercentile(stage, 50),
+          statistics.getStagePercentile(stage, 95), textX, textY, paint);
+    }
+    textY += lineHeight;
+    mText.setLength(0);
+    mText.append("points ").append(statistics.getAveragePointsDrawn()).append(" / ")
+        .append(statistics.getAveragePointsConsidered());
+    canvas.drawText(mText.toString(), textX, textY, paint);
+    paint.setColor(color);
+    paint.setTextSize(textSize);
+    paint.setTextAlign(align);
+    paint.setStyle(style);
+  }
+
+  /**
+   * Draws a line of the display: a name, then the median and 95th percentile
+   * times, in milliseconds.
+   *
+   * @param canvas the surface to draw to
+   * @param name the line name
+   * @param median the median time, in nanoseconds
+   * @param p95 the 95th percentile time, in nanoseconds
+   * @param x the text X position
+   * @param y the text Y position
+   * @param paint the paint
+   */
+  private void drawLine(DrawingSurface canvas, String name, long median, long p95, float x,
+      float y, Paint paint) {
+    mText.setLength(0);
+    mText.append(name).append(' ');
+    appendMillis(median);
+    mText.append(" / ");
+    appendMillis(p95);
+    mText.append(" ms");
+    canvas.drawText(mText.toString(), x, y, paint);
+  }
+
+  private void appendMillis(long nanos) {
+    long hundredths = (nanos + 5000) / 10000;
+    mText.append(hundredths / 100).append('.');
+    long fraction = hundredths % 100;
+    if (fraction < 10) {
+      mText.append('0');
+    }
+    mText.append(fraction);
+  }
+
+}
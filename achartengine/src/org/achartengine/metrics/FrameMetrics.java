@@ -0,0 +1,127 @@
+/**
+ * Copyright (C) 2009 - 2012 SC 4ViewSoft SRL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.achartengine.metrics;
+
+/**
+ * The metrics of a chart frame: the time spent in each stage and the number
+ * of points considered and drawn.
+ */
+public class FrameMetrics {
+  /** The time spent in each stage, in nanoseconds. */
+  private final long[] mStageNanos = new long[FrameStage.values().length];
+  /** The frame number. */
+  private long mFrameNumber;
+  /** The number of points in the visible ranges. */
+  private long mPointsConsidered;
+  /** The number of points drawn. */
+  private long mPointsDrawn;
+  /** The number of objects allocated, -1 if not counted. */
+  private int mAllocations;
+
+  /**
+   * Returns the frame number, starting at 1 for the first recorded frame.
+   *
+   * @return the frame number
+   */
+  public long getFrameNumber() {
+    return mFrameNumber;
+  }
+
+  /**
+   * Returns the time spent in a stage.
+   *
+   * @param stage the stage
+   * @return the time in nanoseconds
+   */
+  public long getStageNanos(FrameStage stage) {
+    return mStageNanos[stage.ordinal()];
+  }
+
+  /**
+   * Returns the frame time, the sum of the stage times.
+   *
+   * @return the time in nanoseconds
+   */
+  public long getTotalNanos() {
+    long total = 0;
+    for (long nanos : mStageNanos) {
+      total += nanos;
+    }
+    return total;
+  }
+
+  /**
+   * Returns the number of points in the visible ranges of the series.
+   *
+   * @return the number of points considered
+   */
+  public long getPointsConsidered() {
+    return mPointsConsidered;
+  }
+
+  /**
+   * Returns the number of points drawn, after the level of detail reduction
+   * and the pixel decimation.
+   *
+   * @return the number of points drawn
+   */
+  public long getPointsDrawn() {
+    return mPointsDrawn;
+  }
+
+  /**
+   * Returns the number of points considered but not drawn.
+   *
+   * @return the number of points culled
+   */
+  public long getPointsCulled() {
+    return Math.max(0, mPointsConsidered - mPointsDrawn);
+  }
+
+  /**
+   * Returns the number of objects allocated by the drawing thread during the
+   * frame.
+   *
+   * @return the number of objects, -1 if the allocations are not counted
+   */
+  public int getAllocations() {
+    return mAllocations;
+  }
+
+  void reset(long frameNumber) {
+    mFrameNumber = frameNumber;
+    for (int i = 0; i < mStageNanos.length; i++) {
+      mStageNanos[i] = 0;
+    }
+    mPointsConsidered = 0;
+    mPointsDrawn = 0;
+    mAllocations = -1;
+  }
+
+  void addStageNanos(FrameStage stage, long nanos) {
+    mStageNanos[stage.ordinal()] += nanos;
+  }
+
+  void addPoints(int considered, int drawn) {
+    mPointsConsidered += considered;
+    mPointsDrawn += drawn;
+  }
+
+  void setAllocations(int allocations) {
+    mAllocations = allocations;
+  }
+
+}
@@ -0,0 +1,155 @@
+/**
+ * Copyright (C) 2009 - 2012 SC 4ViewSoft SRL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.achartengine.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import android.os.Debug;
+
+/**
+ * Records the time spent in each stage of the chart frames and reports it to
+ * the listeners at the end of each frame. The charts switch from one stage to
+ * the next while drawing, each switch reading the clock once, and only record
+ * between beginFrame() and endFrame(). A chart without a recorder doesn't
+ * measure anything, so the recording can be enabled on a sample of the
+ * devices only.
+ * <p>
+ * A recorder is used by the drawing thread only, the listeners being called
+ * from it.
+ */
+public class FrameRecorder {
+  /** The listeners. */
+  private final List<FrameMetricsListener> mListeners = new ArrayList<FrameMetricsListener>();
+  /** The metrics of the current frame. */
+  private final FrameMetrics mMetrics = new FrameMetrics();
+  /** The current stage, null out of a frame. */
+  private FrameStage mStage;
+  /** The time the current stage was entered. */
+  private long mStageStart;
+  /** The number of recorded frames. */
+  private long mFrameCount;
+  /** If the allocated objects are counted. */
+  private boolean mAllocationCounting;
+  /** The thread allocation count at the frame start. */
+  private int mAllocationsStart;
+
+  /**
+   * Adds a new frame metrics listener.
+   *
+   * @param listener the listener
+   */
+  public void addListener(FrameMetricsListener listener) {
+    mListeners.add(listener);
+  }
+
+  /**
+   * Removes a frame metrics listener.
+   *
+   * @param listener the listener
+   */
+  public void removeListener(FrameMetricsListener listener) {
+    mListeners.remove(listener);
+  }
+
+  /**
+   * Returns if the objects allocated by the drawing thread are counted.
+   *
+   * @return if the allocations are counted
+   */
+  public boolean isAllocationCounting() {
+    return mAllocationCounting;
+  }
+
+  /**
+   * Sets if the objects allocated by the drawing thread are counted. The
+   * counting uses the Dalvik allocation counters, which slow down all the
+   * allocations of the process, so it should only be enabled while
+   * investigating.
+   *
+   * @param counting if the allocations are to be counted
+   */
+  public void setAllocationCounting(boolean counting) {
+    if (counting != mAllocationCounting) {
+      mAllocationCounting = counting;
+      if (counting) {
+        Debug.startAllocCounting();
+      } else {
+        Debug.stopAllocCounting();
+      }
+    }
+  }
+
+  /**
+   * Starts recording a frame.
+   */
+  public void beginFrame() {
+    mMetrics.reset(++mFrameCount);
+    if (mAllocationCounting) {
+      mAllocationsStart = Debug.getThreadAllocCount();
+    }
+    mStage = FrameStage.OTHER;
+    mStageStart = System.nanoTime();
+  }
+
+  /**
+   * Switches to another stage of the current frame, if any.
+   *
+   * @param stage the stage to switch to, null to do nothing
+   * @return the stage left, to switch back to, or null out of a frame
+   */
+  public FrameStage enter(FrameStage stage) {
+    FrameStage previous = mStage;
+    if (previous == null || stage == null) {
+      return previous;
+    }
+    long now = System.nanoTime();
+    mMetrics.addStageNanos(previous, now - mStageStart);
+    mStage = stage;
+    mStageStart = now;
+    return previous;
+  }
+
+  /**
+   * Records points of the current frame, if any.
+   *
+   * @param considered the number of points in the visible range
+   * @param drawn the number of points drawn
+   */
+  public void addPoints(int considered, int drawn) {
+    if (mStage != null) {
+      mMetrics.addPoints(considered, drawn);
+    }
+  }
+
+  /**
+   * Ends recording the current frame, if any, and reports it to the listeners.
+   */
+  public void endFrame() {
+    if (mStage == null) {
+      return;
+    }
+    mMetrics.addStageNanos(mStage, System.nanoTime() - mStageStart);
+    mStage = null;
+    if (mAllocationCounting) {
+      mMetrics.setAllocations(Debug.getThreadAllocCount() - mAllocationsStart);
+    }
+    for (int i = 0; i < mListeners.size(); i++) {
+      mListeners.get(i).onFrame(mMetrics);
+    }
+  }
+
+}
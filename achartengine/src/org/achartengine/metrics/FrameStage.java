@@ -0,0 +1,36 @@
+/**
+ * Copyright (C) 2009 - 2012 SC 4ViewSoft SRL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.achartengine.metrics;
+
+/**
+ * The stages of a chart frame, the frame time being split between them.
+ */
+public enum FrameStage {
+  /** The frame setup, the background and any time not spent in another stage. */
+  OTHER,
+  /** The series snapshots, the axis ranges and the visible index ranges. */
+  RANGE,
+  /** The projection of the visible values to screen coordinates. */
+  PROJECTION,
+  /** The series drawing, with the pixel decimation. */
+  SERIES,
+  /** The margins, grid, labels, titles and axes. */
+  LABELS,
+  /** The legend. */
+  LEGEND,
+  /** The recording of the drawn points for the hit tests. */
+  HIT_AREAS;
+}
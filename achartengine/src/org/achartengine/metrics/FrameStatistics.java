@@ -0,0 +1,160 @@
+/**
+ * Copyright (C) 2009 - 2012 SC 4ViewSoft SRL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.achartengine.metrics;
+
+import java.util.Arrays;
+
+/**
+ * Keeps the metrics of the last frames and computes their percentiles. The
+ * statistics can be read from another thread than the drawing one.
+ */
+public class FrameStatistics implements FrameMetricsListener {
+  /** The default number of frames kept. */
+  public static final int DEFAULT_WINDOW = 120;
+  /** The stages. */
+  private static final FrameStage[] STAGES = FrameStage.values();
+  /** The number of frames kept. */
+  private final int mWindow;
+  /** The time of each stage, then the total time, of the kept frames. */
+  private final long[][] mNanos;
+  /** The number of points considered in the kept frames. */
+  private final long[] mPointsConsidered;
+  /** The number of points drawn in the kept frames. */
+  private final long[] mPointsDrawn;
+  /** The values sorted by the percentile computation. */
+  private final long[] mSorted;
+  /** The number of recorded frames. */
+  private long mFrameCount;
+
+  /**
+   * Builds new frame statistics, over the default number of frames.
+   */
+  public FrameStatistics() {
+    this(DEFAULT_WINDOW);
+  }
+
+  /**
+   * Builds new frame statistics.
+   *
+   * @param window the number of frames kept
+   */
+  public FrameStatistics(int window) {
+    if (window <= 0) {
+      throw new IllegalArgumentException("The window must be positive");
+    }
+    mWindow = window;
+    mNanos = new long[STAGES.length + 1][window];
+    mPointsConsidered = new long[window];
+    mPointsDrawn = new long[window];
+    mSorted = new long[window];
+  }
+
+  public synchronized void onFrame(FrameMetrics metrics) {
+    int slot = (int) (mFrameCount % mWindow);
+    for (FrameStage stage : STAGES) {
+      mNanos[stage.ordinal()][slot] = metrics.getStageNanos(stage);
+    }
+    mNanos[STAGES.length][slot] = metrics.getTotalNanos();
+    mPointsConsidered[slot] = metrics.getPointsConsidered();
+    mPointsDrawn[slot] = metrics.getPointsDrawn();
+    mFrameCount++;
+  }
+
+  /**
+   * Returns the number of frames recorded since the creation.
+   *
+   * @return the number of frames
+   */
+  public synchronized long getFrameCount() {
+    return mFrameCount;
+  }
+
+  /**
+   * Returns a percentile of the frame time, over the kept frames.
+   *
+   * @param percentile the percentile, between 0 and 100
+   * @return the time in nanoseconds, 0 if no frame was recorded
+   */
+  public synchronized long getTotalPercentile(double percentile) {
+    return percentile(mNanos[STAGES.length], percentile);
+  }
+
+  /**
+   * Returns a percentile of a stage time, over the kept frames.
+   *
+   * @param stage the stage
+   * @param percentile the percentile, between 0 and 100
+   * @return the time in nanoseconds, 0 if no frame was recorded
+   */
+  public synchronized long getStagePercentile(FrameStage stage, double percentile) {
+    return percentile(mNanos[stage.ordinal()], percentile);
+  }
+
+  /**
+   * Returns the average number of points considered per frame, over the kept
+   * frames.
+   *
+   * @return the average number of points considered
+   */
+  public synchronized long getAveragePointsConsidered() {
+    return average(mPointsConsidered);
+  }
+
+  /**
+   * Returns the average number of points drawn per frame, over the kept
+   * frames.
+   *
+   * @return the average number of points drawn
+   */
+  public synchronized long getAveragePointsDrawn() {
+    return average(mPointsDrawn);
+  }
+
+  /**
+   * Forgets the recorded frames.
+   */
+  public synchronized void reset() {
+    mFrameCount = 0;
+  }
+
+  private int getKeptCount() {
+    return (int) Math.min(mFrameCount, mWindow);
+  }
+
+  private long percentile(long[] values, double percentile) {
+    int count = getKeptCount();
+    if (count == 0) {
+      return 0;
+    }
+    System.arraycopy(values, 0, mSorted, 0, count);
+    Arrays.sort(mSorted, 0, count);
+    int index = (int) Math.ceil(percentile / 100 * count) - 1;
+    return mSorted[Math.max(0, Math.min(count - 1, index))];
+  }
+
+  private long average(long[] values) {
+    int count = getKeptCount();
+    if (count == 0) {
+      return 0;
+    }
+    long sum = 0;
+    for (int i = 0; i < count; i++) {
+      sum += values[i];
+    }
+    return sum / count;
+  }
+
+}
@@ -0,0 +1,171 @@
+/**
+ * Copyright (C) 2009 - 2012 SC 4ViewSoft SRL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.achartengine.model;
+
+import org.achartengine.util.MathHelper;
+import org.achartengine.util.RingXYStorage;
+
+/**
+ * An XY series keeping a sliding window of the latest values, for real-time
+ * feeds. Once the series holds capacity values, adding a new one evicts the
+ * oldest, with no allocation and in O(1) amortized, ranges included. Null
+ * values are not taken into account in the Y range.
+ */
+public class RingXYSeries extends XYSeries {
+  /** The circular storage of the values. */
+  private final RingXYStorage mRing;
+
+  /**
+   * Builds a new ring XY series.
+   *
+   * @param title the series title.
+   * @param capacity the maximum number of values
+   */
+  public RingXYSeries(String title, int capacity) {
+    this(title, 0, capacity);
+  }
+
+  /**
+   * Builds a new ring XY series.
+   *
+   * @param title the series title.
+   * @param scaleNumber the series scale number
+   * @param capacity the maximum number of values
+   */
+  public RingXYSeries(String title, int scaleNumber, int capacity) {
+    this(title, scaleNumber, new RingXYStorage(capacity));
+  }
+
+  private RingXYSeries(String title, int scaleNumber, RingXYStorage storage) {
+    super(title, scaleNumber, storage);
+    mRing = storage;
+  }
+
+  /**
+   * Returns the maximum number of values the series keeps.
+   *
+   * @return the series capacity
+   */
+  public int getCapacity() {
+    return mRing.getCapacity();
+  }
+
+  /**
+   * Adds a new value to the series, evicting the oldest one if the series is
+   * full. Values are expected to be added by increasing X, other values are
+   * inserted at their place in O(n).
+   *
+   * @param x the value for the X axis
+   * @param y the value for the Y axis
+   */
+  @Override
+  public synchronized void add(double x, double y) {
+    mRing.add(x, y);
+    invalidateSnapshot();
+  }
+
+  /**
+   * Adds a batch of values to the series, evicting the oldest ones if needed.
+   *
+   * @param xs the values for the X axis
+   * @param ys the values for the Y axis
+   * @param offset the index of the first value in the arrays
+   * @param length the number of values to add
+   */
+  @Override
+  public synchronized void addAll(double[] xs, double[] ys, int offset, int length) {
+    checkBatch(xs.length, ys.length, offset, length);
+    mRing.addAll(xs, ys, offset, length);
+    invalidateSnapshot();
+  }
+
+  /**
+   * Removes an existing value from the series. Removing the first value is
+   * O(1), other values are removed in O(n).
+   *
+   * @param index the index in the series of the value to remove
+   */
+  @Override
+  public synchronized void remove(int index) {
+    mRing.remove(index);
+    invalidateSnapshot();
+  }
+
+  /**
+   * Removes all the existing values from the series.
+   */
+  @Override
+  public synchronized void clear() {
+    mRing.clear();
+    invalidateSnapshot();
+  }
+
+  /**
+   * Returns the level of detail count. The series values are bounded by the
+   * capacity and shift on every eviction, so no level of detail is kept.
+   *
+   * @return 0
+   */
+  @Override
+  public synchronized int getLodLevelCount() {
+    return 0;
+  }
+
+  /**
+   * Fills the indexes of the values to be rendered for the given index range.
+   * No level of detail is kept, so only level 0 is served.
+   *
+   * @param start the first index of the range
+   * @param end the index after the last one of the range
+   * @param level the level of detail
+   * @param indexes the array to be filled, able to hold at least end - start
+   *          values
+   * @return the number of filled indexes, or -1 if the level is above 0
+   */
+  @Override
+  public synchronized int getLodIndexes(int start, int end, int level, int[] indexes) {
+    if (level > 0) {
+      return -1;
+    }
+    int count = 0;
+    for (int i = start; i < end; i++) {
+      indexes[count++] = i;
+    }
+    return count;
+  }
+
+  @Override
+  public synchronized double getMinX() {
+    return mRing.size() == 0 ? MathHelper.NULL_VALUE : mRing.getX(0);
+  }
+
+  @Override
+  public synchronized double getMaxX() {
+    int size = mRing.size();
+    return size == 0 ? -MathHelper.NULL_VALUE : mRing.getX(size - 1);
+  }
+
+  @Override
+  public synchronized double getMinY() {
+    return mRing.getMinY();
+  }
+
+  @Override
+  public synchronized double getMaxY() {
+    return mRing.getMaxY();
+  }
+
+}
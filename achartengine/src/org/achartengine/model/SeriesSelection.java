@@ -37,6 +37,26 @@ public class SeriesSelection {
     mY = y;
   }
 
+  /**
+   * Updates the selection, such as the same instance can be reused by
+   * queries running on every touch event.
+   * 
+   * @param seriesIndex the series index
+   * @param pointIndex the point index in the series
+   * @param xValue the point X value
+   * @param value the point value
+   * @param x the point X screen coordinate
+   * @param y the point Y screen coordinate
+   */
+  public void set(int seriesIndex, int pointIndex, double xValue, double value, float x, float y) {
+    mSeriesIndex = seriesIndex;
+    mPointIndex = pointIndex;
+    mXValue = xValue;
+    mValue = value;
+    mX = x;
+    mY = y;
+  }
+
   public int getSeriesIndex() {
     return mSeriesIndex;
   }
@@ -62,4 +82,4 @@ public class SeriesSelection {
   }
 	  
   
-}
\ No newline at end of file
+}
\ No newline at end of file
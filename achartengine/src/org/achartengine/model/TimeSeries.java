@@ -21,6 +21,12 @@ import java.util.Date;
  * A series for the date / time charts.
  */
 public class TimeSeries extends XYSeries {
+  /** The maximum number of values converted at once by the batch add. */
+  private static final int BATCH_CHUNK = 1024;
+  /** The X values of a batch chunk, reused between chunks. */
+  private transient double[] mBatchX;
+  /** The Y values of a batch chunk, reused between chunks. */
+  private transient double[] mBatchY;
 
   /**
    * Builds a new date / time series.
@@ -40,4 +46,35 @@ public class TimeSeries extends XYSeries {
   public synchronized void add(Date x, double y) {
     super.add(x.getTime(), y);
   }
+
+  /**
+   * Adds a batch of values to the series, without creating any Date. The
+   * values are converted and added by chunks of at most 1024 values, through
+   * small buffers kept between the batches, while holding the series lock.
+   * 
+   * @param epochMillis the date / time values for the X axis, in milliseconds
+   *          since the epoch
+   * @param ys the values for the Y axis
+   * @param offset the index of the first value in the arrays
+   * @param length the number of values to add
+   */
+  public synchronized void addAll(long[] epochMillis, double[] ys, int offset, int length) {
+    checkBatch(epochMillis.length, ys.length, offset, length);
+    int chunk = Math.min(length, BATCH_CHUNK);
+    if (mBatchX == null || mBatchX.length < chunk) {
+      mBatchX = new double[chunk];
+      mBatchY = new double[chunk];
+    }
+    double[] xs = mBatchX;
+    double[] batchYs = mBatchY;
+    int end = offset + length;
+    for (int start = offset; start < end; start += chunk) {
+      int count = Math.min(chunk, end - start);
+      for (int i = 0; i < count; i++) {
+        xs[i] = epochMillis[start + i];
+      }
+      System.arraycopy(ys, start, batchYs, 0, count);
+      addAll(xs, batchYs, 0, count);
+    }
+  }
 }
@@ -25,6 +25,11 @@ import java.util.List;
 public class XYMultipleSeriesDataset implements Serializable {
   /** The included series. */
   private List<XYSeries> mSeries = new ArrayList<XYSeries>();
+  /**
+   * The included series, published as an array replaced on every change, such
+   * as they can be read without locking.
+   */
+  private transient volatile XYSeries[] mSeriesArray;
 
   /**
    * Adds a new XY series to the list.
@@ -33,6 +38,7 @@ public class XYMultipleSeriesDataset implements Serializable {
    */
   public synchronized void addSeries(XYSeries series) {
     mSeries.add(series);
+    publish();
   }
 
   /**
@@ -43,6 +49,7 @@ public class XYMultipleSeriesDataset implements Serializable {
    */
   public synchronized void addSeries(int index, XYSeries series) {
     mSeries.add(index, series);
+    publish();
   }
 
   /**
@@ -52,6 +59,7 @@ public class XYMultipleSeriesDataset implements Serializable {
    */
   public synchronized void removeSeries(int index) {
     mSeries.remove(index);
+    publish();
   }
 
   /**
@@ -61,6 +69,7 @@ public class XYMultipleSeriesDataset implements Serializable {
    */
   public synchronized void removeSeries(XYSeries series) {
     mSeries.remove(series);
+    publish();
   }
 
   /**
@@ -69,8 +78,8 @@ public class XYMultipleSeriesDataset implements Serializable {
    * @param index the index
    * @return the XY series at the index
    */
-  public synchronized XYSeries getSeriesAt(int index) {
-    return mSeries.get(index);
+  public XYSeries getSeriesAt(int index) {
+    return getSeriesArray()[index];
   }
 
   /**
@@ -78,8 +87,8 @@ public class XYMultipleSeriesDataset implements Serializable {
    * 
    * @return the XY series count
    */
-  public synchronized int getSeriesCount() {
-    return mSeries.size();
+  public int getSeriesCount() {
+    return getSeriesArray().length;
   }
 
   /**
@@ -87,8 +96,32 @@ public class XYMultipleSeriesDataset implements Serializable {
    * 
    * @return the XY series array
    */
-  public synchronized XYSeries[] getSeries() {
-    return mSeries.toArray(new XYSeries[0]);
+  public XYSeries[] getSeries() {
+    return getSeriesArray().clone();
+  }
+
+  /**
+   * Publishes the current list of series.
+   */
+  private void publish() {
+    mSeriesArray = mSeries.toArray(new XYSeries[mSeries.size()]);
+  }
+
+  /**
+   * Returns the published array of series, publishing it first if needed, as
+   * after deserialization.
+   * 
+   * @return the series array, not to be modified
+   */
+  private XYSeries[] getSeriesArray() {
+    XYSeries[] series = mSeriesArray;
+    if (series == null) {
+      synchronized (this) {
+        publish();
+        series = mSeriesArray;
+      }
+    }
+    return series;
   }
 
 }
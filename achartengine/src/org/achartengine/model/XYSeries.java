@@ -16,12 +16,14 @@
 package org.achartengine.model;
 
 import java.io.Serializable;
-import java.util.Collection;
 import java.util.SortedMap;
+import java.util.TreeMap;
 
-import org.achartengine.util.IndexXYMap;
+import org.achartengine.util.ArrayXYStorage;
+import org.achartengine.util.IXYStorage;
 import org.achartengine.util.MathHelper;
-import org.achartengine.util.XYEntry;
+import org.achartengine.util.MinMaxPyramid;
+import org.achartengine.util.XYSnapshot;
 
 /**
  * An XY series encapsulates values for XY charts like line, time, area,
@@ -30,8 +32,8 @@ import org.achartengine.util.XYEntry;
 public class XYSeries implements Serializable {
   /** The series title. */
   private String mTitle;
-  /** A map to contain values for X and Y axes and index for each bundle */
-  private final IndexXYMap<Double, Double> mXY = new IndexXYMap<Double, Double>();
+  /** The storage of the X and Y values, sorted by X. */
+  private final IXYStorage mXY;
   /** The minimum value for the X axis. */
   private double mMinX = MathHelper.NULL_VALUE;
   /** The maximum value for the X axis. */
@@ -42,6 +44,10 @@ public class XYSeries implements Serializable {
   private double mMaxY = -MathHelper.NULL_VALUE;
   /** The scale number for this series. */
   private final int mScaleNumber;
+  /** The level of detail pyramid, built on the first request. */
+  private transient MinMaxPyramid mPyramid;
+  /** The last published snapshot, null when the values changed since. */
+  private transient volatile XYSnapshot mSnapshot;
 
   /**
    * Builds a new XY series.
@@ -59,8 +65,20 @@ public class XYSeries implements Serializable {
    * @param scaleNumber the series scale number
    */
   public XYSeries(String title, int scaleNumber) {
+    this(title, scaleNumber, new ArrayXYStorage());
+  }
+
+  /**
+   * Builds a new XY series backed by the given storage.
+   * 
+   * @param title the series title.
+   * @param scaleNumber the series scale number
+   * @param storage the storage to keep the series values into
+   */
+  public XYSeries(String title, int scaleNumber, IXYStorage storage) {
     mTitle = title;
     mScaleNumber = scaleNumber;
+    mXY = storage;
     initRange();
   }
 
@@ -69,18 +87,22 @@ public class XYSeries implements Serializable {
   }
 
   /**
-   * Initializes the range for both axes.
+   * Initializes the range for both axes. The values being sorted by X, the X
+   * range is given by the first and last values, while the Y range is kept by
+   * the storage.
    */
   private void initRange() {
-    mMinX = MathHelper.NULL_VALUE;
-    mMaxX = -MathHelper.NULL_VALUE;
-    mMinY = MathHelper.NULL_VALUE;
-    mMaxY = -MathHelper.NULL_VALUE;
-    int length = getItemCount();
-    for (int k = 0; k < length; k++) {
-      double x = getX(k);
-      double y = getY(k);
-      updateRange(x, y);
+    int length = mXY.size();
+    if (length == 0) {
+      mMinX = MathHelper.NULL_VALUE;
+      mMaxX = -MathHelper.NULL_VALUE;
+      mMinY = MathHelper.NULL_VALUE;
+      mMaxY = -MathHelper.NULL_VALUE;
+    } else {
+      mMinX = mXY.getX(0);
+      mMaxX = mXY.getX(length - 1);
+      mMinY = mXY.getMinY();
+      mMaxY = mXY.getMaxY();
     }
   }
 
@@ -122,8 +144,76 @@ public class XYSeries implements Serializable {
    * @param y the value for the Y axis
    */
   public synchronized void add(double x, double y) {
-    mXY.put(x, y);
+    int index = mXY.add(x, y);
     updateRange(x, y);
+    updatePyramid(index);
+    invalidateSnapshot();
+  }
+
+  /**
+   * Adds a batch of values to the series, with a single lock acquisition and
+   * range update. A batch sorted by X is merged in a single pass, in O(n) when
+   * it starts after the last existing value.
+   * 
+   * @param xs the values for the X axis
+   * @param ys the values for the Y axis
+   * @param offset the index of the first value in the arrays
+   * @param length the number of values to add
+   */
+  public synchronized void addAll(double[] xs, double[] ys, int offset, int length) {
+    checkBatch(xs.length, ys.length, offset, length);
+    if (length == 0) {
+      return;
+    }
+    int index = mXY.addAll(xs, ys, offset, length);
+    double minY = mMinY;
+    double maxY = mMaxY;
+    int end = offset + length;
+    for (int i = offset; i < end; i++) {
+      double y = ys[i];
+      if (y < minY) {
+        minY = y;
+      }
+      if (y > maxY) {
+        maxY = y;
+      }
+    }
+    mMinX = Math.min(mMinX, mXY.getX(0));
+    mMaxX = Math.max(mMaxX, mXY.getX(mXY.size() - 1));
+    mMinY = minY;
+    mMaxY = maxY;
+    updatePyramid(index);
+    invalidateSnapshot();
+  }
+
+  /**
+   * Checks the bounds of a batch of values.
+   * 
+   * @param xLength the X values array length
+   * @param yLength the Y values array length
+   * @param offset the index of the first value in the arrays
+   * @param length the number of values
+   */
+  protected static void checkBatch(int xLength, int yLength, int offset, int length) {
+    if (offset < 0 || length < 0 || offset + length > xLength || offset + length > yLength) {
+      throw new IllegalArgumentException("Invalid batch offset " + offset + " and length "
+          + length);
+    }
+  }
+
+  /**
+   * Updates the level of detail pyramid, if any, after values were added.
+   * 
+   * @param index the lowest index a value was added at
+   */
+  private void updatePyramid(int index) {
+    if (mPyramid != null) {
+      if (index == mPyramid.getCount()) {
+        mPyramid.update();
+      } else {
+        mPyramid.invalidate(index);
+      }
+    }
   }
 
   /**
@@ -132,9 +222,17 @@ public class XYSeries implements Serializable {
    * @param index the index in the series of the value to remove
    */
   public synchronized void remove(int index) {
-    XYEntry<Double, Double> removedEntry = mXY.removeByIndex(index);
-    double removedX = removedEntry.getKey();
-    double removedY = removedEntry.getValue();
+    double removedX = mXY.getX(index);
+    double removedY = mXY.getY(index);
+    mXY.remove(index);
+    if (mPyramid != null) {
+      if (index == 0) {
+        mPyramid.removeFirst();
+      } else {
+        mPyramid.invalidate(index);
+      }
+    }
+    invalidateSnapshot();
     if (removedX == mMinX || removedX == mMaxX || removedY == mMinY || removedY == mMaxY) {
       initRange();
     }
@@ -145,9 +243,54 @@ public class XYSeries implements Serializable {
    */
   public synchronized void clear() {
     mXY.clear();
+    if (mPyramid != null) {
+      mPyramid.invalidate(0);
+    }
+    invalidateSnapshot();
     initRange();
   }
 
+  /**
+   * Returns an immutable snapshot of the series values and range. The
+   * snapshot is published once per change, so readers like the chart
+   * rendering can take one per frame and iterate it without locking, while
+   * other threads keep adding values. The snapshot shares the values storage
+   * as long as the values are only appended.
+   * 
+   * @return the series snapshot
+   */
+  public XYSnapshot getSnapshot() {
+    XYSnapshot snapshot = mSnapshot;
+    if (snapshot == null) {
+      synchronized (this) {
+        snapshot = mSnapshot;
+        if (snapshot == null) {
+          snapshot = takeSnapshot();
+          mSnapshot = snapshot;
+        }
+      }
+    }
+    return snapshot;
+  }
+
+  /**
+   * Takes a new snapshot of the series values, called with the series lock
+   * held when the published snapshot was discarded.
+   * 
+   * @return the new snapshot
+   */
+  protected XYSnapshot takeSnapshot() {
+    return mXY.snapshot();
+  }
+
+  /**
+   * Discards the published snapshot, to be called after every change of the
+   * series values.
+   */
+  protected void invalidateSnapshot() {
+    mSnapshot = null;
+  }
+
   /**
    * Returns the X axis value at the specified index.
    * 
@@ -155,7 +298,7 @@ public class XYSeries implements Serializable {
    * @return the X value
    */
   public synchronized double getX(int index) {
-    return mXY.getXByIndex(index);
+    return mXY.getX(index);
   }
 
   /**
@@ -165,7 +308,7 @@ public class XYSeries implements Serializable {
    * @return the Y value
    */
   public synchronized double getY(int index) {
-    return mXY.getYByIndex(index);
+    return mXY.getY(index);
   }
 
   /**
@@ -173,38 +316,125 @@ public class XYSeries implements Serializable {
    * 
    * @param start start x value
    * @param stop stop x value
-   * @return
+   * @param beforeAfterPoints the number of points to add before the start and
+   *          after the stop
+   * @return the sorted map of the values in range
    */
   public synchronized SortedMap<Double, Double> getRange(double start, double stop,
       int beforeAfterPoints) {
-    // we need to add one point before the start and one point after the end (if
-    // there are any)
-    // to ensure that line doesn't end before the end of the screen
-
-    // this would be simply: start = mXY.lowerKey(start) but NavigableMap is
-    // available since API 9
-    SortedMap<Double, Double> headMap = mXY.headMap(start);
-    if (headMap.size() != 0) {
-      start = headMap.lastKey();
+    int[] indexRange = new int[2];
+    getIndexRange(start, stop, beforeAfterPoints, indexRange);
+    SortedMap<Double, Double> range = new TreeMap<Double, Double>();
+    for (int i = indexRange[0]; i <= indexRange[1]; i++) {
+      range.put(mXY.getX(i), mXY.getY(i));
     }
+    return range;
+  }
 
-    // this would be simply: end = mXY.higherKey(end) but NavigableMap is
-    // available since API 9
-    // so we have to do this hack in order to support older versions
-    SortedMap<Double, Double> tailMap = mXY.tailMap(stop);
-    if (tailMap.size() != 0) {
-      Collection<Double> tailCollection = tailMap.keySet();
-      if (tailMap.size() > 1) {
-        stop = (Double) tailCollection.toArray()[1];
-      } else {
-        stop += tailMap.firstKey();
-      }
+  /**
+   * Computes the indexes of the first and last values to be rendered between
+   * the given start and stop X values. The search is binary, so it costs
+   * O(log n) and does not allocate anything.
+   * 
+   * @param start start x value
+   * @param stop stop x value
+   * @param beforeAfterPoints the number of points to add before the start and
+   *          after the stop
+   * @param indexRange the array to be filled with the first and the last index;
+   *          the last index is lower than the first one if there are no values
+   *          to be rendered
+   */
+  public synchronized void getIndexRange(double start, double stop, int beforeAfterPoints,
+      int[] indexRange) {
+    // we need to add points before the start and after the end (if there are
+    // any) to ensure that line doesn't end before the end of the screen
+    indexRange[0] = Math.max(0, mXY.ceilingIndex(start) - beforeAfterPoints);
+    indexRange[1] = Math.min(mXY.size() - 1, mXY.ceilingIndex(stop) + beforeAfterPoints - 1);
+  }
+
+  /**
+   * Returns the number of levels of detail available for the series values.
+   * The level k summarizes the values in buckets of 2^k consecutive values.
+   * 
+   * @return the highest available level of detail
+   */
+  public synchronized int getLodLevelCount() {
+    return getPyramid().getLevelCount();
+  }
+
+  /**
+   * Fills the indexes of the values to be rendered for the given index range
+   * at a level of detail. At level k, each complete bucket of 2^k values is
+   * reduced to its first, minimum, maximum and last value, or to -1 if it only
+   * contains null values. The summaries are built the first time they are
+   * needed and kept up to date while values are appended.
+   * 
+   * @param start the first index of the range
+   * @param end the index after the last one of the range
+   * @param level the level of detail
+   * @param indexes the array to be filled, able to hold at least
+   *          MinMaxPyramid.getMaxIndexCount(end - start, level) values
+   * @return the number of filled indexes, or -1 if the level is above the
+   *         level count
+   */
+  public synchronized int getLodIndexes(int start, int end, int level, int[] indexes) {
+    MinMaxPyramid pyramid = getPyramid();
+    if (level > pyramid.getLevelCount()) {
+      return -1;
+    }
+    return pyramid.getIndexes(start, end, level, indexes);
+  }
+
+  /**
+   * Fills the indexes of the values of a snapshot to be rendered for the given
+   * index range at a level of detail. If values were inserted or removed since
+   * the snapshot was taken, the indexes of the level of detail no longer match
+   * the snapshot and none are returned: the caller then renders the range of
+   * the snapshot itself.
+   * 
+   * @param snapshot the snapshot the indexes refer to
+   * @param start the first index of the range
+   * @param end the index after the last one of the range, not greater than
+   *          the snapshot size
+   * @param level the level of detail
+   * @param indexes the array to be filled, able to hold at least
+   *          MinMaxPyramid.getMaxIndexCount(end - start, level) values
+   * @return the number of filled indexes, or -1 if the snapshot is stale or
+   *         the level is above the level count
+   */
+  public synchronized int getLodIndexes(XYSnapshot snapshot, int start, int end, int level,
+      int[] indexes) {
+    if (snapshot.getStructureVersion() != mXY.getStructureVersion()) {
+      return -1;
     }
-    return mXY.subMap(start, stop);
+    return getLodIndexes(start, end, level, indexes);
   }
 
-  public int getIndexForKey(double key) {
-    return mXY.getIndexForKey(key);
+  /**
+   * Returns the level of detail pyramid, building or updating it if needed.
+   * 
+   * @return the up to date pyramid
+   */
+  private MinMaxPyramid getPyramid() {
+    if (mPyramid == null) {
+      mPyramid = new MinMaxPyramid(mXY);
+    }
+    mPyramid.update();
+    return mPyramid;
+  }
+
+  /**
+   * Returns the index of the first value having the given X.
+   * 
+   * @param key the X value
+   * @return the value index or -1 if there is no such value
+   */
+  public synchronized int getIndexForKey(double key) {
+    int index = mXY.ceilingIndex(key);
+    if (index < mXY.size() && mXY.getX(index) == key) {
+      return index;
+    }
+    return -1;
   }
   
   /**
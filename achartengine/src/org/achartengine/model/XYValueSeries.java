@@ -15,18 +15,21 @@
  */
 package org.achartengine.model;
 
-import java.util.ArrayList;
-import java.util.List;
-
+import org.achartengine.util.ArrayXYStorage;
 import org.achartengine.util.MathHelper;
+import org.achartengine.util.XYSnapshot;
+import org.achartengine.util.XYValueSnapshot;
 
 /**
  * An extension of the XY series which adds a third dimension. It is used for XY
  * charts like bubble.
  */
 public class XYValueSeries extends XYSeries {
-  /** A list to contain the series values. */
-  private List<Double> mValue = new ArrayList<Double>();
+  /**
+   * The series values, stored as the Y of points having the same X as the
+   * series ones, such as they are inserted and removed at the same indexes.
+   */
+  private final ArrayXYStorage mValue = new ArrayXYStorage();
   /** The minimum value. */
   private double mMinValue = MathHelper.NULL_VALUE;
   /** The maximum value. */
@@ -50,19 +53,20 @@ public class XYValueSeries extends XYSeries {
    */
   public synchronized void add(double x, double y, double value) {
     super.add(x, y);
-    mValue.add(value);
+    mValue.add(x, value);
     updateRange(value);
   }
 
   /**
-   * Initializes the values range.
+   * Initializes the values range, from the range kept by the values storage.
    */
   private void initRange() {
-    mMinValue = MathHelper.NULL_VALUE;
-    mMaxValue = MathHelper.NULL_VALUE;
-    int length = getItemCount();
-    for (int k = 0; k < length; k++) {
-      updateRange(getValue(k));
+    if (mValue.size() == 0) {
+      mMinValue = MathHelper.NULL_VALUE;
+      mMaxValue = -MathHelper.NULL_VALUE;
+    } else {
+      mMinValue = mValue.getMinY();
+      mMaxValue = mValue.getMaxY();
     }
   }
 
@@ -86,6 +90,25 @@ public class XYValueSeries extends XYSeries {
     add(x, y, 0d);
   }
 
+  /**
+   * Adds a batch of values to the series, with a 0 third dimension value.
+   * 
+   * @param xs the values for the X axis
+   * @param ys the values for the Y axis
+   * @param offset the index of the first value in the arrays
+   * @param length the number of values to add
+   */
+  public synchronized void addAll(double[] xs, double[] ys, int offset, int length) {
+    super.addAll(xs, ys, offset, length);
+    int end = offset + length;
+    for (int i = offset; i < end; i++) {
+      mValue.add(xs[i], 0d);
+    }
+    if (length > 0) {
+      updateRange(0d);
+    }
+  }
+
   /**
    * Removes an existing value from the series.
    * 
@@ -93,7 +116,8 @@ public class XYValueSeries extends XYSeries {
    */
   public synchronized void remove(int index) {
     super.remove(index);
-    double removedValue = mValue.remove(index);
+    double removedValue = mValue.getY(index);
+    mValue.remove(index);
     if (removedValue == mMinValue || removedValue == mMaxValue) {
       initRange();
     }
@@ -108,6 +132,16 @@ public class XYValueSeries extends XYSeries {
     initRange();
   }
 
+  /**
+   * Takes a snapshot of the points along with a snapshot of the values, such
+   * as a chart reads the values of the points it draws from the same time.
+   * 
+   * @return the new snapshot, an XYValueSnapshot
+   */
+  protected XYSnapshot takeSnapshot() {
+    return new XYValueSnapshot(super.takeSnapshot(), mValue.snapshot());
+  }
+
   /**
    * Returns the value at the specified index.
    * 
@@ -115,7 +149,7 @@ public class XYValueSeries extends XYSeries {
    * @return the value
    */
   public synchronized double getValue(int index) {
-    return mValue.get(index);
+    return mValue.getY(index);
   }
 
   /**
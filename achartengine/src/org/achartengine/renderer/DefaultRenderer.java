@@ -115,6 +115,9 @@ public class DefaultRenderer implements Serializable {
 
   /** If zooming is strict (on X axis OR on Y axis), or not strict (both X and Y axis) **/
   private boolean mZoomStrict = false;
+
+  /** The number of changes of the styling properties. */
+  private int mStyleVersion;
   
   /**
    * Returns the chart title.
@@ -132,6 +135,7 @@ public class DefaultRenderer implements Serializable {
    */
   public void setChartTitle(String title) {
     mChartTitle = title;
+    styleChanged();
   }
 
   /**
@@ -150,6 +154,7 @@ public class DefaultRenderer implements Serializable {
    */
   public void setChartTitleTextSize(float textSize) {
     mChartTitleTextSize = textSize;
+    styleChanged();
   }
 
   /**
@@ -159,6 +164,7 @@ public class DefaultRenderer implements Serializable {
    */
   public void addSeriesRenderer(SimpleSeriesRenderer renderer) {
     mRenderers.add(renderer);
+    styleChanged();
   }
 
   /**
@@ -169,6 +175,7 @@ public class DefaultRenderer implements Serializable {
    */
   public void addSeriesRenderer(int index, SimpleSeriesRenderer renderer) {
     mRenderers.add(index, renderer);
+    styleChanged();
   }
 
   /**
@@ -177,7 +184,34 @@ public class DefaultRenderer implements Serializable {
    * @param renderer the renderer to be removed
    */
   public void removeSeriesRenderer(SimpleSeriesRenderer renderer) {
-    mRenderers.remove(renderer);
+    if (mRenderers.remove(renderer)) {
+      // keeps the style version, which sums the series renderer ones, growing
+      mStyleVersion += renderer.getStyleVersion();
+      styleChanged();
+    }
+  }
+
+  /**
+   * Returns the number of changes of the styling properties of this renderer
+   * and of its series renderers, for the charts caching the rendered chart to
+   * know when to render it again.
+   * 
+   * @return the style version
+   */
+  public int getStyleVersion() {
+    int version = mStyleVersion;
+    for (SimpleSeriesRenderer renderer : mRenderers) {
+      version += renderer.getStyleVersion();
+    }
+    return version;
+  }
+
+  /**
+   * Records a change of a styling property, to be called by the setters of
+   * the properties changing the rendered chart.
+   */
+  protected void styleChanged() {
+    mStyleVersion++;
   }
 
   /**
@@ -224,6 +258,7 @@ public class DefaultRenderer implements Serializable {
    */
   public void setBackgroundColor(int color) {
     mBackgroundColor = color;
+    styleChanged();
   }
 
   /**
@@ -242,6 +277,7 @@ public class DefaultRenderer implements Serializable {
    */
   public void setApplyBackgroundColor(boolean apply) {
     mApplyBackgroundColor = apply;
+    styleChanged();
   }
 
   /**
@@ -260,6 +296,7 @@ public class DefaultRenderer implements Serializable {
    */
   public void setAxesColor(int color) {
     mAxesColor = color;
+    styleChanged();
   }
 
 
@@ -279,6 +316,7 @@ public class DefaultRenderer implements Serializable {
    */
   public void setLabelsColor(int color) {
     mLabelsColor = color;
+    styleChanged();
   }
 
   /**
@@ -297,6 +335,7 @@ public class DefaultRenderer implements Serializable {
    */
   public void setLabelsTextSize(float textSize) {
     mLabelsTextSize = textSize;
+    styleChanged();
   }
 
   /**
@@ -315,6 +354,7 @@ public class DefaultRenderer implements Serializable {
    */
   public void setShowAxes(boolean showAxes) {
     mShowAxes = showAxes;
+    styleChanged();
   }
 
   /**
@@ -333,6 +373,7 @@ public class DefaultRenderer implements Serializable {
    */
   public void setShowLabels(boolean showLabels) {
     mShowLabels = showLabels;
+    styleChanged();
   }
 
   /**
@@ -360,6 +401,7 @@ public class DefaultRenderer implements Serializable {
    */
   public void setShowGridX(boolean showGrid) {
     mShowGridX = showGrid;
+    styleChanged();
   }
 
   /**
@@ -369,6 +411,7 @@ public class DefaultRenderer implements Serializable {
    */
   public void setShowGridY(boolean showGrid) {
     mShowGridY = showGrid;
+    styleChanged();
   }
 
   /**
@@ -397,6 +440,7 @@ public class DefaultRenderer implements Serializable {
    */
   public void setShowCustomTextGrid(boolean showGrid) {
     mShowCustomTextGrid = showGrid;
+    styleChanged();
   }
 
   /**
@@ -415,6 +459,7 @@ public class DefaultRenderer implements Serializable {
    */
   public void setShowLegend(boolean showLegend) {
     mShowLegend = showLegend;
+    styleChanged();
   }
 
   /**
@@ -433,6 +478,7 @@ public class DefaultRenderer implements Serializable {
    */
   public void setFitLegend(boolean fit) {
     mFitLegend = fit;
+    styleChanged();
   }
 
   /**
@@ -469,6 +515,7 @@ public class DefaultRenderer implements Serializable {
    */
   public void setLegendTextSize(float textSize) {
     mLegendTextSize = textSize;
+    styleChanged();
   }
 
   /**
@@ -480,6 +527,7 @@ public class DefaultRenderer implements Serializable {
   public void setTextTypeface(String typefaceName, int style) {
     mTextTypefaceName = typefaceName;
     mTextTypefaceStyle = style;
+    styleChanged();
   }
 
   /**
@@ -498,6 +546,7 @@ public class DefaultRenderer implements Serializable {
    */
   public void setAntialiasing(boolean antialiasing) {
     mAntialiasing = antialiasing;
+    styleChanged();
   }
 
   /**
@@ -526,6 +575,7 @@ public class DefaultRenderer implements Serializable {
    */
   public void setScale(float scale) {
     mScale = scale;
+    styleChanged();
   }
 
   /**
@@ -670,6 +720,7 @@ public class DefaultRenderer implements Serializable {
    */
   public void setLegendHeight(int height) {
     mLegendHeight = height;
+    styleChanged();
   }
 
   /**
@@ -690,6 +741,7 @@ public class DefaultRenderer implements Serializable {
    */
   public void setMargins(int[] margins) {
     mMargins = margins;
+    styleChanged();
   }
 
   /**
@@ -731,6 +783,7 @@ public class DefaultRenderer implements Serializable {
    */
   public void setStartAngle(float startAngle) {
     mStartAngle = startAngle;
+    styleChanged();
   }
 
   public boolean isAnimated() {
@@ -745,6 +798,12 @@ public class DefaultRenderer implements Serializable {
 	  return mDelayAnimation;
   }
   
+  /**
+   * Sets the animation duration. The animation progresses with the time
+   * elapsed, whatever the frame rate and the number of points.
+   * 
+   * @param delayMillis the animation duration in milliseconds
+   */
   public void setDelayAnimation(long delayMillis) {
 	  mDelayAnimation = delayMillis;
   }
@@ -48,6 +48,8 @@ public class SimpleSeriesRenderer implements Serializable {
   private int mGradientStopColor;
   
   private boolean mDisplayChart = true;
+  /** The number of changes of the styling properties. */
+  private int mStyleVersion;
   
   /**
    * Returns the series color.
@@ -65,6 +67,7 @@ public class SimpleSeriesRenderer implements Serializable {
    */
   public void setColor(int color) {
     mColor = color;
+    styleChanged();
   }
 
   /**
@@ -83,6 +86,7 @@ public class SimpleSeriesRenderer implements Serializable {
    */
   public void setDisplayChartValues(boolean display) {
     mDisplayChartValues = display;
+    styleChanged();
   }
 
   /**
@@ -101,6 +105,7 @@ public class SimpleSeriesRenderer implements Serializable {
    */
   public void setChartValuesTextSize(float textSize) {
     mChartValuesTextSize = textSize;
+    styleChanged();
   }
 
   
@@ -120,6 +125,7 @@ public class SimpleSeriesRenderer implements Serializable {
    */
   public void setChartValuesTextAlign(Align align) {
     mChartValuesTextAlign = align;
+    styleChanged();
   }
   
   /**
@@ -138,6 +144,7 @@ public class SimpleSeriesRenderer implements Serializable {
    */
   public void setChartValuesSpacing(float spacing) {
     mChartValuesSpacing = spacing;
+    styleChanged();
   }
 
   /**
@@ -156,6 +163,7 @@ public class SimpleSeriesRenderer implements Serializable {
    */
   public void setStroke(BasicStroke stroke) {
     mStroke = stroke;
+    styleChanged();
   }
   
   /**
@@ -172,6 +180,7 @@ public class SimpleSeriesRenderer implements Serializable {
    */
   public void setGradientEnabled(boolean enabled) {
     mGradientEnabled = enabled;
+    styleChanged();
   }
 
   /**
@@ -198,6 +207,7 @@ public class SimpleSeriesRenderer implements Serializable {
   public void setGradientStart(double start, int color) {
     mGradientStartValue = start;
     mGradientStartColor = color;
+    styleChanged();
   }
 
   /**
@@ -224,6 +234,7 @@ public class SimpleSeriesRenderer implements Serializable {
   public void setGradientStop(double start, int color) {
     mGradientStopValue = start;
     mGradientStopColor = color;
+    styleChanged();
   }
 
   public boolean isDisplayChart() {
@@ -232,6 +243,24 @@ public class SimpleSeriesRenderer implements Serializable {
 
   public void setDisplayChart(boolean displayChart) {
     this.mDisplayChart = displayChart;
+    styleChanged();
+  }
+
+  /**
+   * Returns the number of changes of the styling properties of the series.
+   * 
+   * @return the style version
+   */
+  public int getStyleVersion() {
+    return mStyleVersion;
+  }
+
+  /**
+   * Records a change of a styling property, to be called by the setters of
+   * the properties changing the rendered series.
+   */
+  protected void styleChanged() {
+    mStyleVersion++;
   }
   
   
@@ -53,6 +53,8 @@ public class XYMultipleSeriesRenderer extends DefaultRenderer {
   private Map<Double, String> mXTextLabels = new TreeMap<Double, String>();
   /** The Y axis text labels. */
   private Map<Integer, Map<Double, String>> mYTextLabels = new LinkedHashMap<Integer, Map<Double, String>>();
+  /** The number of changes of the text labels. */
+  private int mTextLabelsVersion;
   /** A flag for enabling or not the pan on the X axis. */
   private boolean mPanXEnabled = true;
   /** A flag for enabling or not the pan on the Y axis. */
@@ -63,6 +65,16 @@ public class XYMultipleSeriesRenderer extends DefaultRenderer {
   private boolean mZoomYEnabled = true;
   /** The spacing between bars, in bar charts. */
   private double mBarSpacing = 0;
+  /** A flag for enabling or not the decimation of the line series points. */
+  private boolean mDecimationEnabled = false;
+  /** A flag for enabling or not the caching of the static chart layers. */
+  private boolean mLayeredRendering = false;
+  /** A flag for enabling or not the caching of the animated series. */
+  private boolean mIncrementalAnimation = false;
+  /** A flag for enabling or not the scrolling of the series on X range shifts. */
+  private boolean mFollowLatest = false;
+  /** A flag for enabling or not the scrolling of the series while panning. */
+  private boolean mPanByTranslation = false;
   /** The margins colors. */
   private int mMarginsColor = NO_COLOR;
   /** The pan limits. */
@@ -172,6 +184,7 @@ public class XYMultipleSeriesRenderer extends DefaultRenderer {
    */
   public void setOrientation(Orientation orientation) {
     mOrientation = orientation;
+    styleChanged();
   }
 
   /**
@@ -190,6 +203,7 @@ public class XYMultipleSeriesRenderer extends DefaultRenderer {
    */
   public void setXTitle(String title) {
     mXTitle = title;
+    styleChanged();
   }
 
   /**
@@ -218,6 +232,7 @@ public class XYMultipleSeriesRenderer extends DefaultRenderer {
    */
   public void setYTitle(String title) {
     setYTitle(title, 0);
+    styleChanged();
   }
 
   /**
@@ -228,6 +243,7 @@ public class XYMultipleSeriesRenderer extends DefaultRenderer {
    */
   public void setYTitle(String title, int scale) {
     mYTitle[scale] = title;
+    styleChanged();
   }
 
   /**
@@ -246,6 +262,7 @@ public class XYMultipleSeriesRenderer extends DefaultRenderer {
    */
   public void setAxisTitleTextSize(float textSize) {
     mAxisTitleTextSize = textSize;
+    styleChanged();
   }
 
   /**
@@ -504,6 +521,7 @@ public class XYMultipleSeriesRenderer extends DefaultRenderer {
    */
   public void setXLabels(int xLabels) {
     mXLabels = xLabels;
+    styleChanged();
   }
 
   /**
@@ -525,6 +543,7 @@ public class XYMultipleSeriesRenderer extends DefaultRenderer {
    */
   public void addXTextLabel(double x, String text) {
     mXTextLabels.put(x, text);
+    mTextLabelsVersion++;
   }
 
   /**
@@ -560,6 +579,7 @@ public class XYMultipleSeriesRenderer extends DefaultRenderer {
    */
   public void clearXTextLabels() {
     mXTextLabels.clear();
+    mTextLabelsVersion++;
   }
 
   /**
@@ -581,6 +601,7 @@ public class XYMultipleSeriesRenderer extends DefaultRenderer {
    */
   public void addYTextLabel(double y, String text, int scale) {
     mYTextLabels.get(scale).put(y, text);
+    mTextLabelsVersion++;
   }
 
   /**
@@ -628,6 +649,17 @@ public class XYMultipleSeriesRenderer extends DefaultRenderer {
    */
   public void clearYTextLabels() {
     mYTextLabels.clear();
+    mTextLabelsVersion++;
+  }
+
+  /**
+   * Returns the number of changes of the X and Y axis text labels, for the
+   * charts caching the rendered labels to know when to render them again.
+   * 
+   * @return the text labels version
+   */
+  public int getTextLabelsVersion() {
+    return mTextLabelsVersion;
   }
 
   /**
@@ -646,6 +678,7 @@ public class XYMultipleSeriesRenderer extends DefaultRenderer {
    */
   public void setYLabels(int yLabels) {
     mYLabels = yLabels;
+    styleChanged();
   }
 
   /**
@@ -750,6 +783,125 @@ public class XYMultipleSeriesRenderer extends DefaultRenderer {
     mZoomYEnabled = enabledY;
   }
 
+  /**
+   * Returns the enabled state of the line series points decimation.
+   * 
+   * @return if the decimation is enabled
+   */
+  public boolean isDecimationEnabled() {
+    return mDecimationEnabled;
+  }
+
+  /**
+   * Sets the enabled state of the line series points decimation. When enabled,
+   * the line and time charts only draw the first, minimum, maximum and last
+   * point of each pixel column, such as the drawing work depends on the screen
+   * width rather than on the number of visible points. The rendered line stays
+   * the same.
+   * 
+   * @param enabled the decimation enabled flag value
+   */
+  public void setDecimationEnabled(boolean enabled) {
+    mDecimationEnabled = enabled;
+    styleChanged();
+  }
+
+  /**
+   * Returns the enabled state of the layered rendering.
+   * 
+   * @return if the layered rendering is enabled
+   */
+  public boolean isLayeredRendering() {
+    return mLayeredRendering;
+  }
+
+  /**
+   * Sets the enabled state of the layered rendering. When enabled, the
+   * graphical view keeps the background, grid, labels, legend and axes in an
+   * offscreen bitmap and only renders the series on every repaint. The bitmap
+   * is refreshed when the view size, the axis ranges or the renderer styling
+   * properties change. The grid is painted under the series rather than over them.
+   * 
+   * @param layered the layered rendering enabled flag value
+   */
+  public void setLayeredRendering(boolean layered) {
+    mLayeredRendering = layered;
+  }
+
+  /**
+   * Returns the enabled state of the incremental animation.
+   * 
+   * @return if the incremental animation is enabled
+   */
+  public boolean isIncrementalAnimation() {
+    return mIncrementalAnimation;
+  }
+
+  /**
+   * Sets the enabled state of the incremental animation. When enabled along
+   * with the layered rendering, the graphical view keeps the series points
+   * already revealed by the animation in an offscreen bitmap, and each
+   * animation frame only draws the points revealed since the previous one.
+   * Only the line, time and scatter charts support it. The points can't be
+   * selected until the animation is finished.
+   * 
+   * @param incremental the incremental animation enabled flag value
+   */
+  public void setIncrementalAnimation(boolean incremental) {
+    mIncrementalAnimation = incremental;
+  }
+
+  /**
+   * Returns the enabled state of the follow latest mode.
+   * 
+   * @return if the follow latest mode is enabled
+   */
+  public boolean isFollowLatest() {
+    return mFollowLatest;
+  }
+
+  /**
+   * Sets the enabled state of the follow latest mode, for live charts adding
+   * values on the right and shifting the X axis range along. When enabled
+   * along with the layered rendering, the graphical view keeps the plotted
+   * series in an offscreen bitmap scrolled by the X range shift, and each
+   * repaint only draws the values added since the previous one. The series
+   * are drawn again when the view size, the Y axis ranges or the X axis span
+   * change, so the Y axis ranges should be set rather than computed from the
+   * values. Values inserted before or replacing drawn ones appear after the
+   * next full drawing, which GraphicalView.invalidateStaticLayers() forces.
+   * Only the line, time and scatter charts support it.
+   * 
+   * @param follow the follow latest mode enabled flag value
+   */
+  public void setFollowLatest(boolean follow) {
+    mFollowLatest = follow;
+  }
+
+  /**
+   * Returns the enabled state of the pan by translation.
+   * 
+   * @return if the pan by translation is enabled
+   */
+  public boolean isPanByTranslation() {
+    return mPanByTranslation;
+  }
+
+  /**
+   * Sets the enabled state of the pan by translation. When enabled along
+   * with the layered rendering, the graphical view keeps the plotted series
+   * in an offscreen bitmap during a pan gesture, scrolls it by the X axis
+   * range shift and only draws the strip scrolled in. The series are drawn in
+   * full again once the gesture ends. Panning along the Y axis draws the
+   * series in full on every move. Only the line, time and scatter charts
+   * support it.
+   * 
+   * @param translation the pan by translation enabled flag value
+   */
+  public void setPanByTranslation(boolean translation) {
+    mPanByTranslation = translation;
+  }
+
   /**
    * Returns the spacing between bars, in bar charts.
    * 
@@ -778,6 +930,7 @@ public class XYMultipleSeriesRenderer extends DefaultRenderer {
    */
   public void setBarSpacing(double spacing) {
     mBarSpacing = spacing;
+    styleChanged();
   }
 
   /**
@@ -796,6 +949,7 @@ public class XYMultipleSeriesRenderer extends DefaultRenderer {
    */
   public void setMarginsColor(int color) {
     mMarginsColor = color;
+    styleChanged();
   }
 
   /**
@@ -814,6 +968,7 @@ public class XYMultipleSeriesRenderer extends DefaultRenderer {
    */
   public void setGridColor(int color) {
     mGridColor = color;
+    styleChanged();
   }
 
   /**
@@ -872,6 +1027,7 @@ public class XYMultipleSeriesRenderer extends DefaultRenderer {
    */
   public void setXLabelsAngle(float angle) {
     mXLabelsAngle = angle;
+    styleChanged();
   }
 
   /**
@@ -890,6 +1046,7 @@ public class XYMultipleSeriesRenderer extends DefaultRenderer {
    */
   public void setYLabelsAngle(float angle) {
     mYLabelsAngle = angle;
+    styleChanged();
   }
 
   /**
@@ -908,6 +1065,7 @@ public class XYMultipleSeriesRenderer extends DefaultRenderer {
    */
   public void setPointSize(float size) {
     mPointSize = size;
+    styleChanged();
   }
 
   public void setRange(double[] range) {
@@ -1007,6 +1165,7 @@ public class XYMultipleSeriesRenderer extends DefaultRenderer {
    */
   public void setXLabelsColor(int color) {
     mXLabelsColor = color;
+    styleChanged();
   }
 
   /**
@@ -1017,6 +1176,7 @@ public class XYMultipleSeriesRenderer extends DefaultRenderer {
    */
   public void setYLabelsColor(int scale, int color) {
     mYLabelsColor[scale] = color;
+    styleChanged();
   }
 
   /**
@@ -1035,6 +1195,7 @@ public class XYMultipleSeriesRenderer extends DefaultRenderer {
    */
   public void setXLabelsAlign(Align align) {
     xLabelsAlign = align;
+    styleChanged();
   }
 
   /**
@@ -1049,6 +1210,7 @@ public class XYMultipleSeriesRenderer extends DefaultRenderer {
 
   public void setYLabelsAlign(Align align) {
     setYLabelsAlign(align, 0);
+    styleChanged();
   }
 
   public Align getYAxisAlign(int scale) {
@@ -1057,6 +1219,7 @@ public class XYMultipleSeriesRenderer extends DefaultRenderer {
 
   public void setYAxisAlign(Align align, int scale) {
     yAxisAlign[scale] = align;
+    styleChanged();
   }
 
   /**
@@ -1066,6 +1229,7 @@ public class XYMultipleSeriesRenderer extends DefaultRenderer {
    */
   public void setYLabelsAlign(Align align, int scale) {
     yLabelsAlign[scale] = align;
+    styleChanged();
   }
 
   public int getScalesCount() {
@@ -1078,6 +1242,7 @@ public int getWeekColor() {
 
 public void setWeekColor(int weekColor) {
 	this.weekColor = weekColor;
+	styleChanged();
 }
 
 public boolean isShowWeekSeparator() {
@@ -1086,6 +1251,7 @@ public boolean isShowWeekSeparator() {
 
 public void setShowWeekSeparator(boolean showWeekSeparator) {
 	this.showWeekSeparator = showWeekSeparator;
+	styleChanged();
 }
 
 public boolean isXTextLabelShifted() {
@@ -1094,6 +1260,7 @@ public boolean isXTextLabelShifted() {
 
 public void setXTextLabelShifted(boolean xTextLabelShifted) {
 	this.xTextLabelShifted = xTextLabelShifted;
+	styleChanged();
 }
 
 }
@@ -33,6 +33,8 @@ public class XYSeriesRenderer extends SimpleSeriesRenderer {
   private PointStyle mPointStyle = PointStyle.POINT;
   /** The chart line width. */
   private float mLineWidth = 1;
+  /** If the series points can be decimated to the screen pixel columns. */
+  private boolean mDecimationEnabled = true;
 
   /**
    * Returns if the chart should be filled below the line.
@@ -51,6 +53,7 @@ public class XYSeriesRenderer extends SimpleSeriesRenderer {
    */
   public void setFillBelowLine(boolean fill) {
     mFillBelowLine = fill;
+    styleChanged();
   }
 
   /**
@@ -69,6 +72,7 @@ public class XYSeriesRenderer extends SimpleSeriesRenderer {
    */
   public void setFillPoints(boolean fill) {
     mFillPoints = fill;
+    styleChanged();
   }
 
   /**
@@ -87,6 +91,7 @@ public class XYSeriesRenderer extends SimpleSeriesRenderer {
    */
   public void setFillBelowLineColor(int color) {
     mFillColor = color;
+    styleChanged();
   }
 
   /**
@@ -105,6 +110,7 @@ public class XYSeriesRenderer extends SimpleSeriesRenderer {
    */
   public void setPointStyle(PointStyle style) {
     mPointStyle = style;
+    styleChanged();
   }
 
   /**
@@ -123,6 +129,28 @@ public class XYSeriesRenderer extends SimpleSeriesRenderer {
    */
   public void setLineWidth(float lineWidth) {
     mLineWidth = lineWidth;
+    styleChanged();
+  }
+
+  /**
+   * Returns if the series points can be decimated to the screen pixel columns.
+   * 
+   * @return the decimation enabled status
+   */
+  public boolean isDecimationEnabled() {
+    return mDecimationEnabled;
+  }
+
+  /**
+   * Sets if the series points can be decimated to the screen pixel columns.
+   * This allows a series to opt out of the decimation enabled on the multiple
+   * series renderer.
+   * 
+   * @param enabled the decimation enabled flag value
+   */
+  public void setDecimationEnabled(boolean enabled) {
+    mDecimationEnabled = enabled;
+    styleChanged();
   }
   
 }
@@ -0,0 +1,335 @@
+/**
+ * Copyright (C) 2009 - 2012 SC 4ViewSoft SRL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.achartengine.util;
+
+/**
+ * An XY storage keeping the points in two parallel primitive arrays, sorted by
+ * X. Appending a point with an X value greater than or equal to the last one
+ * is amortized O(1), other insertions shift the following points. Removing the
+ * first point is O(1), the free space being reclaimed by later appends, other
+ * removals shift the points on the shorter side. The Y range is kept in a
+ * block index built on the first request, then maintained in O(1) per append
+ * and by rescanning the blocks of the shifted points otherwise. Snapshots share the arrays: later appends write after
+ * the shared points, while the other changes copy the arrays first if they
+ * would overwrite shared points.
+ */
+public class ArrayXYStorage implements IXYStorage {
+  /** The default initial capacity. */
+  private static final int DEFAULT_CAPACITY = 16;
+  /** The X values. */
+  private double[] mX;
+  /** The Y values. */
+  private double[] mY;
+  /** The array position of the first point. */
+  private int mHead;
+  /** The number of stored points. */
+  private int mSize;
+  /** The Y range block index, indexed by array position. */
+  private transient MinMaxBlocks mYRange;
+  /** The version of the mapping between indexes and points. */
+  private int mStructureVersion;
+  /** The array position before which the points are shared with snapshots. */
+  private transient int mSharedEnd;
+
+  /**
+   * Builds a new array XY storage.
+   */
+  public ArrayXYStorage() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Builds a new array XY storage.
+   *
+   * @param capacity the initial capacity, in points
+   */
+  public ArrayXYStorage(int capacity) {
+    if (capacity < 0) {
+      throw new IllegalArgumentException("Illegal capacity " + capacity);
+    }
+    mX = new double[capacity];
+    mY = new double[capacity];
+  }
+
+  public int size() {
+    return mSize;
+  }
+
+  public double getX(int index) {
+    checkIndex(index);
+    return mX[mHead + index];
+  }
+
+  public double getY(int index) {
+    checkIndex(index);
+    return mY[mHead + index];
+  }
+
+  public int add(double x, double y) {
+    ensureCapacity(mSize + 1);
+    int index = mSize;
+    int end = mHead + mSize;
+    if (mSize > 0 && x < mX[end - 1]) {
+      index = higherIndex(x);
+      int position = mHead + index;
+      beforeWrite(position);
+      mStructureVersion++;
+      System.arraycopy(mX, position, mX, position + 1, mSize - index);
+      System.arraycopy(mY, position, mY, position + 1, mSize - index);
+      mX[position] = x;
+      mY[position] = y;
+      mSize++;
+      if (mYRange != null) {
+        mYRange.set(mY, mHead, end + 1, position, end + 1);
+      }
+      return index;
+    }
+    beforeWrite(end);
+    mX[end] = x;
+    mY[end] = y;
+    mSize++;
+    if (mYRange != null) {
+      mYRange.add(end, y);
+    }
+    return index;
+  }
+
+  public int addAll(double[] xs, double[] ys, int offset, int length) {
+    int batchEnd = offset + length;
+    for (int i = offset + 1; i < batchEnd; i++) {
+      if (xs[i] < xs[i - 1]) {
+        // not sorted, fall back to adding the points one by one
+        int index = mSize;
+        for (int k = offset; k < batchEnd; k++) {
+          index = Math.min(index, add(xs[k], ys[k]));
+        }
+        return index;
+      }
+    }
+    if (length == 0) {
+      return mSize;
+    }
+    ensureCapacity(mSize + length);
+    int end = mHead + mSize;
+    if (mSize > 0 && xs[offset] < mX[end - 1]) {
+      beforeWrite(mHead + higherIndex(xs[offset]));
+      mStructureVersion++;
+    } else {
+      beforeWrite(end);
+    }
+    // merge from the back, the batch points going after the existing ones
+    // having the same X
+    int read = end - 1;
+    int write = read + length;
+    for (int k = batchEnd - 1; k >= offset; k--) {
+      double x = xs[k];
+      while (read >= mHead && mX[read] > x) {
+        mX[write] = mX[read];
+        mY[write] = mY[read];
+        read--;
+        write--;
+      }
+      mX[write] = x;
+      mY[write] = ys[k];
+      write--;
+    }
+    int first = read + 1;
+    mSize += length;
+    if (mYRange != null) {
+      mYRange.set(mY, mHead, mHead + mSize, first, mHead + mSize);
+    }
+    return first - mHead;
+  }
+
+  public void remove(int index) {
+    checkIndex(index);
+    mStructureVersion++;
+    int position = mHead + index;
+    int end = mHead + mSize;
+    if (index == 0) {
+      mHead++;
+      if (mYRange != null) {
+        mYRange.remove(position, mY[position], mY, mHead, end);
+      }
+    } else if (index < mSize / 2) {
+      // shift the points before the removed one
+      beforeWrite(mHead + 1);
+      System.arraycopy(mX, mHead, mX, mHead + 1, index);
+      System.arraycopy(mY, mHead, mY, mHead + 1, index);
+      mHead++;
+      if (mYRange != null) {
+        mYRange.set(mY, mHead, end, mHead - 1, position + 1);
+      }
+    } else {
+      int moved = end - position - 1;
+      if (moved > 0) {
+        beforeWrite(position);
+      }
+      System.arraycopy(mX, position + 1, mX, position, moved);
+      System.arraycopy(mY, position + 1, mY, position, moved);
+      if (mYRange != null) {
+        mYRange.set(mY, mHead, end - 1, position, end);
+      }
+    }
+    mSize--;
+    if (mSize == 0) {
+      mHead = 0;
+    }
+  }
+
+  public void clear() {
+    mStructureVersion++;
+    mHead = 0;
+    mSize = 0;
+    if (mYRange != null) {
+      mYRange.clear();
+    }
+  }
+
+  public int ceilingIndex(double x) {
+    int low = mHead;
+    int high = mHead + mSize;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (mX[mid] < x) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low - mHead;
+  }
+
+  public int getStructureVersion() {
+    return mStructureVersion;
+  }
+
+  public XYSnapshot snapshot() {
+    mSharedEnd = Math.max(mSharedEnd, mHead + mSize);
+    return new XYSnapshot(mX, mY, mHead, mSize, getMinY(), getMaxY(), mStructureVersion);
+  }
+
+  public double getMinY() {
+    return getYRange().getMin();
+  }
+
+  public double getMaxY() {
+    return getYRange().getMax();
+  }
+
+  /**
+   * Returns the Y range block index, building it if needed.
+   *
+   * @return the Y range block index
+   */
+  private MinMaxBlocks getYRange() {
+    if (mYRange == null) {
+      buildYRange();
+    }
+    return mYRange;
+  }
+
+  /**
+   * Builds the Y range block index for the current arrays.
+   */
+  private void buildYRange() {
+    mYRange = new MinMaxBlocks(mY.length);
+    mYRange.set(mY, mHead, mHead + mSize, mHead, mHead + mSize);
+  }
+
+  /**
+   * Copies the arrays before writing at the given position, if the point there
+   * is shared with a snapshot.
+   *
+   * @param position the array position about to be written
+   */
+  private void beforeWrite(int position) {
+    if (position < mSharedEnd) {
+      int length = mX.length;
+      double[] x = new double[length];
+      double[] y = new double[length];
+      System.arraycopy(mX, mHead, x, mHead, mSize);
+      System.arraycopy(mY, mHead, y, mHead, mSize);
+      mX = x;
+      mY = y;
+      mSharedEnd = 0;
+    }
+  }
+
+  /**
+   * Returns the index of the first point having an X value strictly greater
+   * than the given one.
+   *
+   * @param x the X value
+   * @return the index of the first point after x, or size() if there is none
+   */
+  private int higherIndex(double x) {
+    int low = mHead;
+    int high = mHead + mSize;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (mX[mid] <= x) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low - mHead;
+  }
+
+  /**
+   * Makes sure the arrays can hold the requested number of points after the
+   * first one, moving the points to the beginning of the arrays or growing
+   * them if needed. The points are moved into new arrays of the same length
+   * if they are shared with snapshots.
+   *
+   * @param capacity the requested capacity
+   */
+  private void ensureCapacity(int capacity) {
+    int length = mX.length;
+    if (mHead + capacity <= length) {
+      return;
+    }
+    if (capacity <= length && mHead >= length >> 2 && mSharedEnd == 0) {
+      // reclaim the space left by the removed first points
+      System.arraycopy(mX, mHead, mX, 0, mSize);
+      System.arraycopy(mY, mHead, mY, 0, mSize);
+    } else {
+      int newLength = length;
+      if (capacity > length || mHead < length >> 2) {
+        newLength = Math.max(capacity, length + (length >> 1) + 1);
+      }
+      double[] x = new double[newLength];
+      double[] y = new double[newLength];
+      System.arraycopy(mX, mHead, x, 0, mSize);
+      System.arraycopy(mY, mHead, y, 0, mSize);
+      mX = x;
+      mY = y;
+    }
+    mHead = 0;
+    mSharedEnd = 0;
+    if (mYRange != null) {
+      buildYRange();
+    }
+  }
+
+  private void checkIndex(int index) {
+    if (index < 0 || index >= mSize) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + mSize);
+    }
+  }
+
+}
@@ -0,0 +1,309 @@
+/**
+ * Copyright (C) 2009 - 2012 SC 4ViewSoft SRL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.achartengine.util;
+
+import java.util.AbstractList;
+import java.util.List;
+
+/**
+ * The ticks of an axis, at the multiples of a nice step (1, 2 or 5 times a
+ * power of ten) within a range. A tick value is computed as an integer
+ * multiple of the step mantissa scaled by the power of ten, with a single
+ * rounding, such as 0.1 * 3 gives 0.3 rather than 0.30000000000000004.
+ * <p>
+ * The ticks are kept between updates. Updating with the same range does
+ * nothing and, when the range is only translated, the step is kept and the
+ * ticks still in range are shifted rather than computed again. Once the
+ * arrays are large enough, updating doesn't allocate, except for boxing the
+ * new ticks of the list view.
+ */
+public class AxisTicks {
+  /** The exactly representable powers of ten. */
+  private static final double[] POWERS_OF_TEN = new double[23];
+  /** The tolerance on the position of a tick relative to the range ends. */
+  private static final double EPSILON = 1e-10;
+  /** The last range minimum. */
+  private double mMin = Double.NaN;
+  /** The last range maximum. */
+  private double mMax = Double.NaN;
+  /** The last approximate number of ticks. */
+  private int mApproxCount;
+  /** The step mantissa, 1, 2 or 5. */
+  private long mMantissa;
+  /** The step power of ten. */
+  private int mExponent;
+  /** The step. */
+  private double mStep;
+  /** The raw step values, excluded, above which the step would be lower. */
+  private double mRawLow;
+  /** The raw step values, included, below which the step would be higher. */
+  private double mRawHigh;
+  /** The step multiple of the first tick. */
+  private long mFirst;
+  /** The number of ticks. */
+  private int mCount;
+  /** If the range is reversed, the ticks being read in decreasing order. */
+  private boolean mReversed;
+  /** The tick values, in increasing order. */
+  private double[] mValues = new double[0];
+  /** The boxed tick values, in increasing order, built on demand. */
+  private Double[] mBoxed = new Double[0];
+  /** The read only list view of the ticks. */
+  private final List<Double> mList = new AbstractList<Double>() {
+    @Override
+    public Double get(int index) {
+      if (index < 0 || index >= mCount) {
+        throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + mCount);
+      }
+      int position = mReversed ? mCount - 1 - index : index;
+      Double value = mBoxed[position];
+      if (value == null) {
+        value = mValues[position];
+        mBoxed[position] = value;
+      }
+      return value;
+    }
+
+    @Override
+    public int size() {
+      return mCount;
+    }
+  };
+
+  static {
+    POWERS_OF_TEN[0] = 1;
+    for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+      POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+    }
+  }
+
+  /**
+   * Computes the ticks of a range, if it changed since the last update.
+   *
+   * @param start the range start
+   * @param end the range end, lower than the start for a reversed axis
+   * @param approxCount the desired number of ticks
+   * @return true if the ticks changed
+   */
+  public boolean update(double start, double end, int approxCount) {
+    if (start == mMin && end == mMax && approxCount == mApproxCount) {
+      return false;
+    }
+    mMin = start;
+    mMax = end;
+    mApproxCount = approxCount;
+    mReversed = start > end;
+    double low = Math.min(start, end);
+    double high = Math.max(start, end);
+    if (approxCount <= 0 || Double.isNaN(low) || Double.isInfinite(low)
+        || Double.isNaN(high) || Double.isInfinite(high)) {
+      setEmpty();
+      return true;
+    }
+    if (high - low < 0.0000001f) {
+      // a single tick for an empty range
+      setEmpty();
+      mStep = 0;
+      ensureCapacity(1);
+      mValues[0] = start;
+      mBoxed[0] = null;
+      mCount = 1;
+      return true;
+    }
+    double raw = (high - low) / approxCount;
+    if (mStep == 0 || raw <= mRawLow || raw > mRawHigh) {
+      setStep(raw);
+      mCount = 0;
+    }
+    double first = Math.ceil(low / mStep - EPSILON);
+    double last = Math.floor(high / mStep + EPSILON);
+    if (Math.abs(first) > Long.MAX_VALUE / 10 || Math.abs(last) > Long.MAX_VALUE / 10) {
+      setEmpty();
+      return true;
+    }
+    setTicks((long) first, (int) Math.max(0, last - first + 1));
+    return true;
+  }
+
+  /**
+   * Returns the number of ticks.
+   *
+   * @return the number of ticks
+   */
+  public int size() {
+    return mCount;
+  }
+
+  /**
+   * Returns a tick value, the ticks going from the range start to its end.
+   *
+   * @param index the tick index
+   * @return the tick value
+   */
+  public double get(int index) {
+    return mValues[mReversed ? mCount - 1 - index : index];
+  }
+
+  /**
+   * Returns the step between two ticks.
+   *
+   * @return the step, negative for a reversed range
+   */
+  public double getStep() {
+    return mReversed ? -mStep : mStep;
+  }
+
+  /**
+   * Returns a read only list view of the ticks, in the same order as get().
+   * The view reflects the following updates.
+   *
+   * @return the ticks list
+   */
+  public List<Double> asList() {
+    return mList;
+  }
+
+  /**
+   * Computes the ticks of a range, without caching.
+   *
+   * @param start the range start
+   * @param end the range end, lower than the start for a reversed axis
+   * @param approxCount the desired number of ticks
+   * @return the ticks array
+   */
+  public static double[] getTicks(double start, double end, int approxCount) {
+    AxisTicks ticks = new AxisTicks();
+    ticks.update(start, end, approxCount);
+    double[] result = new double[ticks.size()];
+    for (int i = 0; i < result.length; i++) {
+      result[i] = ticks.get(i);
+    }
+    return result;
+  }
+
+  private void setEmpty() {
+    mStep = 0;
+    mCount = 0;
+  }
+
+  /**
+   * Rounds a raw step up to 1, 2 or 5 times a power of ten, and records the
+   * raw steps rounding to the same value.
+   *
+   * @param raw the raw step, strictly positive
+   */
+  private void setStep(double raw) {
+    int exponent = (int) Math.floor(Math.log10(raw));
+    double scaled = raw / power(exponent);
+    // log10 may be off by one near the powers of ten
+    if (scaled > 10) {
+      exponent++;
+      scaled /= 10;
+    } else if (scaled < 1) {
+      exponent--;
+      scaled *= 10;
+    }
+    long mantissa;
+    long lowMantissa;
+    if (scaled <= 1) {
+      mantissa = 1;
+      lowMantissa = 5;
+    } else if (scaled <= 2) {
+      mantissa = 2;
+      lowMantissa = 10;
+    } else if (scaled <= 5) {
+      mantissa = 5;
+      lowMantissa = 20;
+    } else {
+      mantissa = 1;
+      lowMantissa = 5;
+      exponent++;
+    }
+    mMantissa = mantissa;
+    mExponent = exponent;
+    mStep = value(1);
+    mRawHigh = mStep;
+    mRawLow = lowMantissa * power(exponent - 1);
+  }
+
+  /**
+   * Sets the ticks to the given step multiples, shifting the ones already
+   * computed.
+   *
+   * @param first the step multiple of the first tick
+   * @param count the number of ticks
+   */
+  private void setTicks(long first, int count) {
+    ensureCapacity(count);
+    long shift = first - mFirst;
+    int kept = 0;
+    int from = 0;
+    int to = 0;
+    if (mCount > 0 && Math.abs(shift) < mCount) {
+      if (shift >= 0) {
+        from = (int) shift;
+        kept = Math.min(mCount - from, count);
+      } else {
+        to = (int) -shift;
+        kept = Math.max(0, Math.min(mCount, count - to));
+      }
+      System.arraycopy(mValues, from, mValues, to, kept);
+      System.arraycopy(mBoxed, from, mBoxed, to, kept);
+    }
+    for (int i = 0; i < count; i++) {
+      if (i < to || i >= to + kept) {
+        mValues[i] = value(first + i);
+        mBoxed[i] = null;
+      }
+    }
+    mFirst = first;
+    mCount = count;
+  }
+
+  private void ensureCapacity(int count) {
+    if (mValues.length < count) {
+      int capacity = Math.max(count, 2 * mValues.length);
+      double[] values = new double[capacity];
+      Double[] boxed = new Double[capacity];
+      System.arraycopy(mValues, 0, values, 0, mValues.length);
+      System.arraycopy(mBoxed, 0, boxed, 0, mBoxed.length);
+      mValues = values;
+      mBoxed = boxed;
+    }
+  }
+
+  /**
+   * Returns the value of a step multiple, rounded once.
+   *
+   * @param multiple the step multiple
+   * @return the value
+   */
+  private double value(long multiple) {
+    double digits = multiple * mMantissa;
+    if (mExponent >= 0) {
+      return digits * power(mExponent);
+    }
+    return digits / power(-mExponent);
+  }
+
+  private static double power(int exponent) {
+    if (exponent >= 0 && exponent < POWERS_OF_TEN.length) {
+      return POWERS_OF_TEN[exponent];
+    }
+    return Math.pow(10, exponent);
+  }
+
+}
@@ -0,0 +1,126 @@
+/**
+ * Copyright (C) 2009 - 2012 SC 4ViewSoft SRL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.achartengine.util;
+
+import java.io.Serializable;
+
+/**
+ * The storage backend of an XY series. Implementations keep the points sorted
+ * by their X value, so the index of a point is also its rank on the X axis.
+ */
+public interface IXYStorage extends Serializable {
+  /**
+   * Returns the number of stored points.
+   *
+   * @return the number of points
+   */
+  int size();
+
+  /**
+   * Returns the X value at the specified index.
+   *
+   * @param index the index
+   * @return the X value
+   */
+  double getX(int index);
+
+  /**
+   * Returns the Y value at the specified index.
+   *
+   * @param index the index
+   * @return the Y value
+   */
+  double getY(int index);
+
+  /**
+   * Adds a new point, keeping the points sorted by X. A point having the same X
+   * as existing ones is added after them.
+   *
+   * @param x the X value
+   * @param y the Y value
+   * @return the index the point was stored at
+   */
+  int add(double x, double y);
+
+  /**
+   * Adds a batch of points, keeping the points sorted by X. The result is the
+   * same as adding the points one by one, in the batch order.
+   *
+   * @param xs the X values array
+   * @param ys the Y values array
+   * @param offset the index of the first point in the arrays
+   * @param length the number of points to add
+   * @return the lowest index a point was stored at, or size() if the batch is
+   *         empty
+   */
+  int addAll(double[] xs, double[] ys, int offset, int length);
+
+  /**
+   * Removes the point at the specified index.
+   *
+   * @param index the index
+   */
+  void remove(int index);
+
+  /**
+   * Removes all the points.
+   */
+  void clear();
+
+  /**
+   * Returns the index of the first point having an X value greater than or
+   * equal to the given one. This would be the NavigableMap.ceilingKey()
+   * equivalent, expressed as an index.
+   *
+   * @param x the X value
+   * @return the index of the first point at or after x, or size() if there is
+   *         none
+   */
+  int ceilingIndex(double x);
+
+  /**
+   * Returns the structure version, changed every time existing points move to
+   * other indexes or are replaced.
+   *
+   * @return the structure version
+   */
+  int getStructureVersion();
+
+  /**
+   * Returns an immutable view of the stored points. The view stays valid
+   * while the storage keeps being modified.
+   *
+   * @return the snapshot
+   */
+  XYSnapshot snapshot();
+
+  /**
+   * Returns the minimum Y value of the stored points.
+   *
+   * @return the minimum Y value or MathHelper.NULL_VALUE if there are no
+   *         points
+   */
+  double getMinY();
+
+  /**
+   * Returns the maximum Y value of the stored points.
+   *
+   * @return the maximum Y value or -MathHelper.NULL_VALUE if there are no
+   *         points
+   */
+  double getMaxY();
+
+}
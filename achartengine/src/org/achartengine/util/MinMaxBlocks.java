@@ -0,0 +1,174 @@
+/**
+ * Copyright (C) 2009 - 2012 SC 4ViewSoft SRL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.achartengine.util;
+
+/**
+ * A block index keeping the minimum and the maximum of the values stored at a
+ * range of array positions. The positions are split in blocks of 128 and only
+ * the extremes of each block are kept, which costs two doubles per block.
+ * Adding a value is O(1), changing k consecutive values rescans their blocks
+ * in O(k + 128), and the overall extremes are read in O(1), unless a change
+ * dropped one of them, the blocks being then scanned again on the next read.
+ */
+public class MinMaxBlocks {
+  /** The base 2 logarithm of the number of positions per block. */
+  private static final int BLOCK_SHIFT = 7;
+  /** The minimum value of each block. */
+  private final double[] mMin;
+  /** The maximum value of each block. */
+  private final double[] mMax;
+  /** The minimum value of all the blocks. */
+  private double mAllMin;
+  /** The maximum value of all the blocks. */
+  private double mAllMax;
+  /** If the overall extremes are to be computed again from the blocks. */
+  private boolean mStale;
+
+  /**
+   * Builds a new index with all the positions empty.
+   *
+   * @param capacity the number of positions
+   */
+  public MinMaxBlocks(int capacity) {
+    int blocks = (capacity + (1 << BLOCK_SHIFT) - 1) >> BLOCK_SHIFT;
+    mMin = new double[blocks];
+    mMax = new double[blocks];
+    clear();
+  }
+
+  /**
+   * Returns the minimum value of the non empty positions.
+   *
+   * @return the minimum value or MathHelper.NULL_VALUE if all positions are
+   *         empty
+   */
+  public double getMin() {
+    if (mStale) {
+      computeAll();
+    }
+    return mAllMin;
+  }
+
+  /**
+   * Returns the maximum value of the non empty positions.
+   *
+   * @return the maximum value or -MathHelper.NULL_VALUE if all positions are
+   *         empty
+   */
+  public double getMax() {
+    if (mStale) {
+      computeAll();
+    }
+    return mAllMax;
+  }
+
+  /**
+   * Adds the value of a previously empty position.
+   *
+   * @param position the position
+   * @param value the value
+   */
+  public void add(int position, double value) {
+    int block = position >> BLOCK_SHIFT;
+    mMin[block] = Math.min(mMin[block], value);
+    mMax[block] = Math.max(mMax[block], value);
+    mAllMin = Math.min(mAllMin, value);
+    mAllMax = Math.max(mAllMax, value);
+  }
+
+  /**
+   * Empties a position, rescanning its block only if the removed value was
+   * one of the block extremes.
+   *
+   * @param position the emptied position
+   * @param value the value the position held
+   * @param values the values array
+   * @param from the first non empty position, after the removal
+   * @param to the position after the last non empty one, after the removal
+   */
+  public void remove(int position, double value, double[] values, int from, int to) {
+    int block = position >> BLOCK_SHIFT;
+    if (value <= mMin[block] || value >= mMax[block]) {
+      set(values, from, to, position, position + 1);
+    }
+  }
+
+  /**
+   * Rescans the blocks of a range of changed positions, the values being read
+   * from the same positions of the given array.
+   *
+   * @param values the values array
+   * @param from the first non empty position
+   * @param to the position after the last non empty one
+   * @param first the first changed position
+   * @param last the position after the last changed one
+   */
+  public void set(double[] values, int from, int to, int first, int last) {
+    if (first >= last) {
+      return;
+    }
+    int blockSize = 1 << BLOCK_SHIFT;
+    int lastBlock = (last - 1) >> BLOCK_SHIFT;
+    for (int block = first >> BLOCK_SHIFT; block <= lastBlock; block++) {
+      int start = Math.max(from, block << BLOCK_SHIFT);
+      int end = Math.min(to, (block << BLOCK_SHIFT) + blockSize);
+      double min = MathHelper.NULL_VALUE;
+      double max = -MathHelper.NULL_VALUE;
+      for (int position = start; position < end; position++) {
+        double value = values[position];
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+      }
+      if (min > mMin[block] && mMin[block] == mAllMin || max < mMax[block]
+          && mMax[block] == mAllMax) {
+        mStale = true;
+      }
+      mMin[block] = min;
+      mMax[block] = max;
+      mAllMin = Math.min(mAllMin, min);
+      mAllMax = Math.max(mAllMax, max);
+    }
+  }
+
+  /**
+   * Empties all the positions.
+   */
+  public void clear() {
+    for (int block = 0; block < mMin.length; block++) {
+      mMin[block] = MathHelper.NULL_VALUE;
+      mMax[block] = -MathHelper.NULL_VALUE;
+    }
+    mAllMin = MathHelper.NULL_VALUE;
+    mAllMax = -MathHelper.NULL_VALUE;
+    mStale = false;
+  }
+
+  /**
+   * Computes the overall extremes from the ones of the blocks.
+   */
+  private void computeAll() {
+    double min = MathHelper.NULL_VALUE;
+    double max = -MathHelper.NULL_VALUE;
+    for (int block = 0; block < mMin.length; block++) {
+      min = Math.min(min, mMin[block]);
+      max = Math.max(max, mMax[block]);
+    }
+    mAllMin = min;
+    mAllMax = max;
+    mStale = false;
+  }
+
+}
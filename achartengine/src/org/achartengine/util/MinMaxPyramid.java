@@ -0,0 +1,324 @@
+/**
+ * Copyright (C) 2009 - 2012 SC 4ViewSoft SRL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.achartengine.util;
+
+/**
+ * A multi-resolution summary of the Y values of an XY storage. The level k of
+ * the pyramid splits the points in buckets of 2^k consecutive points and keeps
+ * the index of the minimum and the maximum Y value of each complete bucket,
+ * along with the indexes of its first and last null values, if any. The
+ * buckets of a level are merged from the ones of the level below, so appending
+ * a point costs amortized O(1).
+ * <p>
+ * The buckets are aligned on the point sequence numbers, the index of a point
+ * plus the number of points removed from the head since the pyramid was built,
+ * such as removing the first point only drops the bucket it starts.
+ */
+public class MinMaxPyramid {
+  /** The maximum number of levels. */
+  private static final int MAX_LEVELS = 31;
+  /** The summarized storage. */
+  private final IXYStorage mXY;
+  /** The minimum value indexes, per level and bucket. */
+  private final int[][] mMin = new int[MAX_LEVELS][];
+  /** The maximum value indexes, per level and bucket. */
+  private final int[][] mMax = new int[MAX_LEVELS][];
+  /** The first null value indexes, per level and bucket. */
+  private final int[][] mFirstNull = new int[MAX_LEVELS][];
+  /** The last null value indexes, per level and bucket. */
+  private final int[][] mLastNull = new int[MAX_LEVELS][];
+  /** The sequence number of the first point. */
+  private int mOffset;
+  /** The sequence number after the last point the pyramid is up to date with. */
+  private int mEnd;
+
+  /**
+   * Builds a new pyramid over the given storage. The pyramid is empty until
+   * updated.
+   *
+   * @param storage the storage to summarize
+   */
+  public MinMaxPyramid(IXYStorage storage) {
+    mXY = storage;
+  }
+
+  /**
+   * Returns the number of points the pyramid is up to date with.
+   *
+   * @return the number of summarized points
+   */
+  public int getCount() {
+    return mEnd - mOffset;
+  }
+
+  /**
+   * Marks the points starting at the given index as changed. The affected
+   * buckets are computed again on the next update.
+   *
+   * @param index the index of the first changed point
+   */
+  public void invalidate(int index) {
+    if (index <= 0) {
+      mOffset = 0;
+      mEnd = 0;
+    } else {
+      mEnd = Math.min(mEnd, mOffset + index);
+    }
+  }
+
+  /**
+   * Shifts the pyramid after the first point of the storage was removed. The
+   * pyramid is built again once the removed points outnumber the remaining
+   * ones, which keeps the removal amortized O(1).
+   */
+  public void removeFirst() {
+    mOffset++;
+    if (mEnd < mOffset || mOffset > mEnd - mOffset) {
+      invalidate(0);
+    }
+  }
+
+  /**
+   * Summarizes the points added to the storage since the last update.
+   */
+  public void update() {
+    int end = mOffset + mXY.size();
+    while (mEnd < end) {
+      append(mEnd);
+      mEnd++;
+    }
+  }
+
+  /**
+   * Returns the highest level holding at least one complete bucket.
+   *
+   * @return the number of levels
+   */
+  public int getLevelCount() {
+    int count = mEnd - mOffset;
+    int levels = 0;
+    while (levels + 1 < MAX_LEVELS && (count >> (levels + 1)) > 0) {
+      levels++;
+    }
+    return levels;
+  }
+
+  /**
+   * Fills the indexes of the points summarizing the [start, end) index range
+   * at the given level. Each complete bucket of the level contributes its
+   * first, minimum, maximum and last point, in index order and without
+   * duplicates, or -1 if it only contains null values. A bucket containing
+   * null values also contributes -1 breaks where its first and last null
+   * values are, so the gaps wider than a bucket remain at the coarse levels.
+   * The points before the first and after the last complete bucket are added
+   * one by one.
+   *
+   * @param start the first index of the range
+   * @param end the index after the last one of the range
+   * @param level the level, lower than or equal to the level count
+   * @param indexes the array to be filled, able to hold at least
+   *          getMaxIndexCount(end - start, level) values
+   * @return the number of filled indexes
+   */
+  public int getIndexes(int start, int end, int level, int[] indexes) {
+    int count = 0;
+    int offset = mOffset;
+    int bucketSize = 1 << level;
+    int firstBucket = (start + offset + bucketSize - 1) >> level;
+    int lastBucket = Math.min(end + offset, mEnd) >> level;
+    if (level == 0 || firstBucket >= lastBucket) {
+      for (int i = start; i < end; i++) {
+        indexes[count++] = i;
+      }
+      return count;
+    }
+    for (int i = start; i < (firstBucket << level) - offset; i++) {
+      indexes[count++] = i;
+    }
+    int[] min = mMin[level];
+    int[] max = mMax[level];
+    int[] firstNulls = mFirstNull[level];
+    int[] lastNulls = mLastNull[level];
+    for (int bucket = firstBucket; bucket < lastBucket; bucket++) {
+      int low = min[bucket];
+      if (low < 0) {
+        indexes[count++] = -1;
+        continue;
+      }
+      int high = max[bucket];
+      if (low > high) {
+        int temp = low;
+        low = high;
+        high = temp;
+      }
+      int first = bucket << level;
+      int last = first + bucketSize - 1;
+      int firstNull = firstNulls[bucket];
+      int lastNull = lastNulls[bucket];
+      if (first != low && !isNull(first)) {
+        count = add(indexes, count, first, firstNull, lastNull);
+      }
+      count = add(indexes, count, low, firstNull, lastNull);
+      if (high != low) {
+        count = add(indexes, count, high, firstNull, lastNull);
+      }
+      if (last != high && !isNull(last)) {
+        count = add(indexes, count, last, firstNull, lastNull);
+      }
+      if (lastNull > indexes[count - 1] + offset) {
+        indexes[count++] = -1;
+      }
+    }
+    for (int i = (lastBucket << level) - offset; i < end; i++) {
+      indexes[count++] = i;
+    }
+    return count;
+  }
+
+  /**
+   * Adds the index of a kept point of a bucket, preceded by a break if the
+   * first or the last null value of the bucket is between the previous point
+   * and this one.
+   *
+   * @param indexes the indexes array
+   * @param count the number of filled indexes
+   * @param sequence the sequence number of the kept point
+   * @param firstNull the sequence number of the first null value of the
+   *          bucket, or -1 if there is none
+   * @param lastNull the sequence number of the last null value of the bucket,
+   *          or -1 if there is none
+   * @return the new number of filled indexes
+   */
+  private int add(int[] indexes, int count, int sequence, int firstNull, int lastNull) {
+    if (firstNull >= 0 && count > 0 && indexes[count - 1] >= 0) {
+      int previous = indexes[count - 1] + mOffset;
+      if (previous < firstNull && firstNull < sequence
+          || previous < lastNull && lastNull < sequence) {
+        indexes[count++] = -1;
+      }
+    }
+    indexes[count++] = sequence - mOffset;
+    return count;
+  }
+
+  /**
+   * Returns the maximum number of indexes getIndexes fills for a range.
+   *
+   * @param count the number of points in the range
+   * @param level the level
+   * @return the maximum number of indexes
+   */
+  public static int getMaxIndexCount(int count, int level) {
+    if (level == 0) {
+      return count;
+    }
+    return Math.min(count, 6 * (count >> level) + 2 * (1 << level));
+  }
+
+  /**
+   * Summarizes the point having the given sequence number, completing the
+   * buckets it ends. The buckets are indexed by sequence numbers and hold
+   * sequence numbers.
+   *
+   * @param sequence the point sequence number
+   */
+  private void append(int sequence) {
+    for (int level = 1; level < MAX_LEVELS && ((sequence + 1) & ((1 << level) - 1)) == 0;
+        level++) {
+      int bucket = sequence >> level;
+      if (bucket << level < mOffset) {
+        // the bucket starts with removed points and is never queried
+        break;
+      }
+      ensureCapacity(level, bucket + 1);
+      int left = bucket << 1;
+      int right = left + 1;
+      if (level == 1) {
+        int lowIndex = isNull(left) ? -1 : left;
+        int highIndex = isNull(right) ? -1 : right;
+        mMin[level][bucket] = lower(lowIndex, highIndex);
+        mMax[level][bucket] = higher(lowIndex, highIndex);
+        mFirstNull[level][bucket] = lowIndex < 0 ? left : highIndex < 0 ? right : -1;
+        mLastNull[level][bucket] = highIndex < 0 ? right : lowIndex < 0 ? left : -1;
+      } else {
+        mMin[level][bucket] = lower(mMin[level - 1][left], mMin[level - 1][right]);
+        mMax[level][bucket] = higher(mMax[level - 1][left], mMax[level - 1][right]);
+        int firstNull = mFirstNull[level - 1][left];
+        mFirstNull[level][bucket] = firstNull >= 0 ? firstNull : mFirstNull[level - 1][right];
+        int lastNull = mLastNull[level - 1][right];
+        mLastNull[level][bucket] = lastNull >= 0 ? lastNull : mLastNull[level - 1][left];
+      }
+    }
+  }
+
+  private int lower(int index1, int index2) {
+    if (index1 < 0) {
+      return index2;
+    }
+    if (index2 < 0) {
+      return index1;
+    }
+    return getY(index2) < getY(index1) ? index2 : index1;
+  }
+
+  private int higher(int index1, int index2) {
+    if (index1 < 0) {
+      return index2;
+    }
+    if (index2 < 0) {
+      return index1;
+    }
+    return getY(index2) > getY(index1) ? index2 : index1;
+  }
+
+  private boolean isNull(int sequence) {
+    return getY(sequence) == MathHelper.NULL_VALUE;
+  }
+
+  private double getY(int sequence) {
+    return mXY.getY(sequence - mOffset);
+  }
+
+  /**
+   * Grows the arrays of a level, if needed, such as they can hold the
+   * requested number of buckets.
+   *
+   * @param level the level
+   * @param capacity the requested number of buckets
+   */
+  private void ensureCapacity(int level, int capacity) {
+    int[] min = mMin[level];
+    int length = min == null ? 0 : min.length;
+    if (capacity > length) {
+      int newLength = Math.max(capacity, Math.max(8, length << 1));
+      int[] newMin = new int[newLength];
+      int[] newMax = new int[newLength];
+      int[] newFirstNull = new int[newLength];
+      int[] newLastNull = new int[newLength];
+      if (min != null) {
+        System.arraycopy(min, 0, newMin, 0, length);
+        System.arraycopy(mMax[level], 0, newMax, 0, length);
+        System.arraycopy(mFirstNull[level], 0, newFirstNull, 0, length);
+        System.arraycopy(mLastNull[level], 0, newLastNull, 0, length);
+      }
+      mMin[level] = newMin;
+      mMax[level] = newMax;
+      mFirstNull[level] = newFirstNull;
+      mLastNull[level] = newLastNull;
+    }
+  }
+
+}
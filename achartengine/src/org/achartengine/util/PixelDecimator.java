@@ -0,0 +1,146 @@
+/**
+ * Copyright (C) 2009 - 2012 SC 4ViewSoft SRL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.achartengine.util;
+
+/**
+ * Reduces projected line points to at most four points per pixel column: the
+ * first, the minimum, the maximum and the last one (M4 aggregation). A line
+ * drawn through the remaining points covers exactly the same pixels as a line
+ * drawn through all of them.
+ */
+public class PixelDecimator {
+
+  private PixelDecimator() {
+    // empty constructor
+  }
+
+  /**
+   * Decimates, in place, a slice of projected points. The points buffer holds
+   * x, y screen coordinate pairs, sorted by x, and the values buffer the
+   * matching data values. The kept points are moved to the beginning of the
+   * slice, in their original order.
+   *
+   * @param points the screen coordinates buffer
+   * @param values the data values buffer
+   * @param offset the index of the first point coordinate in the buffers
+   * @param length the number of point coordinates in the slice
+   * @return the number of point coordinates left in the slice
+   */
+  public static int decimate(float[] points, double[] values, int offset, int length) {
+    return decimate(points, values, null, offset, length);
+  }
+
+  /**
+   * Decimates, in place, a slice of projected points along with the indexes
+   * of the points in their series, the indexes buffer holding one index per
+   * point: the index of the point at the coordinate i is at i / 2.
+   *
+   * @param points the screen coordinates buffer
+   * @param values the data values buffer
+   * @param indexes the point indexes buffer, or null
+   * @param offset the index of the first point coordinate in the buffers
+   * @param length the number of point coordinates in the slice
+   * @return the number of point coordinates left in the slice
+   */
+  public static int decimate(float[] points, double[] values, int[] indexes, int offset,
+      int length) {
+    if (length <= 8) {
+      return length;
+    }
+    int end = offset + length;
+    int write = offset;
+    int first = offset;
+    int min = offset;
+    int max = offset;
+    int column = column(points[offset]);
+    for (int i = offset + 2; i < end; i += 2) {
+      int current = column(points[i]);
+      if (current != column) {
+        write = flush(points, values, indexes, write, first, min, max, i - 2);
+        column = current;
+        first = i;
+        min = i;
+        max = i;
+      } else {
+        float y = points[i + 1];
+        if (y < points[min + 1]) {
+          min = i;
+        }
+        if (y > points[max + 1]) {
+          max = i;
+        }
+      }
+    }
+    write = flush(points, values, indexes, write, first, min, max, end - 2);
+    return write - offset;
+  }
+
+  /**
+   * Returns the pixel column a screen x coordinate falls into.
+   *
+   * @param x the screen x coordinate
+   * @return the pixel column
+   */
+  private static int column(float x) {
+    return (int) Math.floor(x);
+  }
+
+  /**
+   * Writes the points kept for a pixel column, in ascending index order and
+   * without duplicates. The write position never goes past the read ones, so
+   * the points can be moved within the same buffers.
+   *
+   * @param points the screen coordinates buffer
+   * @param values the data values buffer
+   * @param indexes the point indexes buffer, or null
+   * @param write the write position
+   * @param first the index of the first point in the column
+   * @param min the index of the minimum point in the column
+   * @param max the index of the maximum point in the column
+   * @param last the index of the last point in the column
+   * @return the new write position
+   */
+  private static int flush(float[] points, double[] values, int[] indexes, int write,
+      int first, int min, int max, int last) {
+    int low = Math.min(min, max);
+    int high = Math.max(min, max);
+    write = copy(points, values, indexes, first, write);
+    if (low != first) {
+      write = copy(points, values, indexes, low, write);
+    }
+    if (high != low && high != first) {
+      write = copy(points, values, indexes, high, write);
+    }
+    if (last != high && last != first) {
+      write = copy(points, values, indexes, last, write);
+    }
+    return write;
+  }
+
+  private static int copy(float[] points, double[] values, int[] indexes, int from, int to) {
+    if (from != to) {
+      points[to] = points[from];
+      points[to + 1] = points[from + 1];
+      values[to] = values[from];
+      values[to + 1] = values[from + 1];
+      if (indexes != null) {
+        indexes[to / 2] = indexes[from / 2];
+      }
+    }
+    return to + 2;
+  }
+
+}
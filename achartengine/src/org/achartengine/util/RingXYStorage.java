@@ -0,0 +1,351 @@
+/**
+ * Copyright (C) 2009 - 2012 SC 4ViewSoft SRL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.achartengine.util;
+
+/**
+ * A fixed capacity XY storage keeping the points sorted by X in a sliding
+ * window of two primitive arrays twice as long as the capacity. When the
+ * storage is full, adding a point evicts the oldest one, the point having the
+ * lowest X. The minimum and maximum Y values of the stored points are tracked
+ * with monotonic deques, such as appending, evicting and querying the Y range
+ * is O(1) amortized. Null values are not taken into account in the Y range.
+ * <p>
+ * Snapshots share the arrays: appends write after the shared points and
+ * evictions only move the window start. The window is moved back to the
+ * beginning of the arrays once every capacity appends, into new arrays if
+ * points were shared since the previous move, and the other changes copy the
+ * arrays first if they would overwrite shared points.
+ */
+public class RingXYStorage implements IXYStorage {
+  /** The maximum number of points. */
+  private final int mCapacity;
+  /** The X values. */
+  private double[] mX;
+  /** The Y values. */
+  private double[] mY;
+  /** The array position of the first point. */
+  private int mHead;
+  /** The number of stored points. */
+  private int mSize;
+  /** The sequence number of the first point. */
+  private long mFirst;
+  /** The version of the mapping between indexes and points. */
+  private int mStructureVersion;
+  /** The array position before which the points are shared with snapshots. */
+  private int mSharedEnd;
+  /**
+   * The sequence numbers of the minimum Y candidates, in increasing order of
+   * both sequence and Y value.
+   */
+  private final long[] mMinDeque;
+  /** The buffer position of the first minimum candidate. */
+  private int mMinHead;
+  /** The number of minimum candidates. */
+  private int mMinSize;
+  /**
+   * The sequence numbers of the maximum Y candidates, in increasing order of
+   * sequence and decreasing order of Y value.
+   */
+  private final long[] mMaxDeque;
+  /** The buffer position of the first maximum candidate. */
+  private int mMaxHead;
+  /** The number of maximum candidates. */
+  private int mMaxSize;
+
+  /**
+   * Builds a new ring XY storage.
+   *
+   * @param capacity the maximum number of points
+   */
+  public RingXYStorage(int capacity) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("Illegal capacity " + capacity);
+    }
+    mCapacity = capacity;
+    mX = new double[2 * capacity];
+    mY = new double[2 * capacity];
+    mMinDeque = new long[capacity];
+    mMaxDeque = new long[capacity];
+  }
+
+  /**
+   * Returns the maximum number of points.
+   *
+   * @return the capacity
+   */
+  public int getCapacity() {
+    return mCapacity;
+  }
+
+  public int size() {
+    return mSize;
+  }
+
+  public double getX(int index) {
+    checkIndex(index);
+    return mX[position(index)];
+  }
+
+  public double getY(int index) {
+    checkIndex(index);
+    return mY[position(index)];
+  }
+
+  public int add(double x, double y) {
+    if (mSize == mCapacity) {
+      removeFirst();
+      mStructureVersion++;
+    }
+    if (mHead + mSize == mX.length) {
+      moveToStart();
+    }
+    if (mSize == 0 || x >= mX[position(mSize - 1)]) {
+      int position = position(mSize);
+      beforeWrite(position);
+      mX[position] = x;
+      mY[position] = y;
+      mSize++;
+      push(mFirst + mSize - 1, y);
+      return mSize - 1;
+    }
+    int index = higherIndex(x);
+    int position = position(index);
+    beforeWrite(position);
+    mStructureVersion++;
+    System.arraycopy(mX, position, mX, position + 1, mSize - index);
+    System.arraycopy(mY, position, mY, position + 1, mSize - index);
+    mX[position] = x;
+    mY[position] = y;
+    mSize++;
+    rebuildDeques();
+    return index;
+  }
+
+  public int addAll(double[] xs, double[] ys, int offset, int length) {
+    int index = mSize;
+    int end = offset + length;
+    for (int k = offset; k < end; k++) {
+      index = Math.min(index, add(xs[k], ys[k]));
+    }
+    return index;
+  }
+
+  public void remove(int index) {
+    checkIndex(index);
+    mStructureVersion++;
+    if (index == 0) {
+      removeFirst();
+      return;
+    }
+    int position = position(index);
+    beforeWrite(position);
+    System.arraycopy(mX, position + 1, mX, position, mSize - index - 1);
+    System.arraycopy(mY, position + 1, mY, position, mSize - index - 1);
+    mSize--;
+    rebuildDeques();
+  }
+
+  public void clear() {
+    mStructureVersion++;
+    mHead = 0;
+    mSize = 0;
+    mFirst = 0;
+    mMinHead = 0;
+    mMinSize = 0;
+    mMaxHead = 0;
+    mMaxSize = 0;
+  }
+
+  public int ceilingIndex(double x) {
+    int low = 0;
+    int high = mSize;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (mX[position(mid)] < x) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  public int getStructureVersion() {
+    return mStructureVersion;
+  }
+
+  public XYSnapshot snapshot() {
+    mSharedEnd = Math.max(mSharedEnd, mHead + mSize);
+    return new XYSnapshot(mX, mY, mHead, mSize, getMinY(), getMaxY(), mStructureVersion);
+  }
+
+  /**
+   * Returns the minimum non null Y value.
+   *
+   * @return the minimum Y value or MathHelper.NULL_VALUE if there is none
+   */
+  public double getMinY() {
+    if (mMinSize == 0) {
+      return MathHelper.NULL_VALUE;
+    }
+    return valueOf(mMinDeque[mMinHead]);
+  }
+
+  /**
+   * Returns the maximum non null Y value.
+   *
+   * @return the maximum Y value or -MathHelper.NULL_VALUE if there is none
+   */
+  public double getMaxY() {
+    if (mMaxSize == 0) {
+      return -MathHelper.NULL_VALUE;
+    }
+    return valueOf(mMaxDeque[mMaxHead]);
+  }
+
+  /**
+   * Evicts the first point, in O(1).
+   */
+  private void removeFirst() {
+    if (mMinSize > 0 && mMinDeque[mMinHead] == mFirst) {
+      mMinHead = next(mMinHead);
+      mMinSize--;
+    }
+    if (mMaxSize > 0 && mMaxDeque[mMaxHead] == mFirst) {
+      mMaxHead = next(mMaxHead);
+      mMaxSize--;
+    }
+    mHead++;
+    mSize--;
+    mFirst++;
+  }
+
+  /**
+   * Moves the points to the beginning of the arrays, once the window reached
+   * their end. The arrays are copied if points were shared since the last
+   * move, such as an append doesn't copy more than once every capacity points.
+   */
+  private void moveToStart() {
+    double[] x = mX;
+    double[] y = mY;
+    if (mSharedEnd > 0) {
+      x = new double[mX.length];
+      y = new double[mY.length];
+    }
+    System.arraycopy(mX, mHead, x, 0, mSize);
+    System.arraycopy(mY, mHead, y, 0, mSize);
+    mX = x;
+    mY = y;
+    mHead = 0;
+    mSharedEnd = 0;
+  }
+
+  /**
+   * Copies the arrays before writing at the given position, if the point there
+   * is shared with a snapshot.
+   *
+   * @param position the array position about to be written
+   */
+  private void beforeWrite(int position) {
+    if (position < mSharedEnd) {
+      double[] x = new double[mX.length];
+      double[] y = new double[mY.length];
+      System.arraycopy(mX, mHead, x, mHead, mSize);
+      System.arraycopy(mY, mHead, y, mHead, mSize);
+      mX = x;
+      mY = y;
+      mSharedEnd = 0;
+    }
+  }
+
+  /**
+   * Pushes a point at the back of the deques, dropping the candidates it
+   * dominates.
+   *
+   * @param sequence the point sequence number
+   * @param y the point Y value
+   */
+  private void push(long sequence, double y) {
+    if (y == MathHelper.NULL_VALUE) {
+      return;
+    }
+    int capacity = mCapacity;
+    while (mMinSize > 0 && valueOf(mMinDeque[(mMinHead + mMinSize - 1) % capacity]) >= y) {
+      mMinSize--;
+    }
+    mMinDeque[(mMinHead + mMinSize) % capacity] = sequence;
+    mMinSize++;
+    while (mMaxSize > 0 && valueOf(mMaxDeque[(mMaxHead + mMaxSize - 1) % capacity]) <= y) {
+      mMaxSize--;
+    }
+    mMaxDeque[(mMaxHead + mMaxSize) % capacity] = sequence;
+    mMaxSize++;
+  }
+
+  /**
+   * Builds the deques again, after a point was inserted or removed elsewhere
+   * than at the ends of the buffer.
+   */
+  private void rebuildDeques() {
+    mMinHead = 0;
+    mMinSize = 0;
+    mMaxHead = 0;
+    mMaxSize = 0;
+    for (int i = 0; i < mSize; i++) {
+      push(mFirst + i, mY[position(i)]);
+    }
+  }
+
+  private double valueOf(long sequence) {
+    return mY[position((int) (sequence - mFirst))];
+  }
+
+  private int position(int index) {
+    return mHead + index;
+  }
+
+  private int next(int position) {
+    return position + 1 < mCapacity ? position + 1 : 0;
+  }
+
+  /**
+   * Returns the index of the first point having an X value strictly greater
+   * than the given one.
+   *
+   * @param x the X value
+   * @return the index of the first point after x, or size() if there is none
+   */
+  private int higherIndex(double x) {
+    int low = 0;
+    int high = mSize;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (mX[position(mid)] <= x) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  private void checkIndex(int index) {
+    if (index < 0 || index >= mSize) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + mSize);
+    }
+  }
+
+}
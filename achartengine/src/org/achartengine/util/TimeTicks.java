@@ -0,0 +1,461 @@
+/**
+ * Copyright (C) 2009 - 2012 SC 4ViewSoft SRL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.achartengine.util;
+
+import java.text.DateFormat;
+import java.util.AbstractList;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+import java.util.TimeZone;
+
+/**
+ * The ticks of a time axis, on calendar boundaries of the local time: round
+ * seconds, minutes and hours, midnights, Mondays, first days of the months and
+ * of the years. The calendar fields are computed with epoch day arithmetic
+ * rather than with Calendar instances.
+ * <p>
+ * The ticks and their formatted labels are kept between updates. When the
+ * range changes, as while panning, the labels of the ticks still in range are
+ * reused, such as only the new ticks are formatted.
+ */
+public class TimeTicks {
+  /** The number of milliseconds in a second. */
+  private static final long SECOND = 1000;
+  /** The number of milliseconds in a minute. */
+  private static final long MINUTE = 60 * SECOND;
+  /** The number of milliseconds in an hour. */
+  private static final long HOUR = 60 * MINUTE;
+  /** The number of milliseconds in a day. */
+  private static final long DAY = 24 * HOUR;
+  /** The steps dividing a day, in milliseconds. */
+  private static final long[] TIME_STEPS = { SECOND, 2 * SECOND, 5 * SECOND, 10 * SECOND,
+      15 * SECOND, 30 * SECOND, MINUTE, 2 * MINUTE, 5 * MINUTE, 10 * MINUTE, 15 * MINUTE,
+      30 * MINUTE, HOUR, 2 * HOUR, 3 * HOUR, 6 * HOUR, 12 * HOUR };
+  /** The steps in days. */
+  private static final int[] DAY_STEPS = { 1, 2, 7 };
+  /** The steps in months, the longer ones being multiples of years. */
+  private static final int[] MONTH_STEPS = { 1, 2, 3, 6, 12 };
+  /** The average number of milliseconds in a month. */
+  private static final double MONTH = 30.436875 * DAY;
+  /** The time zone of the calendar boundaries. */
+  private final TimeZone mZone;
+  /** The last range start. */
+  private double mStart = Double.NaN;
+  /** The last range end. */
+  private double mEnd = Double.NaN;
+  /** The last approximate number of ticks. */
+  private int mApproxCount;
+  /** The tick times. */
+  private long[] mTicks = new long[0];
+  /** The tick times of the previous update. */
+  private long[] mOldTicks = new long[0];
+  /** The tick times, as doubles. */
+  private double[] mValues = new double[0];
+  /** The flags of the ticks falling on the first day of a week. */
+  private boolean[] mWeekStarts = new boolean[0];
+  /** The formatted tick labels, built on demand. */
+  private String[] mLabels = new String[0];
+  /** The tick labels of the previous update. */
+  private String[] mOldLabels = new String[0];
+  /** The boxed tick times, built on demand. */
+  private Double[] mBoxed = new Double[0];
+  /** The boxed tick times of the previous update. */
+  private Double[] mOldBoxed = new Double[0];
+  /** The number of ticks. */
+  private int mCount;
+  /** The format the labels were built with. */
+  private DateFormat mLabelFormat;
+  /** The date used for formatting the labels. */
+  private final Date mDate = new Date();
+  /** The read only list view of the ticks. */
+  private final List<Double> mList = new AbstractList<Double>() {
+    @Override
+    public Double get(int index) {
+      checkIndex(index);
+      Double value = mBoxed[index];
+      if (value == null) {
+        value = mValues[index];
+        mBoxed[index] = value;
+      }
+      return value;
+    }
+
+    @Override
+    public int size() {
+      return mCount;
+    }
+  };
+
+  /**
+   * Builds new time ticks in the default time zone.
+   */
+  public TimeTicks() {
+    this(TimeZone.getDefault());
+  }
+
+  /**
+   * Builds new time ticks.
+   *
+   * @param zone the time zone of the calendar boundaries
+   */
+  public TimeTicks(TimeZone zone) {
+    mZone = zone;
+  }
+
+  /**
+   * Computes the ticks of a time range, if it changed since the last update.
+   *
+   * @param start the range start, in milliseconds since the epoch
+   * @param end the range end, in milliseconds since the epoch
+   * @param approxCount the desired number of ticks
+   * @return true if the ticks changed
+   */
+  public boolean update(double start, double end, int approxCount) {
+    if (start == mStart && end == mEnd && approxCount == mApproxCount) {
+      return false;
+    }
+    mStart = start;
+    mEnd = end;
+    mApproxCount = approxCount;
+    long low = (long) Math.ceil(Math.min(start, end));
+    long high = (long) Math.floor(Math.max(start, end));
+    // the previous ticks are swapped with the spare arrays, such as their
+    // labels can be reused
+    long[] oldTicks = mTicks;
+    mTicks = mOldTicks;
+    mOldTicks = oldTicks;
+    String[] oldLabels = mLabels;
+    mLabels = mOldLabels;
+    mOldLabels = oldLabels;
+    Double[] oldBoxed = mBoxed;
+    mBoxed = mOldBoxed;
+    mOldBoxed = oldBoxed;
+    int oldCount = mCount;
+    mCount = 0;
+    if (approxCount > 0 && !Double.isNaN(start) && !Double.isNaN(end)
+        && !Double.isInfinite(start) && !Double.isInfinite(end) && high > low) {
+      generate(low, high, (high - low) / (double) approxCount, 2 * approxCount + 2);
+    }
+    reuseLabels(oldTicks, oldLabels, oldBoxed, oldCount);
+    return true;
+  }
+
+  /**
+   * Returns the number of ticks.
+   *
+   * @return the number of ticks
+   */
+  public int size() {
+    return mCount;
+  }
+
+  /**
+   * Returns a tick time.
+   *
+   * @param index the tick index
+   * @return the tick time, in milliseconds since the epoch
+   */
+  public long get(int index) {
+    checkIndex(index);
+    return mTicks[index];
+  }
+
+  /**
+   * Returns if a tick falls on the first day of a week, Monday.
+   *
+   * @param index the tick index
+   * @return if the tick starts a week
+   */
+  public boolean isWeekStart(int index) {
+    checkIndex(index);
+    return mWeekStarts[index];
+  }
+
+  /**
+   * Returns the label of a tick, formatted once and kept while the tick stays
+   * in range and the same format is used.
+   *
+   * @param index the tick index
+   * @param format the date format
+   * @return the tick label
+   */
+  public String getLabel(int index, DateFormat format) {
+    checkIndex(index);
+    if (format != mLabelFormat) {
+      mLabelFormat = format;
+      for (int i = 0; i < mCount; i++) {
+        mLabels[i] = null;
+      }
+    }
+    String label = mLabels[index];
+    if (label == null) {
+      mDate.setTime(mTicks[index]);
+      label = format.format(mDate);
+      mLabels[index] = label;
+    }
+    return label;
+  }
+
+  /**
+   * Returns a read only list view of the tick times. The view reflects the
+   * following updates.
+   *
+   * @return the ticks list
+   */
+  public List<Double> asList() {
+    return mList;
+  }
+
+  /**
+   * Returns the day of the week of a time.
+   *
+   * @param time the time, in milliseconds since the epoch
+   * @return the day of the week, as a Calendar constant
+   */
+  public int getDayOfWeek(long time) {
+    return dayOfWeek(localDay(time));
+  }
+
+  /**
+   * Generates the ticks with the shortest calendar step longer than the raw
+   * step.
+   *
+   * @param low the range start
+   * @param high the range end
+   * @param raw the raw step
+   * @param maxCount the maximum number of ticks
+   */
+  private void generate(long low, long high, double raw, int maxCount) {
+    for (long step : TIME_STEPS) {
+      if (step >= raw) {
+        generateTime(low, high, step, maxCount);
+        return;
+      }
+    }
+    for (int days : DAY_STEPS) {
+      if (days * DAY >= raw) {
+        generateDays(low, high, days, maxCount);
+        return;
+      }
+    }
+    for (int months : MONTH_STEPS) {
+      if (months * MONTH >= raw) {
+        generateMonths(low, high, months, maxCount);
+        return;
+      }
+    }
+    // multiples of years, 1, 2 or 5 times a power of ten
+    long years = 1;
+    while (years * 12 * MONTH < raw) {
+      long next = years * 2;
+      if (next * 12 * MONTH < raw) {
+        next = years * 5;
+        if (next * 12 * MONTH < raw) {
+          next = years * 10;
+        }
+      }
+      years = next;
+    }
+    generateMonths(low, high, years * 12, maxCount);
+  }
+
+  /**
+   * Generates ticks at the multiples of a step dividing a day, in local time.
+   */
+  private void generateTime(long low, long high, long step, int maxCount) {
+    long local = floorDiv(low + mZone.getOffset(low), step) * step;
+    while (mCount < maxCount) {
+      long time = toUtc(local);
+      local += step;
+      if (time < low) {
+        continue;
+      }
+      if (time > high) {
+        break;
+      }
+      add(time, isMidnight(time) && dayOfWeek(localDay(time)) == Calendar.MONDAY);
+    }
+  }
+
+  /**
+   * Generates ticks at local midnights, every given number of days. Weekly
+   * ticks fall on Mondays.
+   */
+  private void generateDays(long low, long high, int days, int maxCount) {
+    long day = localDay(low);
+    if (days == 7) {
+      day -= floorMod(dayOfWeek(day) - Calendar.MONDAY, 7);
+    } else {
+      day = floorDiv(day, days) * days;
+    }
+    while (mCount < maxCount) {
+      long time = toUtc(day * DAY);
+      day += days;
+      if (time < low) {
+        continue;
+      }
+      if (time > high) {
+        break;
+      }
+      add(time, dayOfWeek(floorDiv(time + mZone.getOffset(time), DAY)) == Calendar.MONDAY);
+    }
+  }
+
+  /**
+   * Generates ticks at the local midnight of the first day of the months, the
+   * month index since year 0 being a multiple of the given number of months.
+   */
+  private void generateMonths(long low, long high, long months, int maxCount) {
+    long day = localDay(low);
+    long month = floorDiv(monthOfDay(day), months) * months;
+    while (mCount < maxCount) {
+      long year = floorDiv(month, 12);
+      long time = toUtc(daysFromCivil(year, (int) (month - 12 * year) + 1, 1) * DAY);
+      month += months;
+      if (time < low) {
+        continue;
+      }
+      if (time > high) {
+        break;
+      }
+      add(time, dayOfWeek(localDay(time)) == Calendar.MONDAY);
+    }
+  }
+
+  private void add(long time, boolean weekStart) {
+    if (mCount > 0 && time <= mTicks[mCount - 1]) {
+      // the same local time twice, when the clocks go back
+      return;
+    }
+    // the tick arrays are swapped on each update, so each array grows on its
+    // own
+    int capacity = Math.max(16, 2 * mCount);
+    if (mCount == mTicks.length) {
+      long[] ticks = new long[capacity];
+      System.arraycopy(mTicks, 0, ticks, 0, mCount);
+      mTicks = ticks;
+    }
+    if (mCount == mValues.length) {
+      double[] values = new double[capacity];
+      System.arraycopy(mValues, 0, values, 0, mCount);
+      mValues = values;
+    }
+    if (mCount == mWeekStarts.length) {
+      boolean[] weekStarts = new boolean[capacity];
+      System.arraycopy(mWeekStarts, 0, weekStarts, 0, mCount);
+      mWeekStarts = weekStarts;
+    }
+    mTicks[mCount] = time;
+    mValues[mCount] = time;
+    mWeekStarts[mCount] = weekStart;
+    mCount++;
+  }
+
+  /**
+   * Takes the labels and boxed values of the previous ticks having the same
+   * time as a new tick.
+   */
+  private void reuseLabels(long[] oldTicks, String[] oldLabels, Double[] oldBoxed, int oldCount) {
+    if (mLabels.length < mCount) {
+      mLabels = new String[mTicks.length];
+    }
+    if (mBoxed.length < mCount) {
+      mBoxed = new Double[mTicks.length];
+    }
+    int j = 0;
+    for (int i = 0; i < mCount; i++) {
+      long time = mTicks[i];
+      while (j < oldCount && oldTicks[j] < time) {
+        j++;
+      }
+      if (j < oldCount && oldTicks[j] == time) {
+        mLabels[i] = oldLabels[j];
+        mBoxed[i] = oldBoxed[j];
+      } else {
+        mLabels[i] = null;
+        mBoxed[i] = null;
+      }
+    }
+  }
+
+  /**
+   * Converts a local time to UTC, using the zone offset at that time.
+   */
+  private long toUtc(long local) {
+    long time = local - mZone.getOffset(local);
+    return local - mZone.getOffset(time);
+  }
+
+  private long localDay(long time) {
+    return floorDiv(time + mZone.getOffset(time), DAY);
+  }
+
+  private boolean isMidnight(long time) {
+    return floorMod(time + mZone.getOffset(time), DAY) == 0;
+  }
+
+  /**
+   * Returns the day of the week of an epoch day, 1970-01-01 being a Thursday.
+   */
+  private static int dayOfWeek(long day) {
+    return (int) floorMod(day + 4, 7) + Calendar.SUNDAY;
+  }
+
+  /**
+   * Returns the index of the month of an epoch day, counted from year 0.
+   */
+  private static long monthOfDay(long day) {
+    // civil from days, after Howard Hinnant's algorithm
+    long z = day + 719468;
+    long era = floorDiv(z, 146097);
+    long doe = z - era * 146097;
+    long yoe = (doe - doe / 1460 + doe / 36524 - doe / 146096) / 365;
+    long doy = doe - (365 * yoe + yoe / 4 - yoe / 100);
+    long mp = (5 * doy + 2) / 153;
+    long month = mp < 10 ? mp + 3 : mp - 9;
+    long year = yoe + era * 400 + (month <= 2 ? 1 : 0);
+    return 12 * year + month - 1;
+  }
+
+  /**
+   * Returns the epoch day of a civil date.
+   */
+  private static long daysFromCivil(long year, int month, int day) {
+    long y = month <= 2 ? year - 1 : year;
+    long era = floorDiv(y, 400);
+    long yoe = y - era * 400;
+    long doy = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+    long doe = yoe * 365 + yoe / 4 - yoe / 100 + doy;
+    return era * 146097 + doe - 719468;
+  }
+
+  private static long floorDiv(long x, long y) {
+    long q = x / y;
+    return (x % y != 0 && (x < 0) != (y < 0)) ? q - 1 : q;
+  }
+
+  private static long floorMod(long x, long y) {
+    return x - floorDiv(x, y) * y;
+  }
+
+  private void checkIndex(int index) {
+    if (index < 0 || index >= mCount) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + mCount);
+    }
+  }
+
+}
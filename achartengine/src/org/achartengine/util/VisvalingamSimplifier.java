@@ -0,0 +1,196 @@
+/**
+ * Copyright (C) 2009 - 2012 SC 4ViewSoft SRL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.achartengine.util;
+
+/**
+ * Simplifies a polyline down to a given number of vertices, with the
+ * Visvalingam-Whyatt algorithm: the vertex forming the smallest triangle with
+ * its two neighbours is removed, and the areas of the neighbours updated,
+ * until the vertex budget is met. The first and last vertices are always kept.
+ * <p>
+ * The working buffers are reused from one call to the next, so a simplifier
+ * must not be shared between threads.
+ */
+public class VisvalingamSimplifier {
+  /** The effective area of each vertex. */
+  private float[] mAreas = new float[0];
+  /** The index of the previous remaining vertex. */
+  private int[] mPrevious = new int[0];
+  /** The index of the next remaining vertex. */
+  private int[] mNext = new int[0];
+  /** The binary min heap of the vertices, ordered by area. */
+  private int[] mHeap = new int[0];
+  /** The position of each vertex in the heap, -1 once removed. */
+  private int[] mPositions = new int[0];
+  /** The number of vertices in the heap. */
+  private int mHeapSize;
+
+  /**
+   * Simplifies, in place, a polyline. The points buffer holds x, y coordinate
+   * pairs. The kept points are moved to the beginning of the slice, in their
+   * original order.
+   *
+   * @param points the coordinates buffer
+   * @param offset the index of the first point coordinate in the buffer
+   * @param length the number of point coordinates in the slice
+   * @param maxPoints the maximum number of points to keep, at least 2
+   * @return the number of point coordinates left in the slice
+   */
+  public int simplify(float[] points, int offset, int length, int maxPoints) {
+    if (maxPoints < 2) {
+      throw new IllegalArgumentException("At least two points must be kept");
+    }
+    int count = length / 2;
+    if (count <= maxPoints) {
+      return length;
+    }
+    ensureCapacity(count);
+    float[] areas = mAreas;
+    int[] previous = mPrevious;
+    int[] next = mNext;
+    mHeapSize = 0;
+    for (int i = 0; i < count; i++) {
+      previous[i] = i - 1;
+      next[i] = i + 1;
+      mPositions[i] = -1;
+    }
+    for (int i = 1; i < count - 1; i++) {
+      areas[i] = area(points, offset, i - 1, i, i + 1);
+      mHeap[mHeapSize] = i;
+      mPositions[i] = mHeapSize;
+      mHeapSize++;
+    }
+    for (int i = mHeapSize / 2 - 1; i >= 0; i--) {
+      siftDown(i);
+    }
+
+    int remaining = count;
+    while (remaining > maxPoints) {
+      int vertex = mHeap[0];
+      float removed = areas[vertex];
+      removeTop();
+      int before = previous[vertex];
+      int after = next[vertex];
+      next[before] = after;
+      previous[after] = before;
+      remaining--;
+      // an area never gets below the one just removed, such as the vertices
+      // are removed in order of significance
+      if (before > 0) {
+        update(before, Math.max(removed, area(points, offset, previous[before], before, after)));
+      }
+      if (after < count - 1) {
+        update(after, Math.max(removed, area(points, offset, before, after, next[after])));
+      }
+    }
+
+    int write = offset;
+    for (int i = 0; i < count; i = next[i]) {
+      int read = offset + 2 * i;
+      points[write] = points[read];
+      points[write + 1] = points[read + 1];
+      write += 2;
+    }
+    return write - offset;
+  }
+
+  /**
+   * Returns the area of the triangle formed by three vertices.
+   *
+   * @param points the coordinates buffer
+   * @param offset the index of the first point coordinate in the buffer
+   * @param a the first vertex index
+   * @param b the second vertex index
+   * @param c the third vertex index
+   * @return the triangle area
+   */
+  private static float area(float[] points, int offset, int a, int b, int c) {
+    int ia = offset + 2 * a;
+    int ib = offset + 2 * b;
+    int ic = offset + 2 * c;
+    float ax = points[ia];
+    float ay = points[ia + 1];
+    return Math.abs((points[ib] - ax) * (points[ic + 1] - ay) - (points[ic] - ax)
+        * (points[ib + 1] - ay)) / 2;
+  }
+
+  private void ensureCapacity(int count) {
+    if (mAreas.length < count) {
+      mAreas = new float[count];
+      mPrevious = new int[count];
+      mNext = new int[count];
+      mHeap = new int[count];
+      mPositions = new int[count];
+    }
+  }
+
+  private void removeTop() {
+    mPositions[mHeap[0]] = -1;
+    mHeapSize--;
+    if (mHeapSize > 0) {
+      move(mHeap[mHeapSize], 0);
+      siftDown(0);
+    }
+  }
+
+  private void update(int vertex, float area) {
+    float old = mAreas[vertex];
+    mAreas[vertex] = area;
+    if (area < old) {
+      siftUp(mPositions[vertex]);
+    } else {
+      siftDown(mPositions[vertex]);
+    }
+  }
+
+  private void siftUp(int position) {
+    int vertex = mHeap[position];
+    float area = mAreas[vertex];
+    while (position > 0) {
+      int parent = (position - 1) / 2;
+      if (mAreas[mHeap[parent]] <= area) {
+        break;
+      }
+      move(mHeap[parent], position);
+      position = parent;
+    }
+    move(vertex, position);
+  }
+
+  private void siftDown(int position) {
+    int vertex = mHeap[position];
+    float area = mAreas[vertex];
+    int half = mHeapSize / 2;
+    while (position < half) {
+      int child = 2 * position + 1;
+      if (child + 1 < mHeapSize && mAreas[mHeap[child + 1]] < mAreas[mHeap[child]]) {
+        child++;
+      }
+      if (area <= mAreas[mHeap[child]]) {
+        break;
+      }
+      move(mHeap[child], position);
+      position = child;
+    }
+    move(vertex, position);
+  }
+
+  private void move(int vertex, int position) {
+    mHeap[position] = vertex;
+    mPositions[vertex] = position;
+  }
+
+}
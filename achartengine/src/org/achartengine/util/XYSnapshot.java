@@ -0,0 +1,219 @@
+/**
+ * Copyright (C) 2009 - 2012 SC 4ViewSoft SRL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.achartengine.util;
+
+/**
+ * An immutable view of the points of an XY storage at a given time, along with
+ * their range. The view can be read from any thread without locking while the
+ * storage keeps being modified.
+ */
+public class XYSnapshot {
+  /** An empty snapshot. */
+  public static final XYSnapshot EMPTY = new XYSnapshot(new double[0], new double[0], 0, 0,
+      MathHelper.NULL_VALUE, -MathHelper.NULL_VALUE, 0);
+  /** The X values. */
+  private final double[] mX;
+  /** The Y values. */
+  private final double[] mY;
+  /** The array position of the first point. */
+  private final int mOffset;
+  /** The number of points. */
+  private final int mSize;
+  /** The minimum Y value. */
+  private final double mMinY;
+  /** The maximum Y value. */
+  private final double mMaxY;
+  /** The structure version of the storage the snapshot was taken from. */
+  private final int mStructureVersion;
+
+  /**
+   * Builds a new snapshot. The arrays must not be modified in the given range
+   * afterwards.
+   *
+   * @param x the X values array
+   * @param y the Y values array
+   * @param offset the array position of the first point
+   * @param size the number of points
+   * @param minY the minimum Y value
+   * @param maxY the maximum Y value
+   * @param structureVersion the storage structure version
+   */
+  public XYSnapshot(double[] x, double[] y, int offset, int size, double minY, double maxY,
+      int structureVersion) {
+    mX = x;
+    mY = y;
+    mOffset = offset;
+    mSize = size;
+    mMinY = minY;
+    mMaxY = maxY;
+    mStructureVersion = structureVersion;
+  }
+
+  /**
+   * Builds a new snapshot sharing the points of the given one, for the
+   * snapshots carrying more values along with the points.
+   *
+   * @param snapshot the snapshot to share the points of
+   */
+  protected XYSnapshot(XYSnapshot snapshot) {
+    this(snapshot.mX, snapshot.mY, snapshot.mOffset, snapshot.mSize, snapshot.mMinY,
+        snapshot.mMaxY, snapshot.mStructureVersion);
+  }
+
+  /**
+   * Returns the number of points.
+   *
+   * @return the number of points
+   */
+  public int size() {
+    return mSize;
+  }
+
+  /**
+   * Returns the X value at the specified index. The index is not checked
+   * against the snapshot size.
+   *
+   * @param index the index
+   * @return the X value
+   */
+  public double getX(int index) {
+    return mX[mOffset + index];
+  }
+
+  /**
+   * Returns the Y value at the specified index. The index is not checked
+   * against the snapshot size.
+   *
+   * @param index the index
+   * @return the Y value
+   */
+  public double getY(int index) {
+    return mY[mOffset + index];
+  }
+
+  /**
+   * Returns the minimum X value.
+   *
+   * @return the minimum X value or MathHelper.NULL_VALUE if there are no points
+   */
+  public double getMinX() {
+    return mSize == 0 ? MathHelper.NULL_VALUE : mX[mOffset];
+  }
+
+  /**
+   * Returns the maximum X value.
+   *
+   * @return the maximum X value or -MathHelper.NULL_VALUE if there are no
+   *         points
+   */
+  public double getMaxX() {
+    return mSize == 0 ? -MathHelper.NULL_VALUE : mX[mOffset + mSize - 1];
+  }
+
+  /**
+   * Returns the minimum Y value.
+   *
+   * @return the minimum Y value
+   */
+  public double getMinY() {
+    return mMinY;
+  }
+
+  /**
+   * Returns the maximum Y value.
+   *
+   * @return the maximum Y value
+   */
+  public double getMaxY() {
+    return mMaxY;
+  }
+
+  /**
+   * Returns the structure version of the storage when the snapshot was taken.
+   * As long as the storage has the same structure version, the snapshot points
+   * are at the same indexes in the storage.
+   *
+   * @return the structure version
+   */
+  public int getStructureVersion() {
+    return mStructureVersion;
+  }
+
+  /**
+   * Computes the indexes of the first and last points to be rendered between
+   * the given start and stop X values.
+   *
+   * @param start start x value
+   * @param stop stop x value
+   * @param beforeAfterPoints the number of points to add before the start and
+   *          after the stop
+   * @param indexRange the array to be filled with the first and the last index;
+   *          the last index is lower than the first one if there are no points
+   *          to be rendered
+   */
+  public void getIndexRange(double start, double stop, int beforeAfterPoints, int[] indexRange) {
+    indexRange[0] = Math.max(0, ceilingIndex(start) - beforeAfterPoints);
+    indexRange[1] = Math.min(mSize - 1, ceilingIndex(stop) + beforeAfterPoints - 1);
+  }
+
+  /**
+   * Returns the index of the non null point having the X value nearest to the
+   * given one, the first point being preferred in case of equality.
+   *
+   * @param x the X value
+   * @return the point index or -1 if all the points are null
+   */
+  public int nearestIndex(double x) {
+    int after = ceilingIndex(x);
+    int before = after - 1;
+    while (after < mSize && getY(after) == MathHelper.NULL_VALUE) {
+      after++;
+    }
+    while (before >= 0 && getY(before) == MathHelper.NULL_VALUE) {
+      before--;
+    }
+    if (before < 0) {
+      return after < mSize ? after : -1;
+    }
+    if (after >= mSize || x - getX(before) <= getX(after) - x) {
+      return before;
+    }
+    return after;
+  }
+
+  /**
+   * Returns the index of the first point having an X value greater than or
+   * equal to the given one.
+   *
+   * @param x the X value
+   * @return the index of the first point at or after x, or size() if there is
+   *         none
+   */
+  public int ceilingIndex(double x) {
+    int low = mOffset;
+    int high = mOffset + mSize;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (mX[mid] < x) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low - mOffset;
+  }
+
+}
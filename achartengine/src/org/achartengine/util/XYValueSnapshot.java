@@ -0,0 +1,57 @@
+/**
+ * Copyright (C) 2009 - 2012 SC 4ViewSoft SRL
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.achartengine.util;
+
+/**
+ * A snapshot of XY points also holding a third dimension value per point, as
+ * used by the bubble charts.
+ */
+public class XYValueSnapshot extends XYSnapshot {
+  /** The values, stored as the Y of points at the same indexes. */
+  private final XYSnapshot mValues;
+
+  /**
+   * Builds a new snapshot.
+   *
+   * @param points the snapshot of the points
+   * @param values the snapshot of the values, having the same points count
+   */
+  public XYValueSnapshot(XYSnapshot points, XYSnapshot values) {
+    super(points);
+    mValues = values;
+  }
+
+  /**
+   * Returns the value at the specified index. The index is not checked
+   * against the snapshot size.
+   *
+   * @param index the index
+   * @return the value
+   */
+  public double getValue(int index) {
+    return mValues.getY(index);
+  }
+
+  /**
+   * Returns the maximum value.
+   *
+   * @return the maximum value or -MathHelper.NULL_VALUE if there are no points
+   */
+  public double getMaxValue() {
+    return mValues.getMaxY();
+  }
+
+}